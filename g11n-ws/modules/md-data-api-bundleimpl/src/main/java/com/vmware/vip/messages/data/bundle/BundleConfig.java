@@ -15,6 +15,16 @@ public class BundleConfig {
 	@Value("${translation.bundle.file.basepath}")
 	private String bundleFileBasePath;
 
+	/**
+	 * the max number of bundle files read at the same time by a multiple
+	 * components request
+	 */
+	@Value("${translation.bundle.load.concurrency:8}")
+	private int loadConcurrency;
+
+	public int getLoadConcurrency() {
+		return loadConcurrency;
+	}
 	
 	
 	
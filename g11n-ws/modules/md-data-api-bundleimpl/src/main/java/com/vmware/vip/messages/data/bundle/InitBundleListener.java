@@ -6,6 +6,7 @@ package com.vmware.vip.messages.data.bundle;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +16,7 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Component;
 
 import com.vmware.vip.common.utils.UnzipTranslationUtils;
+import com.vmware.vip.messages.data.dao.api.IBundleReadyListener;
 
 @Component
 public class InitBundleListener implements ApplicationListener<ApplicationReadyEvent> {
@@ -23,6 +25,12 @@ public class InitBundleListener implements ApplicationListener<ApplicationReadyE
 
 	@Autowired
 	private BundleConfig bundleConfig;
+
+	@Autowired
+	private ProductCatalog productCatalog;
+
+	@Autowired(required = false)
+	private List<IBundleReadyListener> bundleReadyListeners;
 	
 	
 	@Override
@@ -45,7 +53,15 @@ public class InitBundleListener implements ApplicationListener<ApplicationReadyE
 		}
 		
 		System.clearProperty(clearStr);
+		productCatalog.start();
 		logger.info("init the bundles end");
+
+		// the service is reported ready after the ApplicationReadyEvent listeners return
+		if (bundleReadyListeners != null) {
+			for (IBundleReadyListener listener : bundleReadyListeners) {
+				listener.onBundleReady();
+			}
+		}
 		
 		
 	}
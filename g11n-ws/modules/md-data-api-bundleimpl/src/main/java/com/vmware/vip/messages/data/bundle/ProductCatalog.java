@@ -0,0 +1,429 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.bundle;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.vmware.vip.common.constants.ConstantsFile;
+import com.vmware.vip.common.i18n.resourcefile.LocalJSONReader;
+import com.vmware.vip.common.i18n.resourcefile.ResourceFilePathGetter;
+import com.vmware.vip.messages.data.dao.model.ProductChangeEvent;
+import com.vmware.vip.messages.data.exception.BundleException;
+
+/**
+ * In-memory catalog of the local bundles: product -> version -> components,
+ * locales and the content of version.json.
+ * <p>
+ * The catalog is built once the bundles are ready and is kept current by a
+ * file system watcher, so the product queries don't list the bundle
+ * directories on every request. Before it's started, or if the watcher can't
+ * be created, every query scans the file system as before. A product with a
+ * dir which can't be watched, e.g. when the max number of watches is reached,
+ * is scanned on each query until all its dirs are watched.
+ * <p>
+ * A change is rescanned at the level of the changed dir, i.e. a component
+ * dir or the version.json of a version, or a new or removed version or
+ * product.
+ * <p>
+ * A {@link ProductChangeEvent} is published when a product is reloaded.
+ */
+@Component
+public class ProductCatalog {
+	private static Logger logger = LoggerFactory.getLogger(ProductCatalog.class);
+
+	@Autowired
+	private BundleConfig bundleConfig;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	private final Map<String, ProductEntry> products = new ConcurrentHashMap<>();
+
+	private final Map<WatchKey, Path> watchedDirs = new ConcurrentHashMap<>();
+
+	// the dirs which failed to be watched, they're logged once
+	private final Set<Path> unwatchedDirs = ConcurrentHashMap.newKeySet();
+
+	private volatile WatchService watchService;
+
+	private volatile boolean watching = false;
+
+	/**
+	 * Scan all the products and start watching the bundle directory.
+	 */
+	public synchronized void start() {
+		if (watching) {
+			return;
+		}
+		File root = getRootDir();
+		if (!root.isDirectory()) {
+			logger.warn("The bundle dir is not existing, the product catalog is disabled: {}", root.getAbsolutePath());
+			return;
+		}
+		try {
+			watchService = root.toPath().getFileSystem().newWatchService();
+			register(root.toPath());
+		} catch (IOException e) {
+			logger.warn("Failed to watch the bundle dir, the product catalog is disabled", e);
+			closeWatchService();
+			return;
+		}
+
+		File[] productDirs = root.listFiles(File::isDirectory);
+		if (productDirs != null) {
+			for (File productDir : productDirs) {
+				products.compute(productDir.getName(), (name, old) -> scanProduct(name));
+			}
+		}
+		watching = true;
+
+		WatchService service = watchService;
+		Thread watcher = new Thread(() -> watch(service), "product-catalog-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+		logger.info("The product catalog is started with {} products", products.size());
+	}
+
+	@PreDestroy
+	public void stop() {
+		watching = false;
+		closeWatchService();
+	}
+
+	/**
+	 * Get the versions of a product.
+	 *
+	 * @return the version names, or null if the product is not existing
+	 */
+	public List<String> getVersionList(String productName) {
+		ProductEntry product = getProduct(productName);
+		return product == null ? null : new ArrayList<>(product.versions.keySet());
+	}
+
+	/**
+	 * Get the components of a product version.
+	 *
+	 * @return the component names, or null if the version is not existing
+	 */
+	public List<String> getComponentList(String productName, String version) {
+		VersionEntry entry = getVersion(productName, version);
+		return entry == null ? null : new ArrayList<>(entry.components.keySet());
+	}
+
+	/**
+	 * Get the locales of a product version.
+	 *
+	 * @return the locales, or null if the version is not existing
+	 * @throws BundleException if a translation file name has no locale
+	 */
+	public List<String> getLocaleList(String productName, String version) throws BundleException {
+		VersionEntry entry = getVersion(productName, version);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.localeError != null) {
+			throw new BundleException(entry.localeError);
+		}
+		return new ArrayList<>(entry.locales);
+	}
+
+	/**
+	 * Get the content of the version.json of a product version.
+	 *
+	 * @return the content, or null if the file is not existing
+	 */
+	public String getVersionInfo(String productName, String version) {
+		VersionEntry entry = getVersion(productName, version);
+		return entry == null ? null : entry.versionInfo;
+	}
+
+	private VersionEntry getVersion(String productName, String version) {
+		ProductEntry product = getProduct(productName);
+		return product == null ? null : product.versions.get(version);
+	}
+
+	private ProductEntry getProduct(String productName) {
+		if (!watching) {
+			return scanProduct(productName);
+		}
+		// a product created before being watched is loaded on the first query
+		ProductEntry product = products.computeIfAbsent(productName, this::scanProduct);
+		if (product != null && !product.watched) {
+			// a dir of the product can't be watched, so it's scanned on each query
+			product = products.compute(productName, (name, old) -> scanProduct(name));
+		}
+		return product;
+	}
+
+	private File getRootDir() {
+		return new File(bundleConfig.getBasePathWithSeparator() + ConstantsFile.L10N_BUNDLES_PATH);
+	}
+
+	private ProductEntry scanProduct(String productName) {
+		if (StringUtils.isEmpty(productName)) {
+			return null;
+		}
+		File productDir = new File(getRootDir(), productName);
+		File[] versionDirs = productDir.listFiles(File::isDirectory);
+		if (versionDirs == null) {
+			return null;
+		}
+		boolean watched = register(productDir.toPath());
+		Map<String, VersionEntry> versions = new LinkedHashMap<>();
+		for (File versionDir : versionDirs) {
+			versions.put(versionDir.getName(), scanVersion(versionDir));
+		}
+		return new ProductEntry(versions, watched);
+	}
+
+	private VersionEntry scanVersion(File versionDir) {
+		boolean watched = register(versionDir.toPath());
+		Map<String, ComponentEntry> components = new LinkedHashMap<>();
+		File[] componentDirs = versionDir.listFiles(File::isDirectory);
+		if (componentDirs != null) {
+			for (File componentDir : componentDirs) {
+				components.put(componentDir.getName(), scanComponent(componentDir));
+			}
+		}
+		return new VersionEntry(components, readVersionInfo(versionDir), watched);
+	}
+
+	private ComponentEntry scanComponent(File componentDir) {
+		boolean watched = register(componentDir.toPath());
+		List<String> locales = new ArrayList<>();
+		String localeError = null;
+		String[] fileNames = componentDir.list();
+		if (fileNames != null) {
+			for (String fileName : fileNames) {
+				String locale = ResourceFilePathGetter.getLocaleByFileName(fileName);
+				if (StringUtils.isEmpty(locale)) {
+					localeError = "Empty locale when get it from file: " + fileName;
+				} else if (!locales.contains(locale)) {
+					locales.add(locale);
+				}
+			}
+		}
+		return new ComponentEntry(locales, localeError, watched);
+	}
+
+	private String readVersionInfo(File versionDir) {
+		File versionFile = new File(versionDir, ConstantsFile.VERSION_FILE);
+		return versionFile.exists() ? new LocalJSONReader().readLocalJSONFile(versionFile.getPath()) : null;
+	}
+
+	/*
+	 * rescan the changed dir of a product, the path is relative to the bundle
+	 * dir: a product, a version, or a component or file of a version.
+	 */
+	private void rescan(Path changed) {
+		String productName = changed.getName(0).toString();
+		if (changed.getNameCount() == 1) {
+			products.compute(productName, (name, old) -> scanProduct(name));
+			return;
+		}
+		products.computeIfPresent(productName, (name, old) -> {
+			String version = changed.getName(1).toString();
+			File versionDir = new File(new File(getRootDir(), productName), version);
+			Map<String, VersionEntry> versions = new LinkedHashMap<>(old.versions);
+			if (!versionDir.isDirectory()) {
+				versions.remove(version);
+			} else if (changed.getNameCount() == 2 || !versions.containsKey(version)) {
+				versions.put(version, scanVersion(versionDir));
+			} else {
+				VersionEntry oldVersion = versions.get(version);
+				String fileName = changed.getName(2).toString();
+				File componentDir = new File(versionDir, fileName);
+				Map<String, ComponentEntry> components = new LinkedHashMap<>(oldVersion.components);
+				String versionInfo = oldVersion.versionInfo;
+				if (componentDir.isDirectory()) {
+					components.put(fileName, scanComponent(componentDir));
+				} else {
+					components.remove(fileName);
+				}
+				if (ConstantsFile.VERSION_FILE.equals(fileName)) {
+					versionInfo = readVersionInfo(versionDir);
+				}
+				versions.put(version, new VersionEntry(components, versionInfo, oldVersion.watched));
+			}
+			return new ProductEntry(versions, old.watched);
+		});
+	}
+
+	/*
+	 * watch a dir, the dir's product is marked as not watched if it fails, e.g.
+	 * when the max number of watches is reached.
+	 */
+	private boolean register(Path dir) {
+		WatchService service = watchService;
+		if (service == null) {
+			return true;
+		}
+		try {
+			WatchKey key = dir.register(service, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+			watchedDirs.put(key, dir);
+			unwatchedDirs.remove(dir);
+			return true;
+		} catch (IOException | ClosedWatchServiceException e) {
+			if (unwatchedDirs.add(dir)) {
+				logger.error("Failed to watch the dir, its product is scanned on each query: {}", dir, e);
+			}
+			return false;
+		}
+	}
+
+	private void watch(WatchService service) {
+		Path root = getRootDir().toPath();
+		while (watching) {
+			WatchKey key;
+			try {
+				key = service.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (ClosedWatchServiceException e) {
+				return;
+			}
+
+			// the changed products, versions, and components or files of a version
+			Set<Path> changedDirs = new LinkedHashSet<>();
+			boolean overflow = false;
+			Path dir = watchedDirs.get(key);
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == OVERFLOW || dir == null) {
+					overflow = true;
+					continue;
+				}
+				Path changed = root.relativize(dir.resolve((Path) event.context()));
+				if (changed.getNameCount() > 0) {
+					changedDirs.add(changed.subpath(0, Math.min(changed.getNameCount(), 3)));
+				}
+			}
+			if (!key.reset()) {
+				watchedDirs.remove(key);
+			}
+
+			if (overflow) {
+				changedDirs.clear();
+				for (String productName : products.keySet()) {
+					changedDirs.add(root.getFileSystem().getPath(productName));
+				}
+				File[] productDirs = root.toFile().listFiles(File::isDirectory);
+				if (productDirs != null) {
+					for (File productDir : productDirs) {
+						changedDirs.add(root.getFileSystem().getPath(productDir.getName()));
+					}
+				}
+			}
+			Set<String> changedProducts = new LinkedHashSet<>();
+			for (Path changed : changedDirs) {
+				logger.debug("reload the product catalog of {}", changed);
+				rescan(changed);
+				changedProducts.add(changed.getName(0).toString());
+			}
+			for (String productName : changedProducts) {
+				eventPublisher.publishEvent(new ProductChangeEvent(productName));
+			}
+		}
+	}
+
+	private void closeWatchService() {
+		WatchService service = watchService;
+		watchService = null;
+		watchedDirs.clear();
+		if (service != null) {
+			try {
+				service.close();
+			} catch (IOException e) {
+				logger.warn(e.getMessage(), e);
+			}
+		}
+	}
+
+	private static class ProductEntry {
+		private final Map<String, VersionEntry> versions;
+
+		// false if a dir of the product isn't watched
+		private final boolean watched;
+
+		ProductEntry(Map<String, VersionEntry> versions, boolean watched) {
+			this.versions = Collections.unmodifiableMap(versions);
+			boolean allWatched = watched;
+			for (VersionEntry version : versions.values()) {
+				allWatched &= version.watched;
+			}
+			this.watched = allWatched;
+		}
+	}
+
+	private static class VersionEntry {
+		private final Map<String, ComponentEntry> components;
+		private final List<String> locales;
+		private final String localeError;
+		private final String versionInfo;
+		private final boolean watched;
+
+		VersionEntry(Map<String, ComponentEntry> components, String versionInfo, boolean watched) {
+			this.components = Collections.unmodifiableMap(components);
+			List<String> allLocales = new ArrayList<>();
+			String error = null;
+			boolean allWatched = watched;
+			for (ComponentEntry component : components.values()) {
+				for (String locale : component.locales) {
+					if (!allLocales.contains(locale)) {
+						allLocales.add(locale);
+					}
+				}
+				if (component.localeError != null) {
+					error = component.localeError;
+				}
+				allWatched &= component.watched;
+			}
+			this.locales = Collections.unmodifiableList(allLocales);
+			this.localeError = error;
+			this.versionInfo = versionInfo;
+			this.watched = allWatched;
+		}
+	}
+
+	private static class ComponentEntry {
+		private final List<String> locales;
+		private final String localeError;
+		private final boolean watched;
+
+		ComponentEntry(List<String> locales, String localeError, boolean watched) {
+			this.locales = locales;
+			this.localeError = localeError;
+			this.watched = watched;
+		}
+	}
+}
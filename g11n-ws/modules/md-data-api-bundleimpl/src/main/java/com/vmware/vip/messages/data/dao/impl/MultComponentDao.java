@@ -4,19 +4,23 @@
  */
 package com.vmware.vip.messages.data.dao.impl;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import com.vmware.vip.common.constants.ConstantsChar;
+import com.vmware.vip.messages.data.bundle.BundleConfig;
 import com.vmware.vip.messages.data.dao.api.IMultComponentDao;
 import com.vmware.vip.messages.data.dao.api.IOneComponentDao;
 import com.vmware.vip.messages.data.dao.exception.DataException;
 import com.vmware.vip.messages.data.dao.model.ResultI18Message;
+import com.vmware.vip.messages.data.dao.util.ParallelBundleLoader;
 import com.vmware.vip.messages.data.exception.BundleException;
 
 /**
@@ -30,26 +34,32 @@ public class MultComponentDao implements IMultComponentDao {
 	@Autowired
 	private IOneComponentDao oneComponentDao;
 
-	
+	@Autowired
+	private BundleConfig bundleConfig;
+
+	private ParallelBundleLoader bundleLoader;
+
+	@PostConstruct
+	public void init() {
+		bundleLoader = new ParallelBundleLoader(bundleConfig.getLoadConcurrency(), "bundle-loader");
+	}
+
+	@PreDestroy
+	public void destroy() {
+		bundleLoader.shutdown();
+	}
+
 	@Override
 	public List<String> get2JsonStrs(String productName, String version, List<String> components,
 			List<String> locales) throws DataException{
 		
 		logger.debug("begin get2JsonStrs");
-		List<String> bundles = new ArrayList<>();
 		if (components == null || locales == null) {
 			throw new BundleException("No component or locale");
 		}
-		for (String component : components) {
-			for (String locale : locales) {
-			    try {
-				bundles.add(oneComponentDao.get2JsonStr(productName, version,
-						component, locale));
-			} catch (DataException e) {
-               logger.error(e.getMessage(), e);
-            }
-			}
-		}
+		List<String> bundles = bundleLoader.load(components, locales,
+				(component, locale) -> oneComponentDao.get2JsonStr(productName, version, component, locale),
+				e -> logger.error(e.getMessage(), e));
 		  if (bundles.isEmpty()) {
 	            throw new BundleException("Failed to get for "
                         + productName + ConstantsChar.BACKSLASH + version);
@@ -63,20 +73,12 @@ public class MultComponentDao implements IMultComponentDao {
 			List<String> locales) throws DataException{
 		
 		logger.debug("begin get");
-		List<ResultI18Message> bundles = new ArrayList<>();
 		if (components == null || locales == null) {
 			throw new BundleException("No component or locale");
 		}
-		for (String component : components) {
-			for (String locale : locales) {
-				try {
-					bundles.add(oneComponentDao.get(productName, version,
-							component, locale));
-				} catch (DataException e) {
-				    logger.error(e.getMessage(), e);
-				}
-			}
-		}
+		List<ResultI18Message> bundles = bundleLoader.load(components, locales,
+				(component, locale) -> oneComponentDao.get(productName, version, component, locale),
+				e -> logger.error(e.getMessage(), e));
 
 		logger.debug("end get");
 
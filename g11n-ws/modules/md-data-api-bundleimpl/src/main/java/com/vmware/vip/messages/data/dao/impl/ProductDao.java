@@ -5,12 +5,8 @@
 package com.vmware.vip.messages.data.dao.impl;
 
 import java.io.File;
-import java.io.FilenameFilter;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -19,12 +15,14 @@ import com.vmware.vip.common.i18n.dto.BaseDTO;
 import com.vmware.vip.common.i18n.resourcefile.LocalJSONReader;
 import com.vmware.vip.common.i18n.resourcefile.ResourceFilePathGetter;
 import com.vmware.vip.messages.data.bundle.BundleConfig;
+import com.vmware.vip.messages.data.bundle.ProductCatalog;
 import com.vmware.vip.messages.data.dao.api.IProductDao;
 import com.vmware.vip.messages.data.dao.exception.DataException;
 import com.vmware.vip.messages.data.exception.BundleException;
 
 /**
- * This java class is used to get locale list from file in or out of jar.
+ * This java class is used to get locale list from file in or out of jar, the
+ * bundle directories are looked up in the product catalog.
  */
 @Component
 public class ProductDao implements IProductDao {
@@ -32,56 +30,25 @@ public class ProductDao implements IProductDao {
 	@Autowired
 	private BundleConfig bundleConfig;
 
+	@Autowired
+	private ProductCatalog productCatalog;
+
 	public List<String> getComponentList(String productName, String version)
 			throws BundleException {
-		List<String> componentList = new ArrayList<>();
-
-		String basePath = bundleConfig.getBasePathWithSeparator();
-
-		String filePath = ConstantsFile.L10N_BUNDLES_PATH
-				+ ResourceFilePathGetter.getProductVersionConcatName(new BaseDTO(productName, version));
-		String bundlePath = basePath + filePath;
-
-		File file = new File(bundlePath);
-		if (file.exists()) {
-			File[] libfiles = file.listFiles();
-			for (File file2 : libfiles) {
-				if(file2.isDirectory()) {
-					componentList.add(file2.getName());
-				}
-			}
-
-			if (componentList.isEmpty()) {
-				throw new BundleException("Component list is empty.");
-			}
-		} else {
+		List<String> componentList = productCatalog.getComponentList(productName, version);
+		if (componentList == null) {
 			throw new BundleException("Can't find resource from " + productName + "\\" + version);
 		}
+		if (componentList.isEmpty()) {
+			throw new BundleException("Component list is empty.");
+		}
 		return componentList;
 	}
 
 	public List<String> getLocaleList(String productName, String version) throws BundleException {
-		List<String> supportedLocaleList = new ArrayList<>();
-
-		String basePath = bundleConfig.getBasePathWithSeparator();
-
-		String filePath = ConstantsFile.L10N_BUNDLES_PATH
-				+ ResourceFilePathGetter.getProductVersionConcatName(new BaseDTO(productName, version));
-		String bundlePath = basePath + filePath;
-
-		File file = new File(bundlePath);
-		if (file.exists() && file.isDirectory()) {
-			File[] componentFolders = file.listFiles();
-			for (File folder : componentFolders) {
-				if (folder.isDirectory()) {
-					String[] translationFileNames = folder.list();
-					for (int i = 0; i < translationFileNames.length; i++) {
-						addLocaleToList(supportedLocaleList, translationFileNames[i]);
-					}
-				}
-			}
-		} else {
-			throw new BundleException("The file is not existing: " + bundlePath);
+		List<String> supportedLocaleList = productCatalog.getLocaleList(productName, version);
+		if (supportedLocaleList == null) {
+			throw new BundleException("The file is not existing: " + getBundlePath(productName, version));
 		}
 		if (supportedLocaleList.isEmpty()) {
 			throw new BundleException("The locae list is empty.");
@@ -89,37 +56,18 @@ public class ProductDao implements IProductDao {
 		return supportedLocaleList;
 	}
 
-	/**
-	 * Get locale by cutting locale string from the file name and then add it to
-	 * locale list.
-	 *
-	 * @param supportedLocaleList
-	 * @param fileName
-	 */
-	private void addLocaleToList(List<String> supportedLocaleList, String fileName) throws BundleException {
-		String locale = ResourceFilePathGetter.getLocaleByFileName(fileName);
-		if (!StringUtils.isEmpty(locale)) {
-			if (!supportedLocaleList.contains(locale)) {
-				supportedLocaleList.add(locale);
-			}
-		} else {
-			throw new BundleException("Empty locale when get it from file: " + fileName);
-		}
+	private String getBundlePath(String productName, String version) {
+		return bundleConfig.getBasePathWithSeparator() + ConstantsFile.L10N_BUNDLES_PATH
+				+ ResourceFilePathGetter.getProductVersionConcatName(new BaseDTO(productName, version));
 	}
 
 	@Override
 	public String getVersionInfo(String productName, String version)
 			throws DataException {
-		String basepath = bundleConfig.getBasePathWithSeparator();
-		String subpath = ConstantsFile.L10N_BUNDLES_PATH + productName
-				+ File.separator + version + File.separator
-				+ ConstantsFile.VERSION_FILE;
-		String result = null;
-		String jsonfile = basepath + subpath;
-		if (new File(jsonfile).exists()) {
-			result = new LocalJSONReader().readLocalJSONFile(jsonfile);
-		}
+		String result = productCatalog.getVersionInfo(productName, version);
 		if (result == null) {
+			String jsonfile = bundleConfig.getBasePathWithSeparator() + ConstantsFile.L10N_BUNDLES_PATH
+					+ productName + File.separator + version + File.separator + ConstantsFile.VERSION_FILE;
 			throw new BundleException("File is not existing: " + jsonfile);
 		}
 
@@ -134,28 +82,13 @@ public class ProductDao implements IProductDao {
      */
     @Override
     public List<String> getVersionList(String productName) throws DataException {
-   
-        String basePath = bundleConfig.getBasePathWithSeparator() + ConstantsFile.L10N_BUNDLES_PATH + productName
-                + File.separator;
-        File fileBase = new File(basePath);
-        if (fileBase.exists() && fileBase.isDirectory()) {
-            String[] versionNames = fileBase.list(new FilenameFilter() {
-                @Override
-                public boolean accept(File dir, String name) {
-                    // TODO Auto-generated method stub
-                    if(dir.isDirectory()) {
-                        return true;
-                    }else {
-                        return false;
-                    }
-                   
-                }
-                
-            });
-           return Arrays.asList(versionNames);
-        }else {
+        List<String> versionNames = productCatalog.getVersionList(productName);
+        if (versionNames == null) {
+            String basePath = bundleConfig.getBasePathWithSeparator() + ConstantsFile.L10N_BUNDLES_PATH + productName
+                    + File.separator;
             throw new BundleException("The base l10n dir is not existing, the missed dir is: " + basePath);
         }
+        return versionNames;
     }
 
     /**
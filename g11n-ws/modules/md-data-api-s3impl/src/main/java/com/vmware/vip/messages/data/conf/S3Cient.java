@@ -9,10 +9,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.retry.PredefinedRetryPolicies;
 import com.amazonaws.services.s3.model.GetBucketLocationRequest;
 /**
  * the class use S3 configurations to initialize S3 client environment
@@ -33,6 +35,7 @@ public class S3Cient {
       s3Client = AmazonS3ClientBuilder.standard()
             .withCredentials(new AWSStaticCredentialsProvider(
                   new BasicAWSCredentials(config.getAccessKey(), config.getSecretkey())))
+            .withClientConfiguration(createClientConfiguration())
             .withRegion(config.getS3Region()).enablePathStyleAccess().build();
       if (!s3Client.doesBucketExistV2(config.getBucketName())) {
          s3Client.createBucket(config.getBucketName());
@@ -43,6 +46,21 @@ public class S3Cient {
       }
    }
 
+   /**
+    * the connection pool has a connection for each bundle loader thread at
+    * least, so the concurrent reads of a multiple components request don't
+    * wait for connections
+    */
+   private ClientConfiguration createClientConfiguration() {
+      int maxConnections = Math.max(config.getMaxConnections(), config.getLoadConcurrency());
+      logger.info("S3 client max connections: {}", maxConnections);
+      return new ClientConfiguration().withMaxConnections(maxConnections)
+            .withConnectionTimeout(config.getConnectionTimeout())
+            .withSocketTimeout(config.getSocketTimeout())
+            .withRetryPolicy(PredefinedRetryPolicies
+                  .getDefaultRetryPolicyWithCustomMaxRetries(config.getMaxErrorRetry()));
+   }
+
    public AmazonS3 getS3Client() {
       return s3Client;
    }
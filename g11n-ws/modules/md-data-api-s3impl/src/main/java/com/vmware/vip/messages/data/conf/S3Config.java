@@ -5,6 +5,7 @@
 package com.vmware.vip.messages.data.conf;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -77,6 +78,94 @@ public class S3Config {
 		this.encryption = encryption;
 	}
 
+	public int getLoadConcurrency() {
+		return loadConcurrency;
+	}
+
+	public void setLoadConcurrency(int loadConcurrency) {
+		this.loadConcurrency = loadConcurrency;
+	}
+
+	public int getMaxConnections() {
+		return maxConnections;
+	}
+
+	public void setMaxConnections(int maxConnections) {
+		this.maxConnections = maxConnections;
+	}
+
+	public int getConnectionTimeout() {
+		return connectionTimeout;
+	}
+
+	public void setConnectionTimeout(int connectionTimeout) {
+		this.connectionTimeout = connectionTimeout;
+	}
+
+	public int getSocketTimeout() {
+		return socketTimeout;
+	}
+
+	public void setSocketTimeout(int socketTimeout) {
+		this.socketTimeout = socketTimeout;
+	}
+
+	public int getMaxErrorRetry() {
+		return maxErrorRetry;
+	}
+
+	public void setMaxErrorRetry(int maxErrorRetry) {
+		this.maxErrorRetry = maxErrorRetry;
+	}
+
+	public long getRevalidateMaxBytes() {
+		return revalidateMaxBytes;
+	}
+
+	public void setRevalidateMaxBytes(long revalidateMaxBytes) {
+		this.revalidateMaxBytes = revalidateMaxBytes;
+	}
+
+	public String getDiskCacheDir() {
+		return diskCacheDir;
+	}
+
+	public void setDiskCacheDir(String diskCacheDir) {
+		this.diskCacheDir = diskCacheDir;
+	}
+
+	public long getDiskCacheMaxBytes() {
+		return diskCacheMaxBytes;
+	}
+
+	public void setDiskCacheMaxBytes(long diskCacheMaxBytes) {
+		this.diskCacheMaxBytes = diskCacheMaxBytes;
+	}
+
+	public long getDiskCacheMaxStaleMillis() {
+		return TimeUnit.SECONDS.toMillis(diskCacheMaxStaleSeconds);
+	}
+
+	public void setDiskCacheMaxStaleSeconds(long diskCacheMaxStaleSeconds) {
+		this.diskCacheMaxStaleSeconds = diskCacheMaxStaleSeconds;
+	}
+
+	public long getCatalogTtlMillis() {
+		return TimeUnit.SECONDS.toMillis(catalogTtlSeconds);
+	}
+
+	public void setCatalogTtlSeconds(long catalogTtlSeconds) {
+		this.catalogTtlSeconds = catalogTtlSeconds;
+	}
+
+	public int getCatalogVerifyEveryTtls() {
+		return catalogVerifyEveryTtls;
+	}
+
+	public void setCatalogVerifyEveryTtls(int catalogVerifyEveryTtls) {
+		this.catalogVerifyEveryTtls = catalogVerifyEveryTtls;
+	}
+
 	public String getPublicKey() {
 		File file = new File(this.publicKey);
 		if(file.exists()) {
@@ -131,4 +220,78 @@ public class S3Config {
 	@Value("${s3.bucketName}")
 	private String bucketName;
 
+	/**
+	 * the max number of bundle objects got from s3 at the same time by a
+	 * multiple components request
+	 */
+	@Value("${s3.load.concurrency:8}")
+	private int loadConcurrency;
+
+	/**
+	 * the max open connections of the S3 client, it's s3.load.concurrency at
+	 * least
+	 */
+	@Value("${s3.client.maxConnections:50}")
+	private int maxConnections;
+
+	/**
+	 * the milliseconds to wait for a connection to be established
+	 */
+	@Value("${s3.client.connectionTimeout:10000}")
+	private int connectionTimeout;
+
+	/**
+	 * the milliseconds to wait for data on an open connection
+	 */
+	@Value("${s3.client.socketTimeout:50000}")
+	private int socketTimeout;
+
+	/**
+	 * the max retries of a failed request which can be retried, e.g. a
+	 * throttled or 5xx one
+	 */
+	@Value("${s3.client.maxErrorRetry:3}")
+	private int maxErrorRetry;
+
+	/**
+	 * the max bytes of the object contents kept to be revalidated by their
+	 * ETags
+	 */
+	@Value("${s3.revalidate.maxBytes:67108864}")
+	private long revalidateMaxBytes;
+
+	/**
+	 * the dir of the local disk cache of the S3 objects, the disk cache is
+	 * disabled if it's empty
+	 */
+	@Value("${s3.diskCache.dir:}")
+	private String diskCacheDir;
+
+	/**
+	 * the max total bytes of the files in the disk cache
+	 */
+	@Value("${s3.diskCache.maxBytes:1073741824}")
+	private long diskCacheMaxBytes;
+
+	/**
+	 * the seconds a file in the disk cache is used without being revalidated
+	 * by S3, 0 to always revalidate it
+	 */
+	@Value("${s3.diskCache.maxStaleSeconds:0}")
+	private long diskCacheMaxStaleSeconds;
+
+	/**
+	 * the seconds the listed versions, components and locales of a product
+	 * are used before they're listed again
+	 */
+	@Value("${s3.catalog.ttlSeconds:60}")
+	private long catalogTtlSeconds;
+
+	/**
+	 * the manifest of a product version is checked against a listing every
+	 * this number of loads, 0 to never check it
+	 */
+	@Value("${s3.catalog.verifyEveryTtls:10}")
+	private int catalogVerifyEveryTtls;
+
 }
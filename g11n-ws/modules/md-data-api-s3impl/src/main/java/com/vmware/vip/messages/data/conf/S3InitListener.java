@@ -0,0 +1,32 @@
+/**
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.conf;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import com.vmware.vip.messages.data.dao.api.IBundleReadyListener;
+/**
+ * notify the bundle ready listeners when the service is started, the S3
+ * bundles are ready once the S3 client is initialized
+ */
+@Component
+public class S3InitListener implements ApplicationListener<ApplicationReadyEvent> {
+
+   @Autowired(required = false)
+   private List<IBundleReadyListener> bundleReadyListeners;
+
+   @Override
+   public void onApplicationEvent(ApplicationReadyEvent event) {
+      // the service is reported ready after the ApplicationReadyEvent listeners return
+      if (bundleReadyListeners != null) {
+         for (IBundleReadyListener listener : bundleReadyListeners) {
+            listener.onBundleReady();
+         }
+      }
+   }
+}
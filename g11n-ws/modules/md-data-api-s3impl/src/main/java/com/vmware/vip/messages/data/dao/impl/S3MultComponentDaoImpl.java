@@ -4,17 +4,22 @@
  */
 package com.vmware.vip.messages.data.dao.impl;
 
-import java.util.ArrayList;
 import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import com.vmware.vip.common.constants.ConstantsChar;
+import com.vmware.vip.messages.data.conf.S3Config;
 import com.vmware.vip.messages.data.dao.api.IMultComponentDao;
 import com.vmware.vip.messages.data.dao.api.IOneComponentDao;
 import com.vmware.vip.messages.data.dao.exception.DataException;
 import com.vmware.vip.messages.data.dao.model.ResultI18Message;
+import com.vmware.vip.messages.data.dao.util.ParallelBundleLoader;
 /**
  * this class get the bundle json from bundle file
  */
@@ -25,6 +30,21 @@ public class S3MultComponentDaoImpl implements IMultComponentDao {
    @Autowired
    private IOneComponentDao oneComponentDao;
 
+   @Autowired
+   private S3Config config;
+
+   private ParallelBundleLoader bundleLoader;
+
+   @PostConstruct
+   public void init() {
+      bundleLoader = new ParallelBundleLoader(config.getLoadConcurrency(), "s3-bundle-loader");
+   }
+
+   @PreDestroy
+   public void destroy() {
+      bundleLoader.shutdown();
+   }
+
    /**
     * get the bundle files from s3 server
     */
@@ -32,15 +52,11 @@ public class S3MultComponentDaoImpl implements IMultComponentDao {
    public List<String> get2JsonStrs(String productName, String version, List<String> components,
          List<String> locales) throws DataException {
       logger.debug("begin get2JsonStrs");
-      List<String> bundles = new ArrayList<>();
       if (components == null || locales == null) {
          throw new DataException("S3 No component or locale");
       }
-      for (String component : components) {
-         for (String locale : locales) {
-            bundles.add(oneComponentDao.get2JsonStr(productName, version, component, locale));
-         }
-      }
+      List<String> bundles = bundleLoader.load(components, locales,
+            (component, locale) -> oneComponentDao.get2JsonStr(productName, version, component, locale), null);
       logger.debug("end get2JsonStrs");
       return bundles;
    }
@@ -52,21 +68,18 @@ public class S3MultComponentDaoImpl implements IMultComponentDao {
    public List<ResultI18Message> get(String productName, String version, List<String> components,
          List<String> locales) throws DataException {
       logger.debug("begin get");
-      List<ResultI18Message> bundles = new ArrayList<>();
       if (components == null || locales == null) {
          throw new DataException("S3 No component or locale");
       }
-      for (String component : components) {
-         for (String locale : locales) {
-            try {
-               bundles.add(oneComponentDao.get(productName, version, component, locale));
-            } catch (DataException e) {
-               throw new DataException("S3 Failed to get for " + productName
-                     + ConstantsChar.BACKSLASH + version + ConstantsChar.BACKSLASH + component
-                     + ConstantsChar.BACKSLASH + locale + ".", e);
-            }
+      List<ResultI18Message> bundles = bundleLoader.load(components, locales, (component, locale) -> {
+         try {
+            return oneComponentDao.get(productName, version, component, locale);
+         } catch (DataException e) {
+            throw new DataException("S3 Failed to get for " + productName
+                  + ConstantsChar.BACKSLASH + version + ConstantsChar.BACKSLASH + component
+                  + ConstantsChar.BACKSLASH + locale + ".", e);
          }
-      }
+      }, null);
       logger.debug("end get");
       if (bundles.size() == 0) {
          throw new DataException("S3 No bundle is found.");
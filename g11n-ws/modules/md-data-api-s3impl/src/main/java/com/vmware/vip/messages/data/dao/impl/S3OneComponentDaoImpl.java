@@ -5,6 +5,7 @@
 package com.vmware.vip.messages.data.dao.impl;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -13,7 +14,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 import com.amazonaws.services.s3.model.PutObjectResult;
-import com.amazonaws.services.s3.model.S3Object;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vmware.vip.common.constants.ConstantsChar;
@@ -25,6 +25,8 @@ import com.vmware.vip.messages.data.conf.S3Config;
 import com.vmware.vip.messages.data.dao.api.IOneComponentDao;
 import com.vmware.vip.messages.data.dao.exception.DataException;
 import com.vmware.vip.messages.data.dao.model.ResultI18Message;
+import com.vmware.vip.messages.data.util.S3ObjectReader;
+import com.vmware.vip.messages.data.util.S3ProductCatalog;
 import com.vmware.vip.messages.data.util.S3Utils;
 
 /**
@@ -39,6 +41,12 @@ public class S3OneComponentDaoImpl implements IOneComponentDao {
    @Autowired
    private S3Config config;
 
+   @Autowired
+   private S3ObjectReader s3ObjectReader;
+
+   @Autowired
+   private S3ProductCatalog productCatalog;
+
    private static final String S3_NOT_EXIST_STR = "S3 File doesn't exist: ";
    private static final String S3_NOT_EXIST_ERR = "File's name doesn't exist!";
 
@@ -79,19 +87,12 @@ public class S3OneComponentDaoImpl implements IOneComponentDao {
          throws DataException {
       String filePath = S3Utils.genProductVersionS3Path(productName, version) + component
             + ConstantsChar.BACKSLASH + ResourceFilePathGetter.getLocalizedJSONFileName(locale);
-      String result = null;
-      if (s3Client.getS3Client().doesObjectExist(config.getBucketName(), filePath)) {
-         S3Object o = s3Client.getS3Client().getObject(config.getBucketName(), filePath);
-         if (o != null) {
-            try {
-               result = S3Utils.convertS3Obj2Str(o);
-            } catch (IOException e) {
-               logger.warn(e.getMessage(), e);
-               throw new DataException(S3_NOT_EXIST_STR + filePath);
-            }
-         } else {
-            throw new DataException(S3_NOT_EXIST_STR + filePath);
-         }
+      String result;
+      try {
+         result = s3ObjectReader.read(filePath);
+      } catch (IOException e) {
+         logger.warn(e.getMessage(), e);
+         throw new DataException(S3_NOT_EXIST_STR + filePath);
       }
       if (result == null) {
          throw new DataException(S3_NOT_EXIST_STR + filePath);
@@ -106,7 +107,8 @@ public class S3OneComponentDaoImpl implements IOneComponentDao {
    }
 
    /**
-    * update the component bundle file to remote S3 server
+    * update the component bundle file to remote S3 server, and the bundle in
+    * the manifest of the product version
     */
    @Override
    public boolean update(String productName, String version, String component, String locale,
@@ -130,6 +132,10 @@ public class S3OneComponentDaoImpl implements IOneComponentDao {
       }
       PutObjectResult putResult =
             s3Client.getS3Client().putObject(config.getBucketName(), filePath, content);
+      if (putResult != null) {
+         productCatalog.putBundle(productName, version, component, locale, putResult,
+               content.getBytes(StandardCharsets.UTF_8).length);
+      }
       return (putResult != null);
    }
 
@@ -6,25 +6,18 @@ package com.vmware.vip.messages.data.dao.impl;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
-import com.amazonaws.services.s3.model.ListObjectsV2Result;
-import com.amazonaws.services.s3.model.S3Object;
-import com.amazonaws.services.s3.model.S3ObjectSummary;
-import com.vmware.vip.common.constants.ConstantsChar;
 import com.vmware.vip.common.constants.ConstantsFile;
-import com.vmware.vip.messages.data.conf.S3Cient;
-import com.vmware.vip.messages.data.conf.S3Config;
 import com.vmware.vip.messages.data.dao.api.IProductDao;
 import com.vmware.vip.messages.data.dao.exception.DataException;
+import com.vmware.vip.messages.data.util.S3ObjectReader;
+import com.vmware.vip.messages.data.util.S3ProductCatalog;
 import com.vmware.vip.messages.data.util.S3Utils;
 
 /**
@@ -36,35 +29,21 @@ public class S3ProductDaoImpl implements IProductDao {
    private static Logger logger = LoggerFactory.getLogger(S3ProductDaoImpl.class);
 
    @Autowired
-   private S3Cient s3Client;
+   private S3ObjectReader s3ObjectReader;
 
    @Autowired
-   private S3Config config;
+   private S3ProductCatalog productCatalog;
 
    /**
     * get the compose list from S3 server
     */
    @Override
    public List<String> getComponentList(String productName, String version) throws DataException {
-      List<String> componentList = new ArrayList<String>();
-      String filePathPrefix = S3Utils.genProductVersionS3Path(productName, version);
-      ListObjectsV2Result result =
-            s3Client.getS3Client().listObjectsV2(config.getBucketName(), filePathPrefix);
-      if (result == null) {
-         throw new DataException("Can't find S3 resource from " + productName + "\\" + version);
-      }
-      List<S3ObjectSummary> objects = result.getObjectSummaries();
-      if (objects == null || objects.size() < 1) {
+      List<String> componentList = productCatalog.getComponentList(productName, version);
+      if (componentList.isEmpty()) {
          throw new DataException("S3 Component list is empty.");
       }
-      for (S3ObjectSummary s3os : objects) {
-         String resultKey =
-               (s3os.getKey().replace(filePathPrefix, "")).split(ConstantsChar.BACKSLASH)[0];
-         if (!componentList.contains(resultKey) && (!resultKey.endsWith(ConstantsFile.FILE_TPYE_JSON))) {
-            componentList.add(resultKey);
-         }
-      }
-      return componentList;
+      return new ArrayList<String>(componentList);
    }
 
    /**
@@ -72,31 +51,10 @@ public class S3ProductDaoImpl implements IProductDao {
     */
    @Override
    public List<String> getLocaleList(String productName, String version) throws DataException {
-      List<String> localeList = new ArrayList<String>();
-      String filePathPrefix = S3Utils.genProductVersionS3Path(productName, version);
-      ListObjectsV2Result result =
-            s3Client.getS3Client().listObjectsV2(config.getBucketName(), S3Utils.S3_L10N_BUNDLES_PATH);
-      if (result == null) {
-         throw new DataException("Can't find S3 resource from " + productName + "\\" + version);
-      }
-      List<S3ObjectSummary> objects = result.getObjectSummaries();
-      if (objects == null || objects.size() < 1) {
+      if (productCatalog.getComponentList(productName, version).isEmpty()) {
          throw new DataException("S3 Component list is empty.");
       }
-      for (S3ObjectSummary s3os : objects) {
-         String s3obKey = s3os.getKey().replace(filePathPrefix, "");
-         if((!s3obKey.startsWith(ConstantsFile.CREATION_INFO)) && (!s3obKey.startsWith(ConstantsFile.VERSION_FILE))) {
-            String resultKey =s3obKey.split(ConstantsChar.BACKSLASH)[1];
-            String localeKey = S3Utils.getLocaleByFileName(resultKey);
-            if (localeKey != null && !localeList.contains(localeKey)) {
-               localeList.add(localeKey);
-            }
-            
-         }
-         
-         
-      }
-      return localeList;
+      return new ArrayList<String>(productCatalog.getLocaleList(productName, version));
    }
 
    /**
@@ -106,16 +64,11 @@ public class S3ProductDaoImpl implements IProductDao {
    public String getVersionInfo(String productName, String version) throws DataException {
       String filePath =
             S3Utils.genProductVersionS3Path(productName, version) + ConstantsFile.VERSION_FILE;
-      S3Object o = s3Client.getS3Client().getObject(config.getBucketName(), filePath);
-      String result = null;
-      if (o != null) {
-         try {
-            result = S3Utils.convertS3Obj2Str(o);
-         } catch (IOException e) {
-            logger.warn(e.getMessage(), e);
-            throw new DataException("File is not existing: " + filePath);
-         }
-      } else {
+      String result;
+      try {
+         result = s3ObjectReader.read(filePath);
+      } catch (IOException e) {
+         logger.warn(e.getMessage(), e);
          throw new DataException("File is not existing: " + filePath);
       }
       if (result == null) {
@@ -129,24 +82,11 @@ public class S3ProductDaoImpl implements IProductDao {
   */
 @Override
 public List<String> getVersionList(String productName) throws DataException {
-    String basePath = S3Utils.S3_L10N_BUNDLES_PATH+productName +  ConstantsChar.BACKSLASH;
-    ListObjectsV2Result versionListResult = s3Client.getS3Client().listObjectsV2(config.getBucketName(),basePath);
-    
-    if(versionListResult != null) {
-        List<S3ObjectSummary> versionListSummary = versionListResult.getObjectSummaries();
-        Set<String> versionset = new HashSet<>();
-        for (S3ObjectSummary s3productName : versionListSummary) {
-            versionset.add(s3productName.getKey().replace(basePath, "").split(ConstantsChar.BACKSLASH)[0]);
-          }
-        List<String> result = new ArrayList<>();
-        for(String version: versionset) {
-            result.add(version);
-        }
-      return result;
-      
-    }else {
-     throw new DataException(productName + " no available version in s3");
+    List<String> versionList = productCatalog.getVersionList(productName);
+    if (versionList.isEmpty()) {
+        throw new DataException(productName + " no available version in s3");
     }
+    return new ArrayList<>(versionList);
 }
 
 /**
@@ -155,21 +95,12 @@ public List<String> getVersionList(String productName) throws DataException {
 @Override
 public String getAllowProductListContent() throws DataException {
   String s3Path = S3Utils.S3_L10N_BUNDLES_PATH+ConstantsFile.WHITE_LIST_FILE;
-  if (s3Client.getS3Client().doesObjectExist(config.getBucketName(), s3Path)) {
-      S3Object o = s3Client.getS3Client().getObject(config.getBucketName(), s3Path);
-      if (o != null) {
-         try {
-             return S3Utils.convertS3Obj2Str(o);
-         } catch (IOException e) {
-            logger.warn(e.getMessage(), e);
-            return null;
-         }
-      } else {
-         return null;
-      }
-   }else {
-       return null;
-   }
+  try {
+      return s3ObjectReader.read(s3Path);
+  } catch (IOException e) {
+      logger.warn(e.getMessage(), e);
+      return null;
+  }
 }
 
 }
@@ -0,0 +1,280 @@
+/**
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.codec.DecoderException;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A local disk cache of S3 objects, an object is kept in a file named by the
+ * hash of its S3 key and its ETag, e.g. {sha256 of key}.{hex of ETag}.
+ * <p>
+ * A file is written to a temp file and then moved to its name, so a reader
+ * never sees a partial file. The files are evicted in LRU order when their
+ * total size is over the max bytes. The files are indexed again when the
+ * cache is created, in the order of their last modified time, so the cache
+ * survives restarts.
+ */
+public class S3DiskCache {
+
+   private static Logger logger = LoggerFactory.getLogger(S3DiskCache.class);
+
+   private static final String TEMP_SUFFIX = ".tmp";
+
+   // the length of a sha256 hex
+   private static final int HASH_LENGTH = 64;
+
+   private final Path dir;
+
+   private final long maxBytes;
+
+   // key hash -> entry, in LRU order; guarded by this
+   private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+   private long totalBytes;
+
+   /**
+    * @param dir      the dir of the cached files, it's created if it doesn't
+    *                 exist
+    * @param maxBytes the max total bytes of the cached files
+    * @throws IOException if the dir can't be created or read
+    */
+   public S3DiskCache(String dir, long maxBytes) throws IOException {
+      this.dir = new File(dir).toPath();
+      this.maxBytes = maxBytes;
+      Files.createDirectories(this.dir);
+      index();
+   }
+
+   /**
+    * Get the cached version of an object
+    *
+    * @param key the S3 key of the object
+    * @return the entry, or null if the object isn't cached
+    */
+   public synchronized Entry get(String key) {
+      return entries.get(DigestUtils.sha256Hex(key));
+   }
+
+   /**
+    * Read the content of a cached object, a file which can't be read is
+    * removed, so the object is read from S3 again
+    *
+    * @return the content, or null if the file has been evicted or can't be
+    *         read
+    */
+   public String read(Entry entry) {
+      try {
+         return new String(Files.readAllBytes(entry.file), StandardCharsets.UTF_8);
+      } catch (NoSuchFileException e) {
+         return null;
+      } catch (IOException e) {
+         logger.warn("Failed to read the cached S3 object {}: {}", entry.file, e.getMessage());
+         synchronized (this) {
+            if (entries.remove(entry.hash, entry)) {
+               totalBytes -= entry.size;
+            }
+         }
+         deleteQuietly(entry.file);
+         return null;
+      }
+   }
+
+   /**
+    * Mark a cached object as revalidated, the file's last modified time is the
+    * last validation time after a restart
+    */
+   public void touch(Entry entry) {
+      entry.validatedAt = System.currentTimeMillis();
+      try {
+         Files.setLastModifiedTime(entry.file, FileTime.fromMillis(entry.validatedAt));
+      } catch (IOException e) {
+         logger.debug("Failed to touch {}: {}", entry.file, e.getMessage());
+      }
+   }
+
+   /**
+    * Cache an object, the previous version of the object is removed
+    *
+    * @param key     the S3 key of the object
+    * @param etag    the ETag of the object
+    * @param content the content of the object
+    */
+   public void put(String key, String etag, String content) {
+      byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+      if (bytes.length > maxBytes) {
+         remove(key);
+         return;
+      }
+      String hash = DigestUtils.sha256Hex(key);
+      Path file = dir.resolve(hash + '.' + Hex.encodeHexString(etag.getBytes(StandardCharsets.UTF_8)));
+      Path temp = null;
+      try {
+         temp = Files.createTempFile(dir, hash, TEMP_SUFFIX);
+         Files.write(temp, bytes);
+         Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException e) {
+         logger.warn("Failed to cache S3 object {} on disk: {}", key, e.getMessage());
+         deleteQuietly(temp);
+         return;
+      }
+      List<Path> deleted = new ArrayList<Path>();
+      synchronized (this) {
+         Entry old = entries.put(hash, new Entry(hash, etag, file, bytes.length, System.currentTimeMillis()));
+         if (old != null) {
+            totalBytes -= old.size;
+            if (!old.file.equals(file)) {
+               deleted.add(old.file);
+            }
+         }
+         totalBytes += bytes.length;
+         evict(deleted);
+      }
+      for (Path path : deleted) {
+         deleteQuietly(path);
+      }
+   }
+
+   /**
+    * Remove the cached object
+    *
+    * @param key the S3 key of the object
+    */
+   public void remove(String key) {
+      Entry old;
+      synchronized (this) {
+         old = entries.remove(DigestUtils.sha256Hex(key));
+         if (old != null) {
+            totalBytes -= old.size;
+         }
+      }
+      if (old != null) {
+         deleteQuietly(old.file);
+      }
+   }
+
+   private void index() throws IOException {
+      List<Path> files = new ArrayList<Path>();
+      try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+         for (Path file : stream) {
+            if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+               // left by a crash during a write
+               deleteQuietly(file);
+            } else if (Files.isRegularFile(file)) {
+               files.add(file);
+            }
+         }
+      }
+      Map<Path, Long> modifiedTimes = new LinkedHashMap<Path, Long>();
+      for (Path file : files) {
+         modifiedTimes.put(file, Files.getLastModifiedTime(file).toMillis());
+      }
+      files.sort((f1, f2) -> Long.compare(modifiedTimes.get(f1), modifiedTimes.get(f2)));
+
+      List<Path> deleted = new ArrayList<Path>();
+      synchronized (this) {
+         for (Path file : files) {
+            String name = file.getFileName().toString();
+            int dot = name.indexOf('.');
+            String etag;
+            try {
+               // a name which isn't {sha256 of key}.{hex of ETag} isn't a cached file
+               etag = dot != HASH_LENGTH ? null
+                     : new String(Hex.decodeHex(name.substring(dot + 1).toCharArray()), StandardCharsets.UTF_8);
+            } catch (DecoderException e) {
+               etag = null;
+            }
+            if (etag == null || etag.isEmpty()) {
+               deleted.add(file);
+               continue;
+            }
+            long size = Files.size(file);
+            // the newer version of an object replaces the older one
+            String hash = name.substring(0, dot);
+            Entry old = entries.put(hash, new Entry(hash, etag, file, size, modifiedTimes.get(file)));
+            if (old != null) {
+               totalBytes -= old.size;
+               deleted.add(old.file);
+            }
+            totalBytes += size;
+         }
+         evict(deleted);
+      }
+      for (Path path : deleted) {
+         deleteQuietly(path);
+      }
+      logger.info("{} S3 objects of {} bytes are cached in {}", entries.size(), totalBytes, dir);
+   }
+
+   // remove the least recently used entries until the total size is under the max
+   private void evict(List<Path> deleted) {
+      Iterator<Entry> it = entries.values().iterator();
+      while (totalBytes > maxBytes && it.hasNext()) {
+         Entry entry = it.next();
+         it.remove();
+         totalBytes -= entry.size;
+         deleted.add(entry.file);
+      }
+   }
+
+   private static void deleteQuietly(Path file) {
+      if (file == null) {
+         return;
+      }
+      try {
+         Files.deleteIfExists(file);
+      } catch (IOException e) {
+         logger.debug("Failed to delete {}: {}", file, e.getMessage());
+      }
+   }
+
+   /**
+    * A cached version of an object
+    */
+   public static final class Entry {
+      private final String hash;
+      private final String etag;
+      private final Path file;
+      private final long size;
+      private volatile long validatedAt;
+
+      private Entry(String hash, String etag, Path file, long size, long validatedAt) {
+         this.hash = hash;
+         this.etag = etag;
+         this.file = file;
+         this.size = size;
+         this.validatedAt = validatedAt;
+      }
+
+      public String getEtag() {
+         return etag;
+      }
+
+      /**
+       * @return the time when the version was read or revalidated
+       */
+      public long getValidatedAt() {
+         return validatedAt;
+      }
+   }
+}
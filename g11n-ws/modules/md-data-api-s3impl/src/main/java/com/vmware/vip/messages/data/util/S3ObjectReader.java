@@ -0,0 +1,197 @@
+/**
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.util;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.vmware.vip.messages.data.conf.S3Cient;
+import com.vmware.vip.messages.data.conf.S3Config;
+
+/**
+ * Read the S3 objects by a single GET, and revalidate the objects read before
+ * by their ETags.
+ * <p>
+ * A missing object is a 404 of the GET, so it isn't checked by another
+ * request. The ETag and the content of a read object are kept, the next read
+ * of the object sends the ETag by If-None-Match, and the kept content is used
+ * if S3 answers 304 Not Modified. The kept contents are limited by
+ * s3.revalidate.maxBytes, the least recently read ones are dropped to make
+ * room for a new one, and an object bigger than the limit is read in full
+ * each time.
+ * <p>
+ * If s3.diskCache.dir is set, the objects are also kept in a local disk cache
+ * which survives restarts and the evictions of the memory caches. A cached
+ * object is revalidated like a kept one, unless it has been validated within
+ * s3.diskCache.maxStaleSeconds.
+ */
+@Component
+public class S3ObjectReader {
+
+   private static Logger logger = LoggerFactory.getLogger(S3ObjectReader.class);
+
+   private static final int NOT_FOUND = 404;
+
+   private final S3Cient s3Client;
+
+   private final S3Config config;
+
+   // S3 key -> the last read version in the order of access, guarded by itself
+   private final LinkedHashMap<String, S3Content> contents = new LinkedHashMap<String, S3Content>(16, 0.75f, true);
+
+   // guarded by contents
+   private long contentBytes;
+
+   // null if the disk cache isn't configured
+   private S3DiskCache diskCache;
+
+   @Autowired
+   public S3ObjectReader(S3Cient s3Client, S3Config config) {
+      this.s3Client = s3Client;
+      this.config = config;
+   }
+
+   @PostConstruct
+   public void init() {
+      if (StringUtils.isEmpty(config.getDiskCacheDir())) {
+         return;
+      }
+      try {
+         diskCache = new S3DiskCache(config.getDiskCacheDir(), config.getDiskCacheMaxBytes());
+      } catch (IOException e) {
+         logger.error("S3 disk cache is disabled, failed to open " + config.getDiskCacheDir(), e);
+      }
+   }
+
+   /**
+    * Read an object as a UTF-8 string
+    *
+    * @param key the S3 key of the object
+    * @return the content, or null if the object doesn't exist
+    * @throws IOException if the content can't be read
+    */
+   public String read(String key) throws IOException {
+      S3Content cached;
+      synchronized (contents) {
+         cached = contents.get(key);
+      }
+      S3DiskCache.Entry diskEntry = null;
+      if (cached == null && diskCache != null) {
+         diskEntry = diskCache.get(key);
+         if (diskEntry != null) {
+            String content = diskCache.read(diskEntry);
+            if (content == null) {
+               diskEntry = null;
+            } else {
+               cached = new S3Content(diskEntry.getEtag(), content);
+               if (System.currentTimeMillis() - diskEntry.getValidatedAt() < config.getDiskCacheMaxStaleMillis()) {
+                  return content;
+               }
+            }
+         }
+      }
+      GetObjectRequest request = new GetObjectRequest(config.getBucketName(), key);
+      if (cached != null) {
+         request.setNonmatchingETagConstraints(Collections.singletonList(cached.etag));
+      }
+      S3Object object;
+      try {
+         object = s3Client.getS3Client().getObject(request);
+      } catch (AmazonServiceException e) {
+         if (e.getStatusCode() == NOT_FOUND) {
+            remove(key);
+            if (diskCache != null) {
+               diskCache.remove(key);
+            }
+            return null;
+         }
+         throw e;
+      }
+      if (object == null) {
+         // 304, the ETag matches
+         logger.debug("S3 object isn't modified: {}", key);
+         if (diskEntry != null) {
+            diskCache.touch(diskEntry);
+            keep(key, cached);
+         }
+         return cached.content;
+      }
+      String content = S3Utils.convertS3Obj2Str(object);
+      String etag = object.getObjectMetadata().getETag();
+      keep(key, new S3Content(etag, content));
+      if (diskCache != null && etag != null) {
+         diskCache.put(key, etag, content);
+      }
+      return content;
+   }
+
+   // the evictions and the insertion are done under one lock, so concurrent
+   // reads can't take the same free bytes
+   private void keep(String key, S3Content content) {
+      long maxBytes = config.getRevalidateMaxBytes();
+      if (content.etag == null || content.size() > maxBytes) {
+         remove(key);
+         return;
+      }
+      synchronized (contents) {
+         S3Content old = contents.remove(key);
+         if (old != null) {
+            contentBytes -= old.size();
+         }
+         Iterator<S3Content> eldest = contents.values().iterator();
+         while (contentBytes + content.size() > maxBytes) {
+            contentBytes -= eldest.next().size();
+            eldest.remove();
+         }
+         contents.put(key, content);
+         contentBytes += content.size();
+      }
+   }
+
+   private void remove(String key) {
+      synchronized (contents) {
+         S3Content old = contents.remove(key);
+         if (old != null) {
+            contentBytes -= old.size();
+         }
+      }
+   }
+
+   // the bytes of the kept contents
+   long getContentBytes() {
+      synchronized (contents) {
+         return contentBytes;
+      }
+   }
+
+   private static final class S3Content {
+      private final String etag;
+      private final String content;
+
+      private S3Content(String etag, String content) {
+         this.etag = etag;
+         this.content = content;
+      }
+
+      // the heap size of the chars
+      private long size() {
+         return 2L * content.length();
+      }
+   }
+}
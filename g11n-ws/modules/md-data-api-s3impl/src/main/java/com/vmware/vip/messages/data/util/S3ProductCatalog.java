@@ -0,0 +1,284 @@
+/**
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.util;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.vmware.vip.common.constants.ConstantsChar;
+import com.vmware.vip.common.constants.ConstantsFile;
+import com.vmware.vip.common.i18n.dto.ProductManifestDTO;
+import com.vmware.vip.common.i18n.dto.ProductManifestWriter;
+import com.vmware.vip.common.i18n.resourcefile.ResourceFilePathGetter;
+import com.vmware.vip.messages.data.conf.S3Cient;
+import com.vmware.vip.messages.data.conf.S3Config;
+import com.vmware.vip.messages.data.dao.model.ProductChangeEvent;
+
+/**
+ * In-memory catalog of the S3 bundles: product -> versions, and product
+ * version -> components and locales.
+ * <p>
+ * The components and locales of a product version are read from its
+ * manifest.json, which is kept by the writers of the bundles with conditional
+ * puts on the ETag of the manifest. A writer which can't update the manifest
+ * deletes it, and a version without a manifest is listed, following all the
+ * pages of the listing, by the next reader which creates the manifest. Every
+ * s3.catalog.verifyEveryTtls loads the manifest is also checked against a
+ * listing, and rebuilt if it's different. The versions of a product are
+ * always listed. They are kept for s3.catalog.ttlSeconds. An
+ * expired entry is listed again by one request while the others keep using
+ * it, and each product version is refreshed on its own, so a request doesn't
+ * list the whole bundles prefix. A {@link ProductChangeEvent} is published
+ * when the components or the locales of a product are changed.
+ */
+@Component
+public class S3ProductCatalog {
+
+   private static Logger logger = LoggerFactory.getLogger(S3ProductCatalog.class);
+
+   private final S3Cient s3Client;
+
+   private final S3Config config;
+
+   private final S3ObjectReader s3ObjectReader;
+
+   private final ApplicationEventPublisher eventPublisher;
+
+   // product name -> versions
+   private final Map<String, Listing<List<String>>> versionLists =
+         new ConcurrentHashMap<String, Listing<List<String>>>();
+
+   // product version path -> components and locales
+   private final Map<String, Listing<VersionContent>> versionContents =
+         new ConcurrentHashMap<String, Listing<VersionContent>>();
+
+   private final ProductManifestWriter manifestWriter;
+
+   // product version path -> the number of its loads, to verify the manifest
+   private final Map<String, Integer> versionLoads = new ConcurrentHashMap<String, Integer>();
+
+   @Autowired
+   public S3ProductCatalog(S3Cient s3Client, S3Config config, S3ObjectReader s3ObjectReader,
+         ApplicationEventPublisher eventPublisher) {
+      this.s3Client = s3Client;
+      this.config = config;
+      this.s3ObjectReader = s3ObjectReader;
+      this.eventPublisher = eventPublisher;
+      this.manifestWriter = new ProductManifestWriter(s3Client::getS3Client, config.getBucketName());
+   }
+
+   /**
+    * Get the versions of a product
+    *
+    * @return the version names, empty if the product doesn't exist
+    */
+   public List<String> getVersionList(String productName) {
+      String productPath = S3Utils.S3_L10N_BUNDLES_PATH + productName + ConstantsChar.BACKSLASH;
+      return get(versionLists, productName, () -> Collections.unmodifiableList(
+            S3Utils.listSubDirs(s3Client.getS3Client(), config.getBucketName(), productPath)), null);
+   }
+
+   /**
+    * Get the components of a product version
+    *
+    * @return the component names, empty if the version doesn't exist
+    */
+   public List<String> getComponentList(String productName, String version) {
+      return getVersionContent(productName, version).components;
+   }
+
+   /**
+    * Get the locales of a product version
+    *
+    * @return the locales, empty if the version doesn't exist
+    */
+   public List<String> getLocaleList(String productName, String version) {
+      return getVersionContent(productName, version).locales;
+   }
+
+   /**
+    * Add or update a bundle in the manifest of its product version, see
+    * {@link ProductManifestWriter} for how the writers of the bundles share the
+    * manifest.
+    *
+    * @param putResult the result of the bundle's put
+    * @param size      the size of the bundle
+    */
+   public void putBundle(String productName, String version, String component, String locale,
+         PutObjectResult putResult, long size) {
+      String versionPath = S3Utils.genProductVersionS3Path(productName, version);
+      String bundlePath = component + ConstantsChar.BACKSLASH
+            + ResourceFilePathGetter.getLocalizedJSONFileName(locale);
+      manifestWriter.putBundle(versionPath, bundlePath, size, putResult.getETag());
+      versionLists.remove(productName);
+      versionContents.remove(versionPath);
+   }
+
+   private VersionContent getVersionContent(String productName, String version) {
+      String versionPath = S3Utils.genProductVersionS3Path(productName, version);
+      return get(versionContents, versionPath, () -> VersionContent.of(readManifest(versionPath)),
+            productName);
+   }
+
+   /*
+    * read the manifest of a product version, the version is listed if it
+    * doesn't have a manifest, and the manifest is created from the listing.
+    * The manifest is checked against the listing every verifyEveryTtls loads,
+    * and it's rebuilt if it's different or it can't be read.
+    */
+   private ProductManifestDTO readManifest(String versionPath) {
+      String manifestPath = versionPath + ConstantsFile.PRODUCT_MANIFEST;
+      int verifyEvery = config.getCatalogVerifyEveryTtls();
+      boolean verify = verifyEvery > 0 && versionLoads.merge(versionPath, 1, Integer::sum) >= verifyEvery;
+      if (verify) {
+         versionLoads.remove(versionPath);
+      }
+      String content;
+      try {
+         content = s3ObjectReader.read(manifestPath);
+      } catch (IOException e) {
+         logger.warn("Failed to read " + manifestPath + ", the version is listed", e);
+         return manifestWriter.listManifest(versionPath);
+      }
+      if (content == null) {
+         logger.info("{} doesn't exist, it's created from the listing", manifestPath);
+         return manifestWriter.createManifest(versionPath);
+      }
+      ProductManifestDTO manifest;
+      try {
+         manifest = ProductManifestDTO.getProductManifestDTO(content);
+      } catch (IOException e) {
+         logger.warn("Failed to parse " + manifestPath + ", it's rebuilt", e);
+         return rebuildManifest(versionPath);
+      }
+      if (verify && !VersionContent.of(manifest)
+            .equals(VersionContent.of(manifestWriter.listManifest(versionPath)))) {
+         logger.warn("{} is different from the listing, it's rebuilt", manifestPath);
+         return rebuildManifest(versionPath);
+      }
+      return manifest;
+   }
+
+   /*
+    * rebuild the manifest of a product version, it's deleted before the
+    * listing, so a writer which changes it meanwhile either is in the listing
+    * or reads the new manifest
+    */
+   private ProductManifestDTO rebuildManifest(String versionPath) {
+      manifestWriter.deleteManifest(versionPath);
+      return manifestWriter.createManifest(versionPath);
+   }
+
+   /*
+    * get a listing, it's loaded if it's missing, and loaded again by the
+    * caller if it's expired and no other caller is loading it. A missing
+    * listing is loaded outside the lock of the map: the first caller puts a
+    * pending listing and loads it, the others wait for it, and a failed load
+    * is removed so the next caller loads it again. The product change is
+    * published if the changed product is given.
+    */
+   private <T> T get(Map<String, Listing<T>> listings, String key, Supplier<T> loader,
+         String changedProduct) {
+      Listing<T> listing = listings.get(key);
+      if (listing == null) {
+         Listing<T> pending = new Listing<T>(new CompletableFuture<T>());
+         listing = listings.putIfAbsent(key, pending);
+         if (listing == null) {
+            try {
+               pending.value.complete(loader.get());
+            } catch (RuntimeException e) {
+               listings.remove(key, pending);
+               pending.value.completeExceptionally(e);
+            }
+            listing = pending;
+         }
+      } else if (listing.value.isDone() && listing.isExpired(config.getCatalogTtlMillis())
+            && listing.refreshing.compareAndSet(false, true)) {
+         try {
+            T value = loader.get();
+            boolean changed = !value.equals(listing.value.join());
+            listing = new Listing<T>(CompletableFuture.completedFuture(value));
+            listings.put(key, listing);
+            if (changed && changedProduct != null) {
+               logger.info("S3 product {} is changed", changedProduct);
+               eventPublisher.publishEvent(new ProductChangeEvent(changedProduct));
+            }
+         } catch (RuntimeException e) {
+            logger.warn("Failed to refresh the S3 listing of " + key + ", the cached one is used", e);
+            listing.refreshing.set(false);
+         }
+      }
+      try {
+         return listing.value.join();
+      } catch (CompletionException e) {
+         // the failure of the load of another caller
+         if (e.getCause() instanceof RuntimeException) {
+            throw (RuntimeException) e.getCause();
+         }
+         throw e;
+      }
+   }
+
+   private static final class Listing<T> {
+      // the value is pending while the first load is running
+      private final CompletableFuture<T> value;
+      private final long loadedAt = System.currentTimeMillis();
+      private final AtomicBoolean refreshing = new AtomicBoolean();
+
+      private Listing(CompletableFuture<T> value) {
+         this.value = value;
+      }
+
+      private boolean isExpired(long ttlMillis) {
+         return System.currentTimeMillis() - loadedAt >= ttlMillis;
+      }
+   }
+
+   /*
+    * the components and the locales of a product version
+    */
+   private static final class VersionContent {
+      private final List<String> components;
+      private final List<String> locales;
+
+      private VersionContent(List<String> components, List<String> locales) {
+         this.components = components;
+         this.locales = locales;
+      }
+
+      private static VersionContent of(ProductManifestDTO manifest) {
+         return new VersionContent(Collections.unmodifiableList(manifest.getComponentList()),
+               Collections.unmodifiableList(manifest.getLocaleList()));
+      }
+
+      @Override
+      public boolean equals(Object obj) {
+         if (!(obj instanceof VersionContent)) {
+            return false;
+         }
+         VersionContent other = (VersionContent) obj;
+         return components.equals(other.components) && locales.equals(other.locales);
+      }
+
+      @Override
+      public int hashCode() {
+         return components.hashCode() * 31 + locales.hashCode();
+      }
+   }
+}
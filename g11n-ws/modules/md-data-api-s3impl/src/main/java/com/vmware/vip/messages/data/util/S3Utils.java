@@ -5,7 +5,18 @@
 package com.vmware.vip.messages.data.util;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectInputStream;
 import com.vmware.vip.common.constants.ConstantsChar;
@@ -53,23 +64,63 @@ public class S3Utils {
    }
 
    /**
-    * convert the S3 Object to String
+    * list the names of the sub dirs under a prefix, e.g. the versions under
+    * the product path
+    */
+   public static List<String> listSubDirs(AmazonS3 s3Client, String bucketName, String prefix) {
+      List<String> dirs = new ArrayList<String>();
+      ListObjectsV2Request request = new ListObjectsV2Request().withBucketName(bucketName)
+            .withPrefix(prefix).withDelimiter(ConstantsChar.BACKSLASH);
+      ListObjectsV2Result result;
+      do {
+         result = s3Client.listObjectsV2(request);
+         for (String commonPrefix : result.getCommonPrefixes()) {
+            dirs.add(commonPrefix.substring(prefix.length(),
+                  commonPrefix.length() - ConstantsChar.BACKSLASH.length()));
+         }
+         request.setContinuationToken(result.getNextContinuationToken());
+      } while (result.isTruncated());
+      return dirs;
+   }
+
+   /**
+    * convert the S3 Object to String, the content is read into a buffer of the
+    * object's content length
     */
    public static String convertS3Obj2Str(S3Object s3Obj) throws IOException {
       S3ObjectInputStream s3is = s3Obj.getObjectContent();
-      ByteArrayOutputStream fos = new ByteArrayOutputStream();
-      byte[] read_buf = new byte[1024];
-      int read_len = 0;
       try {
-         while ((read_len = s3is.read(read_buf)) > 0) {
-            fos.write(read_buf, 0, read_len);
+         // the content length is 0 if the header is missing, so it's checked
+         ObjectMetadata metadata = s3Obj.getObjectMetadata();
+         long length = metadata == null || metadata.getRawMetadataValue(Headers.CONTENT_LENGTH) == null ? -1
+               : metadata.getContentLength();
+         if (length < 0 || length > Integer.MAX_VALUE) {
+            return readUnknownLength(s3is);
+         }
+         byte[] content = new byte[(int) length];
+         int offset = 0;
+         while (offset < content.length) {
+            int readLen = s3is.read(content, offset, content.length - offset);
+            if (readLen < 0) {
+               throw new EOFException("S3 object is shorter than its content length: "
+                     + s3Obj.getKey());
+            }
+            offset += readLen;
          }
-         return fos.toString(ConstantsUnicode.UTF8);
+         return new String(content, StandardCharsets.UTF_8);
       } finally {
          s3is.close();
-         fos.close();
+      }
+   }
 
+   private static String readUnknownLength(InputStream is) throws IOException {
+      ByteArrayOutputStream fos = new ByteArrayOutputStream();
+      byte[] readBuf = new byte[8192];
+      int readLen = 0;
+      while ((readLen = is.read(readBuf)) > 0) {
+         fos.write(readBuf, 0, readLen);
       }
+      return fos.toString(ConstantsUnicode.UTF8);
    }
 
 }
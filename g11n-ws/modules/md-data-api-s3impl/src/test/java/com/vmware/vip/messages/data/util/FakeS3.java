@@ -0,0 +1,280 @@
+/**
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.util.IOUtils;
+import com.vmware.vip.messages.data.conf.S3Cient;
+
+/**
+ * An in-memory S3 bucket behind an {@link AmazonS3} proxy, with the calls
+ * used by the S3 data module. The calls are counted by method name, and a
+ * listing page holds at most 2 keys, so the continuations are followed. A
+ * put with If-Match or If-None-Match is answered 412 if its condition fails.
+ */
+class FakeS3 implements InvocationHandler {
+
+   private static final int PAGE_SIZE = 2;
+
+   // key -> object
+   private final NavigableMap<String, Stored> objects = new ConcurrentSkipListMap<String, Stored>();
+
+   private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<String, AtomicInteger>();
+
+   // the number of the GETs which answered a body
+   private final AtomicInteger bodies = new AtomicInteger();
+
+   // called with the prefix of each listing, e.g. to block or fail it
+   private volatile Consumer<String> listHook = prefix -> {
+   };
+
+   // called with the key of each conditional put before its condition is checked
+   private volatile Consumer<String> putHook = key -> {
+   };
+
+   private final AmazonS3 s3 = (AmazonS3) Proxy.newProxyInstance(getClass().getClassLoader(),
+         new Class<?>[] { AmazonS3.class }, this);
+
+   AmazonS3 getS3() {
+      return s3;
+   }
+
+   S3Cient getClient() {
+      return new S3Cient() {
+         @Override
+         public AmazonS3 getS3Client() {
+            return s3;
+         }
+      };
+   }
+
+   String put(String key, String content) {
+      Stored stored = new Stored(content);
+      synchronized (objects) {
+         objects.put(key, stored);
+      }
+      return stored.etag;
+   }
+
+   String get(String key) {
+      Stored stored = objects.get(key);
+      return stored == null ? null : stored.content;
+   }
+
+   boolean exists(String key) {
+      return objects.containsKey(key);
+   }
+
+   void delete(String key) {
+      synchronized (objects) {
+         objects.remove(key);
+      }
+   }
+
+   void setListHook(Consumer<String> listHook) {
+      this.listHook = listHook;
+   }
+
+   void setPutHook(Consumer<String> putHook) {
+      this.putHook = putHook;
+   }
+
+   int calls(String method) {
+      AtomicInteger count = calls.get(method);
+      return count == null ? 0 : count.get();
+   }
+
+   int bodies() {
+      return bodies.get();
+   }
+
+   void resetCalls() {
+      calls.clear();
+      bodies.set(0);
+   }
+
+   @Override
+   public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      calls.computeIfAbsent(method.getName(), k -> new AtomicInteger()).incrementAndGet();
+      try {
+         return getClass().getDeclaredMethod(method.getName(), method.getParameterTypes()).invoke(this, args);
+      } catch (NoSuchMethodException e) {
+         throw new UnsupportedOperationException(method.toString());
+      } catch (InvocationTargetException e) {
+         throw e.getCause();
+      }
+   }
+
+   // the AmazonS3 calls
+
+   @SuppressWarnings("unused")
+   private S3Object getObject(GetObjectRequest request) {
+      Stored stored = objects.get(request.getKey());
+      if (stored == null) {
+         throw notFound(request.getKey());
+      }
+      if (request.getNonmatchingETagConstraints().contains(stored.etag)) {
+         // 304, the client answers null
+         return null;
+      }
+      bodies.incrementAndGet();
+      byte[] bytes = stored.content.getBytes(StandardCharsets.UTF_8);
+      ObjectMetadata metadata = new ObjectMetadata();
+      metadata.setHeader(Headers.ETAG, stored.etag);
+      metadata.setContentLength(bytes.length);
+      S3Object object = new S3Object();
+      object.setKey(request.getKey());
+      object.setObjectMetadata(metadata);
+      object.setObjectContent(new ByteArrayInputStream(bytes));
+      return object;
+   }
+
+   @SuppressWarnings("unused")
+   private String getObjectAsString(String bucketName, String key) {
+      Stored stored = objects.get(key);
+      if (stored == null) {
+         throw notFound(key);
+      }
+      return stored.content;
+   }
+
+   @SuppressWarnings("unused")
+   private boolean doesObjectExist(String bucketName, String key) {
+      return objects.containsKey(key);
+   }
+
+   @SuppressWarnings("unused")
+   private PutObjectResult putObject(String bucketName, String key, String content) {
+      PutObjectResult result = new PutObjectResult();
+      result.setETag(put(key, content));
+      return result;
+   }
+
+   @SuppressWarnings("unused")
+   private PutObjectResult putObject(PutObjectRequest request) throws IOException {
+      String key = request.getKey();
+      Stored stored = new Stored(IOUtils.toString(request.getInputStream()));
+      Map<String, String> headers = request.getCustomRequestHeaders();
+      String ifMatch = headers == null ? null : headers.get("If-Match");
+      String ifNoneMatch = headers == null ? null : headers.get("If-None-Match");
+      putHook.accept(key);
+      synchronized (objects) {
+         Stored current = objects.get(key);
+         if (ifMatch != null && (current == null || !ifMatch.equals('"' + current.etag + '"'))
+               || ifNoneMatch != null && current != null) {
+            AmazonS3Exception e = new AmazonS3Exception(
+                  "At least one of the pre-conditions you specified did not hold");
+            e.setStatusCode(412);
+            throw e;
+         }
+         objects.put(key, stored);
+      }
+      PutObjectResult result = new PutObjectResult();
+      result.setETag(stored.etag);
+      return result;
+   }
+
+   @SuppressWarnings("unused")
+   private void deleteObject(String bucketName, String key) {
+      delete(key);
+   }
+
+   @SuppressWarnings("unused")
+   private ListObjectsV2Result listObjectsV2(String bucketName, String prefix) {
+      return listObjectsV2(new ListObjectsV2Request().withBucketName(bucketName).withPrefix(prefix));
+   }
+
+   private ListObjectsV2Result listObjectsV2(ListObjectsV2Request request) {
+      String prefix = request.getPrefix();
+      String delimiter = request.getDelimiter();
+      listHook.accept(prefix);
+      // the keys and the common prefixes in order
+      TreeSet<String> entries = new TreeSet<String>();
+      for (String key : objects.tailMap(prefix).keySet()) {
+         if (!key.startsWith(prefix)) {
+            break;
+         }
+         int index = delimiter == null ? -1 : key.indexOf(delimiter, prefix.length());
+         entries.add(index < 0 ? key : key.substring(0, index + delimiter.length()));
+      }
+      String start = request.getContinuationToken();
+      List<String> page = new ArrayList<String>();
+      for (String entry : start == null ? entries : entries.tailSet(start, false)) {
+         if (page.size() == PAGE_SIZE) {
+            break;
+         }
+         page.add(entry);
+      }
+      ListObjectsV2Result result = new ListObjectsV2Result();
+      List<String> commonPrefixes = new ArrayList<String>();
+      for (String entry : page) {
+         Stored stored = objects.get(entry);
+         if (delimiter != null && entry.endsWith(delimiter) || stored == null) {
+            commonPrefixes.add(entry);
+         } else {
+            S3ObjectSummary summary = new S3ObjectSummary();
+            summary.setKey(entry);
+            summary.setSize(stored.content.getBytes(StandardCharsets.UTF_8).length);
+            summary.setETag(stored.etag);
+            summary.setLastModified(new Date(stored.modifiedAt));
+            result.getObjectSummaries().add(summary);
+         }
+      }
+      result.setCommonPrefixes(commonPrefixes);
+      boolean truncated = !page.isEmpty() && !page.get(page.size() - 1).equals(entries.last());
+      result.setTruncated(truncated);
+      if (truncated) {
+         result.setNextContinuationToken(page.get(page.size() - 1));
+      }
+      return result;
+   }
+
+   private static AmazonS3Exception notFound(String key) {
+      AmazonS3Exception e = new AmazonS3Exception("The specified key does not exist: " + key);
+      e.setStatusCode(404);
+      return e;
+   }
+
+   private static final class Stored {
+      private final String content;
+      private final String etag;
+      private final long modifiedAt = System.currentTimeMillis();
+
+      private Stored(String content) {
+         this.content = content;
+         this.etag = DigestUtils.md5Hex(content);
+      }
+   }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vmware.vip.messages.data.conf.S3Config;
+
+public class S3DiskCacheTest {
+
+   private File dir;
+
+   @Before
+   public void setUp() throws IOException {
+      dir = Files.createTempDirectory("s3cache").toFile();
+   }
+
+   @After
+   public void tearDown() throws IOException {
+      FileUtils.deleteDirectory(dir);
+   }
+
+   @Test
+   public void testRestartIndexesFiles() throws IOException {
+      S3DiskCache cache = new S3DiskCache(dir.getPath(), 1024);
+      cache.put("a.json", "etag-a", "{\"a\":1}");
+      cache.put("b.json", "etag-b", "{\"b\":1}");
+      // the new version replaces the old one
+      cache.put("b.json", "etag-b2", "{\"b\":2}");
+      Assert.assertEquals(2, dir.list().length);
+
+      S3DiskCache restarted = new S3DiskCache(dir.getPath(), 1024);
+      S3DiskCache.Entry entry = restarted.get("b.json");
+      Assert.assertEquals("etag-b2", entry.getEtag());
+      Assert.assertEquals("{\"b\":2}", restarted.read(entry));
+      Assert.assertEquals("{\"a\":1}", restarted.read(restarted.get("a.json")));
+      Assert.assertNull(restarted.get("c.json"));
+   }
+
+   @Test
+   public void testValidationTimeSurvivesRestart() throws IOException {
+      S3DiskCache cache = new S3DiskCache(dir.getPath(), 1024);
+      cache.put("a.json", "etag-a", "{\"a\":1}");
+      S3DiskCache.Entry entry = cache.get("a.json");
+      setModifiedTime("a.json", "etag-a", 1000000L);
+
+      Assert.assertEquals(1000000L, new S3DiskCache(dir.getPath(), 1024).get("a.json").getValidatedAt());
+
+      cache.touch(entry);
+      Assert.assertEquals(entry.getValidatedAt(),
+            new S3DiskCache(dir.getPath(), 1024).get("a.json").getValidatedAt());
+   }
+
+   @Test
+   public void testLeastRecentlyUsedIsEvicted() throws IOException {
+      // room for 3 objects of 10 bytes
+      S3DiskCache cache = new S3DiskCache(dir.getPath(), 30);
+      cache.put("a.json", "etag-a", "0123456789");
+      cache.put("b.json", "etag-b", "0123456789");
+      cache.put("c.json", "etag-c", "0123456789");
+      cache.get("a.json");
+      cache.put("d.json", "etag-d", "0123456789");
+
+      Assert.assertNull(cache.get("b.json"));
+      Assert.assertNotNull(cache.get("a.json"));
+      Assert.assertNotNull(cache.get("c.json"));
+      Assert.assertNotNull(cache.get("d.json"));
+      Assert.assertEquals(3, dir.list().length);
+
+      // an object larger than the cache isn't kept
+      cache.put("c.json", "etag-c2", "0123456789012345678901234567890123456789");
+      Assert.assertNull(cache.get("c.json"));
+      Assert.assertEquals(2, dir.list().length);
+   }
+
+   @Test
+   public void testRestartEvictsOldestFiles() throws IOException {
+      S3DiskCache cache = new S3DiskCache(dir.getPath(), 1024);
+      cache.put("a.json", "etag-a", "0123456789");
+      cache.put("b.json", "etag-b", "0123456789");
+      cache.put("c.json", "etag-c", "0123456789");
+      setModifiedTime("a.json", "etag-a", 3000000L);
+      setModifiedTime("b.json", "etag-b", 1000000L);
+      setModifiedTime("c.json", "etag-c", 2000000L);
+
+      // the files are indexed in the order of their last modified time
+      S3DiskCache restarted = new S3DiskCache(dir.getPath(), 20);
+      Assert.assertNull(restarted.get("b.json"));
+      Assert.assertNotNull(restarted.get("a.json"));
+      Assert.assertNotNull(restarted.get("c.json"));
+      Assert.assertEquals(2, dir.list().length);
+   }
+
+   @Test
+   public void testPartialAndUnknownFilesAreDeleted() throws IOException {
+      S3DiskCache cache = new S3DiskCache(dir.getPath(), 1024);
+      cache.put("a.json", "etag-a", "{\"a\":1}");
+      String hash = DigestUtils.sha256Hex("b.json");
+      // left by a crash during a write
+      write(hash + "123456.tmp", "{\"b\"");
+      // the names which aren't {sha256 of key}.{hex of ETag}
+      write(hash + ".not-hex", "{}");
+      write(hash + ".", "{}");
+      write("short." + Hex.encodeHexString("etag".getBytes(StandardCharsets.UTF_8)), "{}");
+      write("no-dot", "{}");
+
+      S3DiskCache restarted = new S3DiskCache(dir.getPath(), 1024);
+      Assert.assertEquals(new HashSet<String>(Arrays.asList(fileName("a.json", "etag-a"))), files());
+      Assert.assertNull(restarted.get("b.json"));
+      Assert.assertEquals("{\"a\":1}", restarted.read(restarted.get("a.json")));
+   }
+
+   @Test
+   public void testUnreadableFileIsRemoved() throws IOException {
+      S3DiskCache cache = new S3DiskCache(dir.getPath(), 1024);
+      cache.put("a.json", "etag-a", "{\"a\":1}");
+      S3DiskCache.Entry entry = cache.get("a.json");
+
+      // e.g. a directory in place of the file
+      Path file = dir.toPath().resolve(fileName("a.json", "etag-a"));
+      Files.delete(file);
+      Files.createDirectory(file);
+      Assert.assertNull(cache.read(entry));
+      Assert.assertNull(cache.get("a.json"));
+
+      // a deleted file is missed
+      cache.put("b.json", "etag-b", "{\"b\":1}");
+      entry = cache.get("b.json");
+      Files.delete(dir.toPath().resolve(fileName("b.json", "etag-b")));
+      Assert.assertNull(cache.read(entry));
+   }
+
+   @Test
+   public void testReaderFallsBackToS3() throws IOException {
+      FakeS3 s3 = new FakeS3();
+      s3.put("a.json", "{\"a\":1}");
+      Assert.assertEquals("{\"a\":1}", newReader(s3).read("a.json"));
+
+      // a restarted reader revalidates the cached file
+      s3.resetCalls();
+      Assert.assertEquals("{\"a\":1}", newReader(s3).read("a.json"));
+      Assert.assertEquals(0, s3.bodies());
+
+      // the cached file is lost after it's indexed, so the object is read from S3
+      S3ObjectReader reader = newReader(s3);
+      for (File file : dir.listFiles()) {
+         Assert.assertTrue(file.delete());
+      }
+      s3.resetCalls();
+      Assert.assertEquals("{\"a\":1}", reader.read("a.json"));
+      Assert.assertEquals(1, s3.bodies());
+   }
+
+   private S3ObjectReader newReader(FakeS3 s3) {
+      S3Config config = new S3Config();
+      config.setBucketName("bucket");
+      config.setRevalidateMaxBytes(1024);
+      config.setDiskCacheDir(dir.getPath());
+      config.setDiskCacheMaxBytes(1024);
+      config.setDiskCacheMaxStaleSeconds(0);
+      S3ObjectReader reader = new S3ObjectReader(s3.getClient(), config);
+      reader.init();
+      return reader;
+   }
+
+   private Set<String> files() {
+      return new HashSet<String>(Arrays.asList(dir.list()));
+   }
+
+   private void write(String name, String content) throws IOException {
+      Files.write(dir.toPath().resolve(name), content.getBytes(StandardCharsets.UTF_8));
+   }
+
+   private void setModifiedTime(String key, String etag, long millis) throws IOException {
+      Files.setLastModifiedTime(dir.toPath().resolve(fileName(key, etag)), FileTime.fromMillis(millis));
+   }
+
+   private static String fileName(String key, String etag) {
+      return DigestUtils.sha256Hex(key) + '.' + Hex.encodeHexString(etag.getBytes(StandardCharsets.UTF_8));
+   }
+}
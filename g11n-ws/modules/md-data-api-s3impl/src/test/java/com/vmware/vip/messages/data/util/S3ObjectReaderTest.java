@@ -0,0 +1,154 @@
+/**
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vmware.vip.messages.data.conf.S3Config;
+
+public class S3ObjectReaderTest {
+
+   private final FakeS3 s3 = new FakeS3();
+
+   @Test
+   public void testNotModifiedContentIsReused() throws Exception {
+      S3ObjectReader reader = newReader(1024);
+      s3.put("a.json", "{\"a\":1}");
+
+      Assert.assertEquals("{\"a\":1}", reader.read("a.json"));
+      Assert.assertEquals("{\"a\":1}", reader.read("a.json"));
+      Assert.assertEquals("{\"a\":1}", reader.read("a.json"));
+
+      // the later reads are answered 304
+      Assert.assertEquals(3, s3.calls("getObject"));
+      Assert.assertEquals(1, s3.bodies());
+   }
+
+   @Test
+   public void testChangedContentIsReadAgain() throws Exception {
+      S3ObjectReader reader = newReader(1024);
+      s3.put("a.json", "{\"a\":1}");
+      Assert.assertEquals("{\"a\":1}", reader.read("a.json"));
+
+      s3.put("a.json", "{\"a\":2}");
+      Assert.assertEquals("{\"a\":2}", reader.read("a.json"));
+      Assert.assertEquals(2, s3.bodies());
+
+      // the new version is kept
+      Assert.assertEquals("{\"a\":2}", reader.read("a.json"));
+      Assert.assertEquals(2, s3.bodies());
+      Assert.assertEquals(2L * "{\"a\":2}".length(), reader.getContentBytes());
+   }
+
+   @Test
+   public void testDeletedObjectIsRemoved() throws Exception {
+      S3ObjectReader reader = newReader(1024);
+      s3.put("a.json", "{\"a\":1}");
+      reader.read("a.json");
+
+      s3.delete("a.json");
+      Assert.assertNull(reader.read("a.json"));
+      Assert.assertEquals(0, reader.getContentBytes());
+   }
+
+   @Test
+   public void testLeastRecentlyReadContentIsEvicted() throws Exception {
+      // room for 2 objects of 10 chars
+      S3ObjectReader reader = newReader(40);
+      s3.put("a.json", "0123456789");
+      s3.put("b.json", "0123456789");
+      s3.put("c.json", "0123456789");
+      reader.read("a.json");
+      reader.read("b.json");
+      reader.read("a.json");
+
+      // the budget is full, c takes the place of b
+      reader.read("c.json");
+      Assert.assertEquals(40, reader.getContentBytes());
+      s3.resetCalls();
+      reader.read("c.json");
+      reader.read("c.json");
+      reader.read("a.json");
+      Assert.assertEquals(0, s3.bodies());
+      reader.read("b.json");
+      Assert.assertEquals(1, s3.bodies());
+
+      // a grows, b is evicted for it
+      s3.put("a.json", "0123456789012345");
+      reader.read("a.json");
+      Assert.assertEquals(32, reader.getContentBytes());
+      s3.resetCalls();
+      reader.read("a.json");
+      Assert.assertEquals(0, s3.bodies());
+   }
+
+   @Test
+   public void testContentOverBudgetIsNotKept() throws Exception {
+      S3ObjectReader reader = newReader(40);
+      s3.put("a.json", "0123456789");
+      s3.put("b.json", "012345678901234567890");
+      reader.read("a.json");
+
+      // b can't fit, it's read in full each time and a is kept
+      s3.resetCalls();
+      reader.read("b.json");
+      reader.read("b.json");
+      reader.read("a.json");
+      Assert.assertEquals(2, s3.bodies());
+      Assert.assertEquals(20, reader.getContentBytes());
+   }
+
+   @Test
+   public void testConcurrentReadsStayInBudget() throws Exception {
+      long budget = 2000;
+      S3ObjectReader reader = newReader(budget);
+      for (int i = 0; i < 200; i++) {
+         s3.put("k" + i + ".json", "0123456789012345678901234567890123456789");
+      }
+      ExecutorService executor = Executors.newFixedThreadPool(16);
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<Future<?>>();
+      try {
+         for (int t = 0; t < 16; t++) {
+            int offset = t;
+            futures.add(executor.submit(() -> {
+               start.await();
+               for (int i = 0; i < 200; i++) {
+                  reader.read("k" + (i + offset * 7) % 200 + ".json");
+               }
+               return null;
+            }));
+         }
+         start.countDown();
+         for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+      Assert.assertTrue(reader.getContentBytes() <= budget);
+      // 25 objects of 80 bytes fit
+      Assert.assertEquals(budget, reader.getContentBytes());
+   }
+
+   private S3ObjectReader newReader(long maxBytes) {
+      S3Config config = new S3Config();
+      config.setBucketName("bucket");
+      config.setRevalidateMaxBytes(maxBytes);
+      config.setDiskCacheDir("");
+      S3ObjectReader reader = new S3ObjectReader(s3.getClient(), config);
+      reader.init();
+      return reader;
+   }
+}
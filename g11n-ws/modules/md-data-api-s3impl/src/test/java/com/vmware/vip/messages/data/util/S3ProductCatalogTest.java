@@ -0,0 +1,283 @@
+/**
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.vmware.vip.common.i18n.dto.ProductManifestDTO;
+import com.vmware.vip.messages.data.conf.S3Config;
+import com.vmware.vip.messages.data.dao.model.ProductChangeEvent;
+
+public class S3ProductCatalogTest {
+
+   private static final String VERSION_PATH = S3Utils.genProductVersionS3Path("p1", "1.0.0");
+
+   private final FakeS3 s3 = new FakeS3();
+
+   // the products of the published change events
+   private final List<String> changes = Collections.synchronizedList(new ArrayList<String>());
+
+   private final ExecutorService executor = Executors.newCachedThreadPool();
+
+   @After
+   public void tearDown() {
+      executor.shutdownNow();
+   }
+
+   @Test
+   public void testListingIsKeptForTtl() {
+      S3ProductCatalog catalog = newCatalog(60);
+      s3.put(VERSION_PATH + "c1/messages_de.json", "{}");
+      Assert.assertEquals(Arrays.asList("c1"), catalog.getComponentList("p1", "1.0.0"));
+      Assert.assertEquals(Arrays.asList("1.0.0"), catalog.getVersionList("p1"));
+
+      s3.put(VERSION_PATH + "c2/messages_fr.json", "{}");
+      s3.put(S3Utils.genProductVersionS3Path("p1", "2.0.0") + "c1/messages.json", "{}");
+      s3.resetCalls();
+      Assert.assertEquals(Arrays.asList("c1"), catalog.getComponentList("p1", "1.0.0"));
+      Assert.assertEquals(Arrays.asList("de"), catalog.getLocaleList("p1", "1.0.0"));
+      Assert.assertEquals(Arrays.asList("1.0.0"), catalog.getVersionList("p1"));
+      Assert.assertEquals(0, s3.calls("listObjectsV2"));
+   }
+
+   @Test
+   public void testExpiredListingIsRefreshed() {
+      S3ProductCatalog catalog = newCatalog(0);
+      s3.put(VERSION_PATH + "c1/messages_de.json", "{}");
+      Assert.assertEquals(Arrays.asList("c1"), catalog.getComponentList("p1", "1.0.0"));
+      Assert.assertEquals(Arrays.asList("1.0.0"), catalog.getVersionList("p1"));
+
+      // an unchanged listing isn't published
+      Assert.assertEquals(Arrays.asList("c1"), catalog.getComponentList("p1", "1.0.0"));
+      Assert.assertTrue(changes.isEmpty());
+
+      // the bundles are written by another service
+      S3ProductCatalog other = newCatalog(0);
+      putBundle(other, "p1", "1.0.0", "c2", "fr");
+      putBundle(other, "p1", "2.0.0", "c1", "de");
+      Assert.assertEquals(Arrays.asList("c1", "c2"), catalog.getComponentList("p1", "1.0.0"));
+      Assert.assertEquals(Arrays.asList("de", "fr"), catalog.getLocaleList("p1", "1.0.0"));
+      Assert.assertEquals(Arrays.asList("1.0.0", "2.0.0"), catalog.getVersionList("p1"));
+      Assert.assertEquals(Arrays.asList("p1"), changes);
+   }
+
+   @Test
+   public void testPutBundleInvalidates() {
+      S3ProductCatalog catalog = newCatalog(60);
+      s3.put(VERSION_PATH + "c1/messages_de.json", "{}");
+      Assert.assertEquals(Arrays.asList("c1"), catalog.getComponentList("p1", "1.0.0"));
+      Assert.assertEquals(Arrays.asList("1.0.0"), catalog.getVersionList("p1"));
+
+      putBundle(catalog, "p1", "2.0.0", "c2", "ja");
+
+      Assert.assertEquals(Arrays.asList("1.0.0", "2.0.0"), catalog.getVersionList("p1"));
+      Assert.assertEquals(Arrays.asList("c2"), catalog.getComponentList("p1", "2.0.0"));
+      Assert.assertTrue(s3.exists(S3Utils.genProductVersionS3Path("p1", "2.0.0") + "manifest.json"));
+
+      putBundle(catalog, "p1", "2.0.0", "c3", "ko");
+      Assert.assertEquals(Arrays.asList("c2", "c3"), catalog.getComponentList("p1", "2.0.0"));
+      Assert.assertEquals(Arrays.asList("ja", "ko"), catalog.getLocaleList("p1", "2.0.0"));
+   }
+
+   @Test
+   public void testMissingListingIsLoadedOnce() throws Exception {
+      S3ProductCatalog catalog = newCatalog(60);
+      s3.put(VERSION_PATH + "c1/messages_de.json", "{}");
+      s3.put(S3Utils.genProductVersionS3Path("p2", "1.0.0") + "c1/messages_de.json", "{}");
+      String slowPrefix = S3Utils.S3_L10N_BUNDLES_PATH + "p1/";
+      CountDownLatch listing = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      s3.setListHook(prefix -> {
+         if (prefix.equals(slowPrefix)) {
+            listing.countDown();
+            await(release);
+         }
+      });
+
+      Future<List<String>> first = executor.submit(() -> catalog.getVersionList("p1"));
+      Assert.assertTrue(listing.await(10, TimeUnit.SECONDS));
+      List<Future<List<String>>> waiting = new ArrayList<Future<List<String>>>();
+      for (int i = 0; i < 4; i++) {
+         waiting.add(executor.submit(() -> catalog.getVersionList("p1")));
+      }
+
+      // the pending load doesn't block the other listings
+      Assert.assertEquals(Arrays.asList("1.0.0"), executor.submit(() -> catalog.getVersionList("p2"))
+            .get(10, TimeUnit.SECONDS));
+      Assert.assertFalse(first.isDone());
+
+      release.countDown();
+      Assert.assertEquals(Arrays.asList("1.0.0"), first.get(10, TimeUnit.SECONDS));
+      for (Future<List<String>> future : waiting) {
+         Assert.assertEquals(Arrays.asList("1.0.0"), future.get(10, TimeUnit.SECONDS));
+      }
+      // p1 and p2
+      Assert.assertEquals(2, s3.calls("listObjectsV2"));
+   }
+
+   @Test
+   public void testFailedLoadIsRetried() {
+      S3ProductCatalog catalog = newCatalog(60);
+      s3.put(VERSION_PATH + "c1/messages_de.json", "{}");
+      AtomicBoolean fail = new AtomicBoolean(true);
+      s3.setListHook(prefix -> {
+         if (fail.getAndSet(false)) {
+            throw new AmazonClientException("Unable to execute HTTP request");
+         }
+      });
+
+      try {
+         catalog.getVersionList("p1");
+         Assert.fail("The failure of the listing should be thrown");
+      } catch (AmazonClientException e) {
+         // expected
+      }
+      Assert.assertEquals(Arrays.asList("1.0.0"), catalog.getVersionList("p1"));
+   }
+
+   @Test
+   public void testConcurrentWritersKeepAllBundles() throws Exception {
+      // two services writing the same versions
+      List<S3ProductCatalog> catalogs = Arrays.asList(newCatalog(60), newCatalog(60));
+      List<String> components = new ArrayList<String>();
+      List<Future<?>> futures = new ArrayList<Future<?>>();
+      CountDownLatch start = new CountDownLatch(1);
+      for (int i = 0; i < 16; i++) {
+         String component = "c" + (char) ('a' + i);
+         components.add(component);
+         S3ProductCatalog catalog = catalogs.get(i % 2);
+         futures.add(executor.submit(() -> {
+            start.await();
+            putBundle(catalog, "p1", "1.0.0", component, "de");
+            putBundle(catalog, "p1", "2.0.0", component, "fr");
+            return null;
+         }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+
+      for (String version : Arrays.asList("1.0.0", "2.0.0")) {
+         Assert.assertEquals(components, newCatalog(60).getComponentList("p1", version));
+         String manifest = s3.get(S3Utils.genProductVersionS3Path("p1", version) + "manifest.json");
+         Assert.assertEquals(components, ProductManifestDTO.getProductManifestDTO(manifest).getComponentList());
+      }
+   }
+
+   @Test
+   public void testChangedManifestIsReadAgain() throws Exception {
+      S3ProductCatalog first = newCatalog(60);
+      S3ProductCatalog second = newCatalog(60);
+      putBundle(first, "p1", "1.0.0", "c1", "de");
+
+      // the other service updates the manifest after it's read by the first
+      AtomicBoolean other = new AtomicBoolean(true);
+      s3.setPutHook(key -> {
+         if (other.getAndSet(false)) {
+            putBundle(second, "p1", "1.0.0", "c2", "fr");
+         }
+      });
+      putBundle(first, "p1", "1.0.0", "c3", "ja");
+
+      ProductManifestDTO manifest = ProductManifestDTO.getProductManifestDTO(s3.get(VERSION_PATH + "manifest.json"));
+      Assert.assertEquals(Arrays.asList("c1", "c2", "c3"), manifest.getComponentList());
+      Assert.assertEquals(Arrays.asList("de", "fr", "ja"), manifest.getLocaleList());
+   }
+
+   @Test
+   public void testMissingManifestIsCreatedByReader() {
+      S3ProductCatalog catalog = newCatalog(0);
+      s3.put(VERSION_PATH + "c1/messages_de.json", "{}");
+      s3.put(VERSION_PATH + "c2/messages_fr.json", "{}");
+      Assert.assertEquals(Arrays.asList("c1", "c2"), catalog.getComponentList("p1", "1.0.0"));
+      Assert.assertTrue(s3.exists(VERSION_PATH + "manifest.json"));
+
+      // the expired version is loaded from the manifest
+      s3.resetCalls();
+      Assert.assertEquals(Arrays.asList("c1", "c2"), catalog.getComponentList("p1", "1.0.0"));
+      Assert.assertEquals(0, s3.calls("listObjectsV2"));
+      Assert.assertEquals(0, s3.calls("doesObjectExist"));
+      Assert.assertEquals(0, s3.calls("putObject"));
+   }
+
+   @Test
+   public void testStaleManifestIsRebuilt() throws Exception {
+      S3ProductCatalog catalog = newCatalog(0);
+      catalog.putBundle("p1", "1.0.0", "c1", "de", putResult(VERSION_PATH + "c1/messages_de.json"), 2);
+      // the bundle is put without updating the manifest, e.g. by a failed writer
+      s3.put(VERSION_PATH + "c2/messages_fr.json", "{}");
+      Assert.assertEquals(Arrays.asList("c1"), catalog.getComponentList("p1", "1.0.0"));
+
+      S3Config config = newConfig(0);
+      config.setCatalogVerifyEveryTtls(1);
+      S3ObjectReader reader = new S3ObjectReader(s3.getClient(), config);
+      reader.init();
+      S3ProductCatalog verifying = new S3ProductCatalog(s3.getClient(), config, reader, event -> {
+      });
+      Assert.assertEquals(Arrays.asList("c1", "c2"), verifying.getComponentList("p1", "1.0.0"));
+      Assert.assertEquals(Arrays.asList("c1", "c2"), catalog.getComponentList("p1", "1.0.0"));
+
+      // an unreadable manifest is rebuilt
+      s3.put(VERSION_PATH + "manifest.json", "{");
+      Assert.assertEquals(Arrays.asList("c1", "c2"), catalog.getComponentList("p1", "1.0.0"));
+      Assert.assertEquals(Arrays.asList("c1", "c2"),
+            ProductManifestDTO.getProductManifestDTO(s3.get(VERSION_PATH + "manifest.json")).getComponentList());
+   }
+
+   private void putBundle(S3ProductCatalog catalog, String product, String version, String component,
+         String locale) {
+      String key = S3Utils.genProductVersionS3Path(product, version) + component + "/messages_" + locale
+            + ".json";
+      catalog.putBundle(product, version, component, locale, putResult(key), 2);
+   }
+
+   private PutObjectResult putResult(String key) {
+      PutObjectResult result = new PutObjectResult();
+      result.setETag(s3.put(key, "{}"));
+      return result;
+   }
+
+   private static void await(CountDownLatch latch) {
+      try {
+         latch.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      }
+   }
+
+   private S3ProductCatalog newCatalog(long ttlSeconds) {
+      S3Config config = newConfig(ttlSeconds);
+      S3ObjectReader reader = new S3ObjectReader(s3.getClient(), config);
+      reader.init();
+      return new S3ProductCatalog(s3.getClient(), config, reader,
+            event -> changes.add(((ProductChangeEvent) event).getProductName()));
+   }
+
+   private static S3Config newConfig(long ttlSeconds) {
+      S3Config config = new S3Config();
+      config.setBucketName("bucket");
+      config.setRevalidateMaxBytes(1024 * 1024);
+      config.setDiskCacheDir("");
+      config.setCatalogTtlSeconds(ttlSeconds);
+      config.setCatalogVerifyEveryTtls(0);
+      return config;
+   }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.dao.api;
+
+/**
+ * Notified by the data store when the bundles are ready to be read at
+ * startup, e.g. to warm up the caches.
+ * <p>
+ * It's called before the service is reported ready, so the service isn't
+ * ready until it returns.
+ */
+public interface IBundleReadyListener {
+
+	public void onBundleReady();
+}
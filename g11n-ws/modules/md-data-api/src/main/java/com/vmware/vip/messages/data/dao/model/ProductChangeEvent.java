@@ -0,0 +1,22 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.dao.model;
+
+/**
+ * Published by a data store when the versions, components or locales of a
+ * product are changed, so that the data derived from them can be refreshed.
+ */
+public class ProductChangeEvent {
+
+	private final String productName;
+
+	public ProductChangeEvent(String productName) {
+		this.productName = productName;
+	}
+
+	public String getProductName() {
+		return productName;
+	}
+}
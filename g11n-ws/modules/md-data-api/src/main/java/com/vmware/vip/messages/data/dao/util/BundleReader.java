@@ -0,0 +1,18 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.dao.util;
+
+import com.vmware.vip.messages.data.dao.exception.DataException;
+
+/**
+ * Read the bundle of one component and locale.
+ *
+ * @param <T> the type of the bundle, e.g. a JSON string
+ */
+@FunctionalInterface
+public interface BundleReader<T> {
+
+	public T read(String component, String locale) throws DataException;
+}
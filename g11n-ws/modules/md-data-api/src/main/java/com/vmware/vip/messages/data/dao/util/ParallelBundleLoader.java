@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.data.dao.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.vmware.vip.messages.data.dao.exception.DataException;
+
+/**
+ * Load the bundles of multiple components and locales concurrently, the
+ * number of concurrent reads is bounded by the size of the thread pool.
+ * <p>
+ * The reads waiting for a thread are bounded by the queue capacity, when the
+ * queue is full a caller reads the bundle in its own thread, so a big request
+ * slows itself down instead of queueing without limit.
+ */
+public class ParallelBundleLoader {
+
+	// the default queue capacity for each thread
+	private static final int QUEUE_PER_THREAD = 32;
+
+	private final int concurrency;
+
+	private final ExecutorService executor;
+
+	/**
+	 * @param concurrency the max number of bundles read at the same time, the
+	 *                    bundles are read one by one in the caller's thread if
+	 *                    it's less than 2
+	 * @param threadName  the name prefix of the loader's threads
+	 */
+	public ParallelBundleLoader(int concurrency, String threadName) {
+		this(concurrency, concurrency * QUEUE_PER_THREAD, threadName);
+	}
+
+	/**
+	 * @param concurrency   the max number of bundles read at the same time by
+	 *                      the loader's threads
+	 * @param queueCapacity the max number of reads waiting for a thread
+	 * @param threadName    the name prefix of the loader's threads
+	 */
+	public ParallelBundleLoader(int concurrency, int queueCapacity, String threadName) {
+		this.concurrency = concurrency;
+		if (concurrency > 1) {
+			this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<Runnable>(Math.max(queueCapacity, 1)), new LoaderThreadFactory(threadName),
+					new ThreadPoolExecutor.CallerRunsPolicy());
+		} else {
+			this.executor = null;
+		}
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * Read the bundles of every component and locale.
+	 * <p>
+	 * The result is in the same order as reading them one by one, i.e. by
+	 * component and then by locale.
+	 *
+	 * @param components     the components to read
+	 * @param locales        the locales to read
+	 * @param reader         read the bundle of one component and locale
+	 * @param failureHandler handle a failed read, the failed bundle is skipped
+	 *                       from the result; if it's null the first failure is
+	 *                       thrown and the rest reads are cancelled
+	 * @return the bundles
+	 * @throws DataException
+	 */
+	public <T> List<T> load(List<String> components, List<String> locales, BundleReader<T> reader,
+			Consumer<DataException> failureHandler) throws DataException {
+		List<T> bundles = new ArrayList<>(components.size() * locales.size());
+		if (executor == null || components.size() * locales.size() < 2) {
+			for (String component : components) {
+				for (String locale : locales) {
+					try {
+						bundles.add(reader.read(component, locale));
+					} catch (DataException e) {
+						handleFailure(e, failureHandler);
+					}
+				}
+			}
+			return bundles;
+		}
+
+		List<Future<T>> futures = new ArrayList<>(components.size() * locales.size());
+		for (String component : components) {
+			for (String locale : locales) {
+				futures.add(executor.submit(() -> reader.read(component, locale)));
+			}
+		}
+		try {
+			for (Future<T> future : futures) {
+				try {
+					bundles.add(future.get());
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof DataException) {
+						handleFailure((DataException) cause, failureHandler);
+					} else if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					} else {
+						throw new DataException(cause.getMessage(), cause);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DataException("Interrupted when loading bundles", e);
+		} finally {
+			for (Future<T> future : futures) {
+				future.cancel(true);
+			}
+		}
+		return bundles;
+	}
+
+	/**
+	 * Stop the loader's threads.
+	 */
+	public void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void handleFailure(DataException e, Consumer<DataException> failureHandler)
+			throws DataException {
+		if (failureHandler == null) {
+			throw e;
+		}
+		failureHandler.accept(e);
+	}
+
+	private static class LoaderThreadFactory implements ThreadFactory {
+		private final AtomicInteger count = new AtomicInteger();
+		private final String threadName;
+
+		LoaderThreadFactory(String threadName) {
+			this.threadName = threadName;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, threadName + "-" + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	}
+}
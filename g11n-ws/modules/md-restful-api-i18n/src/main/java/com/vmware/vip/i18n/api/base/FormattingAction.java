@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.api.base;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.StringUtils;
+
+import com.vmware.i18n.l2.service.date.DateDTO;
+import com.vmware.i18n.l2.service.date.IDateFormatService;
+import com.vmware.i18n.l2.service.number.INumberFormatService;
+import com.vmware.i18n.l2.service.number.NumberDTO;
+import com.vmware.i18n.l2.service.plural.IPluralService;
+import com.vmware.i18n.l2.service.plural.PluralDTO;
+import com.vmware.vip.common.constants.ValidationMsg;
+import com.vmware.vip.common.i18n.dto.response.APIResponseDTO;
+import com.vmware.vip.common.i18n.status.APIResponseStatus;
+import com.vmware.vip.common.utils.RegExpValidatorUtils;
+import com.vmware.vip.core.messages.exception.L2APIException;
+
+/**
+ * Format a batch of dates or numbers of a locale in one request, the items
+ * with the same pattern or scale are formatted by one formatter. The plural
+ * categories of a batch of numbers are selected by the compiled plural rules
+ * of the locale.
+ */
+public class FormattingAction extends BaseAction {
+
+	/**
+	 * the max number of items in a batch
+	 */
+	public static final int MAX_BATCH_SIZE = 1000;
+
+	@Autowired
+	protected IDateFormatService baseDateFormatService;
+
+	@Autowired
+	protected INumberFormatService baseNumberFormatService;
+
+	@Autowired
+	protected IPluralService basePluralService;
+
+	/**
+	 * Format the dates, each date is formatted with its pattern.
+	 *
+	 * @param locale
+	 * @param items the dates with the longDate and the pattern
+	 * @return the items with the formatted dates, in the order of the request
+	 */
+	protected APIResponseDTO formatDateItems(String locale, List<DateDTO> items) throws L2APIException {
+		if (items == null || items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+			return super.handleResponse(APIResponseStatus.BAD_REQUEST.getCode(),
+					String.format(ValidationMsg.BATCH_SIZE_NOT_VALIDE, MAX_BATCH_SIZE), null);
+		}
+		// pattern -> the indexes of its dates
+		Map<String, List<Integer>> patternIndexes = new LinkedHashMap<>();
+		List<Long> dates = new ArrayList<>(items.size());
+		for (int i = 0; i < items.size(); i++) {
+			DateDTO item = items.get(i);
+			if (StringUtils.isEmpty(item.getPattern())) {
+				return super.handleResponse(APIResponseStatus.BAD_REQUEST.getCode(), ValidationMsg.PATTERN_NOT_VALIDE, null);
+			}
+			try {
+				dates.add(Long.parseLong(item.getLongDate()));
+			} catch (NumberFormatException e) {
+				return super.handleResponse(APIResponseStatus.BAD_REQUEST.getCode(), ValidationMsg.LONGDATE_NOT_VALIDE, null);
+			}
+			patternIndexes.computeIfAbsent(item.getPattern(), k -> new ArrayList<>()).add(i);
+		}
+		for (Map.Entry<String, List<Integer>> entry : patternIndexes.entrySet()) {
+			List<Long> patternDates = new ArrayList<>(entry.getValue().size());
+			for (Integer index : entry.getValue()) {
+				patternDates.add(dates.get(index));
+			}
+			List<String> formattedDates = baseDateFormatService.formatDates(locale, patternDates, entry.getKey());
+			for (int i = 0; i < formattedDates.size(); i++) {
+				DateDTO item = items.get(entry.getValue().get(i));
+				item.setLocale(locale);
+				item.setformattedDate(formattedDates.get(i));
+			}
+		}
+		return super.handleResponse(APIResponseStatus.OK, items);
+	}
+
+	/**
+	 * Format the numbers, each number is formatted with its scale, the scale
+	 * is 0 if it's not set.
+	 *
+	 * @param locale
+	 * @param items the numbers with the number and the scale
+	 * @return the items with the formatted numbers, in the order of the request
+	 */
+	protected APIResponseDTO formatNumberItems(String locale, List<NumberDTO> items) {
+		if (items == null || items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+			return super.handleResponse(APIResponseStatus.BAD_REQUEST.getCode(),
+					String.format(ValidationMsg.BATCH_SIZE_NOT_VALIDE, MAX_BATCH_SIZE), null);
+		}
+		// scale -> the indexes of its numbers
+		Map<Integer, List<Integer>> scaleIndexes = new LinkedHashMap<>();
+		for (int i = 0; i < items.size(); i++) {
+			NumberDTO item = items.get(i);
+			if (StringUtils.isEmpty(item.getNumber()) || !RegExpValidatorUtils.isNumeric(item.getNumber())) {
+				return super.handleResponse(APIResponseStatus.BAD_REQUEST.getCode(), ValidationMsg.NUMBER_NOT_VALIDE, null);
+			}
+			int scale;
+			try {
+				scale = StringUtils.isEmpty(item.getScale()) ? 0 : Integer.parseInt(item.getScale());
+			} catch (NumberFormatException e) {
+				scale = -1;
+			}
+			if (scale < 0) {
+				return super.handleResponse(APIResponseStatus.BAD_REQUEST.getCode(), ValidationMsg.SCALE_NOT_VALIDE, null);
+			}
+			scaleIndexes.computeIfAbsent(scale, k -> new ArrayList<>()).add(i);
+		}
+		for (Map.Entry<Integer, List<Integer>> entry : scaleIndexes.entrySet()) {
+			List<String> numbers = new ArrayList<>(entry.getValue().size());
+			for (Integer index : entry.getValue()) {
+				numbers.add(items.get(index).getNumber());
+			}
+			List<String> formattedNumbers = baseNumberFormatService.formatNumbers(locale, numbers, entry.getKey());
+			for (int i = 0; i < formattedNumbers.size(); i++) {
+				NumberDTO item = items.get(entry.getValue().get(i));
+				item.setLocale(locale);
+				item.setScale(entry.getKey().toString());
+				item.setFormattedNumber(formattedNumbers.get(i));
+			}
+		}
+		return super.handleResponse(APIResponseStatus.OK, items);
+	}
+
+	/**
+	 * Select the plural categories of the numbers by the CLDR plural rules of
+	 * the locale.
+	 *
+	 * @param locale
+	 * @param numbers the numbers, the visible fraction digits count
+	 * @return the numbers with their plural categories, in the order of the request
+	 */
+	protected APIResponseDTO selectPluralItems(String locale, List<String> numbers) throws L2APIException {
+		if (numbers == null || numbers.isEmpty() || numbers.size() > MAX_BATCH_SIZE) {
+			return super.handleResponse(APIResponseStatus.BAD_REQUEST.getCode(),
+					String.format(ValidationMsg.BATCH_SIZE_NOT_VALIDE, MAX_BATCH_SIZE), null);
+		}
+		for (String number : numbers) {
+			if (StringUtils.isEmpty(number) || !RegExpValidatorUtils.isNumeric(number)) {
+				return super.handleResponse(APIResponseStatus.BAD_REQUEST.getCode(), ValidationMsg.NUMBER_NOT_VALIDE, null);
+			}
+		}
+		List<String> categories = basePluralService.selectPluralCategories(locale, numbers);
+		List<PluralDTO> items = new ArrayList<>(numbers.size());
+		for (int i = 0; i < numbers.size(); i++) {
+			PluralDTO item = new PluralDTO();
+			item.setLocale(locale);
+			item.setNumber(numbers.get(i));
+			item.setPluralCategory(categories.get(i));
+			items.add(item);
+		}
+		return super.handleResponse(APIResponseStatus.OK, items);
+	}
+}
@@ -7,9 +7,7 @@ package com.vmware.vip.i18n.api.base;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 
 import javax.servlet.ServletException;
@@ -34,7 +32,7 @@ import com.vmware.vip.core.messages.exception.L3APIException;
 import com.vmware.vip.core.messages.service.multcomponent.IMultComponentService;
 import com.vmware.vip.core.messages.service.multcomponent.TranslationDTO;
 import com.vmware.vip.core.messages.service.product.IProductService;
-import com.vmware.vip.core.messages.utils.LocaleUtility;
+import com.vmware.vip.core.messages.service.product.LocaleFallbackResolver;
 import com.vmware.vip.i18n.api.base.utils.VersionMatcher;
 
 
@@ -48,6 +46,9 @@ public class TranslationProductAction  extends BaseAction {
 	@Autowired
 	IMultComponentService multipleComponentsService;
 
+	@Autowired
+	LocaleFallbackResolver localeFallbackResolver;
+
 	public String getProductTrans(String productName, String version,String locale,String pseudo,
 			HttpServletRequest request, HttpServletResponse response)  throws Exception {
 		locale = locale == null ? ConstantsUnicode.EN : locale;
@@ -79,29 +80,6 @@ public class TranslationProductAction  extends BaseAction {
 		return null;
 	}	
 
-    private TranslationDTO getAllCompTrans(String productName, String version,boolean pseudo,
-            HttpServletRequest req)  throws Exception {
-        TranslationDTO translationDTO = new TranslationDTO();
-        translationDTO.setProductName(productName);
-		List<String> components = productService
-				.getComponentNameList(productName, version);
-		List<String> localeList = productService.getSupportedLocaleList(productName, version);
-        translationDTO.setComponents(components);
-        translationDTO.setVersion(version);
-        if(pseudo) {
-        	localeList = new ArrayList<String>();
-        	localeList.add(ConstantsKeys.LATEST);
-            translationDTO.setLocales(localeList);
-            translationDTO.setPseudo(pseudo);
-        } else {
-            translationDTO.setLocales(localeList);
-            translationDTO.setPseudo(pseudo);
-        }
-        translationDTO = multipleComponentsService.getMultiComponentsTranslation(translationDTO);
-        return translationDTO;
-    }
-    
-    
     public APIResponseDTO getMultTrans(String productName, String version, String componentsStr, String localesStr, String pseudo,
             HttpServletRequest req)  throws Exception {
             return getPartialComTrans(productName, componentsStr,  version,  localesStr,  pseudo, req);
@@ -158,22 +136,9 @@ public class TranslationProductAction  extends BaseAction {
      }
      
      
-     private JSONObject getBundle(String component, String locale, TranslationDTO allTranslationDTO) {
-         
-         JSONArray array = allTranslationDTO.getBundles();
-         @SuppressWarnings("unchecked")
-        Iterator<JSONObject> objectIterator =  array.iterator();
-         
-         while(objectIterator.hasNext()) {
-             JSONObject object = objectIterator.next();
-             String fileLocale = (String) object.get(ConstantsKeys.lOCALE);
-             String fileComponent = (String) object.get(ConstantsKeys.COMPONENT);
-             if(locale.equals(fileLocale)&& component.equals(fileComponent)) {    
-                 return object;
-             }
-         }
-         
-        return null; 
+     private JSONObject getBundle(String component, String locale, Map<String, Map<String, JSONObject>> bundleIndex) {
+         Map<String, JSONObject> localeBundles = bundleIndex.get(component);
+         return localeBundles == null ? null : localeBundles.get(locale);
      }
 
      
@@ -187,7 +152,7 @@ public class TranslationProductAction  extends BaseAction {
           String oldVersion = version;
           version = super.getAvailableVersion(productName, oldVersion);
           TranslationDTO resulttranslationDTO = getResultTranslationDTO( productName, version,components, locales,  pseudo, req);
-          TranslationDTO allTranslationDTO  =  getAllCompTrans( resulttranslationDTO.getProductName(),  resulttranslationDTO.getVersion(), resulttranslationDTO.getPseudo(), req);
+          Map<String, Map<String, JSONObject>> bundleIndex = multipleComponentsService.getComponentLocaleBundles(resulttranslationDTO);
           List<String> reqLocales = resulttranslationDTO.getLocales();
           List<String> reqComponents = resulttranslationDTO.getComponents();
           
@@ -196,7 +161,7 @@ public class TranslationProductAction  extends BaseAction {
           
           for (String component : reqComponents) {
               for (String locale : reqLocales) {
-                  JSONObject jsonObj = getBundle( component,  locale,  allTranslationDTO);
+                  JSONObject jsonObj = getBundle( component,  locale,  bundleIndex);
                   if(jsonObj != null) {
                       ja.add(jsonObj);
                   }else {
@@ -233,17 +198,7 @@ public class TranslationProductAction  extends BaseAction {
        */
       private String getMappingLocale(String productName, String version,
               String inputLocale) throws L3APIException {
-          List<String> supportedLocaleList = productService
-                  .getSupportedLocaleList(productName, version);
-          List<Locale> supportedLocales = new ArrayList<Locale>();
-          for (String supportedLocale : supportedLocaleList) {
-              supportedLocale = supportedLocale.replace("_", "-");
-              supportedLocales.add(Locale.forLanguageTag(supportedLocale));
-          }
-          String requestLocale = inputLocale.replace("_", "-");
-          Locale fallbackLocale = LocaleUtility.pickupLocaleFromListNoDefault(
-                  supportedLocales, Locale.forLanguageTag(requestLocale));
-          return fallbackLocale.toLanguageTag();
+          return localeFallbackResolver.resolve(productName, version, inputLocale);
       }
       
     
@@ -84,7 +84,7 @@ public class TranslationProductComponentAction extends BaseAction {
 		} else {
 			String newVersion = super.getAvailableVersion(productName, version);
 			c.setVersion(newVersion);
-			c = singleComponentService.getComponentTranslation(c);
+			c = singleComponentService.getComponentTranslationSnapshot(c);
 		}
 		return super.handleVersionFallbackResponse(version, c.getVersion(), c);
 	}
@@ -148,12 +148,17 @@ public class TranslationProductComponentAction extends BaseAction {
 		if ((locale.substring(0, 2)).equalsIgnoreCase(ConstantsUnicode.EN)
 				&& ((ComponentMessagesDTO) resp.getData()).getLocale()
 						.equalsIgnoreCase(ConstantsUnicode.EN)) {
-			en_result = (ComponentMessagesDTO) resp.getData();
-			c.setLocale(ConstantsKeys.LATEST);
 			try {
+				// the response's messages is pre-encoded, so get en from the
+				// ONECOMPONENT cache which the snapshot is built from
+				ComponentMessagesDTO respData = (ComponentMessagesDTO) resp.getData();
+				en_result = singleComponentService.getCachedComponentTranslation(productName,
+						respData.getVersion(), respData.getComponent(), ConstantsUnicode.EN);
+				c.setLocale(ConstantsKeys.LATEST);
 				lastest_result = singleComponentService
 						.getTranslationFromDisk(c);
 			} catch (Exception e) {
+				en_result = null;
 				lastest_result = null;
 			}
 		} else if ((!(locale.substring(0, 2))
@@ -5,6 +5,8 @@
 package com.vmware.vip.i18n.api.base;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -17,11 +19,14 @@ import com.vmware.vip.common.constants.ConstantsChar;
 import com.vmware.vip.common.constants.ConstantsKeys;
 import com.vmware.vip.common.constants.ConstantsMsg;
 import com.vmware.vip.common.constants.ConstantsUnicode;
+import com.vmware.vip.common.constants.ValidationMsg;
 import com.vmware.vip.common.i18n.dto.StringBasedDTO;
 import com.vmware.vip.common.i18n.dto.response.APIResponseDTO;
 import com.vmware.vip.common.i18n.status.APIResponseStatus;
 import com.vmware.vip.core.messages.exception.L3APIException;
 import com.vmware.vip.core.messages.service.mt.IMTService;
+import com.vmware.vip.core.messages.service.render.IMessageRenderService;
+import com.vmware.vip.core.messages.service.render.RenderedMessageDTO;
 import com.vmware.vip.core.messages.service.singlecomponent.ComponentMessagesDTO;
 import com.vmware.vip.core.messages.service.string.IStringService;
 import com.vmware.vip.i18n.api.base.BaseAction;
@@ -37,6 +42,9 @@ public class TranslationProductComponentKeyAction extends BaseAction {
 	@Autowired
 	IMTService mtService;
 
+	@Autowired
+	IMessageRenderService messageRenderService;
+
 	public APIResponseDTO getTransByGet(String productName, String version,
 			String locale, String component, String key, String source,
 			String commentForSource, String sourceFormat, String collectSource,
@@ -116,4 +124,48 @@ public class TranslationProductComponentKeyAction extends BaseAction {
 		return this.getStringBasedTranslation(productName, version, component,
 				locale, key, source, pseudo, machineTranslation, sourceFormat, checkTranslationStatus);
 	}
+
+	/**
+	 * Render the translation of a key with the arguments by the ICU
+	 * MessageFormat.
+	 */
+	public APIResponseDTO getRenderedMessage(String productName, String version,
+			String locale, String component, String key,
+			Map<String, Object> arguments) throws L3APIException {
+		RenderedMessageDTO item = new RenderedMessageDTO();
+		item.setKey(key);
+		item.setArguments(arguments);
+		item = messageRenderService.renderMessage(productName, version,
+				component, locale, item);
+		if (item.getMessage() == null) {
+			return super.handleResponse(APIResponseStatus.INTERNAL_NO_RESOURCE_ERROR.getCode(),
+					"The key isn't found: " + key, null);
+		}
+		return super.handleResponse(APIResponseStatus.OK, item);
+	}
+
+	/**
+	 * Render the translations of the keys with their arguments by the ICU
+	 * MessageFormat, the message of a key which isn't found is null.
+	 */
+	public APIResponseDTO getRenderedMessages(String productName, String version,
+			String locale, String component, List<RenderedMessageDTO> items)
+			throws L3APIException {
+		if (items == null || items.isEmpty() || items.size() > FormattingAction.MAX_BATCH_SIZE) {
+			return super.handleResponse(APIResponseStatus.BAD_REQUEST.getCode(),
+					String.format(ValidationMsg.BATCH_SIZE_NOT_VALIDE, FormattingAction.MAX_BATCH_SIZE), null);
+		}
+		for (RenderedMessageDTO item : items) {
+			if (StringUtils.isEmpty(item.getKey())) {
+				return super.handleResponse(APIResponseStatus.BAD_REQUEST.getCode(), ValidationMsg.KEY_NOT_VALIDE, null);
+			}
+		}
+		messageRenderService.renderMessages(productName, version, component, locale, items);
+		for (RenderedMessageDTO item : items) {
+			if (item.getMessage() == null) {
+				return super.handleResponse(APIResponseStatus.MULTTRANSLATION_PART_CONTENT, items);
+			}
+		}
+		return super.handleResponse(APIResponseStatus.OK, items);
+	}
 }
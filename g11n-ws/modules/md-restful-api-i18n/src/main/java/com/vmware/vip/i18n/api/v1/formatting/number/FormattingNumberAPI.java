@@ -4,10 +4,13 @@
  */
 package com.vmware.vip.i18n.api.v1.formatting.number;
 
+import java.util.List;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -23,7 +26,7 @@ import com.vmware.vip.api.rest.APIParamValue;
 import com.vmware.vip.api.rest.APIV1;
 import com.vmware.vip.common.i18n.dto.response.APIResponseDTO;
 import com.vmware.vip.common.i18n.status.APIResponseStatus;
-import com.vmware.vip.i18n.api.base.BaseAction;
+import com.vmware.vip.i18n.api.base.FormattingAction;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -33,7 +36,7 @@ import io.swagger.annotations.ApiParam;
  *
  */
 @RestController
-public class FormattingNumberAPI extends BaseAction {
+public class FormattingNumberAPI extends FormattingAction {
 
 	@Autowired
 	INumberFormatService numberFormatService;
@@ -70,4 +73,26 @@ public class FormattingNumberAPI extends BaseAction {
 		return super.handleResponse(APIResponseStatus.OK, numberDTO);
 	}
 
+	/**
+	 * Get localized numbers by specific locale, each number is formatted with
+	 * its scale
+	 *
+	 * @param locale
+	 *            A string specified by the product to represent a specific
+	 *            locale, in [language]_[country (region)] format. e.g. ja_JP,
+	 *            zh_CN.
+	 * @param numbers
+	 *            The numbers with the number and the scale, at most 1000
+	 *            numbers.
+	 * @return APIResponseDTO The object which represents response status.
+	 */
+	@ApiOperation(value = APIOperation.FORMAT_NUMBERS_POST_VALUE, notes = APIOperation.FORMAT_NUMBERS_POST_NOTES)
+	@RequestMapping(value = APIV1.LOCALIZED_NUMBERS, method = RequestMethod.POST, produces = { API.API_CHARSET })
+	@ResponseStatus(HttpStatus.OK)
+	public APIResponseDTO formatNumbers(
+			@ApiParam(name = APIParamName.LOCALE, required = true, value = APIParamValue.LOCALE) @RequestParam(value = APIParamName.LOCALE, required = true) String locale,
+			@ApiParam(value = APIParamValue.NUMBER_ITEMS, required = true) @RequestBody List<NumberDTO> numbers,
+			HttpServletRequest request) {
+		return super.formatNumberItems(locale, numbers);
+	}
 }
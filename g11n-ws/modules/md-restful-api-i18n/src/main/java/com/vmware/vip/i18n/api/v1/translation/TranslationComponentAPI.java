@@ -71,7 +71,7 @@ public class TranslationComponentAPI  extends BaseAction {
         componentMessagesDTO.setLocale(locale == null ? ConstantsUnicode.EN : locale);
         componentMessagesDTO.setPseudo(new Boolean(pseudo));
         ComponentMessagesDTO dto = singleComponentService
-                .getComponentTranslation(componentMessagesDTO);
+                .getComponentTranslationSnapshot(componentMessagesDTO);
         return super.handleResponse(APIResponseStatus.OK, dto);
     }
 
@@ -4,10 +4,13 @@
  */
 package com.vmware.vip.i18n.api.v2.formatting.date;
 
+import java.util.List;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -25,7 +28,7 @@ import com.vmware.vip.api.rest.APIV2;
 import com.vmware.vip.common.i18n.dto.response.APIResponseDTO;
 import com.vmware.vip.common.i18n.status.APIResponseStatus;
 import com.vmware.vip.core.messages.exception.L2APIException;
-import com.vmware.vip.i18n.api.base.BaseAction;
+import com.vmware.vip.i18n.api.base.FormattingAction;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -35,7 +38,7 @@ import io.swagger.annotations.ApiParam;
  *
  */
 @RestController("v2-FormattingDateAPI")
-public class FormattingDateAPI extends BaseAction{
+public class FormattingDateAPI extends FormattingAction{
 
     @Autowired
     IDateFormatService dateFormatService;
@@ -86,4 +89,24 @@ public class FormattingDateAPI extends BaseAction{
     	TimeZoneName jsonObj = dateFormatService.getTimeZoneName(displayLanguage, Boolean.parseBoolean(defaultTerritory));
         return super.handleResponse(APIResponseStatus.OK, jsonObj);
     }
+
+    /**
+     * Get localized dates by specific locale, each date is formatted with its pattern
+     *
+     * @param locale
+     *        A string specified by the product to represent a specific locale, in [language]_[country (region)] format. e.g. ja_JP, zh_CN.
+     * @param dates
+     *        The dates with the longDate and the pattern, at most 1000 dates.
+     * @return APIResponseDTO
+     *         The object which represents response status.
+     */
+    @ApiOperation(value = APIOperation.FORMAT_DATES_POST_VALUE, notes = APIOperation.FORMAT_DATES_POST_NOTES)
+    @RequestMapping(value = APIV2.LOCALIZED_DATES, method = RequestMethod.POST, produces = { API.API_CHARSET })
+    @ResponseStatus(HttpStatus.OK)
+    public APIResponseDTO formatDates(
+            @ApiParam(name = APIParamName.LOCALE, required = true, value = APIParamValue.LOCALE) @RequestParam(value = APIParamName.LOCALE, required = true) String locale,
+            @ApiParam(value = APIParamValue.DATE_ITEMS, required = true) @RequestBody List<DateDTO> dates,
+            HttpServletRequest request) throws L2APIException {
+        return super.formatDateItems(locale, dates);
+    }
 }
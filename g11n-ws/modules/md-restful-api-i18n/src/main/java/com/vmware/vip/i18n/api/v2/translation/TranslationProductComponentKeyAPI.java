@@ -6,6 +6,7 @@ package com.vmware.vip.i18n.api.v2.translation;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -33,6 +34,7 @@ import com.vmware.vip.common.i18n.dto.KeySourceCommentDTO;
 import com.vmware.vip.common.i18n.dto.response.APIResponseDTO;
 import com.vmware.vip.common.i18n.status.APIResponseStatus;
 import com.vmware.vip.core.messages.exception.L3APIException;
+import com.vmware.vip.core.messages.service.render.RenderedMessageDTO;
 import com.vmware.vip.i18n.api.base.TranslationProductComponentKeyAction;
 
 import io.micrometer.core.instrument.MeterRegistry;
@@ -107,6 +109,39 @@ public class TranslationProductComponentKeyAPI extends TranslationProductCompone
 		return super.getTransByPost(productName, version, locale, component, key, source, commentForSource, sourceFormat, collectSource, pseudo, machineTranslation, checkTranslationStatus, request, response);
 	}
 
+	/**
+	 * Render the translation of a key with the arguments
+	 *
+	 */
+	@ApiOperation(value = APIOperation.KEY_RENDERED_MESSAGE_POST_VALUE, notes = APIOperation.KEY_RENDERED_MESSAGE_POST_NOTES)
+	@RequestMapping(value = APIV2.KEY_RENDERED_MESSAGE_POST, method = RequestMethod.POST, produces = { API.API_CHARSET })
+	@ResponseStatus(HttpStatus.OK)
+	public APIResponseDTO getRenderedMessage(
+			@ApiParam(name = APIParamName.PRODUCT_NAME, required = true, value = APIParamValue.PRODUCT_NAME) @PathVariable(APIParamName.PRODUCT_NAME) String productName,
+			@ApiParam(name = APIParamName.VERSION, required = true, value = APIParamValue.VERSION) @PathVariable(value = APIParamName.VERSION) String version,
+			@ApiParam(name = APIParamName.LOCALE, required = true, value = APIParamValue.LOCALE) @PathVariable(value = APIParamName.LOCALE) String locale,
+			@ApiParam(name = APIParamName.COMPONENT, required = true, value = APIParamValue.COMPONENT) @PathVariable(APIParamName.COMPONENT) String component,
+			@ApiParam(name = APIParamName.KEY, required = true, value = APIParamValue.KEY) @PathVariable(APIParamName.KEY) String key,
+			@ApiParam(value = APIParamValue.MESSAGE_ARGUMENTS) @RequestBody(required = false) Map<String, Object> arguments) throws L3APIException {
+		return super.getRenderedMessage(productName, version, locale, component, key, arguments);
+	}
+
+	/**
+	 * Render the translations of a batch of keys with their arguments
+	 *
+	 */
+	@ApiOperation(value = APIOperation.KEY_RENDERED_MESSAGES_POST_VALUE, notes = APIOperation.KEY_RENDERED_MESSAGES_POST_NOTES)
+	@RequestMapping(value = APIV2.KEY_RENDERED_MESSAGES_POST, method = RequestMethod.POST, produces = { API.API_CHARSET })
+	@ResponseStatus(HttpStatus.OK)
+	public APIResponseDTO getRenderedMessages(
+			@ApiParam(name = APIParamName.PRODUCT_NAME, required = true, value = APIParamValue.PRODUCT_NAME) @PathVariable(APIParamName.PRODUCT_NAME) String productName,
+			@ApiParam(name = APIParamName.VERSION, required = true, value = APIParamValue.VERSION) @PathVariable(value = APIParamName.VERSION) String version,
+			@ApiParam(name = APIParamName.LOCALE, required = true, value = APIParamValue.LOCALE) @PathVariable(value = APIParamName.LOCALE) String locale,
+			@ApiParam(name = APIParamName.COMPONENT, required = true, value = APIParamValue.COMPONENT) @PathVariable(APIParamName.COMPONENT) String component,
+			@ApiParam(value = APIParamValue.MESSAGE_ITEMS, required = true) @RequestBody List<RenderedMessageDTO> items) throws L3APIException {
+		return super.getRenderedMessages(productName, version, locale, component, items);
+	}
+
 	/**
 	 * API to post a bunch of strings
 	 *
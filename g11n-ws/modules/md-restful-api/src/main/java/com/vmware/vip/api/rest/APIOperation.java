@@ -28,6 +28,10 @@ public class APIOperation {
 	public final static String KEY_TRANSLATION_POST_NOTES = "Post a source under the component";
 	public final static String KEY_SET_POST_VALUE = "Post a set of sources";
 	public final static String KEY_SET_POST_NOTES = "Post a set of sources under the component";
+	public final static String KEY_RENDERED_MESSAGE_POST_VALUE = "Get a key's rendered message";
+	public final static String KEY_RENDERED_MESSAGE_POST_NOTES = "Get a key's translation formatted with the arguments by the ICU MessageFormat";
+	public final static String KEY_RENDERED_MESSAGES_POST_VALUE = "Get keys' rendered messages";
+	public final static String KEY_RENDERED_MESSAGES_POST_NOTES = "Get the keys' translations in specific component formatted with their arguments by the ICU MessageFormat";
 
 	public final static String SOURCE_TRANSLATION_GET_VALUE = "Get translation by source";
 	public final static String SOURCE_TRANSLATION_GET_NOTES = "Get translation by source";
@@ -40,6 +44,12 @@ public class APIOperation {
 	public static final String FORMAT_NUMBER_GET_NOTES = "Get localized number by locale and scale";
 	public static final String FORMAT_DATE_GET_VALUE = "Get localized date";
 	public static final String FORMAT_DATE_GET_NOTES = "Get localized date by locale and pattern";
+	public static final String FORMAT_NUMBERS_POST_VALUE = "Get localized numbers";
+	public static final String FORMAT_NUMBERS_POST_NOTES = "Get localized numbers by locale, each number is formatted with its scale";
+	public static final String FORMAT_DATES_POST_VALUE = "Get localized dates";
+	public static final String FORMAT_DATES_POST_NOTES = "Get localized dates by locale, each date is formatted with its pattern";
+	public static final String PLURAL_CATEGORIES_POST_VALUE = "Get plural categories";
+	public static final String PLURAL_CATEGORIES_POST_NOTES = "Get the plural categories of the numbers by locale and the CLDR plural rules";
 
 
 	public static final String TRANSLATION_UPDATE_VALUE = "Update translation";
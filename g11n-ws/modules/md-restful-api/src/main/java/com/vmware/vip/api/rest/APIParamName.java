@@ -37,4 +37,6 @@ public class APIParamName {
 	public final static String DEFAULT_TERRITORY = "defaultTerritory";
 	public final static String DISPLAY_CITY = "displayCity";
 	public final static String REGIONS = "regions";
+	public final static String SINCE = "since";
+	public final static String TIMEOUT = "timeout";
 }
@@ -23,6 +23,11 @@ public class APIParamValue {
 	public final static String NUMBER         = "number";
 	public final static String SCALE          = "decimal digits";
 	public final static String LONGDATE       = "long value of the date(e.g. 1472728030290)";
+	public final static String DATE_ITEMS     = "the dates and their patterns, e.g. [{\"longDate\": \"1472728030290\", \"pattern\": \"MMMd\"}]";
+	public final static String NUMBER_ITEMS   = "the numbers and their scales, e.g. [{\"number\": \"1234.5\", \"scale\": \"2\"}]";
+	public final static String PLURAL_NUMBERS = "the numbers, the visible fraction digits count, e.g. [\"1\", \"1.0\", \"21\"]";
+	public final static String MESSAGE_ARGUMENTS = "the arguments of the message by name, or by index for the numbered arguments, e.g. {\"count\": 3, \"0\": \"Bob\"}";
+	public final static String MESSAGE_ITEMS  = "the keys and their arguments, e.g. [{\"key\": \"files.deleted\", \"arguments\": {\"count\": 3}}]";
 	public final static String PATTERN        = "pattern used to format the long date(the value could be one of this: YEAR = \"y\",QUARTER = \"QQQQ\",ABBR_QUARTER = \"QQQ\",QUARTER_YEAR = \"QQQQy\",QUARTER_ABBR_YEAR = \"QQQy\",MONTH = \"MMMM\",ABBR_MONTH = \"MMM\",NUM_MONTH = \"M\",MONTH_YEAR = \"MMMMy\",MONTH_ABBR_YEAR = \"MMMy\",MONTH_NUM_YEAR = \"My\",DAY = \"d\",MONTH_DAY_YEAR = \"MMMMdy\",ABBR_MONTH_DAY_YEAR = \"MMMdy\",NUM_MONTH_DAY_YEAR = \"Mdy\",WEEKDAY = \"EEEE\",ABBR_WEEKDAY = \"E\",WEEKDAY_MONTH_DAY_YEAR = \"EEEEMMMMdy\",ABBR_WEEKDAY_MONTH_DAY_YEAR = \"EMMMdy\",NUM_WEEKDAY_MONTH_DAY_YEAR = \"EMdy\",MONTH_DAY = \"MMMMd\",ABBR_MONTH_DAY = \"MMMd\",NUM_MONTH_DAY = \"Md\",WEEKDAY_MONTH_DAY = \"EEEEMMMMd\",ABBR_WEEKDAY_MONTH_DAY = \"EMMMd\",NUM_WEEKDAY_MONTH_DAY = \"EMd\")";
 	public final static String SUPPORTED_LANGUAGES = "the supported language list, separated by commas. e.g. 'en, zh, ja'";
 	public final static String DISPLAY_LANGUAGE   = "the display language. e.g. 'en'";
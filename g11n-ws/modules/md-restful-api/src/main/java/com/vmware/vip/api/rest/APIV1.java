@@ -13,6 +13,8 @@ public class APIV1 {
     public static final String AUTHENTICATION_KEY      = API.I18N_API_ROOT + V + "/security/authentication/key";
     public static final String LOCALIZED_DATE          = API.I18N_API_ROOT + V + "/date/localizedDate";
     public static final String LOCALIZED_NUMBER        = API.I18N_API_ROOT + V + "/number/localizedNumber";
+    public static final String LOCALIZED_DATES         = API.I18N_API_ROOT + V + "/date/localizedDates";
+    public static final String LOCALIZED_NUMBERS       = API.I18N_API_ROOT + V + "/number/localizedNumbers";
     public static final String PATTERN                 = API.I18N_API_ROOT + V + "/i18nPattern";
     public static final String BROWSER_LOCALE          = API.I18N_API_ROOT + V + "/locale/browserLocale";
     public static final String NORM_BROWSER_LOCALE     = API.I18N_API_ROOT + V + "/locale/normalizedBrowserLocale";
@@ -23,6 +23,8 @@ public class APIV2 {
 	public static final String KEY_TRANSLATION_GET        = API_TRANSLATOIN + "/products/{"+APIParamName.PRODUCT_NAME+"}/versions/{"+APIParamName.VERSION2+"}/locales/{"+APIParamName.LOCALE+"}/components/{"+APIParamName.COMPONENT+"}/keys/{"+APIParamName.KEY2+"}";
 	public static final String KEY_TRANSLATION_POST       = API_TRANSLATOIN + "/products/{"+APIParamName.PRODUCT_NAME+"}/versions/{"+APIParamName.VERSION2+"}/locales/{"+APIParamName.LOCALE+"}/components/{"+APIParamName.COMPONENT+"}/keys/{"+APIParamName.KEY2+"}";
 	public static final String KEY_SET_POST               = API_TRANSLATOIN + "/products/{"+APIParamName.PRODUCT_NAME+"}/versions/{"+APIParamName.VERSION2+"}/locales/{"+APIParamName.LOCALE+"}/components/{"+APIParamName.COMPONENT+"}/keys";
+	public static final String KEY_RENDERED_MESSAGE_POST  = API_TRANSLATOIN + "/products/{"+APIParamName.PRODUCT_NAME+"}/versions/{"+APIParamName.VERSION2+"}/locales/{"+APIParamName.LOCALE+"}/components/{"+APIParamName.COMPONENT+"}/keys/{"+APIParamName.KEY2+"}/renderedMessage";
+	public static final String KEY_RENDERED_MESSAGES_POST = API_TRANSLATOIN + "/products/{"+APIParamName.PRODUCT_NAME+"}/versions/{"+APIParamName.VERSION2+"}/locales/{"+APIParamName.LOCALE+"}/components/{"+APIParamName.COMPONENT+"}/renderedMessages";
 	// source-based
 	public static final String SOURCE_TRANSLATION_GET     = API_TRANSLATOIN + "/products/{"+APIParamName.PRODUCT_NAME+"}/versions/{"+APIParamName.VERSION2+"}/locales/{"+APIParamName.LOCALE+"}/components/{"+APIParamName.COMPONENT+"}/sources/{"+APIParamName.SOURCE+"}";
 	public static final String SOURCE_TRANSLATION_POST    = API_TRANSLATOIN + "/products/{"+APIParamName.PRODUCT_NAME+"}/versions/{"+APIParamName.VERSION2+"}/locales/{"+APIParamName.LOCALE+"}/components/{"+APIParamName.COMPONENT+"}";
@@ -32,6 +34,9 @@ public class APIV2 {
 	public static final String LOCALIZED_DATE             = API_FORMATTING  + "/date/localizedDate";
 	public static final String LOCALIZED_TIMEZONE_NAME    = API_FORMATTING  + "/date/timezoneNameList";
 	public static final String LOCALIZED_NUMBER           = API_FORMATTING  + "/number/localizedNumber";
+	public static final String LOCALIZED_DATES            = API_FORMATTING  + "/date/localizedDates";
+	public static final String LOCALIZED_NUMBERS          = API_FORMATTING  + "/number/localizedNumbers";
+	public static final String PLURAL_CATEGORIES          = API_FORMATTING  + "/number/pluralCategories";
 	public static final String FORMAT_PATTERN_GET         = API_FORMATTING  + "/patterns/locales/{"+APIParamName.LOCALE+"}";
 	public static final String BROWSER_LOCALE             = API.I18N_API_ROOT + V + "/locale/browserLocale";
 	public static final String NORM_BROWSER_LOCALE        = API.I18N_API_ROOT + V + "/locale/normalizedBrowserLocale";
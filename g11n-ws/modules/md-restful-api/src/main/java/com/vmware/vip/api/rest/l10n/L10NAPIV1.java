@@ -18,4 +18,5 @@ public class L10NAPIV1 {
     public static final String GRM_SEND_SOURCE = "/api/v1/l10n/{"+APIParamName.PRODUCT_NAME+"}/{"+APIParamName.VERSION+"}/{"+APIParamName.COMPONENT+"}?locale={"+APIParamName.LOCALE+"}";
     public static final String SYNC_TRANSLATION_GIT_L10N      = API_L10N + "/products/sync/translation/git";
     public static final String SYNC_TRANSLATION_CACHE_L10N      = API_L10N + "/products/sync/translation/cache";
+    public static final String SYNC_TRANSLATION_CHANGES_L10N      = API_L10N + "/products/sync/translation/changes";
 }
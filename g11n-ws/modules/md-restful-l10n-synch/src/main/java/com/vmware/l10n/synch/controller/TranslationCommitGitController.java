@@ -11,13 +11,17 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.vmware.l10n.synch.init.SynchInfoService;
+import com.vmware.l10n.synch.model.SyncChangesResp;
 import com.vmware.l10n.synch.model.SynchFile2GitReq;
 import com.vmware.l10n.synch.model.UpdateSyncInfoResp;
 import com.vmware.l10n.synch.schedule.Send2GitSchedule;
+import com.vmware.vip.api.rest.APIParamName;
 import com.vmware.vip.api.rest.l10n.L10NAPIV1;
 import com.vmware.vip.common.i18n.status.APIResponseStatus;
 import com.vmware.vip.common.i18n.status.Response;
@@ -34,6 +38,7 @@ import com.vmware.vip.common.i18n.status.Response;
 public class TranslationCommitGitController {
 	
 private static Logger logger = LoggerFactory.getLogger(TranslationCommitGitController.class); 
+private static final long MAX_POLL_TIMEOUT = 60000L;
 
  @CrossOrigin
  @RequestMapping(value = L10NAPIV1.SYNC_TRANSLATION_GIT_L10N, method = RequestMethod.POST)
@@ -62,6 +67,24 @@ private static Logger logger = LoggerFactory.getLogger(TranslationCommitGitContr
 	return  SynchInfoService.getCacheToken();
   }
   
+ /**
+  * Long poll the translation changes after a sequence, the request is answered
+  * as soon as there are changes, or with no change when it times out.
+  */
+ @CrossOrigin
+ @RequestMapping(value = L10NAPIV1.SYNC_TRANSLATION_CHANGES_L10N, method = RequestMethod.GET)
+ @ResponseStatus(HttpStatus.OK)
+  public DeferredResult<SyncChangesResp> pollChanges(
+		  @RequestParam(value = APIParamName.SINCE, required = false, defaultValue = "0") long since,
+		  @RequestParam(value = APIParamName.TIMEOUT, required = false, defaultValue = "25000") long timeout) {
+	SyncChangesResp timeoutResp = new SyncChangesResp();
+	timeoutResp.setLastSequence(since);
+	DeferredResult<SyncChangesResp> result = new DeferredResult<SyncChangesResp>(
+			Math.max(1L, Math.min(timeout, MAX_POLL_TIMEOUT)), timeoutResp);
+	SynchInfoService.pollChanges(since, result);
+	return result;
+  }
+  
   
   
 
@@ -4,10 +4,25 @@
  */
 package com.vmware.l10n.synch.init;
 
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import com.vmware.l10n.synch.model.SyncChange;
+import com.vmware.l10n.synch.model.SyncChangesResp;
 import com.vmware.l10n.synch.model.UpdateSyncInfoResp;
+import com.vmware.vip.common.i18n.resourcefile.ResourceFilePathGetter;
 /**
  * 
  *
@@ -17,15 +32,134 @@ import com.vmware.l10n.synch.model.UpdateSyncInfoResp;
 public class SynchInfoService {
 	private static Logger logger = LoggerFactory.getLogger(UpdateSyncInfoResp.class);
 	private static UpdateSyncInfoResp cacheToken= new UpdateSyncInfoResp();
-	
+
+	// the max number of changes kept in the change log
+	static final int MAX_CHANGES = 10000;
+
+	// the change log is read by the polls and written by the updates, the
+	// polls don't block each other
+	private static final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// the change log, the sequences start from the start time so that a
+	// consumer can tell that the server is restarted
+	private static final Deque<SyncChange> changes = new ArrayDeque<SyncChange>();
+	private static long lastSequence = cacheToken.getUpdateCacheToken();
+
+	// the pending long polls and the sequences they're waiting after
+	private static final Map<DeferredResult<SyncChangesResp>, Long> waiters = new ConcurrentHashMap<>();
+
 	private SynchInfoService() {}
 
 	public static UpdateSyncInfoResp getCacheToken() {
 		return cacheToken;
 	}
 
-	public synchronized static void updateCacheToken(String productName, String version) {
-		cacheToken.updateCacheToken(productName, version);
-		logger.info("the l10n's catche token is: {}", cacheToken.getUpdateCacheToken());
+	/**
+	 * Update the cache token and append the changed translation files to the
+	 * change log, the pending long polls are answered at once.
+	 *
+	 * @param productName
+	 * @param version
+	 * @param itemNames the paths of the changed translation files
+	 */
+	public static void updateCacheToken(String productName, String version, List<String> itemNames) {
+		List<Map.Entry<DeferredResult<SyncChangesResp>, Long>> answered = new ArrayList<>();
+		lock.writeLock().lock();
+		try {
+			cacheToken.updateCacheToken(productName, version);
+			logger.info("the l10n's catche token is: {}", cacheToken.getUpdateCacheToken());
+
+			if (itemNames == null || itemNames.isEmpty()) {
+				appendChange(productName, version, null, null);
+			} else {
+				for (String itemName : itemNames) {
+					File file = new File(itemName);
+					String locale = ResourceFilePathGetter.getLocaleByFileName(file.getName());
+					String component = locale == null || file.getParentFile() == null ? null
+							: file.getParentFile().getName();
+					appendChange(productName, version, component, locale);
+				}
+			}
+
+			// a poll can't be registered while the waiters are taken, so
+			// it either sees the new changes or is answered below
+			Iterator<Map.Entry<DeferredResult<SyncChangesResp>, Long>> it = waiters.entrySet().iterator();
+			while (it.hasNext()) {
+				answered.add(it.next());
+				it.remove();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		// the results are dispatched outside the lock
+		for (Map.Entry<DeferredResult<SyncChangesResp>, Long> waiter : answered) {
+			waiter.getKey().setResult(getChanges(waiter.getValue()));
+		}
+	}
+
+	/**
+	 * Get the changes after a sequence.
+	 *
+	 * @param since the last sequence the consumer has applied, 0 for a new
+	 *              consumer which only needs the current sequence
+	 */
+	public static SyncChangesResp getChanges(long since) {
+		lock.readLock().lock();
+		try {
+			SyncChangesResp resp = new SyncChangesResp();
+			resp.setLastSequence(lastSequence);
+			if (since <= 0 || since == lastSequence) {
+				return resp;
+			}
+			SyncChange oldest = changes.peekFirst();
+			if (since > lastSequence || oldest == null || since < oldest.getSequence() - 1) {
+				resp.setReset(true);
+				return resp;
+			}
+			List<SyncChange> result = new ArrayList<SyncChange>();
+			for (SyncChange change : changes) {
+				if (change.getSequence() > since) {
+					result.add(change);
+				}
+			}
+			resp.setChanges(result);
+			return resp;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Answer the long poll when there are changes after the sequence, or wait
+	 * for the next changes until the poll times out.
+	 */
+	public static void pollChanges(long since, DeferredResult<SyncChangesResp> result) {
+		result.onCompletion(() -> waiters.remove(result));
+		SyncChangesResp resp;
+		lock.readLock().lock();
+		try {
+			resp = getChanges(since);
+			if (since > 0 && !resp.isReset() && resp.getChanges().isEmpty()) {
+				waiters.put(result, since);
+				return;
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		result.setResult(resp);
+	}
+
+	private static void appendChange(String productName, String version, String component, String locale) {
+		SyncChange change = new SyncChange();
+		change.setSequence(++lastSequence);
+		change.setProductName(productName);
+		change.setVersion(version);
+		change.setComponent(component);
+		change.setLocale(locale);
+		changes.addLast(change);
+		if (changes.size() > MAX_CHANGES) {
+			changes.removeFirst();
+		}
 	}
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.l10n.synch.model;
+
+import java.io.Serializable;
+
+/**
+ * A translation change in the synch change log, the component and the locale
+ * are empty if the changed file isn't a translation file.
+ */
+public class SyncChange implements Serializable{
+
+	private static final long serialVersionUID = 4411730815297356051L;
+
+	private long sequence;
+	private String productName;
+	private String version;
+	private String component;
+	private String locale;
+
+	public long getSequence() {
+		return sequence;
+	}
+	public void setSequence(long sequence) {
+		this.sequence = sequence;
+	}
+	public String getProductName() {
+		return productName;
+	}
+	public void setProductName(String productName) {
+		this.productName = productName;
+	}
+	public String getVersion() {
+		return version;
+	}
+	public void setVersion(String version) {
+		this.version = version;
+	}
+	public String getComponent() {
+		return component;
+	}
+	public void setComponent(String component) {
+		this.component = component;
+	}
+	public String getLocale() {
+		return locale;
+	}
+	public void setLocale(String locale) {
+		this.locale = locale;
+	}
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.l10n.synch.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The changes after a sequence in the synch change log. If the sequence isn't
+ * in the log any more, e.g. the l10n server is restarted, reset is true and
+ * the consumer has to drop all its cached translations.
+ */
+public class SyncChangesResp implements Serializable{
+
+	private static final long serialVersionUID = -6120934416385437921L;
+
+	private long lastSequence;
+	private boolean reset;
+	private List<SyncChange> changes = new ArrayList<SyncChange>();
+
+	public long getLastSequence() {
+		return lastSequence;
+	}
+	public void setLastSequence(long lastSequence) {
+		this.lastSequence = lastSequence;
+	}
+	public boolean isReset() {
+		return reset;
+	}
+	public void setReset(boolean reset) {
+		this.reset = reset;
+	}
+	public List<SyncChange> getChanges() {
+		return changes;
+	}
+	public void setChanges(List<SyncChange> changes) {
+		this.changes = changes;
+	}
+}
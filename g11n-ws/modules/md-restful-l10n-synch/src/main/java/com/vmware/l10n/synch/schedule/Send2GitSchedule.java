@@ -84,7 +84,7 @@ public class Send2GitSchedule {
 						// copy the files to tmp repository with product and version limit
 						List<File> changeFiles = copyFile2GitTempFiles(req);
 						//merge to local repository
-						String commitId =  mergeChanges2LocalRepoAndCommit(changeFiles, req.getProductName(), req.getVersion());
+						String commitId =  mergeChanges2LocalRepoAndCommit(changeFiles, req);
 						
 						// do send commit to remote git
 						
@@ -94,10 +94,10 @@ public class Send2GitSchedule {
 						}
 					}catch(Exception e) {
 						logger.error(e.getMessage(), e);
-						SynchInfoService.updateCacheToken(req.getProductName(), req.getVersion());
+						SynchInfoService.updateCacheToken(req.getProductName(), req.getVersion(), req.getItemNames());
 					}
 				}else {
-					SynchInfoService.updateCacheToken(req.getProductName(), req.getVersion());
+					SynchInfoService.updateCacheToken(req.getProductName(), req.getVersion(), req.getItemNames());
 				}
 			}
 
@@ -171,7 +171,9 @@ public class Send2GitSchedule {
 
 	}
 
-	private String mergeChanges2LocalRepoAndCommit(List<File> files, String product, String version) {
+	private String mergeChanges2LocalRepoAndCommit(List<File> files, SynchFile2GitReq req) {
+		String product = req.getProductName();
+		String version = req.getVersion();
 		// pull from remote
 		    gitpull();
 		// merge file to respotory
@@ -212,7 +214,7 @@ public class Send2GitSchedule {
 			String result = GitUtils.commit2localResp(new File(getGitRespPath()), gitFileNames, msg);
 			
 			if(noExist != files.size()|| result ==null) {
-				SynchInfoService.updateCacheToken(product, version);
+				SynchInfoService.updateCacheToken(product, version, req.getItemNames());
 			}
 			logger.info("commit edtion---{}",result);
 			return result;
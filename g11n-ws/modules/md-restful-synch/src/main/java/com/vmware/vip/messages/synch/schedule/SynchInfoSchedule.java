@@ -4,27 +4,42 @@
  */
 package com.vmware.vip.messages.synch.schedule;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import com.alibaba.fastjson.JSON;
+import com.vmware.vip.api.rest.APIParamName;
 import com.vmware.vip.api.rest.l10n.L10NAPIV1;
 import com.vmware.vip.common.cache.CacheName;
+import com.vmware.vip.common.cache.CachedKeyGetter;
 import com.vmware.vip.common.cache.TranslationCache3;
+import com.vmware.vip.common.constants.ConstantsChar;
 import com.vmware.vip.common.exceptions.VIPCacheException;
-import com.vmware.vip.common.i18n.dto.UpdateTranslationDTO.UpdateTranslationDataDTO.TranslationDTO;
+import com.vmware.vip.core.messages.service.multcomponent.TranslationDTO;
+import com.vmware.vip.core.messages.service.render.CompiledMessages;
 import com.vmware.vip.core.messages.service.singlecomponent.ComponentMessagesDTO;
-import com.vmware.vip.messages.synch.model.UpdateSyncInfoResp;
+import com.vmware.vip.core.messages.service.singlecomponent.ComponentSnapshot;
+import com.vmware.vip.messages.synch.model.SyncChange;
+import com.vmware.vip.messages.synch.model.SyncChangesResp;
 import com.vmware.vip.messages.synch.utils.HttpsUtils;
 
 /**
- * 
+ * Consume the translation change log of the l10n server by long polls, and
+ * remove the cached translations of the changed components and locales.
+ * <p>
+ * The consumer resumes from the last applied sequence, if the sequence isn't
+ * in the log any more, e.g. the l10n server is restarted, all the cached
+ * translations are removed.
  *
  * @author shihu
  *
@@ -32,86 +47,123 @@ import com.vmware.vip.messages.synch.utils.HttpsUtils;
 @Service
 public class SynchInfoSchedule {
    private final static long SYNCSECOND= 30000L;
+   private final static long RETRYSECOND= 1000L;
+   private final static int POLLTIMEOUT= 25000;
    private static Logger logger = LoggerFactory.getLogger(SynchInfoSchedule.class);
    
-   private static UpdateSyncInfoResp syncInfo =null;
 	@Value("${source.cache.server.url}")
 	private String sourceCacheServerUrl;
 
 	@Value("${translation.synch.git.flag}")
 	private String translationSynchGitFlag;
 	
-	@Scheduled(fixedDelay = SYNCSECOND)
-	@ConditionalOnProperty(value = "translation.synch.git.flag")
-	public void syncSourceToRemoteAndLocal() {
-		if(Boolean.parseBoolean(translationSynchGitFlag)) {
-			logger.info("begin to sync cache token");
-			queryL10n();
-		}else {
+	private volatile boolean running = false;
+	
+	private long lastSequence = 0;
+	
+	long getLastSequence() {
+		return lastSequence;
+	}
+	
+	@PostConstruct
+	public void startSyncChanges() {
+		if(!Boolean.parseBoolean(translationSynchGitFlag)) {
+			logger.info("local i18n sync cache token is disable");
+			return;
+		}
+		running = true;
+		Thread consumer = new Thread(this::syncChanges, "translation-sync-changes");
+		consumer.setDaemon(true);
+		consumer.start();
+	}
+	
+	@PreDestroy
+	public void stopSyncChanges() {
+		running = false;
+	}
+	
+	private void syncChanges() {
+		long retryDelay = RETRYSECOND;
+		while (running) {
 			try {
-				logger.info("local i18n sync cache token is disable");
-				Thread.sleep(SYNCSECOND);
-			} catch (InterruptedException e) {
-				// TODO Auto-generated catch block
-			   logger.warn(e.getMessage(), e);
-			   Thread.currentThread().interrupt();
+				queryL10nChanges();
+				retryDelay = RETRYSECOND;
+			} catch (Exception e) {
+				logger.error(e.getMessage(), e);
+				try {
+					Thread.sleep(retryDelay);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				retryDelay = Math.min(retryDelay * 2, SYNCSECOND);
 			}
 		}
-		
-		
+	}
 	
+	private void queryL10nChanges() throws Exception {
+		String url = sourceCacheServerUrl + L10NAPIV1.SYNC_TRANSLATION_CHANGES_L10N + "?" + APIParamName.SINCE + "="
+				+ lastSequence + "&" + APIParamName.TIMEOUT + "=" + POLLTIMEOUT;
+		logger.debug("synch cache changes url: {}", url);
+		String resultJson = HttpsUtils.doGet(url, POLLTIMEOUT + 5000);
+		applyChanges(JSON.parseObject(resultJson, SyncChangesResp.class));
 	}
 	
+	/**
+	 * Remove the cached translations of the polled changes and move the cursor
+	 * to the last sequence of the response. The first response only sets the
+	 * cursor.
+	 */
+	void applyChanges(SyncChangesResp resp) {
+		if (lastSequence > 0) {
+			if (resp.isReset()) {
+				removeAllCacheKey();
+			} else if (resp.getChanges() != null && !resp.getChanges().isEmpty()) {
+				removeChangedCacheKey(resp.getChanges());
+			}
+		}
+		lastSequence = resp.getLastSequence();
+	}
 	
-	private void queryL10n() {
-		String url = sourceCacheServerUrl+L10NAPIV1.SYNC_TRANSLATION_CACHE_L10N;
+	private void removeChangedCacheKey(List<SyncChange> changes) {
+		Set<String> productVersions = new HashSet<String>();
 		try {
-			logger.info("synch cache token url: {}", url);
-			String resultJson = HttpsUtils.doGet(url);
-			logger.info("result json: {}", resultJson);
-			
-			UpdateSyncInfoResp resp =JSON.parseObject(resultJson, UpdateSyncInfoResp.class);
-			
-			if(syncInfo!= null) {
-			    logger.info("the local i18n cache token: {}", syncInfo.getUpdateCacheToken()); 
-				long result = resp.getUpdateCacheToken()-syncInfo.getUpdateCacheToken();
-				
-				if(result==1) {
-					removeProductCacheKey(resp);
-				}else if(result>1) {
-					removeAllCacheKey(); 
+			for (SyncChange change : changes) {
+				logger.info("sync cache key of {}/{}/{}/{}", change.getProductName(), change.getVersion(),
+						change.getComponent(), change.getLocale());
+				if (StringUtils.isEmpty(change.getComponent()) || StringUtils.isEmpty(change.getLocale())) {
+					removeProductCacheKey(change.getProductName(), change.getVersion());
+					continue;
 				}
-	  	    }
-			syncInfo = resp;
-		
-		} catch (Exception e) {
-			// TODO Auto-generated catch block
+				ComponentMessagesDTO dto = new ComponentMessagesDTO();
+				dto.setProductName(change.getProductName());
+				dto.setVersion(change.getVersion());
+				dto.setComponent(change.getComponent());
+				dto.setLocale(change.getLocale());
+				String key = CachedKeyGetter.getOneCompnentCachedKey(dto);
+				TranslationCache3.deleteCachedObject(CacheName.ONECOMPONENT, key, ComponentMessagesDTO.class);
+				TranslationCache3.deleteCachedObject(CacheName.COMPONENTSNAPSHOT, key, ComponentSnapshot.class);
+				TranslationCache3.deleteCachedObject(CacheName.COMPILEDMESSAGES, key, CompiledMessages.class);
+				// a multiple components entry can't be found by a component, so
+				// the entries of the version are removed once
+				if (productVersions.add(change.getProductName() + ConstantsChar.BACKSLASH + change.getVersion())) {
+					TranslationCache3.deleteCachedObjects(CacheName.MULTCOMPONENT, change.getProductName(),
+							change.getVersion(), TranslationDTO.class);
+				}
+			}
+		} catch (VIPCacheException e) {
 			logger.error(e.getMessage(), e);
 		}
-		
 	}
 	
-	private void removeProductCacheKey(UpdateSyncInfoResp resp) {
+	private void removeProductCacheKey(String productName, String version) {
 		logger.info("sync product cache key");
 		try {
-			List<String> singleList = TranslationCache3.getKeys(CacheName.ONECOMPONENT, ComponentMessagesDTO.class);
-			for(String key: singleList) {
-				if(key.contains(resp.getUpdateCacheProductName()) && key.contains(resp.getUpdateCacheProductVersion())) {
-					TranslationCache3.deleteCachedObject(CacheName.ONECOMPONENT, key, ComponentMessagesDTO.class);
-				}
-			}
-			
-			
-			List<String> multList = TranslationCache3.getKeys(CacheName.MULTCOMPONENT, TranslationDTO.class);
-			for(String mulkey: multList) {
-				if(mulkey.contains(resp.getUpdateCacheProductName()) && mulkey.contains(resp.getUpdateCacheProductVersion())) {
-					TranslationCache3.deleteCachedObject(CacheName.MULTCOMPONENT, mulkey, TranslationDTO.class);
-				}
-			}
-			
-			
-			
-			
+			int count = TranslationCache3.deleteCachedObjects(CacheName.ONECOMPONENT, productName, version, ComponentMessagesDTO.class);
+			count += TranslationCache3.deleteCachedObjects(CacheName.COMPONENTSNAPSHOT, productName, version, ComponentSnapshot.class);
+			count += TranslationCache3.deleteCachedObjects(CacheName.COMPILEDMESSAGES, productName, version, CompiledMessages.class);
+			count += TranslationCache3.deleteCachedObjects(CacheName.MULTCOMPONENT, productName, version, TranslationDTO.class);
+			logger.info("removed {} cache keys of {}/{}", count, productName, version);
 		} catch (VIPCacheException e) {
 			// TODO Auto-generated catch block
 			logger.error(e.getMessage(), e);
@@ -122,6 +174,8 @@ public class SynchInfoSchedule {
 		try {
 			logger.info("sync All product cache key");
 			TranslationCache3.removeAll(CacheName.ONECOMPONENT, ComponentMessagesDTO.class);
+			TranslationCache3.removeAll(CacheName.COMPONENTSNAPSHOT, ComponentSnapshot.class);
+			TranslationCache3.removeAll(CacheName.COMPILEDMESSAGES, CompiledMessages.class);
 			TranslationCache3.removeAll(CacheName.MULTCOMPONENT, TranslationDTO.class);
 		} catch (VIPCacheException e) {
 			// TODO Auto-generated catch block
@@ -21,7 +21,9 @@ import com.vmware.vip.common.cache.CacheName;
 import com.vmware.vip.common.cache.CachedKeyGetter;
 import com.vmware.vip.common.cache.TranslationCache3;
 import com.vmware.vip.common.exceptions.VIPCacheException;
+import com.vmware.vip.core.messages.service.render.CompiledMessages;
 import com.vmware.vip.core.messages.service.singlecomponent.ComponentMessagesDTO;
+import com.vmware.vip.core.messages.service.singlecomponent.ComponentSnapshot;
 import com.vmware.vip.messages.data.dao.exception.DataException;
 import com.vmware.vip.messages.synch.dao.SynchComponentDao;
 import com.vmware.vip.messages.synch.model.SyncI18nMsg;
@@ -97,6 +99,8 @@ public class SynchServiceImpl implements SynchService{
 				componentMessagesDTO.setMessages(syncMsg.getMessages());
 				TranslationCache3.updateCachedObject(CacheName.ONECOMPONENT, key,ComponentMessagesDTO.class, componentMessagesDTO);
 			}
+			TranslationCache3.deleteCachedObject(CacheName.COMPONENTSNAPSHOT, key, ComponentSnapshot.class);
+			TranslationCache3.deleteCachedObject(CacheName.COMPILEDMESSAGES, key, CompiledMessages.class);
 			return updateFile;
 		}
 	 
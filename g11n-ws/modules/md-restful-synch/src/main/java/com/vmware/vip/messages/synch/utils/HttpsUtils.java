@@ -108,6 +108,17 @@ public class HttpsUtils {
         return execute(new HttpGet(url));
     }
  
+    /**
+     * Get with a socket timeout other than the default 3 seconds, e.g. for a
+     * long poll.
+     */
+    public static String doGet(String url, int socketTimeout) throws Exception {
+        HttpGet getMethod = new HttpGet(url);
+        RequestConfig config = RequestConfig.custom().setConnectTimeout(3000).setSocketTimeout(socketTimeout).build();
+        getMethod.setConfig(config);
+        return execute(getMethod);
+    }
+ 
     public static <T> T doGet2Obj(String url, Class<T> clazz) throws Exception {
     	 String resultStr =execute(new HttpGet(url));
          logger.debug("result json:{}", resultStr);
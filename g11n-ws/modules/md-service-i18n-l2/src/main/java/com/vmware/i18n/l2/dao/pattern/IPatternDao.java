@@ -4,17 +4,20 @@
  */
 package com.vmware.i18n.l2.dao.pattern;
 
+import java.util.Map;
+
 import com.vmware.i18n.utils.timezone.TimeZoneName;
 
 public interface IPatternDao {
 
     /**
-     * Get i18n pattern JSON data from CLDR
+     * Get i18n pattern data from CLDR, the category trees are immutable and
+     * shared by the callers
      * @param locale
      * @param categories dates,numbers,plurals,measurements, split by ','
-     * @return pattern JSON
+     * @return pattern map, or null if the locale doesn't have pattern data
      */
-    public String getPattern(String locale, String categories);
+    public Map<String, Object> getPattern(String locale, String categories);
 
     /**
 	 * @param locale
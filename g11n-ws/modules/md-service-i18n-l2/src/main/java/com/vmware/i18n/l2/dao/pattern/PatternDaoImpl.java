@@ -4,18 +4,19 @@
  */
 package com.vmware.i18n.l2.dao.pattern;
 
+import java.util.Map;
+
 import org.springframework.stereotype.Repository;
 
 import com.vmware.i18n.PatternUtil;
-import com.vmware.i18n.pattern.action.PatternAction;
 import com.vmware.i18n.utils.timezone.TimeZoneName;
 
 @Repository
 public class PatternDaoImpl implements IPatternDao {
 
-	public String getPattern(String locale, String categories) {
+	public Map<String, Object> getPattern(String locale, String categories) {
 		locale = locale.replace("_", "-");
-		return PatternUtil.getPatternFromLib(locale, categories);
+		return PatternUtil.getPatternMapFromLib(locale, categories);
 	}
 	
 	
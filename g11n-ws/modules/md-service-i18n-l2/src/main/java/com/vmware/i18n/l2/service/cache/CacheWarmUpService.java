@@ -0,0 +1,227 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.l2.service.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.vmware.i18n.l2.service.pattern.IPatternService;
+import com.vmware.vip.common.cache.CacheName;
+import com.vmware.vip.common.cache.HotKeyLog;
+import com.vmware.vip.common.cache.HotKeyLog.HotKey;
+import com.vmware.vip.common.constants.ConstantsChar;
+import com.vmware.vip.core.messages.service.product.IProductService;
+import com.vmware.vip.core.messages.service.singlecomponent.IOneComponentService;
+import com.vmware.vip.messages.data.dao.api.IBundleReadyListener;
+
+/**
+ * Warm up the ONECOMPONENT and PATTERN caches when the bundles are ready.
+ * <p>
+ * The configured product versions are loaded completely, and the hottest keys
+ * saved by the previous run are loaded too. The hot keys of this run are
+ * saved periodically and when the service stops. A relative hot keys file is
+ * kept in the warm-up data dir, not in the working dir of the process.
+ */
+@Service
+public class CacheWarmUpService implements IBundleReadyListener {
+	private static Logger logger = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+	private static final long SAVE_INTERVAL = 10 * 60 * 1000L;
+
+	private final IProductService productService;
+
+	private final IOneComponentService oneComponentService;
+
+	private final IPatternService patternService;
+
+	@Value("${warmup.enable:true}")
+	boolean enable;
+
+	/**
+	 * the product versions to load, e.g. product1:1.0.0,product2:2.0.0
+	 */
+	@Value("${warmup.products:}")
+	String products;
+
+	/**
+	 * the dir of the warm-up data, e.g. the hot keys file
+	 */
+	@Value("${warmup.dir:${user.home}/.singleton}")
+	String dataDir;
+
+	/**
+	 * the hot keys file, a relative path is resolved against the data dir
+	 */
+	@Value("${warmup.hotkeys.file:hotkeys.json}")
+	String hotKeysFile;
+
+	/**
+	 * the max number of hot keys saved and loaded for a cache
+	 */
+	@Value("${warmup.hotkeys.top:500}")
+	int hotKeysTop;
+
+	@Value("${warmup.concurrency:8}")
+	int concurrency;
+
+	@Value("${warmup.timeout.seconds:300}")
+	long timeoutSeconds;
+
+	@Autowired
+	public CacheWarmUpService(IProductService productService, IOneComponentService oneComponentService,
+			IPatternService patternService) {
+		this.productService = productService;
+		this.oneComponentService = oneComponentService;
+		this.patternService = patternService;
+	}
+
+	@Override
+	public void onBundleReady() {
+		if (!enable) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		List<Callable<Void>> tasks = new ArrayList<>();
+		Set<String> patternLocales = new LinkedHashSet<>();
+		addProductTasks(tasks, patternLocales);
+		addHotKeyTasks(tasks, patternLocales);
+		for (String locale : patternLocales) {
+			tasks.add(() -> {
+				patternService.getPattern(locale, new ArrayList<>(), null);
+				return null;
+			});
+		}
+		if (tasks.isEmpty()) {
+			return;
+		}
+
+		// the warm-up loads aren't requests, so their keys aren't recorded
+		List<Callable<Void>> unrecordedTasks = new ArrayList<>(tasks.size());
+		for (Callable<Void> task : tasks) {
+			unrecordedTasks.add(() -> HotKeyLog.withoutRecording(task));
+		}
+
+		logger.info("start warming up the caches with {} loads", tasks.size());
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, concurrency));
+		try {
+			int failed = 0;
+			for (Future<Void> future : executor.invokeAll(unrecordedTasks, timeoutSeconds, TimeUnit.SECONDS)) {
+				if (future.isCancelled() || !isDone(future)) {
+					failed++;
+				}
+			}
+			logger.info("warming up the caches end in {} ms, {} loads failed or timed out",
+					System.currentTimeMillis() - start, failed);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.warn("warming up the caches is interrupted");
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Save the hot keys of this run, so that they're warmed up next time.
+	 */
+	@Scheduled(fixedDelay = SAVE_INTERVAL, initialDelay = SAVE_INTERVAL)
+	@PreDestroy
+	public void saveHotKeys() {
+		if (!enable) {
+			return;
+		}
+		File file = getHotKeysFile();
+		try {
+			HotKeyLog.save(file, hotKeysTop);
+		} catch (IOException e) {
+			logger.warn("Failed to save the hot keys to " + file, e);
+		}
+	}
+
+	File getHotKeysFile() {
+		File file = new File(hotKeysFile);
+		return file.isAbsolute() ? file : new File(dataDir, hotKeysFile);
+	}
+
+	private void addProductTasks(List<Callable<Void>> tasks, Set<String> patternLocales) {
+		if (StringUtils.isEmpty(products)) {
+			return;
+		}
+		for (String productVersion : products.split(ConstantsChar.COMMA)) {
+			String[] pair = productVersion.trim().split(ConstantsChar.COLON);
+			if (pair.length != 2) {
+				logger.warn("Invalid warm up product: {}", productVersion);
+				continue;
+			}
+			String productName = pair[0].trim();
+			String version = pair[1].trim();
+			try {
+				List<String> locales = productService.getSupportedLocaleList(productName, version);
+				for (String component : productService.getComponentNameList(productName, version)) {
+					for (String locale : locales) {
+						tasks.add(() -> {
+							oneComponentService.getCachedComponentTranslation(productName, version, component, locale);
+							return null;
+						});
+					}
+				}
+				patternLocales.addAll(locales);
+			} catch (Exception e) {
+				logger.warn("Failed to warm up " + productName + ConstantsChar.BACKSLASH + version, e);
+			}
+		}
+	}
+
+	private void addHotKeyTasks(List<Callable<Void>> tasks, Set<String> patternLocales) {
+		File file = getHotKeysFile();
+		List<HotKey> hotKeys;
+		try {
+			hotKeys = HotKeyLog.load(file);
+		} catch (IOException e) {
+			logger.warn("Failed to load the hot keys from " + file, e);
+			return;
+		}
+		for (HotKey hotKey : hotKeys) {
+			List<String> parts = hotKey.getParts();
+			if (CacheName.ONECOMPONENT.name().equals(hotKey.getCache()) && parts != null && parts.size() == 4) {
+				tasks.add(() -> {
+					oneComponentService.getCachedComponentTranslation(parts.get(0), parts.get(1), parts.get(2),
+							parts.get(3));
+					return null;
+				});
+			} else if (CacheName.PATTERN.name().equals(hotKey.getCache()) && parts != null && parts.size() == 1) {
+				patternLocales.add(parts.get(0));
+			}
+		}
+	}
+
+	private static boolean isDone(Future<Void> future) {
+		try {
+			future.get();
+			return true;
+		} catch (Exception e) {
+			logger.debug(e.getMessage(), e);
+			return false;
+		}
+	}
+}
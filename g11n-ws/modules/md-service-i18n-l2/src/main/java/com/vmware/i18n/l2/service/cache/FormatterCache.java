@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.l2.service.cache;
+
+import java.text.Format;
+import java.util.function.Supplier;
+
+import com.vmware.vip.common.cache.LruCache;
+
+/**
+ * The cached ICU formatters by key, e.g. locale and pattern.
+ * <p>
+ * A formatter is expensive to create since it loads the locale data, and it
+ * isn't thread safe. So it's created once per key as a prototype, and a call
+ * gets a clone of the prototype which is confined to the calling thread. The
+ * keys come from the requests, so the least recently used prototypes are
+ * evicted when the cache is full.
+ *
+ * @param <T> the formatter type
+ */
+public class FormatterCache<T extends Format> {
+
+	private final LruCache<String, T> prototypes;
+
+	/**
+	 * @param maxSize the max number of cached formatters
+	 */
+	public FormatterCache(int maxSize) {
+		this.prototypes = new LruCache<>(maxSize);
+	}
+
+	/**
+	 * Get a formatter for the calling thread.
+	 *
+	 * @param key     the key of the formatter
+	 * @param factory create the formatter if it isn't cached
+	 * @return a formatter which isn't shared with other threads
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(String key, Supplier<T> factory) {
+		return (T) prototypes.get(key, k -> factory.get()).clone();
+	}
+
+	public int size() {
+		return prototypes.size();
+	}
+}
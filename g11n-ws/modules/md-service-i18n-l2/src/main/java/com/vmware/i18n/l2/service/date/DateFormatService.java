@@ -4,26 +4,27 @@
  */
 package com.vmware.i18n.l2.service.date;
 
-import static com.vmware.i18n.pattern.service.impl.PatternServiceImpl.localeAliasesMap;
-import static com.vmware.i18n.pattern.service.impl.PatternServiceImpl.localePathMap;
-
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.annotation.Resource;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StringUtils;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ibm.icu.text.SimpleDateFormat;
 import com.ibm.icu.util.ULocale;
 import com.vmware.i18n.l2.dao.pattern.IPatternDao;
+import com.vmware.i18n.l2.service.cache.FormatterCache;
 import com.vmware.i18n.utils.CommonUtil;
 import com.vmware.i18n.utils.timezone.TimeZoneName;
 import com.vmware.vip.common.cache.CacheName;
 import com.vmware.vip.common.cache.TranslationCache3;
+import com.vmware.vip.common.constants.ConstantsChar;
 import com.vmware.vip.common.constants.ConstantsKeys;
 import com.vmware.vip.common.constants.ValidationMsg;
 import com.vmware.vip.common.exceptions.VIPCacheException;
@@ -37,8 +38,13 @@ public class DateFormatService implements IDateFormatService{
 
 	private static final Logger logger = LoggerFactory.getLogger(DateFormatService.class.getName());
 	
+	private static final int MAX_FORMATTERS = 2000;
+
 	@Resource
 	private IPatternDao patternDao;
+
+	// (locale, pattern) -> date formatter
+	private final FormatterCache<SimpleDateFormat> formatters = new FormatterCache<>(MAX_FORMATTERS);
 	
 	/**
 	 * Format a long date to localized date
@@ -52,15 +58,41 @@ public class DateFormatService implements IDateFormatService{
 	 */
 	public String formatDate(String locale, long date, String pattern) throws L2APIException {
 		try{
-			ULocale uLocale = new ULocale(locale);
-			Date d = new Date(date);
-			SimpleDateFormat format = new SimpleDateFormat(pattern, uLocale);
-			return format.format(d);
+			return getDateFormat(locale, pattern).format(new Date(date));
 		}catch(Exception e){
 			throw new L2APIException(e.getMessage());
 		}
 	}
 
+	/**
+	 * Format long dates to localized dates, the formatter is got once for the
+	 * dates
+	 *
+	 * @param locale
+	 * @param dates Java timestamps
+	 * @param pattern Date pattern
+	 * @return Localized dates in the order of the dates
+	 * @throws L2APIException
+	 */
+	@Override
+	public List<String> formatDates(String locale, List<Long> dates, String pattern) throws L2APIException {
+		try{
+			SimpleDateFormat format = getDateFormat(locale, pattern);
+			List<String> result = new ArrayList<>(dates.size());
+			for (Long date : dates) {
+				result.add(format.format(new Date(date)));
+			}
+			return result;
+		}catch(Exception e){
+			throw new L2APIException(e.getMessage());
+		}
+	}
+
+	private SimpleDateFormat getDateFormat(String locale, String pattern) {
+		return formatters.get(locale + ConstantsChar.POUND + pattern,
+				() -> new SimpleDateFormat(pattern, new ULocale(locale)));
+	}
+
 	
 	/**
    	 * @param locale
@@ -71,40 +103,70 @@ public class DateFormatService implements IDateFormatService{
 	public TimeZoneName getTimeZoneName(String locale, boolean defaultTerritory) throws L2APIException {
 		// TODO Auto-generated method stub
 		String newLocale = locale.replace("_", "-");
-		newLocale = CommonUtil.getCLDRLocale(newLocale, localePathMap, localeAliasesMap);
+		newLocale = CommonUtil.getCLDRLocale(newLocale);
 		if (CommonUtil.isEmpty(newLocale)){
 			logger.info("Invalid locale!");
 			throw new L2APIException(String.format(ValidationMsg.LOCALENAME_NOT_SUPPORTED, locale));
 		}
-		String timezoneNameJson = null;
+		// the cached TimeZoneName is shared by the requests, so a copy of it
+		// is returned
+		Object cachedTimeZoneName = null;
 		try {
-			timezoneNameJson = TranslationCache3.getCachedObject(CacheName.PATTERN, getTimeZoneNameKey(newLocale, defaultTerritory), String.class);
+			cachedTimeZoneName = TranslationCache3.getCachedObject(CacheName.PATTERN, getTimeZoneNameKey(newLocale, defaultTerritory), Object.class);
 		} catch (VIPCacheException e) {
-			timezoneNameJson = null;
+			cachedTimeZoneName = null;
 		}
-		TimeZoneName timeZoneName = null;
-		if (StringUtils.isEmpty(timezoneNameJson)) {
-			logger.info("get timezoneNameJson data from file");
-			timeZoneName = patternDao.getTimeZoneName(newLocale, defaultTerritory);
-			if (StringUtils.isEmpty(timeZoneName)) {
-				logger.info("file data don't exist");
-				return null;
-			}
-			try {
-				timezoneNameJson = new ObjectMapper().writeValueAsString(timeZoneName);
-				TranslationCache3.addCachedObject(CacheName.PATTERN, getTimeZoneNameKey(newLocale, defaultTerritory),
-						String.class, timezoneNameJson);
-			} catch (Exception e) {
-				throw new L2APIException(e.getMessage());
-			}
-		} else {
-			try {
-				timeZoneName = new ObjectMapper().readValue(timezoneNameJson, TimeZoneName.class);
-			} catch (Exception e) {
-				throw new L2APIException(e.getMessage());
+		if (cachedTimeZoneName instanceof TimeZoneName) {
+			return copyTimeZoneName((TimeZoneName) cachedTimeZoneName);
+		}
+		logger.info("get timezoneNameJson data from file");
+		TimeZoneName timeZoneName = patternDao.getTimeZoneName(newLocale, defaultTerritory);
+		if (timeZoneName == null) {
+			logger.info("file data don't exist");
+			return null;
+		}
+		try {
+			TranslationCache3.addCachedObject(CacheName.PATTERN, getTimeZoneNameKey(newLocale, defaultTerritory),
+					Object.class, timeZoneName);
+		} catch (Exception e) {
+			throw new L2APIException(e.getMessage());
+		}
+		return copyTimeZoneName(timeZoneName);
+	}
+
+	private static TimeZoneName copyTimeZoneName(TimeZoneName timeZoneName) {
+		TimeZoneName copy = new TimeZoneName();
+		copy.setLanguage(timeZoneName.getLanguage());
+		if (timeZoneName.getTimeZoneNames() != null) {
+			copy.setTimeZoneNames(copyMap(timeZoneName.getTimeZoneNames()));
+		}
+		return copy;
+	}
+
+	/*
+	 * copy the maps and the lists deeply, the other values are strings
+	 */
+	private static LinkedHashMap<String, Object> copyMap(Map<?, ?> map) {
+		LinkedHashMap<String, Object> copy = new LinkedHashMap<>(map.size() * 4 / 3 + 1);
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			copy.put(String.valueOf(entry.getKey()), copyValue(entry.getValue()));
+		}
+		return copy;
+	}
+
+	private static Object copyValue(Object value) {
+		if (value instanceof Map) {
+			return copyMap((Map<?, ?>) value);
+		}
+		if (value instanceof List) {
+			List<?> list = (List<?>) value;
+			List<Object> copy = new ArrayList<>(list.size());
+			for (Object item : list) {
+				copy.add(copyValue(item));
 			}
+			return copy;
 		}
-		return timeZoneName;
+		return value;
 	}
 
 	private String getTimeZoneNameKey(String locale, boolean defauritorltTery) {
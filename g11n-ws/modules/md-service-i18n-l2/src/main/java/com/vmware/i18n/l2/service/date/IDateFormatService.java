@@ -4,12 +4,22 @@
  */
 package com.vmware.i18n.l2.service.date;
 
+import java.util.List;
+
 import com.vmware.i18n.utils.timezone.TimeZoneName;
 import com.vmware.vip.core.messages.exception.L2APIException;
 
 public interface IDateFormatService {
 
 	public String formatDate(String locale, long date, String pattern) throws L2APIException;
+
+	/**
+	 * @param locale
+	 * @param dates Java timestamps
+	 * @param pattern Date pattern
+	 * @return Localized dates in the order of the dates
+	 */
+	public List<String> formatDates(String locale, List<Long> dates, String pattern) throws L2APIException;
 	
 	/**
    	 * @param locale
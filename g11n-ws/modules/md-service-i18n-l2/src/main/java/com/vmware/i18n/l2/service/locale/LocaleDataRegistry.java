@@ -0,0 +1,157 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.l2.service.locale;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.vmware.i18n.locale.service.impl.LocaleServiceImpl;
+import com.vmware.i18n.utils.CommonUtil;
+
+/**
+ * The CLDR locale data by display language: the display names of the
+ * languages, the context transforms of the language names, the territories
+ * and the cities.
+ * <p>
+ * The data of all the CLDR locales is loaded at startup, and the data is
+ * immutable, so the language list and the region list are served from memory.
+ * A locale which isn't loaded, e.g. the preload is disabled, is loaded on its
+ * first use.
+ * <p>
+ * A language is looked up case-insensitively: it's normalized to a language
+ * tag and lower cased like the keys of the CLDR locale path map, so zh-Hans,
+ * zh-hans and ZH-HANS get the same data. The display names used to be looked
+ * up by the raw input, so a language which wasn't in lower case, e.g. zh-Hans,
+ * didn't find them.
+ */
+@Component
+public class LocaleDataRegistry {
+	private static final Logger logger = LoggerFactory.getLogger(LocaleDataRegistry.class);
+
+	private static final String LANGUAGES = "languages";
+	private static final String CONTEXT_TRANSFORMS = "contextTransforms";
+
+	@Value("${locale.registry.preload:true}")
+	private boolean preload;
+
+	private final LanguagesFileParser languagesParser = new LanguagesFileParser();
+
+	private final TerritoriesFileParser territoriesParser = new TerritoriesFileParser();
+
+	// the lower case language tag -> the data
+	private final Map<String, LocaleData> registry = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void preload() {
+		if (!preload) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		// the locales which share a CLDR dir share the data
+		Map<String, LocaleData> dataByPath = new HashMap<>();
+		for (Map.Entry<String, String> entry : LocaleServiceImpl.localePathMap.entrySet()) {
+			LocaleData data = dataByPath.computeIfAbsent(entry.getValue(), path -> load(entry.getKey()));
+			registry.put(entry.getKey(), data);
+		}
+		logger.info("{} locales of {} CLDR dirs are loaded in {} ms", registry.size(), dataByPath.size(),
+				System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * Get the display names of the languages in a display language.
+	 *
+	 * @return the display names by language tag, or null if the display
+	 *         language isn't supported
+	 */
+	public Map<String, String> getLanguages(String displayLanguage) {
+		LocaleData data = getData(displayLanguage);
+		return data == null ? null : data.languages;
+	}
+
+	/**
+	 * Get the context transforms of the language names in a display language,
+	 * e.g. {"stand-alone": "titlecase-firstword", "uiListOrMenu": "no-change"}.
+	 *
+	 * @return the context transforms, or null if they don't exist
+	 */
+	public Map<String, String> getLanguageContextTransforms(String displayLanguage) {
+		LocaleData data = getData(displayLanguage);
+		return data == null ? null : data.languageContextTransforms;
+	}
+
+	/**
+	 * Get the territories and the cities in a language, the returned object is
+	 * shared, so it must be copied before it's changed.
+	 *
+	 * @return the territories, the territories of it are null if the language
+	 *         isn't supported
+	 */
+	public TerritoryDTO getTerritory(String language) {
+		LocaleData data = getData(language);
+		return data == null ? territoriesParser.getTerritoriesByLanguage(language) : data.territory;
+	}
+
+	/*
+	 * get the data of a language by its lower case language tag, null if it
+	 * isn't a CLDR locale
+	 */
+	private LocaleData getData(String language) {
+		if (CommonUtil.isEmpty(language)) {
+			return null;
+		}
+		String key = CommonUtil.normalizeToLanguageTag(language).toLowerCase();
+		if (!LocaleServiceImpl.localePathMap.containsKey(key)) {
+			return null;
+		}
+		return registry.computeIfAbsent(key, this::load);
+	}
+
+	@SuppressWarnings("unchecked")
+	private LocaleData load(String language) {
+		Map<String, Object> displayNames = languagesParser.getDisplayNames(language);
+		Map<String, String> languages = displayNames == null ? null
+				: (Map<String, String>) displayNames.get(LANGUAGES);
+
+		Map<String, Object> contextTransforms = languagesParser.getContextTransforms(language);
+		Map<String, String> languageContextTransforms = null;
+		if (contextTransforms != null && contextTransforms.get(CONTEXT_TRANSFORMS) != null) {
+			Map<String, Object> transforms = (Map<String, Object>) contextTransforms.get(CONTEXT_TRANSFORMS);
+			languageContextTransforms = (Map<String, String>) transforms.get(LANGUAGES);
+		}
+
+		TerritoryDTO territory = territoriesParser.getTerritoriesByLanguage(language);
+		if (territory.getTerritories() != null) {
+			territory.setTerritories(Collections.unmodifiableMap(territory.getTerritories()));
+		}
+		if (territory.getCities() != null) {
+			territory.setCities(Collections.unmodifiableMap(territory.getCities()));
+		}
+		return new LocaleData(languages == null ? null : Collections.unmodifiableMap(languages),
+				languageContextTransforms == null ? null : Collections.unmodifiableMap(languageContextTransforms),
+				territory);
+	}
+
+	private static class LocaleData {
+		private final Map<String, String> languages;
+		private final Map<String, String> languageContextTransforms;
+		private final TerritoryDTO territory;
+
+		private LocaleData(Map<String, String> languages, Map<String, String> languageContextTransforms,
+				TerritoryDTO territory) {
+			this.languages = languages;
+			this.languageContextTransforms = languageContextTransforms;
+			this.territory = territory;
+		}
+	}
+}
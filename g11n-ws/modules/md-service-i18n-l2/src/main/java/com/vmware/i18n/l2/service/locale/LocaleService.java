@@ -8,7 +8,6 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import com.vmware.i18n.utils.CommonUtil;
-import org.apache.commons.lang3.SerializationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,21 +15,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import com.ibm.icu.impl.LocaleUtility;
-import com.vmware.vip.common.cache.CacheName;
-import com.vmware.vip.common.cache.TranslationCache3;
 import com.vmware.vip.common.utils.LocaleUtils;
 import com.vmware.vip.core.messages.service.product.IProductService;
 
-import static com.vmware.i18n.pattern.service.impl.PatternServiceImpl.localeAliasesMap;
-import static com.vmware.i18n.pattern.service.impl.PatternServiceImpl.localePathMap;
 
 /**
  * This class is used to convert a string to a locale object
  */
 @Service
 public class LocaleService implements ILocaleService {
-    private static final String LANGUAGE_STR="languages";
-	private static final String CONTEXT_TRANSFORMS = "contextTransforms";
 	private static final String DISPLAY_NAME_SENTENCE_BEGINNING = "displayName-sentenceBeginning";
 	private static final String DISPLAY_NAME_UI_LIST = "displayName-uiListOrMenu";
 	private static final String DISPLAY_NAME_STANDALONE = "displayName-standalone";
@@ -42,6 +35,9 @@ public class LocaleService implements ILocaleService {
 	@Autowired
 	IProductService productService;
 
+	@Autowired
+	LocaleDataRegistry localeDataRegistry;
+
 	/**
 	 * A function to convert a string of the form aa_BB_CC to a locale object
 	 *
@@ -55,75 +51,46 @@ public class LocaleService implements ILocaleService {
 		return LocaleUtility.getLocaleFromName(locale).toLanguageTag();
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public List<DisplayLanguageDTO> getDisplayNamesFromCLDR(String productName, String version, String dispLanguage)
 			throws Exception {
-		LanguagesFileParser languagesParser = new LanguagesFileParser();
 		List<DisplayLanguageDTO> dtoList = new ArrayList<DisplayLanguageDTO>();
 		DisplayLanguageDTO dto = null;
-		Map<String, String> languagesMap = null;
-		Map<String, Object> jsonMap = null;
 		List<String> languageList = this.productService.getSupportedLanguageList(productName, version);
-		if (languageList.size() == 0 || languageList == null){
+		if (languageList == null || languageList.size() == 0){
 			return dtoList;
 		}
-		String cacheKey = dispLanguage;
-		if (StringUtils.isEmpty(dispLanguage)) {
-			cacheKey = productName + "_" + version + "_" + languageList.size();
-		}
 		languageList = languageList.stream().map(language -> LocaleUtils.normalizeToLanguageTag(language))
 				.collect(Collectors.toList());
-		jsonMap = TranslationCache3.getCachedObject(CacheName.LANGUAGE, cacheKey, HashMap.class);
-		if (jsonMap == null) {
-			logger.info("get data from file");
-			if (StringUtils.isEmpty(dispLanguage)) {
-				Map<String, String> tmp = new HashMap<String, String>();
-				Map<String, String> tmp1 = null;
-				Map<String, Object> tmp2 = null;
-				for (String language : languageList) {
-					tmp2 = languagesParser.getDisplayNames(language);
-					if(tmp2 != null && tmp2.get(LANGUAGE_STR) != null){
-						tmp1 = (Map<String, String>) tmp2.get(LANGUAGE_STR);
-						if(tmp1 != null) {
-							tmp.put(language, tmp1.get(language) == null ? "" : tmp1.get(language));
-						}else {
-							tmp.put(language, "");
-						}
-					}else{
-						continue;
-					}
-				}
-				if (tmp.size() == 0) {
-					return dtoList;
-				}
-				jsonMap = new HashMap<String, Object>();
-				jsonMap.put(LANGUAGE_STR, tmp);
-			} else {
-				logger.info("get data from cache");
-				// VIP-2001:[Get LanguageList API]Can't parse the language(i.e. en-US) which in default content json file.
-				String locale = dispLanguage.replace("_", "-");
-				locale = CommonUtil.getCLDRLocale(locale, localePathMap, localeAliasesMap);
-				jsonMap = languagesParser.getDisplayNames(locale);
-				if (jsonMap == null || jsonMap.get(LANGUAGE_STR) == null) {
-					return dtoList;
+		Map<String, String> languagesMap = new HashMap<String, String>();
+		String disPlayLocale = null;
+		if (StringUtils.isEmpty(dispLanguage)) {
+			// the display name of a language in the language itself
+			for (String language : languageList) {
+				Map<String, String> displayNames = localeDataRegistry.getLanguages(language);
+				if (displayNames != null) {
+					languagesMap.put(language, displayNames.get(language) == null ? "" : displayNames.get(language));
 				}
 			}
-			TranslationCache3.addCachedObject(CacheName.LANGUAGE, cacheKey,HashMap.class,  (HashMap<String, Object>)jsonMap);
+			if (languagesMap.size() == 0) {
+				return dtoList;
+			}
+		} else {
+			// VIP-2001:[Get LanguageList API]Can't parse the language(i.e. en-US) which in default content json file.
+			disPlayLocale = CommonUtil.getCLDRLocale(dispLanguage.replace("_", "-"));
+			Map<String, String> displayNames = localeDataRegistry.getLanguages(disPlayLocale);
+			if (displayNames == null) {
+				return dtoList;
+			}
+			languagesMap = displayNames;
 		}
-		languagesMap = (Map<String, String>) jsonMap.get(LANGUAGE_STR);
 
 		for (String language : languageList) {
-			Map<String, String> displayNameMap = null;
-			if (StringUtils.isEmpty(dispLanguage)) {
-				displayNameMap = getDisplayNameMap(language, languagesParser, languagesMap.get(language));
-			} else {
-				String disPlayLocale = CommonUtil.getCLDRLocale(dispLanguage.replace("_", "-"),
-						localePathMap, localeAliasesMap);
-				displayNameMap = getDisplayNameMap(disPlayLocale, languagesParser, languagesMap.get(language));
-			}
+			String displayName = languagesMap.get(language);
+			Map<String, String> displayNameMap = getDisplayNameMap(disPlayLocale == null ? language : disPlayLocale,
+					displayName);
 			dto = new DisplayLanguageDTO();
-			dto.setDisplayName(languagesMap.get(language) == null ? "" : languagesMap.get(language));
+			dto.setDisplayName(displayName == null ? "" : displayName);
 			dto.setDisplayName_sentenceBeginning(StringUtils.isEmpty(displayNameMap.get(DISPLAY_NAME_SENTENCE_BEGINNING)) ? dto.getDisplayName() : displayNameMap.get(DISPLAY_NAME_SENTENCE_BEGINNING));
 			dto.setDisplayName_uiListOrMenu(StringUtils.isEmpty(displayNameMap.get(DISPLAY_NAME_UI_LIST)) ? dto.getDisplayName() : displayNameMap.get(DISPLAY_NAME_UI_LIST));
 			dto.setDisplayName_standalone(StringUtils.isEmpty(displayNameMap.get(DISPLAY_NAME_STANDALONE)) ? dto.getDisplayName() : displayNameMap.get(DISPLAY_NAME_STANDALONE));
@@ -133,22 +100,18 @@ public class LocaleService implements ILocaleService {
 		return dtoList;
 	}
 
-	private Map<String, String> getDisplayNameMap(String displayLanguage, LanguagesFileParser languagesParser, String displayName) {
-		Map<String, Object> tmpContext = languagesParser.getContextTransforms(displayLanguage);
+	private Map<String, String> getDisplayNameMap(String displayLanguage, String displayName) {
+		Map<String, String> languageMap = localeDataRegistry.getLanguageContextTransforms(displayLanguage);
 		Map<String, String> displayNameMap = new HashMap<>();
 		displayNameMap.put(DISPLAY_NAME_UI_LIST, "");
 		displayNameMap.put(DISPLAY_NAME_STANDALONE, "");
 		displayNameMap.put(DISPLAY_NAME_SENTENCE_BEGINNING, tittleCase(displayName));
-		if (tmpContext != null && tmpContext.get(CONTEXT_TRANSFORMS) != null) {
-			Map<String, Map<String, String>> contextTransformMap = (Map<String, Map<String, String>>) tmpContext.get(CONTEXT_TRANSFORMS);
-			if (contextTransformMap != null && contextTransformMap.get(LANGUAGE_STR) != null) {
-				Map<String, String> languageMap = contextTransformMap.get(LANGUAGE_STR);
-				if (languageMap.get(STAND_ALONE) != null) {
-					displayNameMap.put(DISPLAY_NAME_STANDALONE, languageMap.get(STAND_ALONE).equals(NO_CHANGES) ? displayName : tittleCase(displayName));
-				}
-				if (languageMap.get(UI_LIST_OR_MENU) != null) {
-					displayNameMap.put(DISPLAY_NAME_UI_LIST, languageMap.get(UI_LIST_OR_MENU).equals(NO_CHANGES) ? displayName : tittleCase(displayName));
-				}
+		if (languageMap != null) {
+			if (languageMap.get(STAND_ALONE) != null) {
+				displayNameMap.put(DISPLAY_NAME_STANDALONE, languageMap.get(STAND_ALONE).equals(NO_CHANGES) ? displayName : tittleCase(displayName));
+			}
+			if (languageMap.get(UI_LIST_OR_MENU) != null) {
+				displayNameMap.put(DISPLAY_NAME_UI_LIST, languageMap.get(UI_LIST_OR_MENU).equals(NO_CHANGES) ? displayName : tittleCase(displayName));
 			}
 		}
 		return displayNameMap;
@@ -168,27 +131,21 @@ public class LocaleService implements ILocaleService {
 
 	@Override
 	public List<TerritoryDTO> getTerritoriesFromCLDR(String languageList, String displayCity, String regions) throws Exception {
-		TerritoriesFileParser territoriesParser = new TerritoriesFileParser();
 		List<TerritoryDTO> territoryList = new ArrayList<TerritoryDTO>();
 		String[] langArr = languageList.split(",");
 		for (String lang : langArr) {
 			String locale = lang.replace("_", "-");
-			lang = CommonUtil.getCLDRLocale(locale, localePathMap, localeAliasesMap).toLowerCase();
-			logger.info("get data from cache");
-			TerritoryDTO cacheTerritory = TranslationCache3.getCachedObject(CacheName.REGION, lang, TerritoryDTO.class);
-			if (cacheTerritory == null) {
-				logger.info("cache is null, get data from file");
-				cacheTerritory = territoriesParser.getTerritoriesByLanguage(lang);
-				if (cacheTerritory.getTerritories() != null) {
-					TranslationCache3.addCachedObject(CacheName.REGION, lang, TerritoryDTO.class, cacheTerritory);
-				}
-			}
-
-			TerritoryDTO territory = SerializationUtils.clone(cacheTerritory);
-			if (!StringUtils.isEmpty(territory.getCities()) && Boolean.parseBoolean(displayCity)) {
+			lang = CommonUtil.getCLDRLocale(locale).toLowerCase();
+			// the registry's territory is shared, so the response is a copy of it
+			TerritoryDTO cacheTerritory = localeDataRegistry.getTerritory(lang);
+			TerritoryDTO territory = new TerritoryDTO();
+			territory.setLanguage(lang);
+			territory.setDefaultRegionCode(cacheTerritory.getDefaultRegionCode());
+			territory.setTerritories(cacheTerritory.getTerritories());
+			if (!StringUtils.isEmpty(cacheTerritory.getCities()) && Boolean.parseBoolean(displayCity)) {
 				if (!StringUtils.isEmpty(regions)) {
 					Map<String, Object> cityMap = new HashMap<>();
-					Map<String, Object> originCityMap = territory.getCities();
+					Map<String, Object> originCityMap = cacheTerritory.getCities();
 					Arrays.stream(regions.split(",")).forEach(regionName -> {
 						regionName = regionName.toUpperCase();
 						if (originCityMap.containsKey(regionName)) {
@@ -196,9 +153,9 @@ public class LocaleService implements ILocaleService {
 						}
 					});
 					territory.setCities(cityMap);
+				} else {
+					territory.setCities(cacheTerritory.getCities());
 				}
-			} else {
-				territory.setCities(null);
 			}
 
 			territoryList.add(territory);
@@ -24,8 +24,9 @@ public class TerritoriesFileParser {
 			dto.setDefaultRegionCode("");
 			return dto;
 		}
-		Map<String, String> terrMap = (Map<String, String>)JSONUtils.getMapFromJson(regionJson).get(ConstantsKeys.TERRITORIES);
-		Object defaultRegionCode = JSONUtils.getMapFromJson(regionJson).get(ConstantsKeys.DEFAULT_REGION_CODE);
+		Map<String, Object> regionMap = JSONUtils.getMapFromJson(regionJson);
+		Map<String, String> terrMap = (Map<String, String>) regionMap.get(ConstantsKeys.TERRITORIES);
+		Object defaultRegionCode = regionMap.get(ConstantsKeys.DEFAULT_REGION_CODE);
 		dto.setTerritories(terrMap);
 		dto.setDefaultRegionCode(defaultRegionCode.toString());
 
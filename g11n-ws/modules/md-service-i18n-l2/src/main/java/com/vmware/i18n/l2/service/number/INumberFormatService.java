@@ -4,6 +4,8 @@
  */
 package com.vmware.i18n.l2.service.number;
 
+import java.util.List;
+
 /**
  * The class represents number formatting
  */
@@ -25,6 +27,14 @@ public interface INumberFormatService {
 	 * @return Localized number
 	 */
 	public String formatNumber(String locale, String number, int scale);
-;
+
+	/**
+	 * Format numbers to localized numbers
+	 * @param locale
+	 * @param numbers
+	 * @param scale the scale, or null to format the numbers as is
+	 * @return Localized numbers in the order of the numbers
+	 */
+	public List<String> formatNumbers(String locale, List<String> numbers, Integer scale);
 
 }
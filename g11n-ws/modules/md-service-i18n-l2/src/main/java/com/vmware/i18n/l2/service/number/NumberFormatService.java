@@ -5,6 +5,8 @@
 package com.vmware.i18n.l2.service.number;
 
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +15,8 @@ import org.springframework.stereotype.Service;
 import com.ibm.icu.math.BigDecimal;
 import com.ibm.icu.text.NumberFormat;
 import com.ibm.icu.util.ULocale;
+import com.vmware.i18n.l2.service.cache.FormatterCache;
+import com.vmware.vip.common.constants.ConstantsChar;
 
 /**
  * The class represents number formatting
@@ -20,6 +24,16 @@ import com.ibm.icu.util.ULocale;
 @Service
 public class NumberFormatService implements INumberFormatService{
 	private static final Logger logger = LoggerFactory.getLogger(NumberFormatService.class);
+
+	private static final int MAX_FORMATTERS = 2000;
+
+	// (locale, scale) -> number formatter, the scale is empty if it's not set
+	private final FormatterCache<NumberFormat> formatters = new FormatterCache<>(MAX_FORMATTERS);
+
+	// the parser of the number strings in the default locale, it's cloned
+	// for each call like the cached formatters
+	private final NumberFormat parser = NumberFormat.getNumberInstance();
+
     /**
      * Format a number to localized number
      * @param locale A string representing a specific locale in [lang]_[country (region)] format. e.g., ja_JP, zh_CN
@@ -27,9 +41,7 @@ public class NumberFormatService implements INumberFormatService{
      * @return Localized number
      */
     public String formatNumber(String locale, String number) {
-        Number num = this.parseNumber(number);
-        ULocale uLocale = new ULocale(locale);
-        return NumberFormat.getNumberInstance(uLocale).format(num);
+        return getNumberFormat(locale, null).format(this.parseNumber(number, getParser()));
     }
 
 	/**
@@ -40,23 +52,53 @@ public class NumberFormatService implements INumberFormatService{
 	 * @return Localized number
 	 */
 	public String formatNumber(String locale, String number, int scale) {
-	    Number num = this.parseNumber(number);
-		ULocale uLocale = new ULocale(locale);
-		NumberFormat numberFormat = NumberFormat.getNumberInstance(uLocale);
-		numberFormat.setMaximumFractionDigits(scale);
-		numberFormat.setMinimumFractionDigits(scale);
-		numberFormat.setRoundingMode(BigDecimal.ROUND_HALF_UP);
-		return numberFormat.format(num);
+		return getNumberFormat(locale, scale).format(this.parseNumber(number, getParser()));
+	}
+
+	/**
+	 * Format numbers to localized numbers, the formatter is got once for the
+	 * numbers
+	 * @param locale
+	 * @param numbers
+	 * @param scale the scale, or null to format the numbers as is
+	 * @return Localized numbers in the order of the numbers
+	 */
+	public List<String> formatNumbers(String locale, List<String> numbers, Integer scale) {
+		NumberFormat numberFormat = getNumberFormat(locale, scale);
+		NumberFormat parser = getParser();
+		List<String> result = new ArrayList<>(numbers.size());
+		for (String number : numbers) {
+			result.add(numberFormat.format(this.parseNumber(number, parser)));
+		}
+		return result;
+	}
+
+	private NumberFormat getNumberFormat(String locale, Integer scale) {
+		String key = scale == null ? locale : locale + ConstantsChar.POUND + scale;
+		return formatters.get(key, () -> {
+			NumberFormat numberFormat = NumberFormat.getNumberInstance(new ULocale(locale));
+			if (scale != null) {
+				numberFormat.setMaximumFractionDigits(scale);
+				numberFormat.setMinimumFractionDigits(scale);
+				numberFormat.setRoundingMode(BigDecimal.ROUND_HALF_UP);
+			}
+			return numberFormat;
+		});
+	}
+
+	private NumberFormat getParser() {
+		return (NumberFormat) parser.clone();
 	}
 
 	/**
 	 * Parse a number string to number
 	 * @param numberStr
+	 * @param parser
 	 * @return number
 	 */
-	private Number parseNumber(String numberStr){
+	private Number parseNumber(String numberStr, NumberFormat parser){
 	    try {
-            return NumberFormat.getNumberInstance().parse(numberStr);
+            return parser.parse(numberStr);
         } catch (ParseException e) {
         	logger.error(e.getMessage(), e);
             return 0;
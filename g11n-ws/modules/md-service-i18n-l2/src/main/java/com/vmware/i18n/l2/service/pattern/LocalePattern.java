@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.l2.service.pattern;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.vmware.vip.common.constants.ConstantsKeys;
+
+/**
+ * The parsed pattern data of a locale, it's cached in the PATTERN cache.
+ * <p>
+ * The category trees are immutable and shared by the requests, a response
+ * refers to them instead of parsing the pattern JSON again, so a change of a
+ * tree must be made on a copy.
+ */
+public final class LocalePattern implements Serializable {
+
+	private static final long serialVersionUID = 3846215530928107412L;
+
+	// the top level fields, e.g. localeID, language and region, the categories
+	// are null to keep their position in the response
+	private final Map<String, Object> header;
+
+	// category -> immutable tree, the supplemental data is under
+	// ConstantsKeys.SUPPLEMENT
+	private final Map<String, Object> categories;
+
+	private LocalePattern(Map<String, Object> header, Map<String, Object> categories) {
+		this.header = header;
+		this.categories = categories;
+	}
+
+	/**
+	 * Create the pattern of a locale from the pattern data of the library, the
+	 * category trees are immutable and kept as they are.
+	 *
+	 * @param patternMap
+	 * @return the pattern, or null if there isn't pattern data
+	 */
+	@SuppressWarnings("unchecked")
+	public static LocalePattern of(Map<String, Object> patternMap) {
+		if (patternMap == null) {
+			return null;
+		}
+		Map<String, Object> categories = (Map<String, Object>) patternMap.get(ConstantsKeys.CATEGORIES);
+		Map<String, Object> header = new LinkedHashMap<>(patternMap);
+		header.put(ConstantsKeys.CATEGORIES, null);
+		return new LocalePattern(Collections.unmodifiableMap(header),
+				categories == null ? Collections.emptyMap() : categories);
+	}
+
+	/**
+	 * Create a pattern map for a response with the top level fields, the
+	 * categories of the response are put by the caller.
+	 */
+	public Map<String, Object> newPatternMap() {
+		return new LinkedHashMap<>(header);
+	}
+
+	public Object getCategory(String category) {
+		return categories.get(category);
+	}
+
+	@SuppressWarnings("unchecked")
+	public Map<String, Object> getSupplement() {
+		return (Map<String, Object>) categories.get(ConstantsKeys.SUPPLEMENT);
+	}
+}
@@ -4,16 +4,12 @@
  */
 package com.vmware.i18n.l2.service.pattern;
 
-import static com.vmware.i18n.pattern.service.impl.PatternServiceImpl.localeAliasesMap;
-import static com.vmware.i18n.pattern.service.impl.PatternServiceImpl.localePathMap;
-
 import java.util.*;
 
 import javax.annotation.Resource;
 
 import com.vmware.i18n.PatternUtil;
 import com.vmware.i18n.dto.LocaleDataDTO;
-import com.vmware.vip.common.constants.ConstantsChar;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -21,6 +17,8 @@ import org.springframework.stereotype.Service;
 import com.vmware.i18n.l2.dao.pattern.IPatternDao;
 import com.vmware.i18n.utils.CommonUtil;
 import com.vmware.vip.common.cache.CacheName;
+import com.vmware.vip.common.cache.HotKeyLog;
+import com.vmware.vip.common.cache.SingleFlightLoader;
 import com.vmware.vip.common.cache.TranslationCache3;
 import com.vmware.vip.common.constants.ConstantsKeys;
 import com.vmware.vip.common.exceptions.VIPCacheException;
@@ -54,7 +52,7 @@ public class PatternServiceImpl implements IPatternService {
 		 * @param locale
 		 */
 		locale = locale.replace("_", "-");
-		String newLocale = CommonUtil.getCLDRLocale(locale, localePathMap, localeAliasesMap);
+		String newLocale = CommonUtil.getCLDRLocale(locale);
 		if (CommonUtil.isEmpty(newLocale)){
 			logger.info("Invalid locale!");
 			return buildPatternMap(locale);
@@ -62,32 +60,82 @@ public class PatternServiceImpl implements IPatternService {
 
 		locale = newLocale;
 
-		Map<String, Object> patternMap = null;
-		String patternJson = "";
-		patternJson = TranslationCache3.getCachedObject(CacheName.PATTERN, locale, String.class);
-	
-		if (StringUtils.isEmpty(patternJson)) {
+		LocalePattern localePattern = getLocalePattern(locale);
+		if (localePattern == null) {
+			logger.info("file data don't exist");
+			return buildPatternMap(locale);
+		}
+		Map<String, Object> patternMap = localePattern.newPatternMap();
+		Map<String, Object> categoryPatternMap = getCategories(categoryList, localePattern);
+		patternMap.put(ConstantsKeys.CATEGORIES, filterScope(categoryPatternMap, scopeFilter));
+		return patternMap;
+	}
+
+	/**
+	 * Get the parsed pattern of a locale from the PATTERN cache, or load it
+	 * from file if it isn't cached.
+	 *
+	 * @param locale
+	 * @return the pattern, or null if the file doesn't exist
+	 * @throws VIPCacheException
+	 */
+	private LocalePattern getLocalePattern(String locale) throws VIPCacheException {
+		Object cachedPattern = TranslationCache3.getCachedObject(CacheName.PATTERN, locale, Object.class);
+		LocalePattern localePattern;
+		if (cachedPattern instanceof LocalePattern) {
+			logger.info("get pattern data from cache");
+			localePattern = (LocalePattern) cachedPattern;
+		} else {
+			localePattern = loadPattern(locale);
+		}
+		if (localePattern != null) {
+			HotKeyLog.record(CacheName.PATTERN, locale, locale);
+		}
+		return localePattern;
+	}
+
+	/**
+	 * Get the pattern of a locale from the pattern library and add it to the
+	 * PATTERN cache, the default region of the locale is filled in here once
+	 * instead of in every request. The concurrent loads of the same locale
+	 * share one load.
+	 *
+	 * @param locale
+	 * @return the pattern, or null if the file doesn't exist
+	 * @throws VIPCacheException
+	 */
+	private LocalePattern loadPattern(String locale) throws VIPCacheException {
+		return SingleFlightLoader.load(CacheName.PATTERN, locale, () -> {
 			logger.info("get pattern data from file");
-			patternJson = patternDao.getPattern(locale, null);
-			if (StringUtils.isEmpty(patternJson)) {
-				logger.info("file data don't exist");
-				return buildPatternMap(locale);
+			Map<String, Object> patternMap = patternDao.getPattern(locale, null);
+			if (patternMap == null) {
+				return null;
 			}
-			TranslationCache3.addCachedObject(CacheName.PATTERN, locale, String.class, patternJson);
-		}
-		logger.info("get pattern data from cache");
-		patternMap = JSONUtils.getMapFromJson(patternJson);
-		if (StringUtils.isEmpty(patternMap.get(ConstantsKeys.REGION))) {
-			String regionJson = PatternUtil.getRegionFromLib(locale.replace("_", "-"));
-			if (StringUtils.hasLength(regionJson)) {
-				Object region = JSONUtils.getMapFromJson(regionJson).get(ConstantsKeys.DEFAULT_REGION_CODE);
-				patternMap.put(ConstantsKeys.REGION, region.toString());
+			if (StringUtils.isEmpty(patternMap.get(ConstantsKeys.REGION))) {
+				patternMap = new LinkedHashMap<>(patternMap);
+				patternMap.put(ConstantsKeys.REGION, getDefaultRegion(locale));
+			}
+			LocalePattern localePattern = LocalePattern.of(patternMap);
+			TranslationCache3.addCachedObject(CacheName.PATTERN, locale, Object.class, localePattern);
+			return localePattern;
+		});
+	}
+
+	/**
+	 * Get the default region of a locale, e.g. "US" for "en"
+	 *
+	 * @param locale
+	 * @return the region, or the empty String if the locale doesn't have one
+	 */
+	private String getDefaultRegion(String locale) {
+		String regionJson = PatternUtil.getRegionFromLib(locale.replace("_", "-"));
+		if (StringUtils.hasLength(regionJson)) {
+			Object region = JSONUtils.getMapFromJson(regionJson).get(ConstantsKeys.DEFAULT_REGION_CODE);
+			if (region != null) {
+				return region.toString();
 			}
 		}
-		Map<String, Object> categoryPatternMap = getCategories(categoryList, patternMap);
-		filterScope(categoryPatternMap, scopeFilter);
-		patternMap.put(ConstantsKeys.CATEGORIES, categoryPatternMap);
-		return patternMap;
+		return "";
 	}
 
 	private Map<String, Object> buildPatternMap(String locale) {
@@ -110,26 +158,17 @@ public class PatternServiceImpl implements IPatternService {
 	@Override
 	public Map<String, Object> getPatternWithLanguageAndRegion(String language, String region, List<String> categoryList, String scopeFilter) throws VIPCacheException {
 		logger.info("Get i18n pattern with language: {},region: {} and categories: {}", language, region, categoryList);
-		Map<String, Object> patternMap = null;
-		String patternJson = "";
 		language = language.replace("_", "-");
 		LocaleDataDTO resultData = CommonUtil.getLocale(language, region);
 		String locale = resultData.getLocale();
 		logger.info(locale);
-		patternJson = TranslationCache3.getCachedObject(CacheName.PATTERN, locale, String.class);
-		if (StringUtils.isEmpty(patternJson)) {
-			logger.info("get pattern data from file");
-			patternJson = patternDao.getPattern(locale, null);
-			if (StringUtils.isEmpty(patternJson)) {
-				logger.info("file data don't exist");
-				return buildPatternMap(language, region, patternJson, categoryList, resultData);
-			}
-			TranslationCache3.addCachedObject(CacheName.PATTERN, locale, String.class, patternJson);
+		LocalePattern localePattern = getLocalePattern(locale);
+		if (localePattern == null) {
+			logger.info("file data don't exist");
 		}
-		logger.info("get pattern data from cache");
-		patternMap = buildPatternMap(language, region, patternJson, categoryList, resultData);
+		Map<String, Object> patternMap = buildPatternMap(language, region, localePattern, categoryList, resultData);
 		if (!CommonUtil.isEmpty(patternMap) && !CommonUtil.isEmpty(patternMap.get(ConstantsKeys.CATEGORIES))) {
-			filterScope((Map<String, Object>) patternMap.get(ConstantsKeys.CATEGORIES), scopeFilter);
+			patternMap.put(ConstantsKeys.CATEGORIES, filterScope((Map<String, Object>) patternMap.get(ConstantsKeys.CATEGORIES), scopeFilter));
 		}
 		logger.info("The result pattern: {}", patternMap);
 		logger.info("Get i18n pattern successful");
@@ -139,22 +178,22 @@ public class PatternServiceImpl implements IPatternService {
 	/**
 	 * Build pattern
 	 *
-	 * @param patternJson
+	 * @param localePattern the cached pattern, or null if it doesn't exist
 	 * @param categoryList
 	 * @return
 	 */
-	private Map<String, Object> buildPatternMap(String language, String region, String patternJson, List<String> categoryList, LocaleDataDTO localeDataDTO) throws VIPCacheException {
+	private Map<String, Object> buildPatternMap(String language, String region, LocalePattern localePattern, List<String> categoryList, LocaleDataDTO localeDataDTO) throws VIPCacheException {
 		Map<String, Object> patternMap = new LinkedHashMap<>();
 		Map<String, Object> categoriesMap = new LinkedHashMap<>();
-		if (StringUtils.isEmpty(patternJson)) {
+		if (localePattern == null) {
 			patternMap.put(ConstantsKeys.LOCALEID, "");
 			patternMap.put(ConstantsKeys.IS_EXIST_PATTERN, false);
 			for (String category : categoryList) {
 				categoriesMap.put(category, null);
 			}
 		} else {
-			patternMap = JSONUtils.getMapFromJson(patternJson);
-			categoriesMap = getCategories(categoryList, patternMap);
+			patternMap = localePattern.newPatternMap();
+			categoriesMap = getCategories(categoryList, localePattern);
 			patternMap.put(ConstantsKeys.IS_EXIST_PATTERN, true);
 		}
 
@@ -201,15 +240,14 @@ public class PatternServiceImpl implements IPatternService {
 	}
 
 	/**
-	 *  Getting categories according to pattern
+	 *  Getting categories according to pattern, the result refers to the cached category trees
 	 * @param categoryList
-	 * @param patternMap
+	 * @param localePattern
 	 * @return
 	 */
-	private Map<String, Object> getCategories(List<String> categoryList, Map<String, Object> patternMap){
+	private Map<String, Object> getCategories(List<String> categoryList, LocalePattern localePattern){
 		Map<String, Object> resultMap = new LinkedHashMap<>();
-		Map<String, Object> categoriesMap = (Map<String, Object>) patternMap.get(ConstantsKeys.CATEGORIES);
-		Map<String, Object> supplementMap = (Map<String, Object>) categoriesMap.get(ConstantsKeys.SUPPLEMENT);
+		Map<String, Object> supplementMap = localePattern.getSupplement();
 		Map<String, Object> suppMap = new HashMap<>();
 		for (String cat : categoryList) {
 			suppMap.put(cat, supplementMap.get(cat));
@@ -221,8 +259,9 @@ public class PatternServiceImpl implements IPatternService {
 		}
 
 		for (String cat : categoryList) {
-			if (!CommonUtil.isEmpty(categoriesMap.get(cat))) {
-				resultMap.put(cat, categoriesMap.get(cat));
+			Object category = localePattern.getCategory(cat);
+			if (!CommonUtil.isEmpty(category)) {
+				resultMap.put(cat, category);
 			}
 		}
 		//add the supplement data
@@ -232,85 +271,15 @@ public class PatternServiceImpl implements IPatternService {
 	}
 
 	/**
-	 * Filtering out the pattern data
+	 * Filtering out the pattern data by the compiled scopeFilter
 	 * @param patternMap
 	 * @param scopeFilter
+	 * @return a read-only view of the filtered pattern data, or the pattern data if there isn't a scopeFilter
 	 */
-	private void filterScope(Map<String, Object> patternMap, String scopeFilter) {
+	private Map<String, Object> filterScope(Map<String, Object> patternMap, String scopeFilter) {
 		if (CommonUtil.isEmpty(scopeFilter) || CommonUtil.isEmpty(patternMap)) {
-			return;
-		}
-
-		// If scopeFilter starts with ^, it means deleting the data under the node
-		if (scopeFilter.startsWith(ConstantsChar.REVERSE)) {
-			scopeFilter = scopeFilter.substring(scopeFilter.indexOf(ConstantsChar.LEFT_PARENTHESIS) + 1, scopeFilter.indexOf(ConstantsChar.RIGHT_PARENTHESIS));
-			Arrays.asList(scopeFilter.split(ConstantsChar.COMMA)).stream().forEach(scopeNode -> {
-				List<String> scopeFilters = Arrays.asList(scopeNode.split(ConstantsChar.UNDERLINE));
-				removeData(patternMap, scopeFilters, 0);
-			});
-		} else {
-			Map<String, Object> newPatternMap = new HashMap<>();
-			for (String scopeNode : Arrays.asList(scopeFilter.split(ConstantsChar.COMMA))) {
-				List<String> scopeFilters = Arrays.asList(scopeNode.split(ConstantsChar.UNDERLINE));
-				Map<String, Object> tempPatternMap = getData(patternMap, scopeFilters, 0);
-				newPatternMap = mergePatternMap(newPatternMap, tempPatternMap, scopeFilters, 0);
-			}
-			patternMap.clear();
-			patternMap.putAll(newPatternMap);
-		}
-	}
-
-	private void removeData(Map<String, Object> patternMap, List<String> scopeFilters, Integer index) {
-		String scopeFilter = scopeFilters.get(index);
-		if (index == scopeFilters.size() - 1) {
-			patternMap.remove(scopeFilter);
-		} else if (!CommonUtil.isEmpty(patternMap.get(scopeFilter))) {
-			patternMap = (Map<String, Object>) patternMap.get(scopeFilter);
-			removeData(patternMap, scopeFilters, index + 1);
-		}
-	}
-
-	/**
-	 * Obtain the data of the corresponding node in the pattern according to scopeFilters
-	 * @param originPatternMap
-	 * @param scopeFilters
-	 * @param index
-	 * @return
-	 */
-	private Map<String, Object> getData(Map<String, Object> originPatternMap, List<String> scopeFilters, Integer index) {
-		String scopeFilter = scopeFilters.get(index);
-		Map<String, Object> patternMap = new HashMap<>();
-
-		if (index == scopeFilters.size() - 1) {
-			patternMap.put(scopeFilter, originPatternMap.get(scopeFilter));
-		} else if (!CommonUtil.isEmpty(originPatternMap.get(scopeFilter))) {
-			originPatternMap = (Map<String, Object>) originPatternMap.get(scopeFilter);
-			patternMap.put(scopeFilter, getData(originPatternMap, scopeFilters, index + 1));
-		}
-		return patternMap;
-	}
-
-	/**
-	 * Merging pattern data
-	 * @param originPatternMap
-	 * @param newPatternMap
-	 * @param scopeFilters
-	 * @param index
-	 * @return
-	 */
-	private Map<String, Object> mergePatternMap(Map<String, Object> originPatternMap, Map<String, Object> newPatternMap,
-												List<String> scopeFilters, Integer index) {
-		Map<String, Object> patternMap = new HashMap<>(originPatternMap);
-		String scopeFilter = scopeFilters.get(index);
-
-		if (!CommonUtil.isEmpty(originPatternMap.get(scopeFilter))) {
-			originPatternMap = (Map<String, Object>) originPatternMap.get(scopeFilter);
-			newPatternMap = (Map<String, Object>) newPatternMap.get(scopeFilter);
-			patternMap.put(scopeFilter, mergePatternMap(originPatternMap, newPatternMap, scopeFilters, index + 1));
-		} else {
-			patternMap.putAll(newPatternMap);
+			return patternMap;
 		}
-
-		return patternMap;
+		return ScopeFilterPlan.compile(scopeFilter).apply(patternMap);
 	}
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.l2.service.pattern;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.vmware.vip.common.cache.LruCache;
+import com.vmware.vip.common.constants.ConstantsChar;
+
+/**
+ * A compiled scopeFilter, e.g. "dates_eras,numbers" or "^(dates_eras)".
+ * <p>
+ * The node paths of a filter are compiled once into a trie, and the plan is
+ * applied to the categories of a pattern as a read-only view, so the cached
+ * pattern trees are neither copied nor changed.
+ * <p>
+ * The filtered data is the same as the one of the former filterScope, which
+ * built and merged the maps of the paths, except that:
+ * <ul>
+ * <li>a path covers the paths under it, e.g. "dates,dates_eras" keeps the
+ * whole dates node, the merge failed on such paths if the node was found;</li>
+ * <li>an include filter keeps the nodes in the order of the filter paths,
+ * instead of the order of a hash map;</li>
+ * <li>a path through a node which isn't a map is skipped, the cast failed on
+ * it.</li>
+ * </ul>
+ * As before, a missing last node of a path is kept as null in the include
+ * mode, and a missing node in the middle of a path is omitted; an existing
+ * middle node is kept even if none of the nodes under it is found.
+ */
+public final class ScopeFilterPlan {
+
+	// the filters come from the requests, so the number of cached plans is
+	// limited, the least recently used ones are evicted
+	private static final int MAX_CACHED_PLANS = 1024;
+
+	private static final LruCache<String, ScopeFilterPlan> plans = new LruCache<>(MAX_CACHED_PLANS);
+
+	private final Node root;
+
+	// true to remove the nodes of the paths, false to keep only them
+	private final boolean exclude;
+
+	private ScopeFilterPlan(Node root, boolean exclude) {
+		this.root = root;
+		this.exclude = exclude;
+	}
+
+	/**
+	 * Get the compiled plan of a scopeFilter.
+	 *
+	 * @param scopeFilter a String separated by commas and underline, if it
+	 *                    starts with ^, the data under the nodes is removed
+	 * @return the plan
+	 */
+	public static ScopeFilterPlan compile(String scopeFilter) {
+		return plans.get(scopeFilter, ScopeFilterPlan::parse);
+	}
+
+	/**
+	 * Apply the plan to the categories of a pattern.
+	 *
+	 * @param patternMap the categories, it isn't changed
+	 * @return a read-only view of the filtered categories
+	 */
+	public Map<String, Object> apply(Map<String, Object> patternMap) {
+		return new ProjectionMap(root, patternMap, exclude);
+	}
+
+	private static ScopeFilterPlan parse(String scopeFilter) {
+		boolean exclude = scopeFilter.startsWith(ConstantsChar.REVERSE);
+		if (exclude) {
+			scopeFilter = scopeFilter.substring(scopeFilter.indexOf(ConstantsChar.LEFT_PARENTHESIS) + 1,
+					scopeFilter.indexOf(ConstantsChar.RIGHT_PARENTHESIS));
+		}
+		Node root = new Node();
+		for (String scopeNode : scopeFilter.split(ConstantsChar.COMMA)) {
+			Node node = root;
+			for (String name : scopeNode.split(ConstantsChar.UNDERLINE)) {
+				if (node.terminal) {
+					break;
+				}
+				node = node.children.computeIfAbsent(name, k -> new Node());
+			}
+			if (!node.terminal) {
+				node.terminal = true;
+				node.children.clear();
+			}
+		}
+		return new ScopeFilterPlan(root, exclude);
+	}
+
+	private static final class Node {
+		private final Map<String, Node> children = new LinkedHashMap<>();
+
+		// the whole data under the node is kept or removed
+		private boolean terminal;
+	}
+
+	/**
+	 * The view of a map filtered by a trie node, its entries are collected on
+	 * the first access and refer to the values of the source map.
+	 */
+	private static final class ProjectionMap extends AbstractMap<String, Object> {
+		private final Node node;
+		private final Map<String, Object> source;
+		private final boolean exclude;
+		private Set<Map.Entry<String, Object>> entries;
+
+		private ProjectionMap(Node node, Map<String, Object> source, boolean exclude) {
+			this.node = node;
+			this.source = source;
+			this.exclude = exclude;
+		}
+
+		@Override
+		public Set<Map.Entry<String, Object>> entrySet() {
+			if (entries == null) {
+				List<Map.Entry<String, Object>> list = exclude ? exclude() : include();
+				entries = new EntrySet(Collections.unmodifiableList(list));
+			}
+			return entries;
+		}
+
+		private List<Map.Entry<String, Object>> include() {
+			List<Map.Entry<String, Object>> list = new ArrayList<>(node.children.size());
+			for (Map.Entry<String, Node> child : node.children.entrySet()) {
+				Object value = source.get(child.getKey());
+				if (child.getValue().terminal) {
+					// a missing node is kept as null
+					list.add(new SimpleImmutableEntry<>(child.getKey(), value));
+				} else if (value instanceof Map) {
+					list.add(new SimpleImmutableEntry<>(child.getKey(),
+							new ProjectionMap(child.getValue(), castMap(value), false)));
+				}
+			}
+			return list;
+		}
+
+		private List<Map.Entry<String, Object>> exclude() {
+			List<Map.Entry<String, Object>> list = new ArrayList<>(source.size());
+			for (Map.Entry<String, Object> entry : source.entrySet()) {
+				Node child = node.children.get(entry.getKey());
+				if (child != null && child.terminal) {
+					continue;
+				}
+				Object value = entry.getValue();
+				if (child != null && value instanceof Map) {
+					value = new ProjectionMap(child, castMap(value), true);
+				}
+				list.add(new SimpleImmutableEntry<>(entry.getKey(), value));
+			}
+			return list;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static Map<String, Object> castMap(Object value) {
+			return (Map<String, Object>) value;
+		}
+	}
+
+	private static final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+		private final List<Map.Entry<String, Object>> list;
+
+		private EntrySet(List<Map.Entry<String, Object>> list) {
+			this.list = list;
+		}
+
+		@Override
+		public Iterator<Map.Entry<String, Object>> iterator() {
+			return list.iterator();
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+	}
+}
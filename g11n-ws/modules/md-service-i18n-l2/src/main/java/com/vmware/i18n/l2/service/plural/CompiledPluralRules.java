@@ -0,0 +1,317 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.l2.service.plural;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compiled CLDR plural rules of a language, e.g.
+ * {"pluralRule-count-one": "i = 1 and v = 0 @integer 1", ...}.
+ * <p>
+ * The rule expressions are parsed once into conditions, so selecting the plural
+ * category of a number only evaluates the conditions on the operands of the
+ * number. The syntax is the one of the CLDR JSON data, see
+ * https://unicode.org/reports/tr35/tr35-numbers.html#Language_Plural_Rules
+ */
+public final class CompiledPluralRules {
+
+	public static final String OTHER = "other";
+
+	private static final String RULE_PREFIX = "pluralRule-count-";
+
+	// the order to evaluate the rules, "other" is the default
+	private static final List<String> CATEGORIES = Arrays.asList("zero", "one", "two", "few", "many");
+
+	private final List<Rule> rules;
+
+	private CompiledPluralRules(List<Rule> rules) {
+		this.rules = rules;
+	}
+
+	/**
+	 * Compile the plural rules of a language.
+	 *
+	 * @param pluralRules the plural rules by "pluralRule-count-{category}"
+	 * @return the compiled rules
+	 * @throws IllegalArgumentException if a rule can't be parsed
+	 */
+	public static CompiledPluralRules compile(Map<String, ?> pluralRules) {
+		List<Rule> rules = new ArrayList<>();
+		for (Map.Entry<String, ?> entry : pluralRules.entrySet()) {
+			if (!entry.getKey().startsWith(RULE_PREFIX) || entry.getValue() == null) {
+				continue;
+			}
+			String category = entry.getKey().substring(RULE_PREFIX.length());
+			if (!OTHER.equals(category)) {
+				rules.add(new Rule(category, new Parser(entry.getValue().toString()).parse()));
+			}
+		}
+		rules.sort((r1, r2) -> Integer.compare(order(r1.category), order(r2.category)));
+		return new CompiledPluralRules(Collections.unmodifiableList(rules));
+	}
+
+	/**
+	 * The rules of a language without plural rules, the category is always
+	 * "other".
+	 */
+	public static CompiledPluralRules other() {
+		return new CompiledPluralRules(Collections.emptyList());
+	}
+
+	/**
+	 * Select the plural category of a number.
+	 *
+	 * @param number a decimal number, the visible fraction digits count, e.g.
+	 *               "1" is "one" and "1.0" is "other" in English
+	 * @return the plural category, e.g. "one", "few", "other"
+	 * @throws NumberFormatException if the number isn't a decimal number
+	 */
+	public String select(String number) {
+		return select(new BigDecimal(number.trim()));
+	}
+
+	public String select(BigDecimal number) {
+		if (rules.isEmpty()) {
+			return OTHER;
+		}
+		Operands operands = new Operands(number);
+		for (Rule rule : rules) {
+			if (rule.condition.test(operands)) {
+				return rule.category;
+			}
+		}
+		return OTHER;
+	}
+
+	private static int order(String category) {
+		int index = CATEGORIES.indexOf(category);
+		return index < 0 ? CATEGORIES.size() : index;
+	}
+
+	private static final class Rule {
+		private final String category;
+		private final Condition condition;
+
+		private Rule(String category, Condition condition) {
+			this.category = category;
+			this.condition = condition;
+		}
+	}
+
+	@FunctionalInterface
+	private interface Condition {
+		boolean test(Operands operands);
+	}
+
+	/**
+	 * The plural operands of a number: n the absolute value, i the integer
+	 * digits, v the number of the visible fraction digits, w the number of the
+	 * visible fraction digits without trailing zeros, f the visible fraction
+	 * digits, t the visible fraction digits without trailing zeros.
+	 */
+	private static final class Operands {
+		private final BigDecimal n;
+		private final BigDecimal i;
+		private final BigDecimal v;
+		private final BigDecimal w;
+		private final BigDecimal f;
+		private final BigDecimal t;
+
+		private Operands(BigDecimal number) {
+			n = number.abs();
+			i = n.setScale(0, RoundingMode.DOWN);
+			int fractionDigits = Math.max(n.scale(), 0);
+			v = BigDecimal.valueOf(fractionDigits);
+			if (fractionDigits == 0) {
+				w = BigDecimal.ZERO;
+				f = BigDecimal.ZERO;
+				t = BigDecimal.ZERO;
+			} else {
+				BigDecimal fraction = n.subtract(i);
+				f = new BigDecimal(fraction.unscaledValue());
+				BigDecimal stripped = fraction.signum() == 0 ? BigDecimal.ZERO : fraction.stripTrailingZeros();
+				w = BigDecimal.valueOf(Math.max(stripped.scale(), 0));
+				t = new BigDecimal(stripped.unscaledValue());
+			}
+		}
+
+		private BigDecimal get(char operand) {
+			switch (operand) {
+			case 'n':
+				return n;
+			case 'i':
+				return i;
+			case 'v':
+				return v;
+			case 'w':
+				return w;
+			case 'f':
+				return f;
+			case 't':
+				return t;
+			default:
+				// c and e, the exponent of the compact decimal formats
+				return BigDecimal.ZERO;
+			}
+		}
+	}
+
+	/**
+	 * The parser of a rule:
+	 *
+	 * <pre>
+	 * condition     = and_condition ('or' and_condition)*
+	 * and_condition = relation ('and' relation)*
+	 * relation      = operand ('%' value)? ('=' | '!=') range_list
+	 * range_list    = (value | value '..' value) (',' range_list)*
+	 * </pre>
+	 *
+	 * The samples after '@' are ignored.
+	 */
+	private static final class Parser {
+		private final String rule;
+		private final String source;
+		private int pos;
+
+		private Parser(String rule) {
+			this.rule = rule;
+			int samples = rule.indexOf('@');
+			this.source = samples < 0 ? rule : rule.substring(0, samples);
+		}
+
+		private Condition parse() {
+			skipSpaces();
+			if (pos == source.length()) {
+				return operands -> true;
+			}
+			Condition condition = parseAnd();
+			while (nextWord("or")) {
+				Condition left = condition;
+				Condition right = parseAnd();
+				condition = operands -> left.test(operands) || right.test(operands);
+			}
+			skipSpaces();
+			if (pos != source.length()) {
+				throw error();
+			}
+			return condition;
+		}
+
+		private Condition parseAnd() {
+			Condition condition = parseRelation();
+			while (nextWord("and")) {
+				Condition left = condition;
+				Condition right = parseRelation();
+				condition = operands -> left.test(operands) && right.test(operands);
+			}
+			return condition;
+		}
+
+		private Condition parseRelation() {
+			skipSpaces();
+			if (pos == source.length() || "nivwftce".indexOf(source.charAt(pos)) < 0) {
+				throw error();
+			}
+			char operand = source.charAt(pos++);
+			BigDecimal modulus = null;
+			if (next('%')) {
+				modulus = parseValue();
+				if (modulus.signum() == 0) {
+					throw error();
+				}
+			}
+			boolean equal;
+			if (next('=')) {
+				equal = true;
+			} else if (next('!') && next('=')) {
+				equal = false;
+			} else {
+				throw error();
+			}
+			List<BigDecimal[]> ranges = new ArrayList<>();
+			do {
+				BigDecimal low = parseValue();
+				BigDecimal high = low;
+				if (next('.')) {
+					if (!next('.')) {
+						throw error();
+					}
+					high = parseValue();
+				}
+				ranges.add(new BigDecimal[] { low, high });
+			} while (next(','));
+
+			BigDecimal mod = modulus;
+			BigDecimal[][] rangeArray = ranges.toArray(new BigDecimal[ranges.size()][]);
+			return operands -> {
+				BigDecimal value = operands.get(operand);
+				if (mod != null) {
+					value = value.remainder(mod);
+				}
+				return inRanges(value, rangeArray) == equal;
+			};
+		}
+
+		private static boolean inRanges(BigDecimal value, BigDecimal[][] ranges) {
+			// a range only contains integers, e.g. 2.5 isn't in 2..4
+			if (value.signum() != 0 && value.stripTrailingZeros().scale() > 0) {
+				return false;
+			}
+			for (BigDecimal[] range : ranges) {
+				if (value.compareTo(range[0]) >= 0 && value.compareTo(range[1]) <= 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private BigDecimal parseValue() {
+			skipSpaces();
+			int start = pos;
+			while (pos < source.length() && Character.isDigit(source.charAt(pos))) {
+				pos++;
+			}
+			if (start == pos) {
+				throw error();
+			}
+			return new BigDecimal(source.substring(start, pos));
+		}
+
+		private boolean next(char c) {
+			skipSpaces();
+			if (pos < source.length() && source.charAt(pos) == c) {
+				pos++;
+				return true;
+			}
+			return false;
+		}
+
+		private boolean nextWord(String word) {
+			skipSpaces();
+			int end = pos + word.length();
+			if (source.startsWith(word, pos) && (end == source.length() || Character.isWhitespace(source.charAt(end)))) {
+				pos = end;
+				return true;
+			}
+			return false;
+		}
+
+		private void skipSpaces() {
+			while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+				pos++;
+			}
+		}
+
+		private IllegalArgumentException error() {
+			return new IllegalArgumentException("Invalid plural rule at " + pos + ": " + rule);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.l2.service.plural;
+
+import java.util.List;
+
+import com.vmware.vip.core.messages.exception.L2APIException;
+
+/**
+ * The class represents the plural category selection by the CLDR plural rules
+ */
+public interface IPluralService {
+
+	/**
+	 * Select the plural category of a number
+	 * @param locale A string representing a specific locale in [lang]_[country (region)] format. e.g., ja_JP, zh_CN
+	 * @param number a decimal number, the visible fraction digits count, e.g. "1.0"
+	 * @return the plural category, e.g. "one", "few", "other"
+	 */
+	public String selectPluralCategory(String locale, String number) throws L2APIException;
+
+	/**
+	 * Select the plural categories of numbers
+	 * @param locale
+	 * @param numbers
+	 * @return the plural categories in the order of the numbers
+	 */
+	public List<String> selectPluralCategories(String locale, List<String> numbers) throws L2APIException;
+
+}
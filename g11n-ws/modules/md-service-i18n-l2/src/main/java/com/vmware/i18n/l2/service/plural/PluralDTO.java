@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.l2.service.plural;
+
+import java.io.Serializable;
+
+/**
+ * DTO objects for the plural category of a number
+ */
+public class PluralDTO implements Serializable {
+
+    private static final long serialVersionUID = 6921587037219512873L;
+
+    private String number;
+    private String pluralCategory;
+    private String locale;
+
+    public String getNumber() {
+        return number;
+    }
+
+    public void setNumber(String number) {
+        this.number = number;
+    }
+
+    public String getPluralCategory() {
+        return pluralCategory;
+    }
+
+    public void setPluralCategory(String pluralCategory) {
+        this.pluralCategory = pluralCategory;
+    }
+
+    public String getLocale() {
+        return locale;
+    }
+
+    public void setLocale(String locale) {
+        this.locale = locale;
+    }
+
+}
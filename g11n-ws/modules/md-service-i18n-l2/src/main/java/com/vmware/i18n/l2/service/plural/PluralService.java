@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.l2.service.plural;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.vmware.i18n.l2.service.pattern.IPatternService;
+import com.vmware.i18n.utils.CommonUtil;
+import com.vmware.vip.common.constants.ConstantsKeys;
+import com.vmware.vip.common.constants.ValidationMsg;
+import com.vmware.vip.core.messages.exception.L2APIException;
+
+/**
+ * The class represents the plural category selection, the plural rules of a
+ * locale are compiled on the first use and kept for the later calls
+ */
+@Service
+public class PluralService implements IPluralService {
+	private static final Logger logger = LoggerFactory.getLogger(PluralService.class);
+
+	@Autowired
+	private IPatternService patternService;
+
+	// CLDR locale -> compiled plural rules, the number of the CLDR locales is limited
+	private final Map<String, CompiledPluralRules> pluralRules = new ConcurrentHashMap<>();
+
+	/**
+	 * Select the plural category of a number
+	 * @param locale
+	 * @param number
+	 * @return the plural category
+	 */
+	@Override
+	public String selectPluralCategory(String locale, String number) throws L2APIException {
+		return select(getPluralRules(locale), number);
+	}
+
+	/**
+	 * Select the plural categories of numbers, the plural rules are got once
+	 * for the numbers
+	 * @param locale
+	 * @param numbers
+	 * @return the plural categories in the order of the numbers
+	 */
+	@Override
+	public List<String> selectPluralCategories(String locale, List<String> numbers) throws L2APIException {
+		CompiledPluralRules rules = getPluralRules(locale);
+		List<String> result = new ArrayList<>(numbers.size());
+		for (String number : numbers) {
+			result.add(select(rules, number));
+		}
+		return result;
+	}
+
+	private String select(CompiledPluralRules rules, String number) throws L2APIException {
+		try {
+			return rules.select(number);
+		} catch (NumberFormatException e) {
+			throw new L2APIException(ValidationMsg.NUMBER_NOT_VALIDE, e);
+		}
+	}
+
+	private CompiledPluralRules getPluralRules(String locale) throws L2APIException {
+		String newLocale = CommonUtil.getCLDRLocale(locale.replace("_", "-"));
+		if (CommonUtil.isEmpty(newLocale)) {
+			logger.info("Invalid locale!");
+			throw new L2APIException(String.format(ValidationMsg.LOCALENAME_NOT_SUPPORTED, locale));
+		}
+		CompiledPluralRules rules = pluralRules.get(newLocale);
+		if (rules == null) {
+			rules = compile(newLocale);
+			// the plural data may be missing for now, so the fallback isn't kept
+			if (rules == null) {
+				return CompiledPluralRules.other();
+			}
+			CompiledPluralRules existing = pluralRules.putIfAbsent(newLocale, rules);
+			if (existing != null) {
+				rules = existing;
+			}
+		}
+		return rules;
+	}
+
+	/*
+	 * compile the plural rules of a CLDR locale, null if the locale has no
+	 * plural rules
+	 */
+	@SuppressWarnings("unchecked")
+	private CompiledPluralRules compile(String locale) throws L2APIException {
+		Map<String, Object> patternMap;
+		try {
+			patternMap = patternService.getPattern(locale, new ArrayList<>(Arrays.asList(ConstantsKeys.PLURALS)), null);
+		} catch (Exception e) {
+			throw new L2APIException(e.getMessage(), e);
+		}
+		Map<String, Object> categories = (Map<String, Object>) patternMap.get(ConstantsKeys.CATEGORIES);
+		Object plurals = categories == null ? null : categories.get(ConstantsKeys.PLURALS);
+		Object rules = plurals instanceof Map ? ((Map<String, Object>) plurals).get(ConstantsKeys.PLURAL_RULES) : null;
+		// a locale without plural rules has only the "other" category
+		if (!(rules instanceof Map)) {
+			return null;
+		}
+		try {
+			return CompiledPluralRules.compile((Map<String, Object>) rules);
+		} catch (IllegalArgumentException e) {
+			logger.error(e.getMessage(), e);
+			throw new L2APIException(String.format(ValidationMsg.LOCALENAME_NOT_SUPPORTED, locale), e);
+		}
+	}
+}
@@ -4,6 +4,10 @@
  */
 package com.vmware.vip.core.messages.service.multcomponent;
 
+import java.util.Map;
+
+import org.json.simple.JSONObject;
+
 import com.vmware.vip.core.messages.exception.L3APIException;
 
 
@@ -25,4 +29,16 @@ public interface IMultComponentService {
      *         The object of TranslationDTO, containing translation.
      */
     public TranslationDTO getMultiComponentsTranslation(TranslationDTO translationDTO)  throws L3APIException;
+
+    /**
+     * Get the bundles of the requested component and locale pairs.
+     * <p>
+     * Only the requested pairs are loaded and each bundle is cached by itself,
+     * so the cost depends on the request but not on the product's size.
+     * 
+     * @param translationDTO
+     *         The object of TranslationDTO, containing the product, version, components and locales.
+     * @return the bundles indexed by component and then by locale, the pairs without translation are absent
+     */
+    public Map<String, Map<String, JSONObject>> getComponentLocaleBundles(TranslationDTO translationDTO);
 }
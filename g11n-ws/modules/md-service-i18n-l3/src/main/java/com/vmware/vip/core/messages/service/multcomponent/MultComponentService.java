@@ -4,7 +4,9 @@
  */
 package com.vmware.vip.core.messages.service.multcomponent;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.Resource;
 
@@ -20,12 +22,16 @@ import org.springframework.util.StringUtils;
 
 import com.vmware.vip.common.cache.CacheName;
 import com.vmware.vip.common.cache.CachedKeyGetter;
+import com.vmware.vip.common.cache.SingleFlightLoader;
 import com.vmware.vip.common.cache.TranslationCache3;
 import com.vmware.vip.common.constants.ConstantsChar;
 import com.vmware.vip.common.constants.ConstantsKeys;
 import com.vmware.vip.common.exceptions.VIPCacheException;
+import com.vmware.vip.common.utils.JSONUtils;
 import com.vmware.vip.core.messages.exception.L3APIException;
 import com.vmware.vip.core.messages.service.product.IProductService;
+import com.vmware.vip.core.messages.service.singlecomponent.ComponentMessagesDTO;
+import com.vmware.vip.core.messages.service.singlecomponent.IOneComponentService;
 import com.vmware.vip.core.messages.utils.PseudoConfig;
 import com.vmware.vip.core.messages.utils.PseudoMessagesUtils;
 import com.vmware.vip.messages.data.dao.api.IMultComponentDao;
@@ -49,6 +55,9 @@ public class MultComponentService implements IMultComponentService {
     @Autowired
 	private PseudoConfig pseudoConfig;
 
+	@Autowired
+	private IOneComponentService oneComponentService;
+
 	@Override
 	public TranslationDTO getMultiComponentsTranslation(
 			TranslationDTO translationDTO) throws L3APIException {
@@ -56,24 +65,34 @@ public class MultComponentService implements IMultComponentService {
 		String key = CachedKeyGetter
 				.getMultiComponentsCachedKey(translationDTO);
 		try {
-		    try {
-		        result =  TranslationCache3.getCachedObject(CacheName.MULTCOMPONENT, key, TranslationDTO.class);
-		  } catch (VIPCacheException e) {
-              LOGGER.error("Add data to cache failure");
-          }
-			
-			
-			if (StringUtils.isEmpty(result)) {
-				LOGGER.info("Not found in cache, try to get data from local");
-				result = this.getTranslation(translationDTO);
-				try {
-				    TranslationCache3.addCachedObject(CacheName.MULTCOMPONENT, key,TranslationDTO.class, result);
-				} catch (VIPCacheException e) {
-				    LOGGER.error("Add data to cache failure");
-				}
-			} else {
-				LOGGER.info("Found data from cache["+ key + "]");
-			}
+		    result =  TranslationCache3.getCachedObject(CacheName.MULTCOMPONENT, key, TranslationDTO.class);
+		} catch (VIPCacheException e) {
+		    LOGGER.error("Add data to cache failure");
+		}
+		if (StringUtils.isEmpty(result)) {
+			LOGGER.info("Not found in cache, try to get data from local");
+			result = SingleFlightLoader.load(CacheName.MULTCOMPONENT, key,
+					() -> loadTranslation(translationDTO, key));
+		} else {
+			LOGGER.info("Found data from cache["+ key + "]");
+		}
+		// handle pseudo
+		if(translationDTO.getPseudo()) {
+			pseudoConfig.setEnabled(translationDTO.getPseudo());
+			return PseudoMessagesUtils.getPseudoMessages2(result, pseudoConfig);
+		}
+		return result;
+	}
+
+	/*
+	 * get the translation of multiple components from local, and add it to the
+	 * MULTCOMPONENT cache.
+	 */
+	private TranslationDTO loadTranslation(TranslationDTO translationDTO, String key)
+			throws L3APIException {
+		TranslationDTO result = null;
+		try {
+			result = this.getTranslation(translationDTO);
 		}  catch (ParseException e) {
 		    LOGGER.error(e.getMessage(), e);
 			throw new L3APIException(ConstantsKeys.FATA_ERROR + "Parse error when get translation for "
@@ -86,14 +105,51 @@ public class MultComponentService implements IMultComponentService {
 							+ translationDTO.getProductName() + ConstantsChar.BACKSLASH
 							+ translationDTO.getVersion(), e);
 		}
-		// handle pseudo
-		if(translationDTO.getPseudo()) {
-			pseudoConfig.setEnabled(translationDTO.getPseudo());
-			return PseudoMessagesUtils.getPseudoMessages2(result, pseudoConfig);
+		try {
+		    TranslationCache3.addCachedObject(CacheName.MULTCOMPONENT, translationDTO.getProductName(),
+		    		translationDTO.getVersion(), key, TranslationDTO.class, result);
+		} catch (VIPCacheException e) {
+		    LOGGER.error("Add data to cache failure");
 		}
 		return result;
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public Map<String, Map<String, JSONObject>> getComponentLocaleBundles(
+			TranslationDTO translationDTO) {
+		Map<String, Map<String, JSONObject>> bundleIndex = new HashMap<String, Map<String, JSONObject>>();
+		for (String component : translationDTO.getComponents()) {
+			Map<String, JSONObject> localeBundles = new HashMap<String, JSONObject>();
+			for (String locale : translationDTO.getLocales()) {
+				ComponentMessagesDTO cached;
+				try {
+					cached = oneComponentService.getCachedComponentTranslation(
+							translationDTO.getProductName(), translationDTO.getVersion(),
+							component, locale);
+				} catch (L3APIException e) {
+					LOGGER.warn("No translation for " + component + ConstantsChar.BACKSLASH + locale);
+					continue;
+				}
+				Object messages = cached.getMessages();
+				if (translationDTO.getPseudo() && messages instanceof Map) {
+					messages = JSONUtils.getOrderedMapForPseudo((Map<String, Object>) messages,
+							pseudoConfig.getExistSourceTag());
+				}
+				JSONObject bundle = new JSONObject();
+				bundle.put(ConstantsKeys.COMPONENT, cached.getComponent());
+				bundle.put(ConstantsKeys.lOCALE, cached.getLocale());
+				bundle.put(ConstantsKeys.MESSAGES, messages);
+				if (cached.getId() != 0) {
+					bundle.put(ConstantsKeys.ID, cached.getId());
+				}
+				localeBundles.put(locale, bundle);
+			}
+			bundleIndex.put(component, localeBundles);
+		}
+		return bundleIndex;
+	}
+
 	@SuppressWarnings({"unchecked" })
 	private TranslationDTO getTranslation(TranslationDTO translationDTO)
 			throws ParseException, DataException {
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.core.messages.service.product;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.vmware.vip.common.cache.LruCache;
+import com.vmware.vip.core.messages.exception.L3APIException;
+import com.vmware.vip.core.messages.utils.LocaleUtility;
+import com.vmware.vip.messages.data.dao.model.ProductChangeEvent;
+
+/**
+ * Resolve a requested locale to the supported locale of a product version.
+ * <p>
+ * Each product version has a table from the requested locale to the resolved
+ * locale, it's pre-filled with the supported locales and the mapped locales
+ * in the map properties file. Other requested locales are kept in a bounded
+ * LRU cache of the table when they're resolved for the first time. The table
+ * is dropped when the product is changed, or when it's older than 10 minutes
+ * for the data stores which don't publish product changes.
+ * <p>
+ * A table is tagged with the generation of its product when it starts to be
+ * built, a product change increases the generation, so a table built during
+ * the change is stale and built again by the next request.
+ */
+@Component
+public class LocaleFallbackResolver {
+
+	private static final long TABLE_EXPIRY = TimeUnit.MINUTES.toMillis(10);
+
+	// the max number of other requested locales kept in a table
+	static final int MAX_REQUESTED_LOCALES = 1000;
+
+	private final IProductService productService;
+
+	private final Map<String, Map<String, FallbackTable>> tables = new ConcurrentHashMap<>();
+
+	// product name -> the number of its changes
+	private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+	@Autowired
+	public LocaleFallbackResolver(IProductService productService) {
+		this.productService = productService;
+	}
+
+	/**
+	 * Get the fallback locale of the requested locale.
+	 *
+	 * @param productName
+	 * @param version
+	 * @param inputLocale the requested locale, e.g. zh-CN or zh_CN
+	 * @return the language tag of the supported locale, or of the requested
+	 *         locale if no supported locale matches
+	 * @throws L3APIException if the supported locales can't be got
+	 */
+	public String resolve(String productName, String version, String inputLocale) throws L3APIException {
+		return getTable(productName, version).get(inputLocale);
+	}
+
+	/**
+	 * Drop the tables of a product.
+	 */
+	public void invalidate(String productName) {
+		getGeneration(productName).incrementAndGet();
+		tables.remove(productName);
+	}
+
+	@EventListener
+	public void onProductChange(ProductChangeEvent event) {
+		invalidate(event.getProductName());
+	}
+
+	private FallbackTable getTable(String productName, String version) throws L3APIException {
+		Map<String, FallbackTable> versionTables = tables.get(productName);
+		FallbackTable table = versionTables == null ? null : versionTables.get(version);
+		long generation = getGeneration(productName).get();
+		if (table == null || table.generation != generation
+				|| System.currentTimeMillis() - table.createTime > TABLE_EXPIRY) {
+			table = new FallbackTable(generation, productService.getSupportedLocaleList(productName, version));
+			tables.computeIfAbsent(productName, k -> new ConcurrentHashMap<>()).put(version, table);
+		}
+		return table;
+	}
+
+	private AtomicLong getGeneration(String productName) {
+		return generations.computeIfAbsent(productName, k -> new AtomicLong());
+	}
+
+	private static class FallbackTable {
+		private final long createTime = System.currentTimeMillis();
+		private final long generation;
+		private final List<Locale> supportedLocales = new ArrayList<>();
+
+		// filled in the constructor, only read afterwards
+		private final Map<String, String> prefilledLocales = new HashMap<>();
+
+		private final LruCache<String, String> requestedLocales = new LruCache<>(MAX_REQUESTED_LOCALES);
+
+		// the loader of the requested locales, it's created once for the table
+		private final Function<String, String> resolver = this::resolve;
+
+		FallbackTable(long generation, List<String> supportedLocaleList) {
+			this.generation = generation;
+			for (String supportedLocale : supportedLocaleList) {
+				supportedLocales.add(Locale.forLanguageTag(supportedLocale.replace("_", "-")));
+			}
+			for (String supportedLocale : supportedLocaleList) {
+				prefill(supportedLocale);
+				prefill(Locale.forLanguageTag(supportedLocale.replace("_", "-")).getLanguage());
+			}
+			for (String mappedLocale : LocaleUtility.getLocaleMapKeys()) {
+				prefill(mappedLocale);
+			}
+		}
+
+		private String get(String inputLocale) {
+			String resolved = prefilledLocales.get(inputLocale);
+			return resolved != null ? resolved : requestedLocales.get(inputLocale, resolver);
+		}
+
+		private void prefill(String locale) {
+			String resolved = resolve(locale);
+			prefilledLocales.put(locale, resolved);
+			prefilledLocales.put(locale.replace("-", "_"), resolved);
+			prefilledLocales.put(locale.replace("_", "-"), resolved);
+		}
+
+		private String resolve(String inputLocale) {
+			String requestLocale = inputLocale.replace("_", "-");
+			return LocaleUtility.pickupLocaleFromListNoDefault(supportedLocales,
+					Locale.forLanguageTag(requestLocale)).toLanguageTag();
+		}
+	}
+}
@@ -20,7 +20,9 @@ import com.vmware.vip.common.i18n.dto.SingleComponentDTO;
 import com.vmware.vip.common.i18n.dto.UpdateTranslationDTO.UpdateTranslationDataDTO.TranslationDTO;
 import com.vmware.vip.common.utils.JSONUtils;
 import com.vmware.vip.core.messages.exception.L3APIException;
+import com.vmware.vip.core.messages.service.render.CompiledMessages;
 import com.vmware.vip.core.messages.service.singlecomponent.ComponentMessagesDTO;
+import com.vmware.vip.core.messages.service.singlecomponent.ComponentSnapshot;
 import com.vmware.vip.messages.data.dao.api.IOneComponentDao;
 import com.vmware.vip.messages.data.dao.api.IProductDao;
 import com.vmware.vip.messages.data.dao.exception.DataException;
@@ -169,21 +171,16 @@ public class ProductService implements IProductService {
 	}
 	
 	/**
-	 * update the MultComponent Cache project when update translations
+	 * update the MultComponent Cache project when update translations, all the
+	 * cached component and locale combinations of the version are removed.
 	 * 
 	 * @param productName
 	 * @param version
 	 * @throws L3APIException
 	 */
 	private void updateMultComponentCache(String productName, String version) throws L3APIException {
-		com.vmware.vip.core.messages.service.multcomponent.TranslationDTO multComp = new com.vmware.vip.core.messages.service.multcomponent.TranslationDTO();
-		multComp.setProductName(productName);
-		multComp.setVersion(version);
-		multComp.setLocales(getSupportedLocaleList(productName, version));
-		multComp.setComponents(getComponentNameList(productName, version));
-		String multKey = CachedKeyGetter.getMultiComponentsCachedKey(multComp);
 		try {
-			TranslationCache3.deleteCachedObject(CacheName.MULTCOMPONENT, multKey,
+			TranslationCache3.deleteCachedObjects(CacheName.MULTCOMPONENT, productName, version,
 					com.vmware.vip.core.messages.service.multcomponent.TranslationDTO.class);
 		} catch (VIPCacheException e) {
 			throw new L3APIException("MULTCOMPONENT cache occurs error when update translation.", e);
@@ -214,7 +211,8 @@ public class ProductService implements IProductService {
 		// merge with local bundle file
 		componentMessagesDTO = mergeComponentMessagesDTOWithFile(componentMessagesDTO);
 		if (StringUtils.isEmpty(result)) {// not exist in cache
-			TranslationCache3.addCachedObject(CacheName.ONECOMPONENT, key,ComponentMessagesDTO.class, componentMessagesDTO);
+			TranslationCache3.addCachedObject(CacheName.ONECOMPONENT, componentMessagesDTO.getProductName(),
+					componentMessagesDTO.getVersion(), key, ComponentMessagesDTO.class, componentMessagesDTO);
 			updateFlag = oneComponentDao.update(componentMessagesDTO.getProductName(),
 					componentMessagesDTO.getVersion(),
 					componentMessagesDTO.getComponent(),
@@ -230,6 +228,10 @@ public class ProductService implements IProductService {
 			TranslationCache3.updateCachedObject(CacheName.ONECOMPONENT, key,
 					ComponentMessagesDTO.class, componentMessagesDTO);
 		}
+		TranslationCache3.deleteCachedObject(CacheName.COMPONENTSNAPSHOT, key,
+				ComponentSnapshot.class);
+		TranslationCache3.deleteCachedObject(CacheName.COMPILEDMESSAGES, key,
+				CompiledMessages.class);
 		return updateFlag;
 	}
 
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.core.messages.service.render;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.ibm.icu.text.MessageFormat;
+import com.ibm.icu.util.ULocale;
+
+/**
+ * The compiled ICU message formats of one component's translation, it's kept
+ * in the COMPILEDMESSAGES cache under the key of the translation in the
+ * ONECOMPONENT cache, and it's removed with the translation.
+ * <p>
+ * A message is compiled on its first use. The pattern is kept with the
+ * compiled format, so a format compiled from an older translation is compiled
+ * again instead of being used.
+ */
+public final class CompiledMessages {
+
+	private final ULocale locale;
+
+	// key -> the compiled message
+	private final Map<String, CompiledMessage> messages = new ConcurrentHashMap<>();
+
+	public CompiledMessages(String locale) {
+		this.locale = ULocale.forLanguageTag(locale);
+	}
+
+	/**
+	 * Get the compiled format of a message.
+	 * <p>
+	 * A MessageFormat isn't thread-safe, so a copy of the compiled format is
+	 * returned, it's cheaper than parsing the pattern again.
+	 *
+	 * @param key     the key of the message
+	 * @param pattern the pattern of the message in the translation
+	 * @return MessageFormat
+	 * @throws IllegalArgumentException if the pattern isn't valid
+	 */
+	public MessageFormat getFormat(String key, String pattern) {
+		CompiledMessage message = messages.get(key);
+		if (message == null || !message.pattern.equals(pattern)) {
+			message = new CompiledMessage(pattern, new MessageFormat(pattern, locale));
+			messages.put(key, message);
+		}
+		return (MessageFormat) message.format.clone();
+	}
+
+	private static final class CompiledMessage {
+		private final String pattern;
+		private final MessageFormat format;
+
+		private CompiledMessage(String pattern, MessageFormat format) {
+			this.pattern = pattern;
+			this.format = format;
+		}
+	}
+}
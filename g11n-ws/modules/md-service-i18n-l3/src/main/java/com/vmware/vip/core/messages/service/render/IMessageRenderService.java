@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.core.messages.service.render;
+
+import java.util.List;
+
+import com.vmware.vip.core.messages.exception.L3APIException;
+
+/**
+ * This class renders the translated messages with their arguments by the ICU
+ * MessageFormat.
+ *
+ */
+public interface IMessageRenderService {
+
+	/**
+	 * Render a message of a component
+	 * <p>
+	 * The message is got from the translation of the fallback locale, or from
+	 * the English translation if it isn't translated.
+	 *
+	 * @param productName
+	 * @param version
+	 * @param component
+	 * @param locale
+	 * @param item
+	 *            the key and the arguments of the message, the arguments are
+	 *            by name, or by index for the numbered arguments, e.g. "0"
+	 * @return RenderedMessageDTO the item with the rendered message, the
+	 *         message is null if the key isn't found
+	 */
+	public RenderedMessageDTO renderMessage(String productName, String version,
+			String component, String locale, RenderedMessageDTO item)
+			throws L3APIException;
+
+	/**
+	 * Render the messages of a component
+	 *
+	 * @param productName
+	 * @param version
+	 * @param component
+	 * @param locale
+	 * @param items
+	 *            the keys and the arguments of the messages
+	 * @return the items with the rendered messages, in the order of the
+	 *         request
+	 */
+	public List<RenderedMessageDTO> renderMessages(String productName,
+			String version, String component, String locale,
+			List<RenderedMessageDTO> items) throws L3APIException;
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.core.messages.service.render;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.vmware.vip.common.cache.CacheName;
+import com.vmware.vip.common.cache.CachedKeyGetter;
+import com.vmware.vip.common.cache.TranslationCache3;
+import com.vmware.vip.common.constants.ConstantsChar;
+import com.vmware.vip.common.constants.ConstantsUnicode;
+import com.vmware.vip.common.exceptions.VIPCacheException;
+import com.vmware.vip.core.messages.exception.L3APIException;
+import com.vmware.vip.core.messages.service.product.LocaleFallbackResolver;
+import com.vmware.vip.core.messages.service.singlecomponent.ComponentMessagesDTO;
+import com.vmware.vip.core.messages.service.singlecomponent.IOneComponentService;
+
+/**
+ * This class renders the translated messages by the ICU MessageFormat.
+ * <p>
+ * The messages are got from the translation cached in the ONECOMPONENT cache,
+ * and their compiled formats are cached in the COMPILEDMESSAGES cache under
+ * the same key, so a message is only parsed again when its translation is
+ * changed.
+ */
+@Service
+public class MessageRenderService implements IMessageRenderService {
+
+	private static Logger LOGGER = LoggerFactory.getLogger(MessageRenderService.class);
+
+	@Autowired
+	private LocaleFallbackResolver localeFallbackResolver;
+
+	@Autowired
+	private IOneComponentService oneComponentService;
+
+	@Override
+	public RenderedMessageDTO renderMessage(String productName, String version,
+			String component, String locale, RenderedMessageDTO item)
+			throws L3APIException {
+		return renderMessages(productName, version, component, locale,
+				Collections.singletonList(item)).get(0);
+	}
+
+	@Override
+	public List<RenderedMessageDTO> renderMessages(String productName,
+			String version, String component, String locale,
+			List<RenderedMessageDTO> items) throws L3APIException {
+		Bundle bundle = getBundle(productName, version, component,
+				localeFallbackResolver.resolve(productName, version, locale));
+		// the English bundle is only got when a message isn't translated, if
+		// it can't be got, only the untranslated messages are failed
+		Bundle enBundle = null;
+		boolean enFailed = false;
+		for (RenderedMessageDTO item : items) {
+			Bundle itemBundle = bundle;
+			String pattern = bundle.getPattern(item.getKey());
+			if (pattern == null && !enFailed) {
+				if (enBundle == null) {
+					try {
+						enBundle = getBundle(productName, version, component,
+								localeFallbackResolver.resolve(productName, version, ConstantsUnicode.EN));
+					} catch (L3APIException e) {
+						LOGGER.warn("Failed to get the English messages of " + productName
+								+ ConstantsChar.BACKSLASH + version + ConstantsChar.BACKSLASH + component, e);
+						enFailed = true;
+					}
+				}
+				if (enBundle != null) {
+					itemBundle = enBundle;
+					pattern = enBundle.getPattern(item.getKey());
+				}
+			}
+			item.setLocale(locale);
+			item.setMessage(pattern == null ? null
+					: itemBundle.render(item.getKey(), pattern, item.getArguments()));
+		}
+		return items;
+	}
+
+	private Bundle getBundle(String productName, String version,
+			String component, String locale) throws L3APIException {
+		ComponentMessagesDTO translation = oneComponentService
+				.getCachedComponentTranslation(productName, version, component, locale);
+		// the key of the translation in the ONECOMPONENT cache
+		ComponentMessagesDTO keyDTO = new ComponentMessagesDTO();
+		keyDTO.setProductName(productName);
+		keyDTO.setVersion(version);
+		keyDTO.setComponent(component);
+		keyDTO.setLocale(locale);
+		String key = CachedKeyGetter.getOneCompnentCachedKey(keyDTO);
+		try {
+			CompiledMessages compiledMessages = TranslationCache3.getCachedObject(
+					CacheName.COMPILEDMESSAGES, key, CompiledMessages.class);
+			if (compiledMessages == null) {
+				compiledMessages = new CompiledMessages(locale);
+				TranslationCache3.addCachedObject(CacheName.COMPILEDMESSAGES,
+						productName, version, key, CompiledMessages.class,
+						compiledMessages);
+			}
+			return new Bundle(translation, compiledMessages);
+		} catch (VIPCacheException e) {
+			LOGGER.error(e.getMessage(), e);
+			throw new L3APIException("Failed to get compiled messages for "
+					+ productName + ConstantsChar.BACKSLASH + version);
+		}
+	}
+
+	/*
+	 * the messages of a translation and their compiled formats
+	 */
+	private static final class Bundle {
+		private final Map<?, ?> messages;
+		private final CompiledMessages compiledMessages;
+
+		private Bundle(ComponentMessagesDTO translation, CompiledMessages compiledMessages) {
+			this.messages = translation.getMessages() instanceof Map ? (Map<?, ?>) translation.getMessages()
+					: Collections.emptyMap();
+			this.compiledMessages = compiledMessages;
+		}
+
+		private String getPattern(String key) {
+			Object pattern = key == null ? null : messages.get(key);
+			return pattern == null ? null : pattern.toString();
+		}
+
+		private String render(String key, String pattern, Map<String, Object> arguments)
+				throws L3APIException {
+			try {
+				return compiledMessages.getFormat(key, pattern)
+						.format(arguments == null ? Collections.<String, Object>emptyMap() : arguments);
+			} catch (IllegalArgumentException e) {
+				throw new L3APIException("Failed to render the message of '" + key + "': " + e.getMessage(), e);
+			}
+		}
+	}
+}
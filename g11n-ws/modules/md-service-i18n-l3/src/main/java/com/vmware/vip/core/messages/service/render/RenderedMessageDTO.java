@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.core.messages.service.render;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * DTO objects for a message rendered with its arguments
+ */
+public class RenderedMessageDTO implements Serializable {
+
+    private static final long serialVersionUID = -3420763159218364827L;
+
+    private String key;
+    private Map<String, Object> arguments;
+    private String message;
+    private String locale;
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public Map<String, Object> getArguments() {
+        return arguments;
+    }
+
+    public void setArguments(Map<String, Object> arguments) {
+        this.arguments = arguments;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getLocale() {
+        return locale;
+    }
+
+    public void setLocale(String locale) {
+        this.locale = locale;
+    }
+
+}
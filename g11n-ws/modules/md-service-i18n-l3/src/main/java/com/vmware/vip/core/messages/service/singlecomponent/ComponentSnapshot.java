@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.core.messages.service.singlecomponent;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+import com.vmware.vip.common.utils.PreEncodedJson;
+
+/**
+ * Immutable snapshot of one component's translation, the messages are kept as
+ * pre-encoded UTF-8 JSON so they can be written to the response without
+ * copying or serializing the messages map again.
+ */
+public final class ComponentSnapshot implements Serializable {
+
+	private static final long serialVersionUID = 2853172615907263374L;
+
+	private final String productName;
+
+	private final String version;
+
+	private final String component;
+
+	private final String locale;
+
+	private final String status;
+
+	private final long id;
+
+	private final PreEncodedJson messages;
+
+	private ComponentSnapshot(ComponentMessagesDTO dto, PreEncodedJson messages) {
+		this.productName = dto.getProductName();
+		this.version = dto.getVersion();
+		this.component = dto.getComponent();
+		this.locale = dto.getLocale();
+		this.status = dto.getStatus();
+		this.id = dto.getId();
+		this.messages = messages;
+	}
+
+	/**
+	 * Create a snapshot from a translation DTO, the messages are encoded once
+	 * here.
+	 *
+	 * @param dto the translation of the component
+	 * @return ComponentSnapshot
+	 * @throws IOException
+	 */
+	public static ComponentSnapshot of(ComponentMessagesDTO dto) throws IOException {
+		return new ComponentSnapshot(dto, PreEncodedJson.of(dto.getMessages()));
+	}
+
+	/**
+	 * Create a response DTO which shares the snapshot's pre-encoded messages.
+	 * <p>
+	 * The messages of the returned DTO is a raw JSON value, not a Map.
+	 *
+	 * @param dataOrigin where the snapshot comes from, e.g. cache or bundle
+	 * @return ComponentMessagesDTO
+	 */
+	public ComponentMessagesDTO toComponentMessagesDTO(String dataOrigin) {
+		ComponentMessagesDTO dto = new ComponentMessagesDTO();
+		dto.setProductName(productName);
+		dto.setVersion(version);
+		dto.setComponent(component);
+		dto.setLocale(locale);
+		dto.setStatus(status);
+		dto.setId(id);
+		dto.setDataOrigin(dataOrigin);
+		dto.setMessages(messages.toRawValue());
+		return dto;
+	}
+
+	public String getProductName() {
+		return productName;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public String getComponent() {
+		return component;
+	}
+
+	public String getLocale() {
+		return locale;
+	}
+
+	public PreEncodedJson getMessages() {
+		return messages;
+	}
+}
@@ -29,6 +29,37 @@ public interface IOneComponentService {
 	public ComponentMessagesDTO getComponentTranslation(
 			ComponentMessagesDTO componentMessagesDTO) throws L3APIException;
 
+	/**
+	 * Get translation of one component as an immutable pre-encoded snapshot
+	 * <p>
+	 * The messages of the returned object is a raw JSON value which is written
+	 * to the response as it is, it can't be cast to a Map.
+	 *
+	 * @param componentMessagesDTO
+	 *            the object of ComponentMessagesDTO, containing component's
+	 *            information for translate.
+	 * @return ComponentMessagesDTO the object of ComponentMessagesDTO,
+	 *         containing pre-encoded translation.
+	 */
+	public ComponentMessagesDTO getComponentTranslationSnapshot(
+			ComponentMessagesDTO componentMessagesDTO) throws L3APIException;
+
+	/**
+	 * Get translation of one component and locale from cache and disk, the
+	 * locale isn't fallen back and pseudo isn't applied
+	 * <p>
+	 * The returned object is shared with the cache, it mustn't be modified.
+	 *
+	 * @param productName
+	 * @param version
+	 * @param component
+	 * @param locale
+	 * @return ComponentMessagesDTO the object of ComponentMessagesDTO,
+	 *         containing translation.
+	 */
+	public ComponentMessagesDTO getCachedComponentTranslation(String productName,
+			String version, String component, String locale) throws L3APIException;
+
 	/**
 	 * get translation from disk
 	 * 
@@ -4,9 +4,7 @@
  */
 package com.vmware.vip.core.messages.service.singlecomponent;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Locale;
+import java.io.IOException;
 
 import javax.annotation.Resource;
 
@@ -20,6 +18,8 @@ import org.springframework.util.StringUtils;
 
 import com.vmware.vip.common.cache.CacheName;
 import com.vmware.vip.common.cache.CachedKeyGetter;
+import com.vmware.vip.common.cache.HotKeyLog;
+import com.vmware.vip.common.cache.SingleFlightLoader;
 import com.vmware.vip.common.cache.TranslationCache3;
 import com.vmware.vip.common.constants.ConstantsChar;
 import com.vmware.vip.common.constants.ConstantsKeys;
@@ -27,8 +27,7 @@ import com.vmware.vip.common.constants.TranslationQueryStatusType;
 import com.vmware.vip.common.exceptions.VIPCacheException;
 import com.vmware.vip.common.i18n.dto.SingleComponentDTO;
 import com.vmware.vip.core.messages.exception.L3APIException;
-import com.vmware.vip.core.messages.service.product.IProductService;
-import com.vmware.vip.core.messages.utils.LocaleUtility;
+import com.vmware.vip.core.messages.service.product.LocaleFallbackResolver;
 import com.vmware.vip.core.messages.utils.PseudoConfig;
 import com.vmware.vip.core.messages.utils.PseudoMessagesUtils;
 import com.vmware.vip.messages.data.dao.api.IOneComponentDao;
@@ -44,7 +43,7 @@ public class OneComponentService implements IOneComponentService {
 	private static Logger LOGGER = LoggerFactory.getLogger(OneComponentService.class);
 
 	@Autowired
-	IProductService productService;
+	private LocaleFallbackResolver localeFallbackResolver;
 
 	@Resource
 	private IOneComponentDao oneComponentDao;
@@ -67,8 +66,100 @@ public class OneComponentService implements IOneComponentService {
 	@Override
 	public ComponentMessagesDTO getComponentTranslation(
 			ComponentMessagesDTO componentMessagesDTO) throws L3APIException {
-		ComponentMessagesDTO result = null;
-		final String inputLocale = componentMessagesDTO.getLocale();
+		ComponentMessagesDTO result = getCachedTranslation(componentMessagesDTO);
+		pseudoConfig.setEnabled(componentMessagesDTO.getPseudo());
+		ComponentMessagesDTO resultComponentMessagesDTO = new ComponentMessagesDTO();
+		BeanUtils.copyProperties(
+				PseudoMessagesUtils.getPseudoMessages(result, pseudoConfig),
+				resultComponentMessagesDTO);
+		resultComponentMessagesDTO.setPseudo(componentMessagesDTO.getPseudo());
+		//resultComponentMessagesDTO.setLocale(inputLocale);
+		return resultComponentMessagesDTO;
+	}
+
+	/**
+	 * Get the translation of a component as an immutable pre-encoded snapshot.
+	 * <p>
+	 * The snapshot is built once from the translation and kept in the
+	 * COMPONENTSNAPSHOT cache, a cache hit doesn't copy or serialize the
+	 * messages again. Pseudo translation isn't cached, so it's built for each
+	 * request.
+	 *
+	 * @param componentMessagesDTO
+	 *            the object of ComponentMessagesDTO, containing component's
+	 *            information for translate.
+	 * @return ComponentMessagesDTO the object of ComponentMessagesDTO, its
+	 *         messages is the snapshot's raw JSON value.
+	 */
+	@Override
+	public ComponentMessagesDTO getComponentTranslationSnapshot(
+			ComponentMessagesDTO componentMessagesDTO) throws L3APIException {
+		try {
+			if (componentMessagesDTO.getPseudo()) {
+				ComponentMessagesDTO pseudoDTO = ComponentSnapshot
+						.of(getComponentTranslation(componentMessagesDTO))
+						.toComponentMessagesDTO(ConstantsKeys.BUNDLE);
+				pseudoDTO.setPseudo(true);
+				return pseudoDTO;
+			}
+			componentMessagesDTO.setLocale(getFallbackLocale(
+					componentMessagesDTO.getProductName(),
+					componentMessagesDTO.getVersion(),
+					componentMessagesDTO.getLocale()));
+			String key = CachedKeyGetter
+					.getOneCompnentCachedKey(componentMessagesDTO);
+			ComponentSnapshot snapshot = TranslationCache3.getCachedObject(
+					CacheName.COMPONENTSNAPSHOT, key, ComponentSnapshot.class);
+			if (snapshot != null) {
+				recordHotKey(componentMessagesDTO, key);
+				LOGGER.info("Found snapshot from cache[" + key + "].");
+				return snapshot.toComponentMessagesDTO(ConstantsKeys.CACHE);
+			}
+			ComponentMessagesDTO result = loadTranslation(componentMessagesDTO);
+			snapshot = ComponentSnapshot.of(result);
+			// a missing or empty bundle isn't cached, it's read again when it's added
+			if (!StringUtils.isEmpty(result.getMessages())) {
+				TranslationCache3.addCachedObject(CacheName.COMPONENTSNAPSHOT,
+						componentMessagesDTO.getProductName(),
+						componentMessagesDTO.getVersion(), key,
+						ComponentSnapshot.class, snapshot);
+			}
+			return snapshot.toComponentMessagesDTO(result.getDataOrigin());
+		} catch (IOException e) {
+			LOGGER.error(e.getMessage(), e);
+			throw new L3APIException(ConstantsKeys.FATA_ERROR + "Encode json failed.");
+		} catch (VIPCacheException e) {
+			LOGGER.error(e.getMessage(), e);
+			throw new L3APIException("Failed to get translation from data for "
+					+ componentMessagesDTO.getProductName()
+					+ ConstantsChar.BACKSLASH
+					+ componentMessagesDTO.getVersion());
+		}
+	}
+
+	/**
+	 * Get the translation of a component and locale from cache and disk/db,
+	 * the locale isn't fallen back and pseudo isn't applied.
+	 * <p>
+	 * The returned object is shared with the cache, so it mustn't be modified.
+	 */
+	@Override
+	public ComponentMessagesDTO getCachedComponentTranslation(String productName,
+			String version, String component, String locale) throws L3APIException {
+		ComponentMessagesDTO componentMessagesDTO = new ComponentMessagesDTO();
+		componentMessagesDTO.setProductName(productName);
+		componentMessagesDTO.setVersion(version);
+		componentMessagesDTO.setComponent(component);
+		componentMessagesDTO.setLocale(locale);
+		return loadTranslation(componentMessagesDTO);
+	}
+
+	/*
+	 * get the translation of a component with the fallbacked locale. The
+	 * returned object is the cached one, so it mustn't be modified.
+	 */
+	private ComponentMessagesDTO getCachedTranslation(
+			ComponentMessagesDTO componentMessagesDTO) throws L3APIException {
 		if (componentMessagesDTO.getPseudo()) {
 			componentMessagesDTO.setLocale(ConstantsKeys.LATEST);
 		} else {
@@ -78,31 +169,88 @@ public class OneComponentService implements IOneComponentService {
 					componentMessagesDTO.getLocale());
 			componentMessagesDTO.setLocale(fallbackLocale);
 		}
+		return loadTranslation(componentMessagesDTO);
+	}
+
+	/*
+	 * get the translation of a component from ONECOMPONENT cache, or from
+	 * local bundle when it's not cached.
+	 */
+	private ComponentMessagesDTO loadTranslation(
+			ComponentMessagesDTO componentMessagesDTO) throws L3APIException {
+		ComponentMessagesDTO result = null;
 		String key = CachedKeyGetter
 				.getOneCompnentCachedKey(componentMessagesDTO);
 		try {
 			result =  TranslationCache3.getCachedObject(
 					CacheName.ONECOMPONENT, key, ComponentMessagesDTO.class);
-			if (StringUtils.isEmpty(result) || StringUtils.isEmpty(result.getMessages()) || StringUtils.isEmpty(result.getComponent())) {
-				LOGGER.info("Get data from local, since it's not found in the cache.");
-				result = this.getTranslationFromDisk(componentMessagesDTO);
-				result.setDataOrigin(ConstantsKeys.BUNDLE);
-				if (!componentMessagesDTO.getPseudo()) {
-					if(LOGGER.isDebugEnabled()) {
-						String msg = "The result from disk is: {}" + result.toString();
-						LOGGER.debug(msg);
-					}
-					TranslationCache3.addCachedObject(CacheName.ONECOMPONENT,
-							key, ComponentMessagesDTO.class, result);
-				}
-			} else {
-				result.setDataOrigin(ConstantsKeys.CACHE);
-				LOGGER.info("Found data from cache[" + key + "].");
+		} catch (VIPCacheException e) {
+			LOGGER.error(e.getMessage(), e);
+			throw new L3APIException("Failed to get translation from data for "
+					+ componentMessagesDTO.getProductName()
+					+ ConstantsChar.BACKSLASH
+					+ componentMessagesDTO.getVersion());
+		}
+		if (StringUtils.isEmpty(result) || StringUtils.isEmpty(result.getMessages()) || StringUtils.isEmpty(result.getComponent())) {
+			LOGGER.info("Get data from local, since it's not found in the cache.");
+			if (componentMessagesDTO.getPseudo()) {
+				// the pseudo result is modified by the caller, so it's not shared
+				return readTranslation(componentMessagesDTO, null);
+			}
+			result = SingleFlightLoader.load(CacheName.ONECOMPONENT, key,
+					() -> readTranslation(componentMessagesDTO, key));
+			recordHotKey(componentMessagesDTO, key);
+			return result;
+		}
+		recordHotKey(componentMessagesDTO, key);
+		LOGGER.info("Found data from cache[" + key + "].");
+		if(LOGGER.isDebugEnabled()) {
+			String msg = "The result from cache is: {}" + result.toString();
+			LOGGER.debug(msg);
+		}
+		return result;
+	}
+
+	/*
+	 * record the loaded key, so that it's warmed up when the service starts
+	 * next time.
+	 */
+	private void recordHotKey(ComponentMessagesDTO componentMessagesDTO, String key) {
+		if (componentMessagesDTO.getPseudo()) {
+			return;
+		}
+		HotKeyLog.record(CacheName.ONECOMPONENT, key,
+				componentMessagesDTO.getProductName(),
+				componentMessagesDTO.getVersion(),
+				componentMessagesDTO.getComponent(),
+				componentMessagesDTO.getLocale());
+	}
+
+	/*
+	 * read the translation of a component from local bundle, and add it to the
+	 * ONECOMPONENT cache when the key isn't null. The cached entry is a copy
+	 * whose origin is the cache, it's shared by the readers, so it's not
+	 * modified after it's added.
+	 */
+	private ComponentMessagesDTO readTranslation(
+			ComponentMessagesDTO componentMessagesDTO, String key) throws L3APIException {
+		try {
+			ComponentMessagesDTO result = this.getTranslationFromDisk(componentMessagesDTO);
+			result.setDataOrigin(ConstantsKeys.BUNDLE);
+			if (key != null) {
 				if(LOGGER.isDebugEnabled()) {
-					String msg = "The result from cache is: {}" + result.toString();
+					String msg = "The result from disk is: {}" + result.toString();
 					LOGGER.debug(msg);
 				}
+				ComponentMessagesDTO cachedDTO = new ComponentMessagesDTO();
+				BeanUtils.copyProperties(result, cachedDTO);
+				cachedDTO.setDataOrigin(ConstantsKeys.CACHE);
+				TranslationCache3.addCachedObject(CacheName.ONECOMPONENT,
+						componentMessagesDTO.getProductName(),
+						componentMessagesDTO.getVersion(),
+						key, ComponentMessagesDTO.class, cachedDTO);
 			}
+			return result;
 		} catch (ParseException e) {
 			LOGGER.error(e.getMessage(), e);
 			throw new L3APIException(ConstantsKeys.FATA_ERROR + "Parse json failed.");
@@ -119,14 +267,6 @@ public class OneComponentService implements IOneComponentService {
 					+ ConstantsChar.BACKSLASH
 					+ componentMessagesDTO.getVersion());
 		}
-		pseudoConfig.setEnabled(componentMessagesDTO.getPseudo());
-		ComponentMessagesDTO resultComponentMessagesDTO = new ComponentMessagesDTO();
-		BeanUtils.copyProperties(
-				PseudoMessagesUtils.getPseudoMessages(result, pseudoConfig),
-				resultComponentMessagesDTO);
-		resultComponentMessagesDTO.setPseudo(componentMessagesDTO.getPseudo());
-		//resultComponentMessagesDTO.setLocale(inputLocale);
-		return resultComponentMessagesDTO;
 	}
 
 	/*
@@ -134,17 +274,7 @@ public class OneComponentService implements IOneComponentService {
 	 */
 	private String getFallbackLocale(String productName, String version,
 			String inputLocale) throws L3APIException {
-		List<String> supportedLocaleList = productService
-				.getSupportedLocaleList(productName, version);
-		List<Locale> supportedLocales = new ArrayList<Locale>();
-		for (String supportedLocale : supportedLocaleList) {
-			supportedLocale = supportedLocale.replace("_", "-");
-			supportedLocales.add(Locale.forLanguageTag(supportedLocale));
-		}
-		String requestLocale = inputLocale.replace("_", "-");
-		Locale fallbackLocale = LocaleUtility.pickupLocaleFromListNoDefault(
-				supportedLocales, Locale.forLanguageTag(requestLocale));
-		return fallbackLocale.toLanguageTag();
+		return localeFallbackResolver.resolve(productName, version, inputLocale);
 	}
 
 	/**
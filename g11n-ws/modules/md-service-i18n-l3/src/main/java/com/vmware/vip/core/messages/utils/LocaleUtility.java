@@ -7,6 +7,7 @@ package com.vmware.vip.core.messages.utils;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.Set;
 
 import org.springframework.util.StringUtils;
 
@@ -79,7 +80,14 @@ public class LocaleUtility {
 		return isDefault;
 	}
 
-	
+	/**
+	 * Get the locales which are mapped to another locale in the map properties
+	 * file, e.g. zh-CN.
+	 */
+	public static Set<String> getLocaleMapKeys() {
+		return LOCALE_MAP.keySet();
+	}
+
 	private static Locale pickupLocale(List<Locale> locales,
             Locale preferredLocale) {
 	    Locale pLocale = null;
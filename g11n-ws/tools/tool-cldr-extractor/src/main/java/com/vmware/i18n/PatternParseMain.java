@@ -5,6 +5,7 @@
 package com.vmware.i18n;
 
 import com.vmware.i18n.utils.CLDRUtils;
+import com.vmware.i18n.utils.CLDRZipIndex;
 import com.vmware.i18n.utils.LocaleDataUtils;
 import com.vmware.i18n.utils.MiscUtils;
 import com.vmware.i18n.utils.SupplementUtils;
@@ -13,17 +14,21 @@ public class PatternParseMain {
 
     public static void main(String[] args) {
 //        CLDRUtils.download();
-        CLDRUtils.patternDataExtract();
-        LocaleDataUtils.localesExtract();
-        MiscUtils.miscDataExtract();
-        SupplementUtils.supplementalCurrencyExtract();
-        SupplementUtils.supplementalNumberingSystemsExtract();
-        CLDRUtils.aliasesExtract();
-        CLDRUtils.defaultContentExtract();
-        CLDRUtils.regionDataExtract();
-        CLDRUtils.pluralsExtract();
-        CLDRUtils.languageDataExtract();
-        CLDRUtils.patternTimeZoneNameExtract();
+        try {
+            CLDRUtils.patternDataExtract();
+            LocaleDataUtils.localesExtract();
+            MiscUtils.miscDataExtract();
+            SupplementUtils.supplementalCurrencyExtract();
+            SupplementUtils.supplementalNumberingSystemsExtract();
+            CLDRUtils.aliasesExtract();
+            CLDRUtils.defaultContentExtract();
+            CLDRUtils.regionDataExtract();
+            CLDRUtils.pluralsExtract();
+            CLDRUtils.languageDataExtract();
+            CLDRUtils.patternTimeZoneNameExtract();
+        } finally {
+            CLDRZipIndex.closeAll();
+        }
     }
 
 }
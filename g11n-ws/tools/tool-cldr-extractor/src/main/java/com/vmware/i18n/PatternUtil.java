@@ -26,6 +26,16 @@ public class PatternUtil {
 		return pa.getPattern(locale, categories);
 	}
 
+	/**
+	 * @param locale language locale
+	 * @param categories The pattern categories, use ',' to split, if null, all the categories
+	 * @return pattern map, the category trees are immutable and shared, or null if the locale is invalid
+	 */
+	public static Map<String, Object> getPatternMapFromLib(String locale, String categories) {
+		PatternAction pa = PatternAction.getInstance();
+		return pa.getPatternMap(locale, categories);
+	}
+
 	/**
 	 * @param language
 	 * @return regions json string
@@ -52,11 +52,9 @@ public class LocaleServiceImpl implements ILocaleService {
 	@Override
 	public String getLocaleWithDefaultRegion(String locale) {
 		locale = locale.replace("_", "-");
-		for (Map.Entry<String, String> defaultRegionLocale : defaultContentMap.entrySet()) {
-			if (locale.toLowerCase().equals(defaultRegionLocale.getKey())) {
-				locale = locale.substring(0, locale.lastIndexOf("-"));
-				return locale;
-			}
+		// the keys of defaultContentMap are lower case
+		if (defaultContentMap.containsKey(locale.toLowerCase())) {
+			return locale.substring(0, locale.lastIndexOf("-"));
 		}
 		return "";
 	}
@@ -4,6 +4,8 @@
  */
 package com.vmware.i18n.pattern.action;
 
+import java.util.Map;
+
 import com.vmware.i18n.pattern.service.IPatternService;
 import com.vmware.i18n.pattern.service.impl.PatternServiceImpl;
 import com.vmware.i18n.utils.timezone.TimeZoneName;
@@ -32,6 +34,10 @@ public class PatternAction {
         return service.getPattern(locale, categories);
     }
     
+    public Map<String, Object> getPatternMap(String locale, String categories) {
+        return service.getPatternMap(locale, categories);
+    }
+
     public TimeZoneName getTimeZoneName(String locale, boolean defaultTerritory) {
         return service.getTimeZoneName(locale, defaultTerritory);
     }
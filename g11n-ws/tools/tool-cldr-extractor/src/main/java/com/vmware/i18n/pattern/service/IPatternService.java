@@ -4,6 +4,8 @@
  */
 package com.vmware.i18n.pattern.service;
 
+import java.util.Map;
+
 import com.vmware.i18n.utils.timezone.TimeZoneName;
 
 public interface IPatternService {
@@ -17,5 +19,15 @@ public interface IPatternService {
      */
     public String getPattern(String locale, String categories);
 
+    /**
+     * Get i18n pattern by specific locale and categories as maps, the category trees are
+     * immutable and shared by the calls, so a caller serves them without parsing any JSON
+     * @param locale A string specified by the product to represent a specific locale. e.g. de, fr.
+     * @param categories The pattern categories, use ',' to split, if null, all the categories
+     * @return pattern, the content is the same as {@link #getPattern(String, String)}, or null if
+     *         the locale is invalid
+     */
+    public Map<String, Object> getPatternMap(String locale, String categories);
+
 	public TimeZoneName getTimeZoneName(String locale, boolean defaultTerritory);
 }
@@ -7,22 +7,27 @@ package com.vmware.i18n.pattern.service.impl;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vmware.i18n.common.CLDRConstants;
 import com.vmware.i18n.common.Constants;
 import com.vmware.i18n.pattern.dao.IPatternDao;
 import com.vmware.i18n.pattern.dao.impl.PatternDaoImpl;
 import com.vmware.i18n.pattern.service.IPatternService;
+import com.vmware.i18n.pattern.store.PatternStore;
 import com.vmware.i18n.utils.CommonUtil;
 import com.vmware.i18n.utils.JSONUtil;
 import com.vmware.i18n.utils.LocalJSONReader;
@@ -91,10 +96,15 @@ public class PatternServiceImpl implements IPatternService {
 			categories = CLDRConstants.ALL_CATEGORIES;
 		}
 
-		String pathLocale = CommonUtil.getPathLocale(tmpLocale, localePathMap, likelySubtagMap);
+		String pathLocale = CommonUtil.getPathLocale(tmpLocale);
 		if (CommonUtil.isEmpty(pathLocale))
 			return "";
 
+		PatternStore store = PatternStore.getInstance();
+		if (store != null && store.hasLocale(pathLocale)) {
+			return getPatternFromStore(store, locale, arr, pathLocale, categories);
+		}
+
 		Map<String, Object> tmpMap = getCategoriesMap(pathLocale, categories);
 		Map<String, Object> resultMap = new LinkedHashMap<String, Object>();
 		resultMap.put("localeID", locale);
@@ -109,6 +119,107 @@ public class PatternServiceImpl implements IPatternService {
 		}
 	}
 
+	@Override
+	public Map<String, Object> getPatternMap(String locale, String categories) {
+		if (CommonUtil.isEmpty(locale)) {
+			return null;
+		}
+		String tmpLocale = locale.replace("_", "-");
+		String[] arr = tmpLocale.split("-");
+		if (CommonUtil.isEmpty(categories)) {
+			categories = CLDRConstants.ALL_CATEGORIES;
+		}
+
+		String pathLocale = CommonUtil.getPathLocale(tmpLocale);
+		if (CommonUtil.isEmpty(pathLocale))
+			return null;
+
+		PatternStore store = PatternStore.getInstance();
+		Map<String, Object> categoriesMap;
+		if (store != null && store.hasLocale(pathLocale)) {
+			categoriesMap = getCategoriesFromStore(store, pathLocale, categories);
+		} else {
+			categoriesMap = (Map<String, Object>) JSONUtil.freeze(getCategoriesMap(pathLocale, categories));
+		}
+		Map<String, Object> resultMap = new LinkedHashMap<String, Object>();
+		resultMap.put("localeID", locale);
+		resultMap.put("language", arr[0]);
+		resultMap.put("region", parseRegion(arr));
+		resultMap.put("categories", categoriesMap);
+		return resultMap;
+	}
+
+	/**
+	 * Get the categories from the parsed nodes in the pattern store, they have
+	 * the same content as the ones got from the JSON files.
+	 */
+	private Map<String, Object> getCategoriesFromStore(PatternStore store, String pathLocale, String categories) {
+		Set<String> cateList = new LinkedHashSet<>(Arrays.asList(categories.split(",")));
+		Set<String> cates = new LinkedHashSet<>(cateList);
+		if (cates.contains(Constants.CURRENCIES) && !cates.contains(Constants.NUMBERS)) {
+			cates.add(Constants.NUMBERS);
+		}
+
+		Map<String, Object> categoriesMap = new LinkedHashMap<>();
+		for (String cat : cates) {
+			putNode(categoriesMap, cat, store.getParsedNode(pathLocale, cat));
+		}
+		Map<String, Object> suppleMap = new LinkedHashMap<>();
+		for (String cat : cateList) {
+			putNode(suppleMap, cat, store.getParsedNode(PatternStore.SUPPLEMENTAL, cat));
+		}
+		categoriesMap.put(Constants.SUPPLEMENTAL, Collections.unmodifiableMap(suppleMap));
+		return Collections.unmodifiableMap(categoriesMap);
+	}
+
+	private static void putNode(Map<String, Object> map, String name, Object node) {
+		if (node != null) {
+			map.put(name, node);
+		}
+	}
+
+	/**
+	 * Build the pattern JSON from the compact JSON nodes in the pattern store,
+	 * the result has the same content as the one built from the JSON files.
+	 */
+	private String getPatternFromStore(PatternStore store, String locale, String[] arr, String pathLocale,
+			String categories) {
+		Set<String> cateList = new LinkedHashSet<>(Arrays.asList(categories.split(",")));
+		Set<String> cates = new LinkedHashSet<>(cateList);
+		if (cates.contains(Constants.CURRENCIES) && !cates.contains(Constants.NUMBERS)) {
+			cates.add(Constants.NUMBERS);
+		}
+
+		StringBuilder json = new StringBuilder();
+		json.append("{\"localeID\":").append(quote(locale));
+		json.append(",\"language\":").append(quote(arr[0]));
+		json.append(",\"region\":").append(quote(parseRegion(arr)));
+		json.append(",\"categories\":{");
+		for (String cat : cates) {
+			appendNode(json, cat, store.getNode(pathLocale, cat));
+		}
+		json.append(quote(Constants.SUPPLEMENTAL)).append(":{");
+		int start = json.length();
+		for (String cat : cateList) {
+			appendNode(json, cat, store.getNode(PatternStore.SUPPLEMENTAL, cat));
+		}
+		if (json.length() > start) {
+			json.setLength(json.length() - 1);
+		}
+		json.append("}}}");
+		return json.toString();
+	}
+
+	private static void appendNode(StringBuilder json, String name, String node) {
+		if (node != null) {
+			json.append(quote(name)).append(':').append(node).append(',');
+		}
+	}
+
+	private static String quote(String value) {
+		return '"' + new String(JsonStringEncoder.getInstance().quoteAsString(value)) + '"';
+	}
+
 	private String parseRegion(String[] arr) {
 		String region = "";
 		switch (arr.length) {
@@ -189,7 +300,7 @@ public class PatternServiceImpl implements IPatternService {
 		}
 		String tmpLocale = locale.replace("_", "-");
 
-		String pathLocale = CommonUtil.getPathLocale(tmpLocale, localePathMap, likelySubtagMap);
+		String pathLocale = CommonUtil.getPathLocale(tmpLocale);
 		if (CommonUtil.isEmpty(pathLocale))
 			return null;
 		String patternStr = dao.getPattern(CLDRConstants.JSON_PATH,
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.pattern.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vmware.i18n.common.CLDRConstants;
+import com.vmware.i18n.utils.JSONUtil;
+
+/**
+ * The binary pattern store built by {@link PatternStoreWriter}.
+ * <p>
+ * The index of the store is read into memory and the data area is memory
+ * mapped, so a lookup of locale -> category returns the compact JSON of the
+ * node without reading or parsing any JSON file. A node is parsed once into an
+ * immutable tree when it's first got as a map, and the tree is kept, so the
+ * pattern requests and the locales sharing the supplemental data refer to the
+ * same tree.
+ */
+public class PatternStore {
+
+	private static Logger logger = LoggerFactory.getLogger(PatternStore.class);
+
+	public static final int MAGIC = 0x56495050;
+	public static final int FORMAT_VERSION = 1;
+	public static final String SUPPLEMENTAL = "_supplemental";
+	public static final String STORE_PATH = "cldr/pattern/patterns.bin";
+
+	private static volatile PatternStore instance = null;
+	private static volatile boolean loaded = false;
+
+	private final ByteBuffer data;
+
+	// section -> node name -> {offset, length} in the data area
+	private final Map<String, Map<String, int[]>> index;
+
+	// section -> node name -> parsed immutable tree, bounded by the nodes of the store
+	private final Map<String, Map<String, Object>> parsedNodes = new ConcurrentHashMap<>();
+
+	private PatternStore(ByteBuffer buffer) throws IOException {
+		if (buffer.getInt() != MAGIC) {
+			throw new IOException("Invalid pattern store");
+		}
+		int formatVersion = buffer.getInt();
+		if (formatVersion != FORMAT_VERSION) {
+			throw new IOException("Unsupported pattern store version: " + formatVersion);
+		}
+		int indexSize = buffer.getInt();
+		ByteBuffer indexBuffer = buffer.slice();
+		indexBuffer.limit(indexSize);
+		buffer.position(buffer.position() + indexSize);
+		this.data = buffer.slice();
+
+		int sectionCount = indexBuffer.getInt();
+		Map<String, Map<String, int[]>> sections = new HashMap<>(sectionCount * 2);
+		for (int i = 0; i < sectionCount; i++) {
+			String section = readUTF(indexBuffer);
+			int nodeCount = indexBuffer.getInt();
+			Map<String, int[]> nodes = new HashMap<>(nodeCount * 2);
+			for (int j = 0; j < nodeCount; j++) {
+				String name = readUTF(indexBuffer);
+				nodes.put(name, new int[] { indexBuffer.getInt(), indexBuffer.getInt() });
+			}
+			sections.put(section, nodes);
+		}
+		this.index = Collections.unmodifiableMap(sections);
+	}
+
+	/**
+	 * Get the store in the class path, it's loaded once.
+	 *
+	 * @return the store, or null if it's not built or can't be loaded, then
+	 *         the patterns are read from the JSON files
+	 */
+	public static PatternStore getInstance() {
+		if (!loaded) {
+			synchronized (PatternStore.class) {
+				if (!loaded) {
+					try {
+						instance = load();
+					} catch (IOException e) {
+						logger.warn("Failed to load the pattern store, the pattern files are used", e);
+					}
+					loaded = true;
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Open a store file by memory mapping it.
+	 */
+	public static PatternStore open(File storeFile) throws IOException {
+		try (RandomAccessFile file = new RandomAccessFile(storeFile, "r");
+				FileChannel channel = file.getChannel()) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new PatternStore(buffer);
+		}
+	}
+
+	/**
+	 * Get the compact JSON of a node.
+	 *
+	 * @param section  a locale, or {@link #SUPPLEMENTAL}
+	 * @param category the category, e.g. dates, or the supplemental data, e.g.
+	 *                 currencies
+	 * @return the JSON, or null if the node is not existing
+	 */
+	public String getNode(String section, String category) {
+		Map<String, int[]> nodes = index.get(section);
+		int[] location = nodes == null ? null : nodes.get(category);
+		if (location == null) {
+			return null;
+		}
+		byte[] bytes = new byte[location[1]];
+		ByteBuffer buffer = data.duplicate();
+		buffer.position(location[0]);
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Get a node as an immutable tree of maps and lists, it's parsed on the
+	 * first get and the tree is shared by the later ones.
+	 *
+	 * @param section  a locale, or {@link #SUPPLEMENTAL}
+	 * @param category the category, or the supplemental data
+	 * @return the tree, or null if the node is not existing
+	 */
+	public Object getParsedNode(String section, String category) {
+		Map<String, Object> nodes = parsedNodes.get(section);
+		Object node = nodes == null ? null : nodes.get(category);
+		if (node != null) {
+			return node;
+		}
+		String json = getNode(section, category);
+		if (json == null) {
+			return null;
+		}
+		return parsedNodes.computeIfAbsent(section, k -> new ConcurrentHashMap<>()).computeIfAbsent(category,
+				k -> JSONUtil.freeze(JSONUtil.getMapFromJson(json)));
+	}
+
+	/**
+	 * Check whether the store has the patterns of a locale.
+	 */
+	public boolean hasLocale(String locale) {
+		return index.containsKey(locale);
+	}
+
+	public Set<String> getSections() {
+		return index.keySet();
+	}
+
+	private static PatternStore load() throws IOException {
+		File storeFile = new File(CLDRConstants.RESOURCES_PATH + STORE_PATH);
+		if (storeFile.isFile()) {
+			logger.info("Load the pattern store: {}", storeFile.getAbsolutePath());
+			return open(storeFile);
+		}
+		// in a jar the store has to be copied out to be mapped
+		try (InputStream is = PatternStore.class.getResourceAsStream("/" + STORE_PATH)) {
+			if (is == null) {
+				logger.info("The pattern store is not existing, the pattern files are used");
+				return null;
+			}
+			File tmpFile = File.createTempFile("patterns", ".bin");
+			try {
+				Files.copy(is, tmpFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				logger.info("Load the pattern store from the jar");
+				return open(tmpFile);
+			} finally {
+				// the mapping is still valid after the file is deleted
+				if (!tmpFile.delete()) {
+					tmpFile.deleteOnExit();
+				}
+			}
+		}
+	}
+
+	private static String readUTF(ByteBuffer buffer) {
+		int length = buffer.getShort() & 0xFFFF;
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		// the names are ASCII, so the modified UTF-8 of writeUTF is plain UTF-8
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
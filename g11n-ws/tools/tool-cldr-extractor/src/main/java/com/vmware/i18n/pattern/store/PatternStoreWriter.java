@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.pattern.store;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vmware.i18n.common.Constants;
+
+/**
+ * Build the binary pattern store from the extracted pattern files.
+ * <p>
+ * The store is: the magic, the format version, the number of sections, then
+ * for each section its name and its nodes (name, offset and length), and at
+ * last the data area with the compact JSON of every node. A section is a
+ * locale, or {@link PatternStore#SUPPLEMENTAL} for the supplemental data.
+ */
+public class PatternStoreWriter {
+
+	private static Logger logger = LoggerFactory.getLogger(PatternStoreWriter.class);
+
+	private static final String PATTERN_FILE = "pattern.json";
+	private static final String DATE_FIELDS_FILE = "dateFields.json";
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	// section -> node name -> compact JSON
+	private final Map<String, Map<String, byte[]>> sections = new TreeMap<>();
+
+	/**
+	 * Build the store, it's run by the build after the classes are compiled.
+	 *
+	 * @param args the pattern dir, the supplement dir and the store file, e.g.
+	 *             src/main/resources/cldr/pattern/common
+	 *             src/main/resources/cldr/supplement
+	 *             build/resources/main/cldr/pattern/patterns.bin
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 3) {
+			throw new IllegalArgumentException("Usage: PatternStoreWriter <pattern dir> <supplement dir> <store file>");
+		}
+		PatternStoreWriter writer = new PatternStoreWriter();
+		writer.addPatterns(new File(args[0]));
+		writer.addSupplements(new File(args[1]));
+		writer.write(new File(args[2]));
+	}
+
+	/**
+	 * Add the categories in the pattern.json and the dateFields.json of every
+	 * locale dir.
+	 */
+	public void addPatterns(File patternDir) throws IOException {
+		File[] localeDirs = patternDir.listFiles(File::isDirectory);
+		if (localeDirs == null) {
+			throw new IOException("The pattern dir is not existing: " + patternDir.getAbsolutePath());
+		}
+		for (File localeDir : localeDirs) {
+			String locale = localeDir.getName();
+			File patternFile = new File(localeDir, PATTERN_FILE);
+			if (patternFile.isFile()) {
+				JsonNode categories = mapper.readTree(patternFile).get(Constants.CATEGORIES);
+				if (categories != null) {
+					Iterator<Map.Entry<String, JsonNode>> it = categories.fields();
+					while (it.hasNext()) {
+						Map.Entry<String, JsonNode> category = it.next();
+						addNode(locale, category.getKey(), category.getValue());
+					}
+				}
+			}
+			File dateFieldsFile = new File(localeDir, DATE_FIELDS_FILE);
+			if (dateFieldsFile.isFile()) {
+				addNode(locale, Constants.DATE_FIELDS, mapper.readTree(dateFieldsFile).get(Constants.DATE_FIELDS));
+			}
+		}
+	}
+
+	/**
+	 * Add the supplemental data files, e.g. currencies.json, the keys are
+	 * sorted as the JSON based pattern service does.
+	 */
+	public void addSupplements(File supplementDir) throws IOException {
+		File[] files = supplementDir.listFiles((dir, name) -> name.endsWith(".json"));
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			String category = file.getName().substring(0, file.getName().length() - ".json".length());
+			addNode(PatternStore.SUPPLEMENTAL, category, sortFields(mapper.readTree(file)));
+		}
+	}
+
+	public void addNode(String section, String name, JsonNode node) throws IOException {
+		if (node == null || node.isNull() || (node.isTextual() && node.asText().isEmpty())) {
+			return;
+		}
+		sections.computeIfAbsent(section, k -> new LinkedHashMap<>()).put(name, mapper.writeValueAsBytes(node));
+	}
+
+	/**
+	 * Write the store to a file, the file is replaced atomically.
+	 */
+	public void write(File storeFile) throws IOException {
+		ByteArrayOutputStream index = new ByteArrayOutputStream();
+		DataOutputStream indexOut = new DataOutputStream(index);
+		List<byte[]> data = new ArrayList<>();
+		int offset = 0;
+		indexOut.writeInt(sections.size());
+		for (Map.Entry<String, Map<String, byte[]>> section : sections.entrySet()) {
+			indexOut.writeUTF(section.getKey());
+			indexOut.writeInt(section.getValue().size());
+			for (Map.Entry<String, byte[]> node : section.getValue().entrySet()) {
+				indexOut.writeUTF(node.getKey());
+				indexOut.writeInt(offset);
+				indexOut.writeInt(node.getValue().length);
+				data.add(node.getValue());
+				offset += node.getValue().length;
+			}
+		}
+		indexOut.flush();
+
+		File parent = storeFile.getAbsoluteFile().getParentFile();
+		if (!parent.exists() && !parent.mkdirs()) {
+			throw new IOException("Failed to create the dir: " + parent.getAbsolutePath());
+		}
+		File tmpFile = new File(parent, storeFile.getName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+			out.writeInt(PatternStore.MAGIC);
+			out.writeInt(PatternStore.FORMAT_VERSION);
+			out.writeInt(index.size());
+			index.writeTo(out);
+			for (byte[] bytes : data) {
+				out.write(bytes);
+			}
+		}
+		Files.move(tmpFile.toPath(), storeFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		logger.info("The pattern store is written with {} sections, {} bytes: {}", sections.size(),
+				storeFile.length(), storeFile.getAbsolutePath());
+	}
+
+	/*
+	 * sort the fields case-insensitively like JSONUtil.string2SortMap, the
+	 * fields which differ only in case are kept in their original order.
+	 */
+	private JsonNode sortFields(JsonNode node) {
+		if (!node.isObject()) {
+			return node;
+		}
+		List<String> names = new ArrayList<>();
+		node.fieldNames().forEachRemaining(names::add);
+		String[] sorted = names.toArray(new String[0]);
+		Arrays.sort(sorted, String.CASE_INSENSITIVE_ORDER);
+		ObjectNode result = mapper.createObjectNode();
+		for (String name : sorted) {
+			result.set(name, node.get(name));
+		}
+		return result;
+	}
+}
@@ -14,17 +14,19 @@ import java.net.URLConnection;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Enumeration;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
-import java.util.Scanner;
 import java.util.TreeMap;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import com.vmware.i18n.common.DayEnum;
 import com.vmware.i18n.common.OfficialStatusEnum;
@@ -111,36 +113,10 @@ public class CLDRUtils {
      *                 cldr-numbers-full-32.0.0/main/en/numbers.json
      * @param zipPath  the ZIP file path
      * @return JSON context
+     * @see CLDRZipIndex
      */
-    @SuppressWarnings("unchecked")
     public static String readZip(String fileName, String zipPath) {
-        StringBuffer sb = new StringBuffer();
-        ZipFile zf = null;
-        try {
-            zf = new ZipFile(zipPath);
-            Enumeration<ZipEntry> entries = (Enumeration<ZipEntry>) zf.entries();
-            ZipEntry ze = null;
-            Scanner scanner = null;
-            while (entries.hasMoreElements()) {
-                ze = entries.nextElement();
-                if (ze.isDirectory()) {
-                    continue;
-                }
-                if (ze.getName().equals(fileName)) {
-                    scanner = new Scanner(zf.getInputStream(ze), Constants.UTF8);
-                    while (scanner.hasNextLine()) {
-                        sb.append(scanner.nextLine().trim());
-                    }
-                    scanner.close();
-                    break;
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        } finally {
-            IOUtil.closeZipFile(zf);
-        }
-        return sb.toString();
+        return CLDRZipIndex.read(fileName, zipPath);
     }
 
     public static Map<String, Object> dateDataExtract(String locale) {
@@ -171,10 +147,11 @@ public class CLDRUtils {
         Map<String, Object> erasMap = erasExtract(locale, dateContents);
 
         Map<String, Object> supplementalWeekData = getSupplementalWeekData();
+        String territory = LocaleDataUtils.getInstance().getDefaultRegionCode(locale, LocaleDataUtils.getInstance().getRegionsData(locale));
         //first day of week
-        Integer firstDayOfWeek = extractFirstDay(locale, (Map<String, String>) supplementalWeekData.get("firstDay"));
+        Integer firstDayOfWeek = extractFirstDay(territory, (Map<String, String>) supplementalWeekData.get("firstDay"));
         //weekend range
-        List<Integer> weekendRange = extractWeekendRange(locale, supplementalWeekData);
+        List<Integer> weekendRange = extractWeekendRange(territory, supplementalWeekData);
 
         // dateFormats
         Map<String, Object> dateFormatMap = dateFormatExtract(locale, dateContents);
@@ -575,13 +552,12 @@ public class CLDRUtils {
     /**
      * Get the first day of one Country, the implementation is according to https://www.unicode.org/reports/tr35/tr35-49/tr35-dates.html#Week_Data
      *
-     * @param localeStr
+     * @param territory the default region of the locale
      * @param firstDayData
      * @return
      */
-    private static Integer extractFirstDay(String localeStr, Map<String, String> firstDayData){
+    private static Integer extractFirstDay(String territory, Map<String, String> firstDayData){
         String firstDay = firstDayData.get(Constants.TERRITORY_001);
-        String territory = LocaleDataUtils.getInstance().getDefaultRegionCode(localeStr, LocaleDataUtils.getInstance().getRegionsData(localeStr));
         if(territory != null && firstDayData.get(territory) != null)
             firstDay = firstDayData.get(territory);
         return DayEnum.getIndexByDay(firstDay);
@@ -590,16 +566,15 @@ public class CLDRUtils {
     /**
      * Get the weekend range of one Country, the implementation is according to https://www.unicode.org/reports/tr35/tr35-49/tr35-dates.html#Week_Data
      *
-     * @param localeStr
+     * @param territory the default region of the locale
      * @param supplementalWeekData
      * @return
      */
-    private static List<Integer> extractWeekendRange(String localeStr, Map<String, Object> supplementalWeekData){
+    private static List<Integer> extractWeekendRange(String territory, Map<String, Object> supplementalWeekData){
         Map<String, String> weekendStartData = (Map<String, String>) supplementalWeekData.get("weekendStart");
         Map<String, String> weekendEndData = (Map<String, String>) supplementalWeekData.get("weekendEnd");
         String weekendStart = weekendStartData.get(Constants.TERRITORY_001);
         String weekendEnd = weekendEndData.get(Constants.TERRITORY_001);
-        String territory = LocaleDataUtils.getInstance().getDefaultRegionCode(localeStr, LocaleDataUtils.getInstance().getRegionsData(localeStr));
         if(territory != null) {
             if (weekendStartData.get(territory) != null)
                 weekendStart = weekendStartData.get(territory);
@@ -924,7 +899,8 @@ public class CLDRUtils {
 
             logger.info("Write pattern data complete! The file path is: " + filePath);
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to write the pattern data into " + filePath, e);
+            throw new IllegalStateException("Failed to write " + filePath, e);
         } finally {
             IOUtil.closeWriter(writer);
             IOUtil.closeWriter(write);
@@ -942,29 +918,87 @@ public class CLDRUtils {
 
     public static void patternDataExtract() {
         logger.info("Start to extract i18n pattern data ... ");
+        long start = System.currentTimeMillis();
         Map<String, Object> likelySubtags = getLikelySubtagsData();
         Map<String, String> allLocales = getAllCldrLocales();
-        Map<String, Object> patternMap = null;
-        Map<String, Object> rootMap = null;
-        Map<String, String> recordMap = new HashMap<String, String>();
-        String filePath = "";
-        for (String locale : allLocales.values()) {
-            rootMap = new LinkedHashMap<String, Object>();
+        extractInParallel(allLocales.values(), locale -> {
+            Map<String, Object> rootMap = new LinkedHashMap<String, Object>();
             rootMap.put(Constants.LOCALE_ID, locale);
-            patternMap = new LinkedHashMap<String, Object>();
+            Map<String, Object> patternMap = new LinkedHashMap<String, Object>();
             patternMap.put(Constants.DATES, dateDataExtract(locale));
             patternMap.put(Constants.NUMBERS, numberDataExtract(locale));
             patternMap.put(Constants.PLURALS, getPluralsData(locale));
             patternMap.put(Constants.MEASUREMENTS, getMeasurementsData(locale));
             patternMap.put(Constants.CURRENCIES, getCurrencyData(locale));
             rootMap.put(Constants.CATEGORIES, patternMap);
-            filePath = GEN_CLDR_PATTERN_DIR + locale + File.separator + Constants.PATTERN_JSON;
+            String filePath = GEN_CLDR_PATTERN_DIR + locale + File.separator + Constants.PATTERN_JSON;
             writePatternDataIntoFile(filePath, rootMap);
-            recordMap.put(locale.toLowerCase(), locale);
             dateFieldsExtract(locale);
+        });
+        // lower case locale -> locale
+        dataRecordForParse(likelySubtags, allLocales);
+        logger.info("Extract i18n pattern data complete in " + (System.currentTimeMillis() - start) + " ms!");
+    }
+
+    /**
+     * Run the extraction of the locales on a fork-join pool, the files of a
+     * locale are written by its own task, so the output doesn't depend on the
+     * order of the tasks. The parallelism is 'cldr.extract.parallelism' in
+     * config.properties, the number of processors by default.
+     *
+     * @param locales
+     * @param extraction the extraction of a locale
+     * @throws IllegalStateException if the extraction of any locale fails, after
+     *         all the tasks are done
+     */
+    public static void extractInParallel(Collection<String> locales, Consumer<String> extraction) {
+        extractInParallel(locales, getExtractParallelism(), extraction);
+    }
+
+    static void extractInParallel(Collection<String> locales, int parallelism, Consumer<String> extraction) {
+        List<String> localeList = new ArrayList<String>(locales);
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(localeList.size());
+        for (String locale : localeList) {
+            tasks.add(() -> {
+                extraction.accept(locale);
+                return null;
+            });
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // invokeAll waits for every task, so a failure doesn't leave the others running
+            List<Future<Void>> futures = pool.invokeAll(tasks);
+            IllegalStateException failure = null;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    logger.error("Failed to extract the data of locale " + localeList.get(i), e.getCause());
+                    if (failure == null) {
+                        failure = new IllegalStateException("Failed to extract the data of locale "
+                                + localeList.get(i), e.getCause());
+                    } else {
+                        failure.addSuppressed(e.getCause());
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The extraction is interrupted", e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int getExtractParallelism() {
+        String parallelism = PROP.getProperty("cldr.extract.parallelism");
+        if (!CommonUtil.isEmpty(parallelism) && Integer.parseInt(parallelism.trim()) > 0) {
+            return Integer.parseInt(parallelism.trim());
         }
-        dataRecordForParse(likelySubtags, recordMap);
-        logger.info("Extract i18n pattern data complete!");
+        return Runtime.getRuntime().availableProcessors();
     }
 
     /**
@@ -1198,7 +1232,12 @@ public class CLDRUtils {
         logger.info("Extract languageData.json data complete!");
     }
 
-    
+    /**
+     * Write a JSON string into a file, the parent dirs are created if they
+     * don't exist.
+     *
+     * @throws IllegalStateException if the file can't be written
+     */
     public static void writeJsonStr2File(String filePath, String jsonStr) {
         OutputStreamWriter write = null;
         BufferedWriter writer = null;
@@ -1218,7 +1257,8 @@ public class CLDRUtils {
             writer.write(jsonStr);
             writer.flush();
         } catch (Exception e) {
-            logger.error(e.getMessage(), e);
+            logger.error("Failed to write the JSON data into " + filePath, e);
+            throw new IllegalStateException("Failed to write " + filePath, e);
         } finally {
             IOUtil.closeWriter(writer);
             IOUtil.closeWriter(write);
@@ -1239,7 +1279,7 @@ public class CLDRUtils {
 		String metaZonejson = CLDRUtils.readZip(metaZonefileName, coreZipPath);
 		logger.info(metaZonejson);
 		JSONObject metaZoneObj = JSONUtil.string2JSON(metaZonejson);
-		for (String locale : allLocales.values()) {
+		extractInParallel(allLocales.values(), locale -> {
 			logger.info("locale is:" + locale);
 			String zipPath = CLDRConstants.DATE_ZIP_FILE_PATH;
 			String timeZoneNameFileName = MessageFormat.format(CLDRConstants.CLDR_DATES_FULL_DATE_TIMEZONENAME,
@@ -1250,7 +1290,7 @@ public class CLDRUtils {
 			String jsonStr = CldrTimeZoneUtils.createTimeZoneNameJson(metaZoneObj, timeZoneNameObj, locale);
 			String filePath = GEN_CLDR_PATTERN_TIMEZONE_DIR + locale + File.separator + Constants.DATE_TIMEZONENAME;
 			writeJsonStr2File(filePath, jsonStr);
-		}
+		});
 	}
     public static void main(String[] args) {
     	patternTimeZoneNameExtract();
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vmware.i18n.common.CLDRConstants;
+import com.vmware.i18n.common.Constants;
+
+/**
+ * The index of the entries of a CLDR ZIP file.
+ * <p>
+ * A ZIP file is opened once and its entries are indexed by name in a single
+ * pass, then a JSON file is read by a lookup instead of a scan of the ZIP
+ * file. The ZIP file stays open until {@link #closeAll()}, it's safe to read
+ * it from the extraction threads. The files of the core ZIP file are the
+ * supplemental data shared by all the locales, so their content is kept in
+ * memory after the first read.
+ */
+public class CLDRZipIndex {
+
+    private static Logger logger = LoggerFactory.getLogger(CLDRZipIndex.class);
+
+    private static final Map<String, CLDRZipIndex> indexes = new ConcurrentHashMap<String, CLDRZipIndex>();
+
+    private final ZipFile zipFile;
+
+    // entry name -> entry, the directories aren't indexed
+    private final Map<String, ZipEntry> entries;
+
+    // entry name -> content, null if the content isn't kept
+    private final Map<String, String> contents;
+
+    private CLDRZipIndex(ZipFile zipFile, Map<String, ZipEntry> entries, boolean keepContents) {
+        this.zipFile = zipFile;
+        this.entries = entries;
+        this.contents = keepContents ? new ConcurrentHashMap<String, String>() : null;
+    }
+
+    /**
+     * Read the specific JSON file in the ZIP file
+     *
+     * @param fileName the file name in the ZIP file. e.g.
+     *                 cldr-numbers-full-32.0.0/main/en/numbers.json
+     * @param zipPath  the ZIP file path
+     * @return JSON context, the lines are trimmed and joined. An empty string
+     *         if the file doesn't exist
+     */
+    public static String read(String fileName, String zipPath) {
+        CLDRZipIndex index = getIndex(zipPath);
+        return index == null ? "" : index.read(fileName);
+    }
+
+    /**
+     * Close the indexed ZIP files, the next read indexes the ZIP file again
+     */
+    public static void closeAll() {
+        for (String zipPath : indexes.keySet()) {
+            CLDRZipIndex index = indexes.remove(zipPath);
+            if (index != null) {
+                IOUtil.closeZipFile(index.zipFile);
+            }
+        }
+    }
+
+    private static CLDRZipIndex getIndex(String zipPath) {
+        CLDRZipIndex index = indexes.get(zipPath);
+        if (index == null) {
+            synchronized (indexes) {
+                index = indexes.get(zipPath);
+                if (index == null) {
+                    index = open(zipPath);
+                    if (index != null) {
+                        indexes.put(zipPath, index);
+                    }
+                }
+            }
+        }
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CLDRZipIndex open(String zipPath) {
+        ZipFile zf = null;
+        try {
+            zf = new ZipFile(zipPath);
+            Map<String, ZipEntry> entries = new HashMap<String, ZipEntry>();
+            Enumeration<ZipEntry> zipEntries = (Enumeration<ZipEntry>) zf.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry ze = zipEntries.nextElement();
+                if (!ze.isDirectory()) {
+                    entries.put(ze.getName(), ze);
+                }
+            }
+            logger.info(entries.size() + " entries are indexed in " + zipPath);
+            return new CLDRZipIndex(zf, entries, zipPath.equals(CLDRConstants.CORE_ZIP_FILE_PATH));
+        } catch (IOException e) {
+            logger.error("Failed to open the ZIP file " + zipPath + ": " + e.getMessage());
+            IOUtil.closeZipFile(zf);
+            return null;
+        }
+    }
+
+    private String read(String fileName) {
+        if (contents == null) {
+            return load(fileName);
+        }
+        String content = contents.get(fileName);
+        if (content == null) {
+            content = load(fileName);
+            contents.put(fileName, content);
+        }
+        return content;
+    }
+
+    private String load(String fileName) {
+        ZipEntry ze = entries.get(fileName);
+        if (ze == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder((int) Math.max(ze.getSize(), 16));
+        InputStream is = null;
+        try {
+            is = zipFile.getInputStream(ze);
+            Scanner scanner = new Scanner(is, Constants.UTF8);
+            while (scanner.hasNextLine()) {
+                sb.append(scanner.nextLine().trim());
+            }
+            scanner.close();
+        } catch (IOException e) {
+            // a partial content would be extracted as if the file were complete
+            logger.error("Failed to read " + fileName + " in " + zipFile.getName(), e);
+            throw new IllegalStateException("Failed to read " + fileName, e);
+        } finally {
+            IOUtil.closeInputStream(is);
+        }
+        return sb.toString();
+    }
+}
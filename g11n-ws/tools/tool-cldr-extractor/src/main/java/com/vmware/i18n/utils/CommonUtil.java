@@ -29,9 +29,22 @@ public class CommonUtil {
         return (str == null || "".equals(str));
     }
 
+    /**
+     * Parse locale and match cldr locale path on the CLDR data of
+     * PatternServiceImpl, the result is cached by the input.
+     *
+     * @param locale translation locale
+     * @return the cldr locale path, or null if no matching item
+     * @see #getPathLocale(String, Map, Map)
+     */
+    public static String getPathLocale(String locale) {
+        return ResolvedLocaleCache.getPathLocale(locale);
+    }
+
     /**
      * Parse locale and match cldr locale path: e.g. zh-Hans-CN => zh-Hans, zh-CN => zh-Hans-CN =>
-     * zh-Hans, if no matching item, return zh
+     * zh-Hans, if no matching item, return zh. The result isn't cached, use
+     * {@link #getPathLocale(String)} for the CLDR data of PatternServiceImpl.
      *
      * @param locale          translation locale
      * @param allLocales      cldr all locales
@@ -118,17 +131,26 @@ public class CommonUtil {
     }
 
     /**
-     * Get locale by specific language and region
+     * Get locale by specific language and region, the result is cached by the
+     * language and the region.
      *
      * @param language translation language
      * @param region   translation region
-     * @return LocaleDataDTO
+     * @return LocaleDataDTO, a copy of the cached one
      */
     public static LocaleDataDTO getLocale(String language, String region) {
+        LocaleDataDTO cachedData = ResolvedLocaleCache.getLocale(language, region);
+        LocaleDataDTO resultData = new LocaleDataDTO();
+        resultData.setLocale(cachedData.getLocale());
+        resultData.setDisplayLocaleID(cachedData.isDisplayLocaleID());
+        return resultData;
+    }
+
+    static LocaleDataDTO resolveLocale(String language, String region) {
         LocaleDataDTO resultData = new LocaleDataDTO();
         language = language.replace("_", "-");
         String locale = language + "-" + region;
-        String cldrLocale = getCLDRLocale(locale, localePathMap, localeAliasesMap);
+        String cldrLocale = getCLDRLocale(locale);
         if (!isEmpty(cldrLocale)) {
             resultData.setLocale(cldrLocale);
             return resultData;
@@ -140,7 +162,7 @@ public class CommonUtil {
             for (int i = 1; i < size; i++) {
                 if (region.toLowerCase().equals(languageDataList[i].toLowerCase())) {
                     locale = language;
-                    cldrLocale = getCLDRLocale(locale, localePathMap, localeAliasesMap);
+                    cldrLocale = getCLDRLocale(locale);
                     break;
                 }
             }
@@ -154,7 +176,7 @@ public class CommonUtil {
                 // VIP-1944 Language name with language-script-country format can't be handled correctly in get pattern API.
                 if (size > 2) {
                     locale = segmentedLanguage + "-" + languageScript + "-" + region;
-                    cldrLocale = getCLDRLocale(locale, PatternServiceImpl.localePathMap, PatternServiceImpl.localeAliasesMap);
+                    cldrLocale = getCLDRLocale(locale);
                 }
 
                 if (isEmpty(cldrLocale) && !isEmpty(languageDataMap.get(segmentedLanguage))) {
@@ -170,7 +192,7 @@ public class CommonUtil {
 
                         if (!existenceOfScript) {
                             locale = segmentedLanguage + "-" + region;
-                            cldrLocale = getCLDRLocale(locale, PatternServiceImpl.localePathMap, PatternServiceImpl.localeAliasesMap);
+                            cldrLocale = getCLDRLocale(locale);
                         }
                     }
                 }
@@ -185,12 +207,26 @@ public class CommonUtil {
             }
         }
 
-        resultData.setLocale(getCLDRLocale(locale, localePathMap, localeAliasesMap));
+        resultData.setLocale(getCLDRLocale(locale));
         return resultData;
     }
 
     /**
-     * Query whether locale exists, if not, query defaultContent.json
+     * Query whether locale exists in the CLDR data of PatternServiceImpl, if
+     * not, query defaultContent.json. The result is cached by the input.
+     *
+     * @param locale
+     * @return the cldr locale, or empty if it doesn't exist
+     * @see #getCLDRLocale(String, Map, Map)
+     */
+    public static String getCLDRLocale(String locale) {
+        return ResolvedLocaleCache.getCLDRLocale(locale);
+    }
+
+    /**
+     * Query whether locale exists, if not, query defaultContent.json. The
+     * result isn't cached, use {@link #getCLDRLocale(String)} for the CLDR data
+     * of PatternServiceImpl.
      *
      * @param locale
      * @param availableLocales
@@ -4,6 +4,8 @@
  */
 package com.vmware.i18n.utils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -50,6 +52,32 @@ public class JSONUtil {
         return containerFactory;
     }
 
+    /**
+     * Copy a parsed JSON tree into unmodifiable maps and lists, the order of
+     * the keys is kept, so the tree can be shared by the callers.
+     * @param node a map, a list or a value
+     * @return the unmodifiable copy
+     */
+    @SuppressWarnings("unchecked")
+    public static Object freeze(Object node) {
+        if (node instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) node;
+            Map<String, Object> frozen = new LinkedHashMap<String, Object>(map.size() * 4 / 3 + 1);
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                frozen.put(entry.getKey(), freeze(entry.getValue()));
+            }
+            return Collections.unmodifiableMap(frozen);
+        } else if (node instanceof List) {
+            List<Object> list = (List<Object>) node;
+            List<Object> frozen = new ArrayList<Object>(list.size());
+            for (Object item : list) {
+                frozen.add(freeze(item));
+            }
+            return Collections.unmodifiableList(frozen);
+        }
+        return node;
+    }
+
     /**
      * Get the node value of JSON string. e.g. main.locale.day
      * @param jsonObj JSONObject
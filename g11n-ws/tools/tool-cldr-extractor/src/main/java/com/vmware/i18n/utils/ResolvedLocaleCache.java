@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.vmware.i18n.dto.LocaleDataDTO;
+import com.vmware.i18n.pattern.service.impl.PatternServiceImpl;
+
+/**
+ * The resolved locales by the raw input of the requests, the resolution only
+ * depends on the CLDR data loaded by PatternServiceImpl, so a result never
+ * changes. It's the only cache of the resolution, the l2 services reach it
+ * through the methods of {@link CommonUtil} without the map parameters, e.g.
+ * {@link CommonUtil#getCLDRLocale(String)}.
+ * <p>
+ * The CLDR and path locale caches are seeded with all the CLDR locales when
+ * they're loaded, so the resolution of a CLDR locale is a hash lookup. The
+ * locales by language and region aren't seeded, a CLDR locale like zh-Hans
+ * isn't a language and a region. The inputs come from the requests, so each
+ * cache keeps the least recently used results out when it's full.
+ */
+final class ResolvedLocaleCache {
+
+	static final int MAX_SIZE = 10000;
+
+	// a null result is cached as NULL, so it isn't resolved again
+	private static final Object NULL = new Object();
+
+	private static final Lru cldrLocales = new Lru(MAX_SIZE);
+
+	private static final Lru pathLocales = new Lru(MAX_SIZE);
+
+	private static final Lru locales = new Lru(MAX_SIZE);
+
+	static {
+		for (String locale : PatternServiceImpl.localePathMap.values()) {
+			getCLDRLocale(locale);
+			getPathLocale(locale);
+		}
+	}
+
+	private ResolvedLocaleCache() {
+	}
+
+	static String getCLDRLocale(String locale) {
+		return (String) cldrLocales.get(locale, key -> CommonUtil.getCLDRLocale(key,
+				PatternServiceImpl.localePathMap, PatternServiceImpl.localeAliasesMap));
+	}
+
+	static String getPathLocale(String locale) {
+		return (String) pathLocales.get(locale, key -> CommonUtil.getPathLocale(key,
+				PatternServiceImpl.localePathMap, PatternServiceImpl.likelySubtagMap));
+	}
+
+	static LocaleDataDTO getLocale(String language, String region) {
+		return (LocaleDataDTO) locales.get(language + '\u0000' + region,
+				key -> CommonUtil.resolveLocale(language, region));
+	}
+
+	/**
+	 * A least recently used cache, the entries are spread over segments by the
+	 * hash of the key, each with its own lock and LRU order, so the lookups of
+	 * different inputs rarely wait for each other. A result is resolved outside
+	 * the lock, so a slow resolution doesn't block the lookups of the other
+	 * inputs.
+	 */
+	static final class Lru {
+
+		private static final int MAX_SEGMENTS = 16;
+
+		private final Segment[] segments;
+
+		Lru(int maxSize) {
+			// a small cache is kept in one segment, so its order is exactly LRU
+			int count = Math.max(1, Math.min(MAX_SEGMENTS, maxSize / 64));
+			this.segments = new Segment[count];
+			for (int i = 0; i < count; i++) {
+				segments[i] = new Segment(maxSize / count + (i < maxSize % count ? 1 : 0));
+			}
+		}
+
+		Object get(String key, Function<String, Object> resolver) {
+			Segment segment = segmentFor(key);
+			Object value;
+			synchronized (segment) {
+				value = segment.get(key);
+			}
+			if (value == null) {
+				value = resolver.apply(key);
+				if (value == null) {
+					value = NULL;
+				}
+				synchronized (segment) {
+					Object current = segment.putIfAbsent(key, value);
+					if (current != null) {
+						value = current;
+					}
+				}
+			}
+			return value == NULL ? null : value;
+		}
+
+		int size() {
+			int size = 0;
+			for (Segment segment : segments) {
+				synchronized (segment) {
+					size += segment.size();
+				}
+			}
+			return size;
+		}
+
+		private Segment segmentFor(String key) {
+			int h = key.hashCode();
+			h ^= (h >>> 16);
+			return segments[(h & 0x7fffffff) % segments.length];
+		}
+	}
+
+	private static final class Segment extends LinkedHashMap<String, Object> {
+		private static final long serialVersionUID = 1L;
+
+		private final int maxSize;
+
+		private Segment(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+			return size() > maxSize;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n;
+
+import java.io.File;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vmware.i18n.common.CLDRConstants;
+import com.vmware.i18n.common.Constants;
+import com.vmware.i18n.pattern.store.PatternStore;
+import com.vmware.i18n.pattern.store.PatternStoreWriter;
+import com.vmware.i18n.utils.JSONUtil;
+import com.vmware.i18n.utils.LocalJSONReader;
+
+/**
+ * Unit testing of the binary pattern store
+ */
+public class PatternStoreTest {
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testWriteAndRead() throws Exception {
+		File storeFile = File.createTempFile("patterns", ".bin");
+		try {
+			PatternStoreWriter writer = new PatternStoreWriter();
+			writer.addPatterns(new File(CLDRConstants.GEN_CLDR_PATTERN_DIR));
+			writer.addSupplements(new File(CLDRConstants.GEN_CLDR_SUPPLEMENT_DIR));
+			writer.write(storeFile);
+
+			PatternStore store = PatternStore.open(storeFile);
+			Assert.assertTrue(store.hasLocale("fr"));
+			Assert.assertNull(store.getNode("fr", "notExisting"));
+
+			String patternJson = LocalJSONReader
+					.readLocalJSONFile(CLDRConstants.GEN_CLDR_PATTERN_DIR + "fr" + File.separator + "pattern.json");
+			Map<String, Object> categories = (Map<String, Object>) JSONUtil.getMapFromJson(patternJson)
+					.get(Constants.CATEGORIES);
+			for (Map.Entry<String, Object> category : categories.entrySet()) {
+				Assert.assertEquals(category.getValue(),
+						JSONUtil.getMapFromJson(store.getNode("fr", category.getKey())));
+			}
+			Assert.assertNotNull(store.getNode(PatternStore.SUPPLEMENTAL, Constants.CURRENCIES));
+		} finally {
+			storeFile.delete();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testParsedNodesAreShared() throws Exception {
+		File storeFile = File.createTempFile("patterns", ".bin");
+		try {
+			PatternStoreWriter writer = new PatternStoreWriter();
+			writer.addPatterns(new File(CLDRConstants.GEN_CLDR_PATTERN_DIR));
+			writer.addSupplements(new File(CLDRConstants.GEN_CLDR_SUPPLEMENT_DIR));
+			writer.write(storeFile);
+
+			PatternStore store = PatternStore.open(storeFile);
+			Map<String, Object> dates = (Map<String, Object>) store.getParsedNode("fr", Constants.DATES);
+			Assert.assertEquals(JSONUtil.getMapFromJson(store.getNode("fr", Constants.DATES)), dates);
+			Assert.assertSame(dates, store.getParsedNode("fr", Constants.DATES));
+			Assert.assertNull(store.getParsedNode("fr", "notExisting"));
+			try {
+				dates.clear();
+				Assert.fail("the parsed node is changed");
+			} catch (UnsupportedOperationException e) {
+				// the parsed node is shared by the requests
+			}
+		} finally {
+			storeFile.delete();
+		}
+	}
+}
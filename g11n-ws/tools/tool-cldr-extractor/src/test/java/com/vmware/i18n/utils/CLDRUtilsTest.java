@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit testing of the parallel extraction of CLDRUtils
+ */
+public class CLDRUtilsTest {
+
+    private File tempDir;
+
+    private String zipPath;
+
+    private final List<String> locales = new ArrayList<String>();
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = Files.createTempDirectory("cldr").toFile();
+        zipPath = new File(tempDir, "cldr-test.zip").getPath();
+        try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipPath))) {
+            for (int i = 0; i < 40; i++) {
+                String locale = "l" + i;
+                locales.add(locale);
+                zos.putNextEntry(new ZipEntry("cldr-test/main/" + locale + "/numbers.json"));
+                zos.write(("{\n  \"locale\": \"" + locale + "\",\n  \"decimal\": \"" + i + "\"\n}\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                zos.closeEntry();
+            }
+        }
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        CLDRZipIndex.closeAll();
+        FileUtils.deleteDirectory(tempDir);
+    }
+
+    @Test
+    public void testParallelOutputEqualsSequential() throws IOException {
+        File sequential = new File(tempDir, "sequential");
+        File parallel = new File(tempDir, "parallel");
+        CLDRUtils.extractInParallel(locales, 1, extraction(sequential));
+        CLDRUtils.extractInParallel(locales, 8, extraction(parallel));
+
+        Map<String, String> expected = readAll(sequential);
+        Assert.assertEquals(locales.size(), expected.size());
+        Assert.assertEquals(expected, readAll(parallel));
+        Assert.assertTrue(expected.get("l7" + File.separator + "pattern.json").contains("\"decimal\":\"7\""));
+    }
+
+    @Test
+    public void testFailureIsPropagated() {
+        File outDir = new File(tempDir, "out");
+        // a directory where a file is written, so its locale can't be written
+        new File(outDir, "l3" + File.separator + "pattern.json").mkdirs();
+        new File(outDir, "l5" + File.separator + "pattern.json").mkdirs();
+        try {
+            CLDRUtils.extractInParallel(locales, 4, extraction(outDir));
+            Assert.fail("The failed locales should fail the extraction");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().endsWith("l3"));
+            Assert.assertEquals(1, e.getSuppressed().length);
+        }
+
+        // the other locales are still extracted
+        for (String locale : locales) {
+            if (!"l3".equals(locale) && !"l5".equals(locale)) {
+                Assert.assertTrue(locale, new File(outDir, locale + File.separator + "pattern.json").isFile());
+            }
+        }
+    }
+
+    @Test
+    public void testFailedJsonWriteIsPropagated() {
+        File outDir = new File(tempDir, "timezone");
+        // a directory where the file of l8 is written
+        new File(outDir, "l8" + File.separator + "timeZoneNames.json").mkdirs();
+        try {
+            CLDRUtils.extractInParallel(locales, 4, locale -> CLDRUtils.writeJsonStr2File(
+                    outDir.getPath() + File.separator + locale + File.separator + "timeZoneNames.json", "{}"));
+            Assert.fail("The failed write should fail the extraction");
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().endsWith("l8"));
+            Assert.assertEquals(0, e.getSuppressed().length);
+        }
+        Assert.assertTrue(new File(outDir, "l9" + File.separator + "timeZoneNames.json").isFile());
+    }
+
+    private Consumer<String> extraction(File outDir) {
+        return locale -> {
+            String json = CLDRZipIndex.read("cldr-test/main/" + locale + "/numbers.json", zipPath);
+            Map<String, Object> rootMap = new LinkedHashMap<String, Object>();
+            rootMap.put("localeID", locale);
+            rootMap.put("numbers", JSONUtil.getMapFromJson(json));
+            CLDRUtils.writePatternDataIntoFile(outDir.getPath() + File.separator + locale + File.separator
+                    + "pattern.json", rootMap);
+        };
+    }
+
+    private static Map<String, String> readAll(File dir) throws IOException {
+        Map<String, String> files = new TreeMap<String, String>();
+        for (File file : FileUtils.listFiles(dir, null, true)) {
+            String name = dir.toPath().relativize(file.toPath()).toString();
+            files.put(name, FileUtils.readFileToString(file, StandardCharsets.UTF_8).replaceAll("\\s", ""));
+        }
+        return files;
+    }
+}
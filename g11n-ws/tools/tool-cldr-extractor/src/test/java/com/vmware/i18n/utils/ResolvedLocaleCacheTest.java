@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vmware.i18n.dto.LocaleDataDTO;
+import com.vmware.i18n.pattern.service.impl.PatternServiceImpl;
+
+/**
+ * Unit testing of ResolvedLocaleCache
+ */
+public class ResolvedLocaleCacheTest {
+
+    @Test
+    public void testSameAsResolution() {
+        for (String locale : Arrays.asList("en", "en-US", "zh-CN", "zh-Hans-CN", "zh-TW", "pt-BR", "iw", "no",
+                "sr-Latn", "EN-gb", "xx", "xx-YY")) {
+            Assert.assertEquals(locale, CommonUtil.getCLDRLocale(locale, PatternServiceImpl.localePathMap,
+                    PatternServiceImpl.localeAliasesMap), CommonUtil.getCLDRLocale(locale));
+            Assert.assertEquals(locale, CommonUtil.getPathLocale(locale, PatternServiceImpl.localePathMap,
+                    PatternServiceImpl.likelySubtagMap), CommonUtil.getPathLocale(locale));
+        }
+    }
+
+    @Test
+    public void testOtherMapsAreNotCached() {
+        Map<String, String> locales = new HashMap<String, String>();
+        locales.put("xx", "xx");
+        Map<String, Object> aliases = new HashMap<String, Object>();
+        Assert.assertEquals("xx", CommonUtil.getCLDRLocale("xx", locales, aliases));
+
+        // a change of the given maps is seen by the next call
+        locales.put("xx", "yy");
+        Assert.assertEquals("yy", CommonUtil.getCLDRLocale("xx", locales, aliases));
+    }
+
+    @Test
+    public void testScriptIsNotRegion() {
+        // zh-Hans is a CLDR locale, Hans isn't a region
+        Assert.assertEquals(CommonUtil.resolveLocale("zh", "Hans").getLocale(),
+                CommonUtil.getLocale("zh", "Hans").getLocale());
+        Assert.assertEquals(CommonUtil.resolveLocale("sr", "Latn").getLocale(),
+                CommonUtil.getLocale("sr", "Latn").getLocale());
+    }
+
+    @Test
+    public void testLocaleIsCopied() {
+        LocaleDataDTO first = CommonUtil.getLocale("zh-Hans", "CN");
+        first.setLocale("changed");
+        Assert.assertEquals(CommonUtil.resolveLocale("zh-Hans", "CN").getLocale(),
+                CommonUtil.getLocale("zh-Hans", "CN").getLocale());
+    }
+
+    @Test
+    public void testNullIsCached() {
+        AtomicInteger resolved = new AtomicInteger();
+        ResolvedLocaleCache.Lru cache = new ResolvedLocaleCache.Lru(10);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertNull(cache.get("xx", key -> {
+                resolved.incrementAndGet();
+                return null;
+            }));
+        }
+        Assert.assertEquals(1, resolved.get());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        AtomicInteger resolved = new AtomicInteger();
+        ResolvedLocaleCache.Lru cache = new ResolvedLocaleCache.Lru(3);
+        for (int i = 0; i < 100; i++) {
+            cache.get("hot", key -> {
+                resolved.incrementAndGet();
+                return key;
+            });
+            cache.get("key" + i, key -> key);
+        }
+        Assert.assertEquals(3, cache.size());
+        Assert.assertEquals("the hot result should be kept", 1, resolved.get());
+
+        // a new input is still cached when the cache is full
+        cache.get("new", key -> {
+            resolved.incrementAndGet();
+            return key;
+        });
+        Assert.assertEquals("new", cache.get("new", key -> {
+            resolved.incrementAndGet();
+            return key;
+        }));
+        Assert.assertEquals(2, resolved.get());
+    }
+
+    @Test
+    public void testConcurrentLookupsStayInSize() throws Exception {
+        ResolvedLocaleCache.Lru cache = new ResolvedLocaleCache.Lru(1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        String key = "key" + (i + offset * 613) % 3000;
+                        Assert.assertEquals(key, cache.get(key, k -> k));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(1000, cache.size());
+    }
+}
@@ -12,7 +12,8 @@ public enum CacheName {
 
 	DEFAULT("DEFAULT"), ONECOMPONENT("ONECOMPONENT"), MULTCOMPONENT(
 			"MULTCOMPONENT"), SOURCE("SOURCE"), SOURCEBACKUP("SOURCEBACKUP"), TOKEN(
-			"TOKEN"), MT("MT"), MTSOURCE("MTSOURCE"), REGION("REGION"), LANGUAGE("LANGUAGE"), PATTERN("PATTERN");
+			"TOKEN"), MT("MT"), MTSOURCE("MTSOURCE"), PATTERN("PATTERN"), COMPONENTSNAPSHOT(
+			"COMPONENTSNAPSHOT"), COMPILEDMESSAGES("COMPILEDMESSAGES");
 
 	private String name;
 
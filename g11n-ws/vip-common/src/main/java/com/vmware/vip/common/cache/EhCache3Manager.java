@@ -5,20 +5,51 @@
 package com.vmware.vip.common.cache;
 
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.ehcache.Cache;
 import org.ehcache.CacheManager;
+import org.ehcache.config.CacheConfiguration;
 import org.ehcache.config.Configuration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
 import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
 import org.ehcache.xml.XmlConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.vmware.vip.common.exceptions.VIPCacheException;
 
 
 /**
  * EhCache Manager, manage and provide the Cache instance by the name.
- * 
+ * <p>
+ * The caches are configured by ehcache3.xml. The heap of the translation
+ * caches can also be sized from a memory budget given by the system property
+ * vip.cache.heap.budget, e.g. 512MB or 30% of the max heap, which is shared
+ * by the caches in proportion to vip.cache.heap.shares. The off-heap tier of
+ * ONECOMPONENT and MULTCOMPONENT can be sized by vip.cache.offheap.budget in
+ * the same way.
  */
 public class EhCache3Manager{
+	private static Logger logger = LoggerFactory.getLogger(EhCache3Manager.class);
+
+	public static final String HEAP_BUDGET = "vip.cache.heap.budget";
+	public static final String HEAP_SHARES = "vip.cache.heap.shares";
+	public static final String OFFHEAP_BUDGET = "vip.cache.offheap.budget";
+
+	private static final String DEFAULT_HEAP_SHARES = "ONECOMPONENT:40,COMPONENTSNAPSHOT:30,MULTCOMPONENT:20,PATTERN:10";
+	private static final CacheName[] OFFHEAP_CACHES = { CacheName.ONECOMPONENT, CacheName.MULTCOMPONENT };
+
+	// a big translation bundle is a graph of many small objects
+	private static final long MAX_OBJECT_GRAPH_SIZE = 1000000;
+	private static final long MAX_OBJECT_SIZE_MB = 64;
+
   /** The manager is used for multiple caches. */
 	private static Configuration xmlConf = new XmlConfiguration(EhCache3Manager.class.getResource("/ehcache3.xml"));
 	
@@ -28,6 +59,7 @@ public class EhCache3Manager{
     private EhCache3Manager() {
     	this.manager= CacheManagerBuilder.newCacheManager(xmlConf);
     	this.manager.init();
+    	this.resizeFromBudget();
     }
     
     private static class EhCache3ManagerHandler{
@@ -58,4 +90,173 @@ public class EhCache3Manager{
     public void closeCacheManager() {
     	 manager.close();
     }
+
+    /**
+     * Re-create the translation caches with the tier sizes computed from the
+     * memory budgets, the caches are kept as configured if no budget is set.
+     */
+    private void resizeFromBudget() {
+        long heapBudget = parseBudget(System.getProperty(HEAP_BUDGET));
+        long offheapBudget = parseBudget(System.getProperty(OFFHEAP_BUDGET));
+        if (heapBudget <= 0 && offheapBudget <= 0) {
+            return;
+        }
+
+        Map<String, Long> heapSizes = heapBudget > 0
+                ? splitBudget(heapBudget, parseShares(System.getProperty(HEAP_SHARES, DEFAULT_HEAP_SHARES)))
+                : new LinkedHashMap<>();
+        if (heapBudget > 0 && heapSizes.isEmpty()) {
+            logger.warn("The cache heap budget is ignored, since there is no valid share in {}.", HEAP_SHARES);
+        }
+        Map<String, Long> offheapSizes = new LinkedHashMap<>();
+        if (offheapBudget > 0) {
+            for (CacheName cachename : OFFHEAP_CACHES) {
+                offheapSizes.put(cachename.name(), offheapBudget / OFFHEAP_CACHES.length);
+            }
+        }
+
+        for (Map.Entry<String, CacheConfiguration<?, ?>> entry : xmlConf.getCacheConfigurations().entrySet()) {
+            String alias = entry.getKey();
+            if (heapSizes.containsKey(alias) || offheapSizes.containsKey(alias)) {
+                resizeCache(alias, entry.getValue(), heapSizes.get(alias), offheapSizes.get(alias));
+            }
+        }
+    }
+
+    private <K, V> void resizeCache(String alias, CacheConfiguration<K, V> conf, Long heapBytes, Long offheapBytes) {
+        ResourcePools pools = conf.getResourcePools();
+        ResourcePoolsBuilder builder = ResourcePoolsBuilder.newResourcePoolsBuilder();
+        if (heapBytes != null) {
+            builder = builder.heap(heapBytes, MemoryUnit.B);
+        } else {
+            builder = builder.with(pools.getPoolForResource(ResourceType.Core.HEAP));
+        }
+
+        SizedResourcePool offheap = pools.getPoolForResource(ResourceType.Core.OFFHEAP);
+        long offheapSize = offheapBytes != null ? offheapBytes
+                : offheap == null ? 0 : ((MemoryUnit) offheap.getUnit()).toBytes(offheap.getSize());
+        long upperSize = heapBytes == null ? 0 : heapBytes;
+        if (offheapSize > 0) {
+            if (offheapSize > upperSize) {
+                builder = builder.offheap(offheapSize, MemoryUnit.B);
+                upperSize = offheapSize;
+            } else {
+                logger.warn("The off-heap tier of cache {} is dropped, since it's not bigger than the heap.", alias);
+            }
+        }
+
+        // the disk tier is kept if it's still bigger than the tiers above it
+        SizedResourcePool disk = pools.getPoolForResource(ResourceType.Core.DISK);
+        if (disk != null) {
+            long diskSize = ((MemoryUnit) disk.getUnit()).toBytes(disk.getSize());
+            if (diskSize > upperSize) {
+                builder = builder.disk(diskSize, MemoryUnit.B, disk.isPersistent());
+            } else {
+                logger.warn("The disk tier of cache {} is dropped, since it's not bigger than the tiers above it.",
+                        alias);
+            }
+        }
+
+        CacheConfiguration<K, V> newConf = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(conf.getKeyType(), conf.getValueType(), builder)
+                .withClassLoader(conf.getClassLoader())
+                .withExpiry(conf.getExpiryPolicy())
+                .withSizeOfMaxObjectGraph(MAX_OBJECT_GRAPH_SIZE)
+                .withSizeOfMaxObjectSize(MAX_OBJECT_SIZE_MB, MemoryUnit.MB)
+                .build();
+        manager.removeCache(alias);
+        manager.createCache(alias, newConf);
+        logger.info("The cache {} is sized to heap {} bytes, off-heap {} bytes.", alias, heapBytes, offheapSize);
+    }
+
+    /**
+     * Split a memory budget by the shares of the caches.
+     * <p>
+     * The shares are weights, they don't need to sum to 100, e.g. 2 and 1
+     * split the budget into two thirds and one third.
+     *
+     * @return the size of each cache in bytes, in the order of the shares
+     */
+    static Map<String, Long> splitBudget(long budget, Map<String, Integer> shares) {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        long total = shares.values().stream().mapToLong(Integer::longValue).sum();
+        for (Map.Entry<String, Integer> share : shares.entrySet()) {
+            sizes.put(share.getKey(), budget * share.getValue() / total);
+        }
+        return sizes;
+    }
+
+    /**
+     * Parse a memory budget, e.g. 512MB, 2GB, 1024 (bytes) or 30% of the max
+     * heap. The units are case insensitive.
+     *
+     * @return the budget in bytes, or 0 if it's not set or invalid
+     */
+    static long parseBudget(String budget) {
+        if (budget == null || budget.trim().isEmpty()) {
+            return 0;
+        }
+        String value = budget.trim().toUpperCase();
+        long bytes;
+        try {
+            if (value.endsWith("%")) {
+                double percent = Double.parseDouble(value.substring(0, value.length() - 1).trim());
+                if (percent > 100) {
+                    logger.warn("Invalid cache memory budget: {}, it's more than the max heap", budget);
+                    return 0;
+                }
+                bytes = (long) (Runtime.getRuntime().maxMemory() * percent / 100);
+            } else {
+                bytes = parseBytes(value);
+            }
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid cache memory budget: {}", budget);
+            return 0;
+        }
+        if (bytes <= 0) {
+            logger.warn("Invalid cache memory budget: {}", budget);
+            return 0;
+        }
+        return bytes;
+    }
+
+    private static long parseBytes(String value) {
+        for (MemoryUnit unit : new MemoryUnit[] { MemoryUnit.GB, MemoryUnit.MB, MemoryUnit.KB, MemoryUnit.B }) {
+            if (value.endsWith(unit.name())) {
+                long size = Long.parseLong(value.substring(0, value.length() - unit.name().length()).trim());
+                return size < 0 ? -1 : unit.toBytes(size);
+            }
+        }
+        return Long.parseLong(value);
+    }
+
+    /**
+     * Parse the shares of the caches, e.g. ONECOMPONENT:40,MULTCOMPONENT:20.
+     * A malformed share or a share which isn't positive is skipped, an unknown
+     * cache name is kept but it doesn't match any cache.
+     */
+    static Map<String, Integer> parseShares(String shares) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String share : shares.split(",")) {
+            if (share.trim().isEmpty()) {
+                continue;
+            }
+            String[] pair = share.split(":");
+            if (pair.length != 2 || pair[0].trim().isEmpty()) {
+                logger.warn("Invalid cache heap share: {}", share);
+                continue;
+            }
+            try {
+                int weight = Integer.parseInt(pair[1].trim());
+                if (weight > 0) {
+                    result.put(pair[0].trim(), weight);
+                } else {
+                    logger.warn("Invalid cache heap share: {}", share);
+                }
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid cache heap share: {}", share);
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.common.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This class records how often the cache keys are requested, so that the
+ * hottest keys of a run can be saved and loaded into the caches when the
+ * service starts next time.
+ * <p>
+ * At most MAX_KEYS keys are kept for a cache. When a cache reaches the limit,
+ * its colder half is evicted and the hits of the others are halved, so the
+ * keys requested recently can become hot again.
+ */
+public class HotKeyLog {
+
+	// the max number of keys recorded for a cache
+	private static final int MAX_KEYS = 10000;
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private static final Map<CacheName, Map<String, Entry>> KEYS = new ConcurrentHashMap<>();
+
+	// the threads which don't record the keys, e.g. the warm-up ones
+	private static final ThreadLocal<Boolean> SUSPENDED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+	private HotKeyLog() {
+	}
+
+	/**
+	 * Record a request of a cache key.
+	 *
+	 * @param cachename the cache of the key
+	 * @param key       the cache key
+	 * @param parts     the values which the key is built from, they are used
+	 *                  to load the key again
+	 */
+	public static void record(CacheName cachename, String key, String... parts) {
+		if (SUSPENDED.get()) {
+			return;
+		}
+		Map<String, Entry> keys = KEYS.computeIfAbsent(cachename, c -> new ConcurrentHashMap<>());
+		Entry entry = keys.get(key);
+		if (entry == null) {
+			if (keys.size() >= MAX_KEYS) {
+				evict(keys);
+			}
+			entry = keys.computeIfAbsent(key, k -> new Entry(parts));
+		}
+		entry.hits.incrementAndGet();
+	}
+
+	/**
+	 * Run a task without recording the keys it requests.
+	 *
+	 * @param task the task to run
+	 * @return the result of the task
+	 * @throws Exception the exception thrown by the task
+	 */
+	public static <T> T withoutRecording(Callable<T> task) throws Exception {
+		boolean suspended = SUSPENDED.get();
+		SUSPENDED.set(Boolean.TRUE);
+		try {
+			return task.call();
+		} finally {
+			SUSPENDED.set(suspended);
+		}
+	}
+
+	/**
+	 * Drop the recorded keys of all the caches.
+	 */
+	public static void clear() {
+		KEYS.clear();
+	}
+
+	/*
+	 * evict the colder half of the keys and halve the hits of the others
+	 */
+	private static void evict(Map<String, Entry> keys) {
+		synchronized (keys) {
+			if (keys.size() < MAX_KEYS) {
+				return;
+			}
+			List<Map.Entry<String, Entry>> entries = new ArrayList<>(keys.entrySet());
+			entries.sort(Comparator.comparingLong(e -> e.getValue().hits.get()));
+			for (Map.Entry<String, Entry> e : entries.subList(0, entries.size() - MAX_KEYS / 2)) {
+				keys.remove(e.getKey());
+			}
+			for (Entry entry : keys.values()) {
+				entry.hits.updateAndGet(hits -> hits / 2);
+			}
+		}
+	}
+
+	/**
+	 * Save the hottest keys of every cache to a file.
+	 *
+	 * @param file the file to save
+	 * @param top  the max number of keys saved for a cache
+	 * @throws IOException
+	 */
+	public static void save(File file, int top) throws IOException {
+		List<HotKey> hotKeys = new ArrayList<>();
+		for (Map.Entry<CacheName, Map<String, Entry>> cache : KEYS.entrySet()) {
+			hotKeys.addAll(cache.getValue().values().stream()
+					.map(entry -> new HotKey(cache.getKey().name(), Arrays.asList(entry.parts), entry.hits.get()))
+					.sorted(Comparator.comparingLong(HotKey::getHits).reversed())
+					.limit(top)
+					.collect(Collectors.toList()));
+		}
+		if (hotKeys.isEmpty()) {
+			return;
+		}
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists()) {
+			parent.mkdirs();
+		}
+		File tmp = new File(file.getPath() + ".tmp");
+		MAPPER.writeValue(tmp, hotKeys);
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Load the keys saved by {@link #save(File, int)}.
+	 *
+	 * @param file the saved file
+	 * @return the keys, hottest first for each cache; or an empty list if the
+	 *         file doesn't exist
+	 * @throws IOException
+	 */
+	public static List<HotKey> load(File file) throws IOException {
+		if (!file.exists()) {
+			return Collections.emptyList();
+		}
+		return MAPPER.readValue(file, new TypeReference<List<HotKey>>() {
+		});
+	}
+
+	private static class Entry {
+		private final String[] parts;
+		private final AtomicLong hits = new AtomicLong();
+
+		Entry(String[] parts) {
+			this.parts = parts;
+		}
+	}
+
+	/**
+	 * A saved hot key.
+	 */
+	public static class HotKey {
+		private String cache;
+		private List<String> parts;
+		private long hits;
+
+		public HotKey() {
+		}
+
+		public HotKey(String cache, List<String> parts, long hits) {
+			this.cache = cache;
+			this.parts = parts;
+			this.hits = hits;
+		}
+
+		public String getCache() {
+			return cache;
+		}
+
+		public void setCache(String cache) {
+			this.cache = cache;
+		}
+
+		public List<String> getParts() {
+			return parts;
+		}
+
+		public void setParts(List<String> parts) {
+			this.parts = parts;
+		}
+
+		public long getHits() {
+			return hits;
+		}
+
+		public void setHits(long hits) {
+			this.hits = hits;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A size-bounded in-memory cache which evicts the least recently used entry
+ * when it's full.
+ * <p>
+ * It's used for the small derived objects keyed by the request input, e.g.
+ * resolved locales or compiled formatters, so the input can't grow it without
+ * a limit and a full cache still keeps the entries in use. The entries are
+ * spread over segments by the key's hash to reduce the lock contention, each
+ * segment keeps its own LRU order, so the eviction is approximately LRU over
+ * the whole cache. Null keys and values aren't cached.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class LruCache<K, V> {
+
+	private static final int MAX_SEGMENTS = 16;
+
+	private final Segment<K, V>[] segments;
+
+	private final int maxSize;
+
+	/**
+	 * @param maxSize the max number of entries
+	 */
+	@SuppressWarnings("unchecked")
+	public LruCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("The max size must be positive: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		// a small cache is kept in one segment, so its order is exactly LRU
+		int count = Math.max(1, Math.min(MAX_SEGMENTS, maxSize / 64));
+		this.segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			segments[i] = new Segment<>(maxSize / count + (i < maxSize % count ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Get a cached value, the entry becomes the most recently used one.
+	 *
+	 * @return the value, or null if it's not cached
+	 */
+	public V get(K key) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.get(key);
+		}
+	}
+
+	/**
+	 * Get a cached value, or load and cache it when it's missing.
+	 * <p>
+	 * The loader runs without holding a lock, so two threads missing the same
+	 * key may both load it, the value cached first is returned to both.
+	 *
+	 * @param loader load the value of the key, a null value isn't cached
+	 * @return the cached or loaded value
+	 */
+	public V get(K key, Function<? super K, ? extends V> loader) {
+		V value = get(key);
+		if (value != null) {
+			return value;
+		}
+		value = loader.apply(key);
+		return value == null ? null : putIfAbsent(key, value);
+	}
+
+	/**
+	 * Cache a value, the least recently used entry is evicted if it's full.
+	 */
+	public void put(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			segment.put(key, value);
+		}
+	}
+
+	/**
+	 * Cache a value if the key isn't cached.
+	 *
+	 * @return the value cached before, or the given value
+	 */
+	public V putIfAbsent(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			V cached = segment.get(key);
+			if (cached != null) {
+				return cached;
+			}
+			segment.put(key, value);
+			return value;
+		}
+	}
+
+	public V remove(K key) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			return segment.remove(key);
+		}
+	}
+
+	public void clear() {
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 * Get the number of cached entries.
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	private Segment<K, V> segmentFor(K key) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return segments[(h & 0x7fffffff) % segments.length];
+	}
+
+	private static class Segment<K, V> extends LinkedHashMap<K, V> {
+		private static final long serialVersionUID = 1L;
+
+		private final int maxSize;
+
+		Segment(int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			return size() > maxSize;
+		}
+	}
+}
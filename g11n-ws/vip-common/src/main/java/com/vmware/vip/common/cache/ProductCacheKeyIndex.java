@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.common.cache;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.ehcache.Cache;
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventFiring;
+import org.ehcache.event.EventOrdering;
+import org.ehcache.event.EventType;
+
+import com.vmware.vip.common.constants.ConstantsChar;
+import com.vmware.vip.common.i18n.dto.BaseDTO;
+
+/**
+ * The index from a product version to its keys in a cache, so that the cached
+ * objects of a product version can be removed without scanning the cache.
+ * <p>
+ * A key is indexed when it's added by
+ * {@link TranslationCache3#addCachedObject(CacheName, String, String, String, Class, Object)},
+ * and dropped when the entry is removed, evicted or expired. The entries which
+ * a cache holds before it's watched, e.g. the ones restored from its
+ * persistent disk tier after a restart, are indexed by the product version of
+ * their values when the cache is watched. Their keys can't be parsed since the
+ * product names and the versions contain dots too.
+ */
+public class ProductCacheKeyIndex {
+
+	private static final Map<CacheName, Index> INDEXES = new EnumMap<>(CacheName.class);
+
+	static {
+		for (CacheName cachename : CacheName.values()) {
+			INDEXES.put(cachename, new Index());
+		}
+	}
+
+	private ProductCacheKeyIndex() {
+	}
+
+	/**
+	 * Index a key of a cache, the cache is watched for the removed entries when
+	 * it's indexed for the first time.
+	 */
+	static <V> void add(CacheName cachename, Cache<String, V> cache, String productName, String version,
+			String key) {
+		Index index = INDEXES.get(cachename);
+		index.watch(cache);
+		index.add(getProductVersion(productName, version), key);
+	}
+
+	/**
+	 * Watch a cache for the removed entries, the entries which it holds are
+	 * indexed when it's watched for the first time. A value which isn't a
+	 * {@link BaseDTO} with a product and a version isn't indexed.
+	 */
+	public static <V> void watch(CacheName cachename, Cache<String, V> cache) {
+		INDEXES.get(cachename).watch(cache);
+	}
+
+	/**
+	 * Get the indexed keys of a product version in a cache.
+	 *
+	 * @return a copy of the keys
+	 */
+	public static Set<String> getKeys(CacheName cachename, String productName, String version) {
+		Set<String> keys = INDEXES.get(cachename).keys.get(getProductVersion(productName, version));
+		return keys == null ? Collections.emptySet() : new HashSet<>(keys);
+	}
+
+	/**
+	 * Drop all the keys of a cache, it's needed when the cache is cleared since
+	 * clearing a cache doesn't fire the removed events.
+	 */
+	static void clear(CacheName cachename) {
+		Index index = INDEXES.get(cachename);
+		index.keys.clear();
+		index.productVersions.clear();
+	}
+
+	private static String getProductVersion(String productName, String version) {
+		return productName + ConstantsChar.BACKSLASH + version;
+	}
+
+	private static class Index {
+		// product version -> keys
+		private final Map<String, Set<String>> keys = new ConcurrentHashMap<>();
+
+		// key -> product version
+		private final Map<String, String> productVersions = new ConcurrentHashMap<>();
+
+		private volatile Cache<?, ?> watchedCache;
+
+		// the listener of the watched cache, a listener can't be registered twice
+		private CacheEventListener<Object, Object> listener;
+
+		private void watch(Cache<String, ?> cache) {
+			if (watchedCache == cache) {
+				return;
+			}
+			synchronized (this) {
+				if (watchedCache != cache) {
+					// the keys of another cache, e.g. one which is closed, are dropped
+					if (watchedCache != null) {
+						deregister();
+					}
+					keys.clear();
+					productVersions.clear();
+					listener = this::onEvent;
+					// the listener is registered before the entries are read, so a removed
+					// entry isn't kept in the index unless it's removed while it's read,
+					// and then removing its key again does nothing
+					cache.getRuntimeConfiguration().registerCacheEventListener(listener, EventOrdering.UNORDERED,
+							EventFiring.SYNCHRONOUS,
+							EnumSet.of(EventType.REMOVED, EventType.EVICTED, EventType.EXPIRED));
+					for (Cache.Entry<String, ?> entry : cache) {
+						if (entry.getValue() instanceof BaseDTO) {
+							BaseDTO dto = (BaseDTO) entry.getValue();
+							if (dto.getProductName() != null && dto.getVersion() != null) {
+								add(getProductVersion(dto.getProductName(), dto.getVersion()), entry.getKey());
+							}
+						}
+					}
+					watchedCache = cache;
+				}
+			}
+		}
+
+		private void add(String productVersion, String key) {
+			String oldProductVersion = productVersions.put(key, productVersion);
+			if (oldProductVersion != null && !oldProductVersion.equals(productVersion)) {
+				remove(oldProductVersion, key);
+			}
+			keys.compute(productVersion, (k, v) -> {
+				Set<String> versionKeys = v == null ? ConcurrentHashMap.newKeySet() : v;
+				versionKeys.add(key);
+				return versionKeys;
+			});
+		}
+
+		private void remove(String productVersion, String key) {
+			keys.computeIfPresent(productVersion, (k, v) -> {
+				v.remove(key);
+				return v.isEmpty() ? null : v;
+			});
+		}
+
+		private void deregister() {
+			try {
+				watchedCache.getRuntimeConfiguration().deregisterCacheEventListener(listener);
+			} catch (IllegalStateException e) {
+				// the cache is closed
+			}
+		}
+
+		private void onEvent(CacheEvent<? extends Object, ? extends Object> event) {
+			String key = (String) event.getKey();
+			String productVersion = productVersions.remove(key);
+			if (productVersion != null) {
+				remove(productVersion, key);
+			}
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.common.cache;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class makes sure that only one load is in flight for a cache key.
+ * <p>
+ * When the cached object is missing, the first thread (the leader) loads it
+ * and the other threads missing the same key wait for the leader and share
+ * its result or its exception, instead of loading the same data again.
+ */
+public class SingleFlightLoader {
+
+	private static final Map<CacheName, ConcurrentMap<String, CompletableFuture<Object>>> IN_FLIGHT = new EnumMap<>(
+			CacheName.class);
+
+	private static final Map<CacheName, LongAdder> LEADER_LOADS = new EnumMap<>(CacheName.class);
+
+	private static final Map<CacheName, LongAdder> COALESCED_LOADS = new EnumMap<>(CacheName.class);
+
+	static {
+		for (CacheName cachename : CacheName.values()) {
+			IN_FLIGHT.put(cachename, new ConcurrentHashMap<>());
+			LEADER_LOADS.put(cachename, new LongAdder());
+			COALESCED_LOADS.put(cachename, new LongAdder());
+		}
+	}
+
+	private SingleFlightLoader() {
+	}
+
+	/**
+	 * Load the object of a cache key.
+	 *
+	 * @param <V>
+	 * @param <E>
+	 * @param cachename the cache which the object is loaded for
+	 * @param key       the cache key
+	 * @param loader    load the object, and add it to the cache if needed
+	 * @return the object loaded by this thread or by the leader
+	 * @throws E the exception thrown by the leader's loader
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V, E extends Exception> V load(CacheName cachename, String key, Loader<V, E> loader) throws E {
+		ConcurrentMap<String, CompletableFuture<Object>> calls = IN_FLIGHT.get(cachename);
+		CompletableFuture<Object> call = new CompletableFuture<>();
+		CompletableFuture<Object> leaderCall = calls.putIfAbsent(key, call);
+		if (leaderCall != null) {
+			COALESCED_LOADS.get(cachename).increment();
+			try {
+				return (V) leaderCall.join();
+			} catch (CompletionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw (E) cause;
+			}
+		}
+
+		LEADER_LOADS.get(cachename).increment();
+		try {
+			V value = loader.load();
+			call.complete(value);
+			return value;
+		} catch (Throwable t) {
+			call.completeExceptionally(t);
+			throw t;
+		} finally {
+			calls.remove(key, call);
+		}
+	}
+
+	/**
+	 * Get the number of loads run by a leader.
+	 */
+	public static long getLeaderLoads(CacheName cachename) {
+		return LEADER_LOADS.get(cachename).sum();
+	}
+
+	/**
+	 * Get the number of loads which waited for a leader instead of loading.
+	 */
+	public static long getCoalescedLoads(CacheName cachename) {
+		return COALESCED_LOADS.get(cachename).sum();
+	}
+
+	/**
+	 * Load the object of a cache key.
+	 *
+	 * @param <V> the type of the object
+	 * @param <E> the exception of the loading
+	 */
+	@FunctionalInterface
+	public interface Loader<V, E extends Exception> {
+		V load() throws E;
+	}
+}
@@ -6,6 +6,7 @@ package com.vmware.vip.common.cache;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.ehcache.Cache;
 
@@ -46,6 +47,17 @@ public class TranslationCache3 {
 	public static <V> void addCachedObject(CacheName cachename, String key, Class<V> valueType, V object) throws VIPCacheException {
 		getCache(cachename, String.class, valueType).put(key, object);
 	}
+
+	/**
+	 * add a object of a product version to the translation cache, the key is
+	 * indexed by the product version.
+	 */
+	public static <V> void addCachedObject(CacheName cachename, String productName, String version, String key,
+			Class<V> valueType, V object) throws VIPCacheException {
+		Cache<String, V> cache = getCache(cachename, String.class, valueType);
+		cache.put(key, object);
+		ProductCacheKeyIndex.add(cachename, cache, productName, version, key);
+	}
 	
 
 	/**
@@ -119,11 +131,30 @@ public class TranslationCache3 {
 	    return keys;
 	}
 
+	/**
+	 * delete the cached objects of a product version which are added with
+	 * the product version.
+	 *
+	 * @return the number of deleted keys
+	 */
+	public static <V> int deleteCachedObjects(CacheName cachename, String productName, String version,
+			Class<V> valueType) throws VIPCacheException {
+		Cache<String, V> cache = getCache(cachename, String.class, valueType);
+		// the entries restored from the disk tier are indexed when the cache is first watched
+		ProductCacheKeyIndex.watch(cachename, cache);
+		Set<String> keys = ProductCacheKeyIndex.getKeys(cachename, productName, version);
+		if (!keys.isEmpty()) {
+			cache.removeAll(keys);
+		}
+		return keys.size();
+	}
+
 	/**
 	 * Remove all cached objects.
 	 */
 	public static <V> void removeAll(CacheName cachename,  Class<V> valueType) throws VIPCacheException {
 		getCache(cachename, String.class, valueType).clear();
+		ProductCacheKeyIndex.clear(cachename);
 	}
 
 	public static void copy(Cache<String, ComponentSourceDTO> source, Cache<String, ComponentSourceDTO> target) {
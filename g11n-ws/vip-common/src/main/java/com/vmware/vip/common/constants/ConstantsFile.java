@@ -32,4 +32,6 @@ public class ConstantsFile {
     
     public static final String WHITE_LIST_FILE = "bundle.json";
 
+    public static final String PRODUCT_MANIFEST = "manifest.json";
+
 }
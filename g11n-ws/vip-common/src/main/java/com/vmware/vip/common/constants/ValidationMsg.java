@@ -21,6 +21,8 @@ public final class ValidationMsg {
 	public final static String PSEUDO_NOT_VALIDE = "Incorrect pseudo(only allows true, false)";
 	public final static String NUMBER_NOT_VALIDE = "Incorrect number";
 	public final static String SCALE_NOT_VALIDE = "Scale is empty or scale < 0";
+	public final static String LONGDATE_NOT_VALIDE = "Incorrect longDate(only allows digits)";
+	public final static String BATCH_SIZE_NOT_VALIDE = "The batch is empty or has more than %d items";
 	public final static String SOURCEFORMAT_NOT_VALIDE = "Incorrect sourceformat(only allows letter and number)";
 	public final static String INVALID_URL = "Invalid URL or no mapping resources";
 	public final static String PATTERN_NOT_VALIDE = "Incorrect pattern(only allows letter)";
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.common.i18n.dto;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.vip.common.constants.ConstantsChar;
+import com.vmware.vip.common.constants.ConstantsFile;
+import com.vmware.vip.common.constants.ConstantsUnicode;
+
+/**
+ * This class represents the manifest of a product version, it lists the
+ * bundle files of every component and locale with their sizes and ETags, so
+ * the components and the locales are got by reading one file instead of
+ * listing the version's dir.
+ */
+public class ProductManifestDTO implements Serializable {
+
+	private static final long serialVersionUID = -2415393880371928731L;
+
+	// component -> locale -> bundle file
+	private Map<String, Map<String, BundleDTO>> components = new TreeMap<String, Map<String, BundleDTO>>();
+
+	public Map<String, Map<String, BundleDTO>> getComponents() {
+		return components;
+	}
+
+	public void setComponents(Map<String, Map<String, BundleDTO>> components) {
+		this.components = components == null ? new TreeMap<String, Map<String, BundleDTO>>()
+				: new TreeMap<String, Map<String, BundleDTO>>(components);
+	}
+
+	/**
+	 * Add or update a bundle file
+	 *
+	 * @param path the path of the file under the version's dir, e.g.
+	 *             component/messages_de.json
+	 * @param size the size of the file
+	 * @param etag the ETag of the file
+	 * @return false if the path isn't a bundle file
+	 */
+	public boolean putBundleFile(String path, long size, String etag) {
+		String[] names = path.split(ConstantsChar.BACKSLASH);
+		if (names.length != 2) {
+			return false;
+		}
+		String locale = getLocaleByFileName(names[1]);
+		if (locale == null) {
+			return false;
+		}
+		components.computeIfAbsent(names[0], k -> new TreeMap<String, BundleDTO>())
+				.put(locale, new BundleDTO(size, etag));
+		return true;
+	}
+
+	@JsonIgnore
+	public List<String> getComponentList() {
+		return new ArrayList<String>(components.keySet());
+	}
+
+	@JsonIgnore
+	public List<String> getLocaleList() {
+		Set<String> locales = new TreeSet<String>();
+		for (Map<String, BundleDTO> bundles : components.values()) {
+			locales.addAll(bundles.keySet());
+		}
+		return new ArrayList<String>(locales);
+	}
+
+	public String toPrettyString() throws JsonProcessingException {
+		return new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsString(this);
+	}
+
+	/**
+	 * Get the manifest from one JSON string
+	 *
+	 * @param jsonStr the content of a manifest file
+	 * @return ProductManifestDTO
+	 */
+	public static ProductManifestDTO getProductManifestDTO(String jsonStr) throws IOException {
+		return new ObjectMapper().readValue(jsonStr, ProductManifestDTO.class);
+	}
+
+	/*
+	 * get the locale of a bundle file, e.g. de of messages_de.json and en of
+	 * messages.json, null if it isn't a bundle file
+	 */
+	private static String getLocaleByFileName(String fileName) {
+		if (!fileName.startsWith(ConstantsFile.LOCAL_FILE_SUFFIX)
+				|| !fileName.endsWith(ConstantsFile.FILE_TPYE_JSON)) {
+			return null;
+		}
+		String locale = fileName.substring(ConstantsFile.LOCAL_FILE_SUFFIX.length(),
+				fileName.length() - ConstantsFile.FILE_TPYE_JSON.length());
+		if (locale.isEmpty()) {
+			return ConstantsUnicode.EN;
+		}
+		return locale.startsWith(ConstantsChar.UNDERLINE) ? locale.substring(1) : null;
+	}
+
+	/**
+	 * A bundle file of the manifest
+	 */
+	public static class BundleDTO implements Serializable {
+
+		private static final long serialVersionUID = 4427213462913393722L;
+
+		private long size;
+
+		private String etag;
+
+		public BundleDTO() {
+		}
+
+		public BundleDTO(long size, String etag) {
+			this.size = size;
+			this.etag = etag;
+		}
+
+		public long getSize() {
+			return size;
+		}
+
+		public void setSize(long size) {
+			this.size = size;
+		}
+
+		public String getEtag() {
+			return etag;
+		}
+
+		public void setEtag(String etag) {
+			this.etag = etag;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.common.i18n.dto;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.util.IOUtils;
+import com.vmware.vip.common.constants.ConstantsFile;
+
+/**
+ * This class writes the manifests of the product versions in S3, it's used by
+ * all the writers of the S3 bundles, so they update the manifests in the same
+ * way.
+ * <p>
+ * A manifest is put on the condition that it isn't changed since it's read
+ * (If-Match), or that it still doesn't exist when it's created from the
+ * listing of the version (If-None-Match), so a change of another writer is
+ * read again instead of being overwritten. The writers of a version in one
+ * service take turns. If a manifest can't be updated, it's deleted, so the
+ * next reader rebuilds it from the listing instead of missing the bundle.
+ */
+public class ProductManifestWriter {
+
+	private static Logger logger = LoggerFactory.getLogger(ProductManifestWriter.class);
+
+	private static final int NOT_FOUND = 404;
+	private static final int CONFLICT = 409;
+	private static final int PRECONDITION_FAILED = 412;
+	private static final String IF_MATCH = "If-Match";
+	private static final String IF_NONE_MATCH = "If-None-Match";
+	private static final int MANIFEST_PUT_ATTEMPTS = 5;
+
+	private final Supplier<AmazonS3> s3Client;
+
+	private final String bucketName;
+
+	// product version path -> the lock of its manifest writers in this service
+	private final Map<String, Object> manifestLocks = new ConcurrentHashMap<String, Object>();
+
+	/**
+	 * @param s3Client   get the S3 client, it may be created after this writer
+	 * @param bucketName the bucket of the bundles
+	 */
+	public ProductManifestWriter(Supplier<AmazonS3> s3Client, String bucketName) {
+		this.s3Client = s3Client;
+		this.bucketName = bucketName;
+	}
+
+	/**
+	 * Add or update a bundle in the manifest of its product version, the
+	 * manifest is created from the listing of the version if it doesn't exist.
+	 *
+	 * @param versionPath the S3 key prefix of the version, e.g. l10n/bundles/product/1.0.0/
+	 * @param bundlePath  the path of the bundle under the version, e.g. component/messages_de.json
+	 * @param size        the size of the bundle
+	 * @param etag        the ETag of the bundle
+	 * @return false if the manifest can't be updated, it's deleted then
+	 */
+	public boolean putBundle(String versionPath, String bundlePath, long size, String etag) {
+		String manifestPath = versionPath + ConstantsFile.PRODUCT_MANIFEST;
+		synchronized (manifestLocks.computeIfAbsent(versionPath, k -> new Object())) {
+			try {
+				for (int attempt = 0; attempt < MANIFEST_PUT_ATTEMPTS; attempt++) {
+					if (putBundleFile(versionPath, bundlePath, size, etag)) {
+						return true;
+					}
+					logger.debug("{} is changed by another writer, it's read again.", manifestPath);
+				}
+				logger.error("{} is changed by other writers in {} attempts.", manifestPath, MANIFEST_PUT_ATTEMPTS);
+			} catch (IOException | SdkClientException e) {
+				logger.error("failed to update " + manifestPath + ".", e);
+			}
+			deleteManifest(versionPath);
+			return false;
+		}
+	}
+
+	/**
+	 * Create the manifest of a product version from its listing, unless a
+	 * writer has created it after the listing.
+	 *
+	 * @param versionPath the S3 key prefix of the version
+	 * @return the manifest of the listing
+	 */
+	public ProductManifestDTO createManifest(String versionPath) {
+		String manifestPath = versionPath + ConstantsFile.PRODUCT_MANIFEST;
+		ProductManifestDTO manifest = listManifest(versionPath);
+		try {
+			if (!putManifest(manifestPath, manifest, null)) {
+				logger.debug("{} is created by a writer.", manifestPath);
+			}
+		} catch (IOException | SdkClientException e) {
+			logger.warn("failed to create " + manifestPath + ".", e);
+		}
+		return manifest;
+	}
+
+	/**
+	 * Delete the manifest of a product version, it's rebuilt from the listing
+	 * by the next reader.
+	 *
+	 * @param versionPath the S3 key prefix of the version
+	 */
+	public void deleteManifest(String versionPath) {
+		String manifestPath = versionPath + ConstantsFile.PRODUCT_MANIFEST;
+		try {
+			s3Client.get().deleteObject(bucketName, manifestPath);
+			logger.warn("{} is deleted, it's rebuilt by the next reader.", manifestPath);
+		} catch (SdkClientException e) {
+			logger.error("failed to delete " + manifestPath + ".", e);
+		}
+	}
+
+	/**
+	 * Get the manifest of a product version from the listing of its bundles,
+	 * following all the pages of the listing.
+	 *
+	 * @param versionPath the S3 key prefix of the version
+	 * @return ProductManifestDTO
+	 */
+	public ProductManifestDTO listManifest(String versionPath) {
+		ProductManifestDTO manifest = new ProductManifestDTO();
+		ListObjectsV2Request req = new ListObjectsV2Request().withBucketName(bucketName).withPrefix(versionPath);
+		ListObjectsV2Result result;
+		do {
+			result = s3Client.get().listObjectsV2(req);
+			for (S3ObjectSummary oSy : result.getObjectSummaries()) {
+				manifest.putBundleFile(oSy.getKey().substring(versionPath.length()), oSy.getSize(), oSy.getETag());
+			}
+			req.setContinuationToken(result.getNextContinuationToken());
+		} while (result.isTruncated());
+		return manifest;
+	}
+
+	/*
+	 * add a bundle to the manifest, the manifest is put if it isn't changed
+	 * after it's read, or if it still doesn't exist when it's created
+	 *
+	 * @return false if the manifest is changed by another writer
+	 */
+	private boolean putBundleFile(String versionPath, String bundlePath, long size, String etag) throws IOException {
+		String manifestPath = versionPath + ConstantsFile.PRODUCT_MANIFEST;
+		S3Object object = null;
+		try {
+			object = s3Client.get().getObject(new GetObjectRequest(bucketName, manifestPath));
+		} catch (AmazonServiceException e) {
+			if (e.getStatusCode() != NOT_FOUND) {
+				throw e;
+			}
+		}
+		if (object == null) {
+			// the listing has the bundle, it's put before
+			return putManifest(manifestPath, listManifest(versionPath), null);
+		}
+		ProductManifestDTO manifest;
+		try (S3ObjectInputStream content = object.getObjectContent()) {
+			manifest = ProductManifestDTO.getProductManifestDTO(IOUtils.toString(content));
+		}
+		manifest.putBundleFile(bundlePath, size, etag);
+		return putManifest(manifestPath, manifest, object.getObjectMetadata().getETag());
+	}
+
+	/*
+	 * put a manifest if the one in S3 still has the given ETag, or if there is
+	 * none when the ETag is null
+	 *
+	 * @return false if the manifest is changed by another writer
+	 */
+	private boolean putManifest(String manifestPath, ProductManifestDTO manifest, String etag) throws IOException {
+		byte[] content = manifest.toPrettyString().getBytes(StandardCharsets.UTF_8);
+		ObjectMetadata metadata = new ObjectMetadata();
+		metadata.setContentLength(content.length);
+		PutObjectRequest request = new PutObjectRequest(bucketName, manifestPath, new ByteArrayInputStream(content),
+				metadata);
+		if (etag == null) {
+			request.putCustomRequestHeader(IF_NONE_MATCH, "*");
+		} else {
+			request.putCustomRequestHeader(IF_MATCH, '"' + etag + '"');
+		}
+		try {
+			s3Client.get().putObject(request);
+			return true;
+		} catch (AmazonServiceException e) {
+			// a concurrent conditional put is answered 409
+			if (e.getStatusCode() == PRECONDITION_FAILED || e.getStatusCode() == CONFLICT) {
+				return false;
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.common.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+/**
+ * This class holds a JSON value which has been encoded to UTF-8 bytes in
+ * advance.
+ * <p>
+ * When it's written through a UTF-8 JSON generator (wrapped by
+ * {@link #toRawValue()}), the bytes are copied to the output as they are, so
+ * the value is never serialized again.
+ */
+public final class PreEncodedJson implements SerializableString, Serializable {
+
+	private static final long serialVersionUID = -3457204906307553811L;
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final byte[] utf8;
+
+	// decoded lazily, only needed by char based generators
+	private transient volatile String value;
+
+	private PreEncodedJson(byte[] utf8) {
+		this.utf8 = utf8;
+	}
+
+	/**
+	 * Serialize an object to JSON once and keep the UTF-8 bytes.
+	 *
+	 * @param object the object to serialize, e.g. a messages map
+	 * @return the pre-encoded JSON
+	 * @throws IOException
+	 */
+	public static PreEncodedJson of(Object object) throws IOException {
+		return new PreEncodedJson(MAPPER.writeValueAsBytes(object));
+	}
+
+	/**
+	 * Wrap the pre-encoded JSON so that Jackson writes it as a raw value.
+	 */
+	public RawValue toRawValue() {
+		return new RawValue(this);
+	}
+
+	/**
+	 * Get the size of the encoded JSON in bytes.
+	 */
+	public int byteLength() {
+		return utf8.length;
+	}
+
+	@Override
+	public String getValue() {
+		String str = value;
+		if (str == null) {
+			str = new String(utf8, StandardCharsets.UTF_8);
+			value = str;
+		}
+		return str;
+	}
+
+	@Override
+	public int charLength() {
+		return getValue().length();
+	}
+
+	@Override
+	public char[] asQuotedChars() {
+		return JsonStringEncoder.getInstance().quoteAsString(getValue());
+	}
+
+	@Override
+	public byte[] asUnquotedUTF8() {
+		return utf8;
+	}
+
+	@Override
+	public byte[] asQuotedUTF8() {
+		return JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+	}
+
+	@Override
+	public int appendQuotedUTF8(byte[] buffer, int offset) {
+		return append(asQuotedUTF8(), buffer, offset);
+	}
+
+	@Override
+	public int appendQuoted(char[] buffer, int offset) {
+		char[] quoted = asQuotedChars();
+		if (offset + quoted.length > buffer.length) {
+			return -1;
+		}
+		System.arraycopy(quoted, 0, buffer, offset, quoted.length);
+		return quoted.length;
+	}
+
+	@Override
+	public int appendUnquotedUTF8(byte[] buffer, int offset) {
+		return append(utf8, buffer, offset);
+	}
+
+	@Override
+	public int appendUnquoted(char[] buffer, int offset) {
+		String str = getValue();
+		int length = str.length();
+		if (offset + length > buffer.length) {
+			return -1;
+		}
+		str.getChars(0, length, buffer, offset);
+		return length;
+	}
+
+	@Override
+	public int writeQuotedUTF8(OutputStream out) throws IOException {
+		byte[] quoted = asQuotedUTF8();
+		out.write(quoted);
+		return quoted.length;
+	}
+
+	@Override
+	public int writeUnquotedUTF8(OutputStream out) throws IOException {
+		out.write(utf8);
+		return utf8.length;
+	}
+
+	@Override
+	public int putQuotedUTF8(ByteBuffer buffer) {
+		return put(asQuotedUTF8(), buffer);
+	}
+
+	@Override
+	public int putUnquotedUTF8(ByteBuffer buffer) {
+		return put(utf8, buffer);
+	}
+
+	@Override
+	public String toString() {
+		return getValue();
+	}
+
+	private static int append(byte[] src, byte[] buffer, int offset) {
+		if (offset + src.length > buffer.length) {
+			return -1;
+		}
+		System.arraycopy(src, 0, buffer, offset, src.length);
+		return src.length;
+	}
+
+	private static int put(byte[] src, ByteBuffer buffer) {
+		if (src.length > buffer.remaining()) {
+			return -1;
+		}
+		buffer.put(src);
+		return src.length;
+	}
+}
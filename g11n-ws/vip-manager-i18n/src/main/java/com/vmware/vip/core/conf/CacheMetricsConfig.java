@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.core.conf;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.vmware.vip.common.cache.CacheName;
+import com.vmware.vip.common.cache.SingleFlightLoader;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * this is used to expose the cache load metrics
+ *
+ */
+@Configuration
+public class CacheMetricsConfig {
+
+	/**
+	 * the number of cache loads run by a leader and of the loads coalesced
+	 * into a leader's load, e.g. vip.cache.loads{cache=ONECOMPONENT,type=coalesced}
+	 */
+	@Bean
+	public MeterBinder cacheLoadMetrics() {
+		return registry -> {
+			for (CacheName cachename : new CacheName[] { CacheName.ONECOMPONENT, CacheName.MULTCOMPONENT,
+					CacheName.PATTERN }) {
+				FunctionCounter.builder("vip.cache.loads", cachename, SingleFlightLoader::getLeaderLoads)
+						.tag("cache", cachename.toString()).tag("type", "leader").register(registry);
+				FunctionCounter.builder("vip.cache.loads", cachename, SingleFlightLoader::getCoalescedLoads)
+						.tag("cache", cachename.toString()).tag("type", "coalesced").register(registry);
+			}
+		};
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.l2.service.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vmware.i18n.l2.service.pattern.IPatternService;
+import com.vmware.vip.common.cache.CacheName;
+import com.vmware.vip.common.cache.HotKeyLog;
+import com.vmware.vip.common.cache.HotKeyLog.HotKey;
+import com.vmware.vip.core.messages.service.singlecomponent.IOneComponentService;
+
+public class CacheWarmUpServiceTest {
+
+	private File dataDir;
+
+	// the loads done by the warm-up, the translation key parts or the pattern locale
+	private final List<String> loads = Collections.synchronizedList(new ArrayList<>());
+
+	@Before
+	public void setUp() throws IOException {
+		dataDir = Files.createTempDirectory("warmup").toFile();
+		HotKeyLog.clear();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		HotKeyLog.clear();
+		FileUtils.deleteDirectory(dataDir);
+	}
+
+	@Test
+	public void testRelativeFileIsInDataDir() {
+		CacheWarmUpService service = newService();
+		Assert.assertEquals(new File(dataDir, "hotkeys.json"), service.getHotKeysFile());
+
+		File absolute = new File(dataDir, "other/keys.json").getAbsoluteFile();
+		service.hotKeysFile = absolute.getPath();
+		Assert.assertEquals(absolute, service.getHotKeysFile());
+	}
+
+	@Test
+	public void testSaveAndLoadHotKeys() {
+		record(CacheName.ONECOMPONENT, 3, "p1", "1.0.0", "c1", "de");
+		record(CacheName.ONECOMPONENT, 1, "p1", "1.0.0", "c2", "fr");
+		record(CacheName.PATTERN, 2, "ja");
+
+		// what the scheduled and the pre-destroy saves do
+		newService().saveHotKeys();
+		Assert.assertTrue(new File(dataDir, "hotkeys.json").isFile());
+
+		// the next run loads the saved keys without recording them again
+		HotKeyLog.clear();
+		newService().onBundleReady();
+		Assert.assertEquals(Arrays.asList("ja", "p1/1.0.0/c1/de", "p1/1.0.0/c2/fr"), sorted(loads));
+		Assert.assertFalse(new File(dataDir, "hotkeys.json.tmp").exists());
+
+		loads.clear();
+		newService().saveHotKeys();
+		newService().onBundleReady();
+		Assert.assertEquals("the warm-up loads shouldn't replace the saved keys", 3, loads.size());
+	}
+
+	@Test
+	public void testTopHotKeysAreSaved() throws IOException {
+		for (int i = 0; i < 10; i++) {
+			record(CacheName.ONECOMPONENT, i + 1, "p1", "1.0.0", "c" + i, "de");
+			record(CacheName.PATTERN, 20 - i, "l" + i);
+		}
+		CacheWarmUpService service = newService();
+		service.hotKeysTop = 3;
+		service.saveHotKeys();
+
+		List<HotKey> hotKeys = HotKeyLog.load(service.getHotKeysFile());
+		Map<String, List<String>> byCache = new ConcurrentHashMap<>();
+		for (HotKey hotKey : hotKeys) {
+			byCache.computeIfAbsent(hotKey.getCache(), k -> new ArrayList<>()).add(String.join("/", hotKey.getParts()));
+		}
+		Assert.assertEquals(Arrays.asList("p1/1.0.0/c9/de", "p1/1.0.0/c8/de", "p1/1.0.0/c7/de"),
+				byCache.get(CacheName.ONECOMPONENT.name()));
+		Assert.assertEquals(Arrays.asList("l0", "l1", "l2"), byCache.get(CacheName.PATTERN.name()));
+
+		service.onBundleReady();
+		Assert.assertEquals(6, loads.size());
+	}
+
+	@Test
+	public void testNothingIsSavedWhenDisabled() {
+		record(CacheName.PATTERN, 1, "ja");
+		CacheWarmUpService service = newService();
+		service.enable = false;
+		service.saveHotKeys();
+		Assert.assertFalse(service.getHotKeysFile().exists());
+	}
+
+	private static void record(CacheName cacheName, int hits, String... parts) {
+		for (int i = 0; i < hits; i++) {
+			HotKeyLog.record(cacheName, String.join("-", parts), parts);
+		}
+	}
+
+	private static List<String> sorted(List<String> list) {
+		List<String> copy = new ArrayList<>(list);
+		Collections.sort(copy);
+		return copy;
+	}
+
+	private CacheWarmUpService newService() {
+		IOneComponentService oneComponentService = (IOneComponentService) Proxy.newProxyInstance(
+				getClass().getClassLoader(), new Class<?>[] { IOneComponentService.class }, (proxy, method, args) -> {
+					if ("getCachedComponentTranslation".equals(method.getName())) {
+						loads.add(args[0] + "/" + args[1] + "/" + args[2] + "/" + args[3]);
+						HotKeyLog.record(CacheName.ONECOMPONENT, "loaded-" + args[2], (String) args[0],
+								(String) args[1], (String) args[2], (String) args[3]);
+					}
+					return null;
+				});
+		IPatternService patternService = (IPatternService) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { IPatternService.class }, (proxy, method, args) -> {
+					if ("getPattern".equals(method.getName())) {
+						loads.add((String) args[0]);
+						HotKeyLog.record(CacheName.PATTERN, "loaded-" + args[0], (String) args[0]);
+					}
+					return null;
+				});
+		CacheWarmUpService service = new CacheWarmUpService(null, oneComponentService, patternService);
+		service.enable = true;
+		service.products = "";
+		service.dataDir = dataDir.getPath();
+		service.hotKeysFile = "hotkeys.json";
+		service.hotKeysTop = 500;
+		service.concurrency = 2;
+		service.timeoutSeconds = 30;
+		return service;
+	}
+}
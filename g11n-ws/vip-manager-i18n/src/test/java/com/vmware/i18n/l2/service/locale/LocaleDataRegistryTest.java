@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.i18n.l2.service.locale;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocaleDataRegistryTest {
+
+	// the preload is disabled without Spring, so the data is loaded on its first use
+	private final LocaleDataRegistry registry = new LocaleDataRegistry();
+
+	@Test
+	public void testMixedCaseLanguageIsFound() {
+		Map<String, String> languages = registry.getLanguages("zh-hans");
+		Assert.assertNotNull(languages);
+		Assert.assertSame(languages, registry.getLanguages("zh-Hans"));
+		Assert.assertSame(languages, registry.getLanguages("ZH-HANS"));
+		Assert.assertSame(languages, registry.getLanguages("zh_Hans"));
+
+		TerritoryDTO territory = registry.getTerritory("fr");
+		Assert.assertNotNull(territory.getTerritories());
+		Assert.assertSame(territory, registry.getTerritory("FR"));
+	}
+
+	@Test
+	public void testUnknownLanguageIsNotFound() {
+		Assert.assertNull(registry.getLanguages("xx"));
+		Assert.assertNull(registry.getLanguageContextTransforms("xx"));
+		Assert.assertNull(registry.getTerritory("xx").getTerritories());
+	}
+}
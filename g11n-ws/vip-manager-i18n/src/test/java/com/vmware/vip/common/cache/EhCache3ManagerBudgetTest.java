@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EhCache3ManagerBudgetTest {
+
+	private static final long KB = 1024L;
+	private static final long MB = KB * 1024;
+	private static final long GB = MB * 1024;
+
+	@Test
+	public void testParseBudgetUnits() {
+		Assert.assertEquals(512 * MB, EhCache3Manager.parseBudget("512MB"));
+		Assert.assertEquals(512 * MB, EhCache3Manager.parseBudget(" 512 mb "));
+		Assert.assertEquals(2 * GB, EhCache3Manager.parseBudget("2GB"));
+		Assert.assertEquals(64 * KB, EhCache3Manager.parseBudget("64kb"));
+		Assert.assertEquals(100, EhCache3Manager.parseBudget("100B"));
+		Assert.assertEquals(4096, EhCache3Manager.parseBudget("4096"));
+	}
+
+	@Test
+	public void testParseBudgetPercent() {
+		long maxMemory = Runtime.getRuntime().maxMemory();
+		Assert.assertEquals((long) (maxMemory * 30.0 / 100), EhCache3Manager.parseBudget("30%"));
+		Assert.assertEquals((long) (maxMemory * 12.5 / 100), EhCache3Manager.parseBudget("12.5 %"));
+		Assert.assertEquals(0, EhCache3Manager.parseBudget("150%"));
+	}
+
+	@Test
+	public void testParseInvalidBudget() {
+		Assert.assertEquals(0, EhCache3Manager.parseBudget(null));
+		Assert.assertEquals(0, EhCache3Manager.parseBudget(""));
+		Assert.assertEquals(0, EhCache3Manager.parseBudget("  "));
+		Assert.assertEquals(0, EhCache3Manager.parseBudget("1.5GB"));
+		Assert.assertEquals(0, EhCache3Manager.parseBudget("MB"));
+		Assert.assertEquals(0, EhCache3Manager.parseBudget("512TB"));
+		Assert.assertEquals(0, EhCache3Manager.parseBudget("lots"));
+		Assert.assertEquals(0, EhCache3Manager.parseBudget("-5MB"));
+		Assert.assertEquals(0, EhCache3Manager.parseBudget("-1"));
+		Assert.assertEquals(0, EhCache3Manager.parseBudget("0"));
+	}
+
+	@Test
+	public void testParseShares() {
+		Map<String, Integer> expected = new LinkedHashMap<>();
+		expected.put("ONECOMPONENT", 40);
+		expected.put("MULTCOMPONENT", 20);
+		Assert.assertEquals(expected, EhCache3Manager.parseShares("ONECOMPONENT:40, MULTCOMPONENT : 20"));
+	}
+
+	@Test
+	public void testParseMalformedShares() {
+		Map<String, Integer> expected = new LinkedHashMap<>();
+		expected.put("PATTERN", 10);
+		// no weight, no name, too many parts, not a number, not positive and empty shares are skipped
+		Assert.assertEquals(expected, EhCache3Manager.parseShares(
+				"ONECOMPONENT,:30,MULTCOMPONENT:1:2,COMPONENTSNAPSHOT:x,MT:0,MTSOURCE:-5,,PATTERN:10"));
+		Assert.assertTrue(EhCache3Manager.parseShares("").isEmpty());
+		Assert.assertTrue(EhCache3Manager.parseShares("garbage").isEmpty());
+	}
+
+	@Test
+	public void testSplitBudget() {
+		Map<String, Long> sizes = EhCache3Manager.splitBudget(1000 * MB,
+				EhCache3Manager.parseShares("ONECOMPONENT:40,COMPONENTSNAPSHOT:30,MULTCOMPONENT:20,PATTERN:10"));
+		Assert.assertEquals(Long.valueOf(400 * MB), sizes.get("ONECOMPONENT"));
+		Assert.assertEquals(Long.valueOf(300 * MB), sizes.get("COMPONENTSNAPSHOT"));
+		Assert.assertEquals(Long.valueOf(200 * MB), sizes.get("MULTCOMPONENT"));
+		Assert.assertEquals(Long.valueOf(100 * MB), sizes.get("PATTERN"));
+	}
+
+	@Test
+	public void testSplitBudgetByWeights() {
+		// the shares don't sum to 100, they are weights of the budget
+		Map<String, Long> sizes = EhCache3Manager.splitBudget(900, EhCache3Manager.parseShares("ONECOMPONENT:2,PATTERN:1"));
+		Assert.assertEquals(Long.valueOf(600), sizes.get("ONECOMPONENT"));
+		Assert.assertEquals(Long.valueOf(300), sizes.get("PATTERN"));
+
+		sizes = EhCache3Manager.splitBudget(1000, EhCache3Manager.parseShares("ONECOMPONENT:70,PATTERN:80"));
+		Assert.assertEquals(Long.valueOf(466), sizes.get("ONECOMPONENT"));
+		Assert.assertEquals(Long.valueOf(533), sizes.get("PATTERN"));
+		long total = sizes.values().stream().mapToLong(Long::longValue).sum();
+		Assert.assertTrue(total <= 1000);
+
+		Assert.assertTrue(EhCache3Manager.splitBudget(1000, new LinkedHashMap<>()).isEmpty());
+	}
+}
@@ -25,6 +25,8 @@ public class ConstantsForTest {
     public static final String AuthenticationAPIURI = "/i18n/api/v1/security/authentication?productName=vCG&version=2.0.0&userID=huihuiw&key=F8D2B8303C2D1AD63A334ECB3B53572565BD9AB5573B0FE817E4C51276215B77";
 
     public static final String DateAPIURI = "/i18n/api/v1/date/localizedDate?longDate=1467185266089&locale=fr_FR&pattern=yMMMM";
+    public static final String DatesAPIURI = "/i18n/api/v1/date/localizedDates?locale=fr_FR";
+    public static final String DatesAPIJson = "[{\"longDate\":\"1467185266089\",\"pattern\":\"yMMMM\"},{\"longDate\":\"1467185266089\",\"pattern\":\"MMMd\"},{\"longDate\":\"1472728030290\",\"pattern\":\"yMMMM\"}]";
 
     public static final String BrowserLocaleAPIURI = "/i18n/api/v1/locale/browserLocale";
     public static final String NormalizedBrowserLocaleAPIURI = "/i18n/api/v1/locale/normalizedBrowserLocale";
@@ -4,6 +4,10 @@
  */
 package com.vmware.vip.i18n.api.v1.date;
 
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -13,6 +17,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.web.context.WebApplicationContext;
 
 import com.vmware.vip.BootApplication;
+import com.vmware.vip.common.utils.JSONUtils;
 import com.vmware.vip.i18n.api.v1.common.CacheUtil;
 import com.vmware.vip.i18n.api.v1.common.ConstantsForTest;
 import com.vmware.vip.i18n.api.v1.common.RequestUtil;
@@ -25,6 +30,10 @@ import com.vmware.vip.i18n.api.v1.common.RequestUtil;
 @SpringBootTest(classes = BootApplication.class)
 public class DateAPITest {
 
+    // the dates of ConstantsForTest.DatesAPIJson formatted in fr_FR
+    private static final String[][] FORMATTED_DATES = { { "1467185266089", "yMMMM", "2016juin" },
+            { "1467185266089", "MMMd", "juin29" }, { "1472728030290", "yMMMM", "2016septembre" } };
+
     @Autowired
     private WebApplicationContext webApplicationContext;
     
@@ -39,4 +48,54 @@ public class DateAPITest {
         RequestUtil.sendRequest(webApplicationContext,ConstantsForTest.GET, ConstantsForTest.DateAPIURI);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLocalizedDateAPIResult() throws Exception {
+        String json = RequestUtil.sendRequest(webApplicationContext,ConstantsForTest.GET, ConstantsForTest.DateAPIURI);
+        Map<String, Object> result = JSONUtils.getMapFromJson(json);
+        assertOK(result);
+        Map<String, Object> data = (Map<String, Object>) result.get("data");
+        Assert.assertEquals("2016juin", data.get("formattedDate"));
+        Assert.assertEquals("fr_FR", data.get("locale"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLocalizedDatesAPI() throws Exception {
+        String json = RequestUtil.sendRequest(webApplicationContext,ConstantsForTest.POST, ConstantsForTest.DatesAPIURI, ConstantsForTest.DatesAPIJson);
+        Map<String, Object> result = JSONUtils.getMapFromJson(json);
+        assertOK(result);
+        List<Map<String, Object>> items = (List<Map<String, Object>>) result.get("data");
+        Assert.assertEquals(FORMATTED_DATES.length, items.size());
+        for (int i = 0; i < FORMATTED_DATES.length; i++) {
+            Map<String, Object> item = items.get(i);
+            // the items are answered in the order of the request
+            Assert.assertEquals(FORMATTED_DATES[i][0], item.get("longDate"));
+            Assert.assertEquals(FORMATTED_DATES[i][1], item.get("pattern"));
+            Assert.assertEquals(FORMATTED_DATES[i][2], item.get("formattedDate"));
+
+            // the batch result is the same as the single one
+            String singleJson = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.GET,
+                    "/i18n/api/v1/date/localizedDate?locale=fr_FR&longDate=" + FORMATTED_DATES[i][0] + "&pattern="
+                            + FORMATTED_DATES[i][1]);
+            Map<String, Object> single = (Map<String, Object>) JSONUtils.getMapFromJson(singleJson).get("data");
+            Assert.assertEquals(single.get("formattedDate"), item.get("formattedDate"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLocalizedDatesAPIRejectsInvalidDate() throws Exception {
+        String json = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.POST,
+                ConstantsForTest.DatesAPIURI, "[{\"longDate\":\"abc\",\"pattern\":\"yMMMM\"}]");
+        Map<String, Object> response = (Map<String, Object>) JSONUtils.getMapFromJson(json).get("response");
+        Assert.assertEquals(400L, ((Number) response.get("code")).longValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertOK(Map<String, Object> result) {
+        Map<String, Object> response = (Map<String, Object>) result.get("response");
+        Assert.assertEquals(200L, ((Number) response.get("code")).longValue());
+    }
+
 }
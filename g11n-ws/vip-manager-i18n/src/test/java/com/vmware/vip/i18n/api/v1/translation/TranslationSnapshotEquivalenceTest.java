@@ -0,0 +1,273 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.api.v1.translation;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.json.simple.JSONObject;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.vip.BootApplication;
+import com.vmware.vip.common.cache.CacheName;
+import com.vmware.vip.common.cache.CachedKeyGetter;
+import com.vmware.vip.common.cache.TranslationCache3;
+import com.vmware.vip.common.constants.ConstantsFile;
+import com.vmware.vip.common.constants.ConstantsKeys;
+import com.vmware.vip.core.messages.service.multcomponent.IMultComponentService;
+import com.vmware.vip.core.messages.service.multcomponent.TranslationDTO;
+import com.vmware.vip.core.messages.service.singlecomponent.ComponentMessagesDTO;
+import com.vmware.vip.core.messages.service.singlecomponent.ComponentSnapshot;
+import com.vmware.vip.core.messages.service.singlecomponent.IOneComponentService;
+import com.vmware.vip.i18n.api.v1.common.CacheUtil;
+import com.vmware.vip.i18n.api.v1.common.ConstantsForTest;
+import com.vmware.vip.i18n.api.v1.common.RequestUtil;
+
+/**
+ * The single component translation is served from a pre-encoded snapshot and
+ * the partial multiple components translation from the per-component cache,
+ * the responses must be the same as the ones built by the old paths.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = BootApplication.class)
+public class TranslationSnapshotEquivalenceTest {
+
+    private static final String PRODUCT = "SNAPSHOTEQ";
+    private static final String VERSION = "1.0.0";
+    private static final List<String> COMPONENTS = Arrays.asList("comp1", "comp2");
+    private static final List<String> LOCALES = Arrays.asList("en", "de");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // the messages need escaping, non-ASCII characters and keys not in order
+    private static final String[][] MESSAGES = {
+            { "zeta.quote", "Say \\\"hello\\\" to {0}" },
+            { "alpha.path", "C:\\\\temp\\\\{0}" },
+            { "mid.lines", "first line\\nsecond line\\ttabbed" },
+            { "html", "</script><b>bold</b> & more" },
+            { "unicode", "Größe ändern – 日本語 \\u00e9 \\ud83d\\ude00" } };
+
+    private static final String productPath = "." + File.separator + ConstantsFile.L10N_BUNDLES_PATH + PRODUCT
+            + File.separator;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private IOneComponentService oneComponentService;
+
+    @Autowired
+    private IMultComponentService multComponentService;
+
+    @Before
+    public void setup() throws Exception {
+        String authenticationResult = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.POST,
+                ConstantsForTest.AuthenticationAPIURI);
+        CacheUtil.cacheSessionAndToken(webApplicationContext, authenticationResult);
+        for (String component : COMPONENTS) {
+            for (String locale : LOCALES) {
+                FileUtils.write(new File(getBundlePath(component, locale)), getBundle(component, locale), "UTF-8",
+                        false);
+            }
+            FileUtils.write(new File(getBundlePath(component, ConstantsKeys.LATEST)),
+                    getBundle(component, ConstantsKeys.LATEST), "UTF-8", false);
+        }
+        clearCaches();
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        clearCaches();
+        FileUtils.deleteDirectory(new File(productPath));
+    }
+
+    @Test
+    public void testSnapshotIsSameAsMessagesMap() throws Exception {
+        // the first round is read from the bundles, the second one from the caches
+        for (int round = 0; round < 2; round++) {
+            for (String component : COMPONENTS) {
+                for (String locale : LOCALES) {
+                    ComponentMessagesDTO old = oneComponentService
+                            .getComponentTranslation(newComponentMessagesDTO(component, locale));
+                    ComponentMessagesDTO snapshot = oneComponentService
+                            .getComponentTranslationSnapshot(newComponentMessagesDTO(component, locale));
+                    Assert.assertTrue(old.getMessages() instanceof Map);
+                    old.setDataOrigin(snapshot.getDataOrigin());
+                    Assert.assertArrayEquals(component + "/" + locale, MAPPER.writeValueAsBytes(old),
+                            MAPPER.writeValueAsBytes(snapshot));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPseudoSnapshotIsSameAsMessagesMap() throws Exception {
+        ComponentMessagesDTO oldRequest = newComponentMessagesDTO("comp1", "en");
+        oldRequest.setPseudo(true);
+        ComponentMessagesDTO old = oneComponentService.getComponentTranslation(oldRequest);
+        ComponentMessagesDTO snapshotRequest = newComponentMessagesDTO("comp1", "en");
+        snapshotRequest.setPseudo(true);
+        ComponentMessagesDTO snapshot = oneComponentService.getComponentTranslationSnapshot(snapshotRequest);
+        old.setDataOrigin(snapshot.getDataOrigin());
+        Assert.assertArrayEquals(MAPPER.writeValueAsBytes(old), MAPPER.writeValueAsBytes(snapshot));
+    }
+
+    @Test
+    public void testSnapshotDoesNotShareState() throws Exception {
+        ComponentMessagesDTO first = oneComponentService
+                .getComponentTranslationSnapshot(newComponentMessagesDTO("comp1", "de"));
+        first.setComponent("changed");
+        first.setLocale("changed");
+        ComponentMessagesDTO second = oneComponentService
+                .getComponentTranslationSnapshot(newComponentMessagesDTO("comp1", "de"));
+        Assert.assertEquals("comp1", second.getComponent());
+        Assert.assertEquals("de", second.getLocale());
+        Assert.assertEquals(ConstantsKeys.CACHE, second.getDataOrigin());
+        Assert.assertNotNull(TranslationCache3.getCachedObject(CacheName.COMPONENTSNAPSHOT,
+                getCachedKey("comp1", "de"), ComponentSnapshot.class));
+    }
+
+    @Test
+    public void testCachedTranslationIsNotModifiedByReaders() throws Exception {
+        ComponentMessagesDTO loaded = oneComponentService.getCachedComponentTranslation(PRODUCT, VERSION, "comp1",
+                "de");
+        ComponentMessagesDTO cached = oneComponentService.getCachedComponentTranslation(PRODUCT, VERSION, "comp1",
+                "de");
+        Assert.assertEquals(ConstantsKeys.BUNDLE, loaded.getDataOrigin());
+        Assert.assertEquals(ConstantsKeys.CACHE, cached.getDataOrigin());
+        Assert.assertEquals(loaded.getMessages(), cached.getMessages());
+        Assert.assertSame(cached, oneComponentService.getCachedComponentTranslation(PRODUCT, VERSION, "comp1", "de"));
+    }
+
+    @Test
+    public void testSingleComponentAPIs() throws Exception {
+        String v1 = "/i18n/api/v1/translation/product/" + PRODUCT + "/component/comp2?version=" + VERSION
+                + "&locale=de";
+        String v2 = "/i18n/api/v2/translation/products/" + PRODUCT + "/versions/" + VERSION
+                + "/locales/de/components/comp2?checkTranslationStatus=false&machineTranslation=false&pseudo=false";
+        String expected = "\"messages\":" + MAPPER.writeValueAsString(getMessages("comp2", "de"));
+        for (String uri : new String[] { v1, v2, v1, v2 }) {
+            String json = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.GET, uri);
+            Assert.assertEquals(200, MAPPER.readTree(json).get("response").get("code").asInt());
+            Assert.assertTrue(uri, json.contains(expected));
+        }
+    }
+
+    @Test
+    public void testComponentLocaleBundlesAreSameAsMultComponents() throws Exception {
+        for (boolean pseudo : new boolean[] { false, true }) {
+            List<String> locales = pseudo ? Arrays.asList(ConstantsKeys.LATEST) : LOCALES;
+            TranslationDTO old = multComponentService
+                    .getMultiComponentsTranslation(newTranslationDTO(locales, pseudo));
+            Map<String, Map<String, JSONObject>> bundleIndex = multComponentService
+                    .getComponentLocaleBundles(newTranslationDTO(locales, pseudo));
+
+            Assert.assertEquals(COMPONENTS.size() * locales.size(), old.getBundles().size());
+            for (Object obj : old.getBundles()) {
+                JSONObject oldBundle = (JSONObject) obj;
+                String component = (String) oldBundle.get(ConstantsKeys.COMPONENT);
+                String locale = (String) oldBundle.get(ConstantsKeys.lOCALE);
+                JSONObject bundle = bundleIndex.get(component).get(locale);
+                Assert.assertNotNull(component + "/" + locale, bundle);
+                Assert.assertEquals(oldBundle.keySet(), bundle.keySet());
+                // the old messages are parsed into a HashMap, so only the entries are compared
+                Assert.assertEquals(oldBundle.get(ConstantsKeys.MESSAGES), bundle.get(ConstantsKeys.MESSAGES));
+            }
+        }
+    }
+
+    @Test
+    public void testMultComponentsAPI() throws Exception {
+        String uri = "/i18n/api/v2/translation/products/" + PRODUCT + "/versions/" + VERSION
+                + "?locales=en,de&components=comp1,comp2&pseudo=false";
+        for (int round = 0; round < 2; round++) {
+            String json = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.GET, uri);
+            JsonNode root = MAPPER.readTree(json);
+            Assert.assertEquals(200, root.get("response").get("code").asInt());
+            JsonNode bundles = root.get("data").get("bundles");
+            Assert.assertEquals(COMPONENTS.size() * LOCALES.size(), bundles.size());
+            int i = 0;
+            for (String component : COMPONENTS) {
+                for (String locale : LOCALES) {
+                    JsonNode bundle = bundles.get(i++);
+                    Assert.assertEquals(component, bundle.get(ConstantsKeys.COMPONENT).asText());
+                    Assert.assertEquals(locale, bundle.get(ConstantsKeys.lOCALE).asText());
+                    Map<String, String> messages = MAPPER.convertValue(bundle.get(ConstantsKeys.MESSAGES),
+                            new TypeReference<LinkedHashMap<String, String>>() {
+                            });
+                    Assert.assertEquals(getMessages(component, locale), messages);
+                }
+            }
+        }
+    }
+
+    private static ComponentMessagesDTO newComponentMessagesDTO(String component, String locale) {
+        ComponentMessagesDTO dto = new ComponentMessagesDTO();
+        dto.setProductName(PRODUCT);
+        dto.setVersion(VERSION);
+        dto.setComponent(component);
+        dto.setLocale(locale);
+        return dto;
+    }
+
+    private static TranslationDTO newTranslationDTO(List<String> locales, boolean pseudo) {
+        TranslationDTO dto = new TranslationDTO();
+        dto.setProductName(PRODUCT);
+        dto.setVersion(VERSION);
+        dto.setComponents(new ArrayList<>(COMPONENTS));
+        dto.setLocales(new ArrayList<>(locales));
+        dto.setPseudo(pseudo);
+        return dto;
+    }
+
+    private static String getCachedKey(String component, String locale) {
+        return CachedKeyGetter.getOneCompnentCachedKey(newComponentMessagesDTO(component, locale));
+    }
+
+    private static String getBundlePath(String component, String locale) {
+        return productPath + VERSION + File.separator + component + File.separator + "messages_" + locale
+                + ".json";
+    }
+
+    private static String getBundle(String component, String locale) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\r\n  \"component\" : \"").append(component).append("\",\r\n  \"messages\" : {\r\n");
+        for (int i = 0; i < MESSAGES.length; i++) {
+            sb.append("    \"").append(MESSAGES[i][0]).append("\" : \"").append(locale).append(' ')
+                    .append(MESSAGES[i][1]).append('"').append(i < MESSAGES.length - 1 ? ",\r\n" : "\r\n");
+        }
+        sb.append("  },\r\n  \"locale\" : \"").append(locale).append("\"\r\n}");
+        return sb.toString();
+    }
+
+    private static Map<String, String> getMessages(String component, String locale) throws Exception {
+        JsonNode messages = MAPPER.readTree(getBundle(component, locale)).get(ConstantsKeys.MESSAGES);
+        return MAPPER.convertValue(messages, new TypeReference<LinkedHashMap<String, String>>() {
+        });
+    }
+
+    private static void clearCaches() throws Exception {
+        TranslationCache3.deleteCachedObjects(CacheName.ONECOMPONENT, PRODUCT, VERSION, ComponentMessagesDTO.class);
+        TranslationCache3.deleteCachedObjects(CacheName.COMPONENTSNAPSHOT, PRODUCT, VERSION,
+                ComponentSnapshot.class);
+        TranslationCache3.deleteCachedObjects(CacheName.MULTCOMPONENT, PRODUCT, VERSION, TranslationDTO.class);
+    }
+}
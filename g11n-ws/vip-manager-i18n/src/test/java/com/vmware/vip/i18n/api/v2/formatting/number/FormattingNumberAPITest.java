@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.api.v2.formatting.number;
+
+import com.vmware.vip.BootApplication;
+import com.vmware.vip.common.utils.JSONUtils;
+import com.vmware.vip.i18n.api.v1.common.CacheUtil;
+import com.vmware.vip.i18n.api.v1.common.ConstantsForTest;
+import com.vmware.vip.i18n.api.v1.common.RequestUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = BootApplication.class)
+public class FormattingNumberAPITest {
+    public static final String PluralCategoriesAPIURI = "/i18n/api/v2/formatting/number/pluralCategories?locale=en";
+    public static final String PluralCategoriesAPIJson = "[\"1\",\"1.0\",\"2\",\"0\"]";
+    public static final String NumbersAPIURI = "/i18n/api/v2/formatting/number/localizedNumbers?locale=en";
+    public static final String NumbersV1APIURI = "/i18n/api/v1/number/localizedNumbers?locale=en";
+    public static final String NumbersAPIJson = "[{\"number\":\"1234\",\"scale\":\"0\"},{\"number\":\"3.14159\",\"scale\":\"2\"},{\"number\":\"1234\",\"scale\":\"2\"},{\"number\":\"-5678.9\"}]";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Before
+    public void authentication() throws Exception {
+        String authenticationResult = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.POST,
+                ConstantsForTest.AuthenticationAPIURI);
+        CacheUtil.cacheSessionAndToken(webApplicationContext, authenticationResult);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSelectPluralCategories() throws Exception {
+        String json = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.POST, PluralCategoriesAPIURI,
+                PluralCategoriesAPIJson);
+        List<Map<String, Object>> items = (List<Map<String, Object>>) JSONUtils.getMapFromJson(json).get("data");
+        String[] expected = { "one", "other", "other", "other" };
+        Assert.assertEquals(expected.length, items.size());
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], items.get(i).get("pluralCategory"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLocalizedNumbersAPI() throws Exception {
+        String json = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.POST, NumbersAPIURI,
+                NumbersAPIJson);
+        Map<String, Object> result = JSONUtils.getMapFromJson(json);
+        Map<String, Object> response = (Map<String, Object>) result.get("response");
+        Assert.assertEquals(200L, ((Number) response.get("code")).longValue());
+        List<Map<String, Object>> items = (List<Map<String, Object>>) result.get("data");
+        String[][] expected = { { "1234", "0" }, { "3.14159", "2" }, { "1234", "2" }, { "-5678.9", "0" } };
+        Assert.assertEquals(expected.length, items.size());
+        Assert.assertEquals("1,234", items.get(0).get("formattedNumber"));
+        for (int i = 0; i < expected.length; i++) {
+            Map<String, Object> item = items.get(i);
+            // the items are answered in the order of the request, the numbers of a scale are formatted together
+            Assert.assertEquals(expected[i][0], item.get("number"));
+            Assert.assertEquals(expected[i][1], item.get("scale"));
+            Assert.assertEquals("en", item.get("locale"));
+
+            // the batch result is the same as the single one
+            String singleJson = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.GET,
+                    "/i18n/api/v2/formatting/number/localizedNumber?locale=en&number=" + expected[i][0] + "&scale="
+                            + expected[i][1]);
+            Map<String, Object> single = (Map<String, Object>) JSONUtils.getMapFromJson(singleJson).get("data");
+            Assert.assertEquals(single.get("formattedNumber"), item.get("formattedNumber"));
+        }
+
+        // the v1 API answers the same
+        String v1Json = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.POST, NumbersV1APIURI,
+                NumbersAPIJson);
+        Assert.assertEquals(items, JSONUtils.getMapFromJson(v1Json).get("data"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLocalizedNumbersAPIRejectsInvalidNumber() throws Exception {
+        String json = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.POST, NumbersAPIURI,
+                "[{\"number\":\"1234\"},{\"number\":\"abc\"}]");
+        Map<String, Object> response = (Map<String, Object>) JSONUtils.getMapFromJson(json).get("response");
+        Assert.assertEquals(400L, ((Number) response.get("code")).longValue());
+    }
+}
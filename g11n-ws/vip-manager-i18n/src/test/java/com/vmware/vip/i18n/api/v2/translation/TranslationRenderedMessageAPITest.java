@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.api.v2.translation;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.vmware.vip.BootApplication;
+import com.vmware.vip.common.constants.ConstantsFile;
+import com.vmware.vip.common.utils.JSONUtils;
+import com.vmware.vip.i18n.api.v1.common.CacheUtil;
+import com.vmware.vip.i18n.api.v1.common.ConstantsForTest;
+import com.vmware.vip.i18n.api.v1.common.RequestUtil;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = BootApplication.class)
+public class TranslationRenderedMessageAPITest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private static String comp3_en = "{\r\n" +
+            "    \"component\" : \"component3\",\r\n" +
+            "    \"messages\": {\r\n" +
+            "        \"sample.files\" : \"{count, plural, one {# file} other {# files}}\",\r\n" +
+            "        \"sample.greeting\" : \"Hello, {0}!\"\r\n" +
+            "    },\r\n" +
+            "    \"locale\" : \"en\"\r\n" +
+            "}";
+    private static String comp3_es = "{\r\n" +
+            "  \"component\" : \"component3\",\r\n" +
+            "  \"messages\" : {\r\n" +
+            "    \"sample.files\" : \"{count, plural, one {# archivo} other {# archivos}}\"\r\n" +
+            "  },\r\n" +
+            "  \"locale\" : \"es\"\r\n" +
+            "}";
+
+    private static String renderedMessageAPIURI = "/i18n/api/v2/translation/products/MULTCOMP/versions/1.0.0/locales/es/components/component3/keys/sample.files/renderedMessage";
+    private static String renderedMessagesAPIURI = "/i18n/api/v2/translation/products/MULTCOMP/versions/1.0.0/locales/es/components/component3/renderedMessages";
+    private static String renderedMessagesAPIJson = "[{\"key\": \"sample.files\", \"arguments\": {\"count\": 1}},"
+            + "{\"key\": \"sample.files\", \"arguments\": {\"count\": 3}},"
+            + "{\"key\": \"sample.greeting\", \"arguments\": {\"0\": \"Bob\"}},"
+            + "{\"key\": \"sample.missing\"}]";
+
+    // component3 is only used by this test, it's removed so the other tests of MULTCOMP don't see it
+    private static String componentPath = "." + File.separator + ConstantsFile.L10N_BUNDLES_PATH
+            + "MULTCOMP" + File.separator + "1.0.0" + File.separator + "component3" + File.separator;
+
+    @Before
+    public void setup() throws Exception {
+        String authenticationResult = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.POST,
+                ConstantsForTest.AuthenticationAPIURI);
+        CacheUtil.cacheSessionAndToken(webApplicationContext, authenticationResult);
+        FileUtils.write(new File(componentPath + "messages_en.json"), comp3_en, "UTF-8", false);
+        FileUtils.write(new File(componentPath + "messages_es.json"), comp3_es, "UTF-8", false);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        FileUtils.deleteDirectory(new File(componentPath));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRenderedMessage() throws Exception {
+        String json = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.POST, renderedMessageAPIURI,
+                "{\"count\": 2}");
+        Map<String, Object> data = (Map<String, Object>) JSONUtils.getMapFromJson(json).get("data");
+        Assert.assertEquals("2 archivos", data.get("message"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testRenderedMessages() throws Exception {
+        String json = RequestUtil.sendRequest(webApplicationContext, ConstantsForTest.POST, renderedMessagesAPIURI,
+                renderedMessagesAPIJson);
+        Map<String, Object> response = (Map<String, Object>) JSONUtils.getMapFromJson(json).get("response");
+        Assert.assertEquals(207L, response.get("code"));
+        List<Map<String, Object>> items = (List<Map<String, Object>>) JSONUtils.getMapFromJson(json).get("data");
+        String[] expected = { "1 archivo", "3 archivos", "Hello, Bob!", null };
+        Assert.assertEquals(expected.length, items.size());
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], items.get(i).get("message"));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vmware.vip.common.cache.LruCache;
+
+public class LruCacheTest {
+
+	@Test
+	public void testEvictLeastRecentlyUsed() {
+		LruCache<String, String> cache = new LruCache<>(3);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.put("c", "3");
+		// a is used, so b is the least recently used one
+		Assert.assertEquals("1", cache.get("a"));
+		cache.put("d", "4");
+
+		Assert.assertEquals(3, cache.size());
+		Assert.assertNull(cache.get("b"));
+		Assert.assertEquals("1", cache.get("a"));
+		Assert.assertEquals("3", cache.get("c"));
+		Assert.assertEquals("4", cache.get("d"));
+	}
+
+	@Test
+	public void testFullCacheKeepsCaching() {
+		LruCache<Integer, Integer> cache = new LruCache<>(1000);
+		for (int i = 0; i < 5000; i++) {
+			cache.put(i, i);
+		}
+		Assert.assertTrue(cache.size() <= cache.getMaxSize());
+		// the new keys are still cached after the cache is full
+		cache.put(-1, -1);
+		Assert.assertEquals(Integer.valueOf(-1), cache.get(-1));
+		Assert.assertEquals(Integer.valueOf(4999), cache.get(4999));
+		Assert.assertNull(cache.get(0));
+	}
+
+	@Test
+	public void testLoad() {
+		LruCache<String, String> cache = new LruCache<>(10);
+		AtomicInteger loads = new AtomicInteger();
+		Assert.assertEquals("A", cache.get("a", k -> {
+			loads.incrementAndGet();
+			return k.toUpperCase();
+		}));
+		Assert.assertEquals("A", cache.get("a", k -> {
+			loads.incrementAndGet();
+			return "other";
+		}));
+		Assert.assertEquals(1, loads.get());
+
+		// a null value isn't cached
+		Assert.assertNull(cache.get("b", k -> null));
+		Assert.assertEquals("B", cache.get("b", k -> "B"));
+	}
+
+	@Test
+	public void testRemoveAndClear() {
+		LruCache<String, String> cache = new LruCache<>(10);
+		cache.put("a", "1");
+		cache.put("b", "2");
+		Assert.assertEquals("1", cache.remove("a"));
+		Assert.assertNull(cache.get("a"));
+		cache.clear();
+		Assert.assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testConcurrentLoadsShareValue() throws Exception {
+		LruCache<String, Object> cache = new LruCache<>(100);
+		int threads = 8;
+		CountDownLatch start = new CountDownLatch(1);
+		List<Object> results = new ArrayList<>();
+		List<Thread> workers = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			Thread worker = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				Object value = cache.get("key", k -> new Object());
+				synchronized (results) {
+					results.add(value);
+				}
+			});
+			worker.start();
+			workers.add(worker);
+		}
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		Assert.assertEquals(threads, results.size());
+		for (Object result : results) {
+			Assert.assertSame(cache.get("key"), result);
+		}
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.cache;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vmware.vip.common.cache.CacheName;
+import com.vmware.vip.common.cache.ProductCacheKeyIndex;
+import com.vmware.vip.common.cache.TranslationCache3;
+import com.vmware.vip.common.exceptions.VIPCacheException;
+import com.vmware.vip.core.messages.service.singlecomponent.ComponentMessagesDTO;
+
+public class ProductCacheKeyIndexTest {
+
+	private static final String PRODUCT = "ProductCacheKeyIndexTest";
+
+	private static final List<String> KEYS_1 = Arrays.asList(PRODUCT + "-1.0.0-a-en", PRODUCT + "-1.0.0-a-de",
+			PRODUCT + "-1.0.0-b-en");
+
+	private static final List<String> KEYS_2 = Arrays.asList(PRODUCT + "-2.0.0-a-en", PRODUCT + "-2.0.0-b-en");
+
+	@After
+	public void tearDown() throws VIPCacheException {
+		TranslationCache3.deleteCachedObjects(CacheName.ONECOMPONENT, PRODUCT, "1.0.0", ComponentMessagesDTO.class);
+		TranslationCache3.deleteCachedObjects(CacheName.ONECOMPONENT, PRODUCT, "2.0.0", ComponentMessagesDTO.class);
+	}
+
+	@Test
+	public void testDeleteRemovesEveryIndexedKey() throws VIPCacheException {
+		add("1.0.0", KEYS_1);
+		add("2.0.0", KEYS_2);
+		Assert.assertEquals(new HashSet<>(KEYS_1),
+				ProductCacheKeyIndex.getKeys(CacheName.ONECOMPONENT, PRODUCT, "1.0.0"));
+
+		int deleted = TranslationCache3.deleteCachedObjects(CacheName.ONECOMPONENT, PRODUCT, "1.0.0",
+				ComponentMessagesDTO.class);
+
+		Assert.assertEquals(KEYS_1.size(), deleted);
+		for (String key : KEYS_1) {
+			Assert.assertNull(key,
+					TranslationCache3.getCachedObject(CacheName.ONECOMPONENT, key, ComponentMessagesDTO.class));
+		}
+		Assert.assertTrue(ProductCacheKeyIndex.getKeys(CacheName.ONECOMPONENT, PRODUCT, "1.0.0").isEmpty());
+
+		// the other version is kept
+		for (String key : KEYS_2) {
+			Assert.assertNotNull(key,
+					TranslationCache3.getCachedObject(CacheName.ONECOMPONENT, key, ComponentMessagesDTO.class));
+		}
+		Assert.assertEquals(new HashSet<>(KEYS_2),
+				ProductCacheKeyIndex.getKeys(CacheName.ONECOMPONENT, PRODUCT, "2.0.0"));
+	}
+
+	@Test
+	public void testRemovedKeyIsDroppedFromIndex() throws VIPCacheException {
+		add("1.0.0", KEYS_1);
+
+		TranslationCache3.deleteCachedObject(CacheName.ONECOMPONENT, KEYS_1.get(0), ComponentMessagesDTO.class);
+
+		Assert.assertEquals(new HashSet<>(KEYS_1.subList(1, KEYS_1.size())),
+				ProductCacheKeyIndex.getKeys(CacheName.ONECOMPONENT, PRODUCT, "1.0.0"));
+		Assert.assertEquals(KEYS_1.size() - 1, TranslationCache3.deleteCachedObjects(CacheName.ONECOMPONENT,
+				PRODUCT, "1.0.0", ComponentMessagesDTO.class));
+	}
+
+	@Test
+	public void testRestoredEntriesAreIndexed() {
+		// a cache which holds entries before it's watched, like one restored from its disk tier
+		CacheManager manager = CacheManagerBuilder.newCacheManagerBuilder()
+				.withCache("restored", CacheConfigurationBuilder.newCacheConfigurationBuilder(String.class,
+						ComponentMessagesDTO.class, ResourcePoolsBuilder.heap(100)))
+				.build(true);
+		try {
+			Cache<String, ComponentMessagesDTO> cache = manager.getCache("restored", String.class,
+					ComponentMessagesDTO.class);
+			for (String key : KEYS_1) {
+				cache.put(key, newDTO("1.0.0"));
+			}
+			for (String key : KEYS_2) {
+				cache.put(key, newDTO("2.0.0"));
+			}
+			// not a product version's object
+			cache.put(PRODUCT + "-other", new ComponentMessagesDTO());
+
+			ProductCacheKeyIndex.watch(CacheName.ONECOMPONENT, cache);
+			Assert.assertEquals(new HashSet<>(KEYS_1),
+					ProductCacheKeyIndex.getKeys(CacheName.ONECOMPONENT, PRODUCT, "1.0.0"));
+			Assert.assertEquals(new HashSet<>(KEYS_2),
+					ProductCacheKeyIndex.getKeys(CacheName.ONECOMPONENT, PRODUCT, "2.0.0"));
+
+			cache.remove(KEYS_1.get(0));
+			Assert.assertEquals(new HashSet<>(KEYS_1.subList(1, KEYS_1.size())),
+					ProductCacheKeyIndex.getKeys(CacheName.ONECOMPONENT, PRODUCT, "1.0.0"));
+		} finally {
+			manager.close();
+		}
+	}
+
+	private static ComponentMessagesDTO newDTO(String version) {
+		ComponentMessagesDTO dto = new ComponentMessagesDTO();
+		dto.setProductName(PRODUCT);
+		dto.setVersion(version);
+		return dto;
+	}
+
+	private static void add(String version, List<String> keys) throws VIPCacheException {
+		for (String key : keys) {
+			TranslationCache3.addCachedObject(CacheName.ONECOMPONENT, PRODUCT, version, key,
+					ComponentMessagesDTO.class, newDTO(version));
+		}
+	}
+}
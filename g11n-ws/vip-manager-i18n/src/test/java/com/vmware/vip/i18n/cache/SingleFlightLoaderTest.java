@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.cache;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vmware.vip.common.cache.CacheName;
+import com.vmware.vip.common.cache.SingleFlightLoader;
+
+public class SingleFlightLoaderTest {
+
+	private static final int THREADS = 8;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testConcurrentLoadsCallLoaderOnce() throws Exception {
+		String key = "testConcurrentLoadsCallLoaderOnce";
+		AtomicInteger loads = new AtomicInteger();
+		long coalesced = SingleFlightLoader.getCoalescedLoads(CacheName.ONECOMPONENT);
+		List<Future<Object>> results = submit(() -> SingleFlightLoader.load(CacheName.ONECOMPONENT, key, () -> {
+			loads.incrementAndGet();
+			awaitWaiters(coalesced);
+			return new Object();
+		}));
+
+		Object value = results.get(0).get(10, TimeUnit.SECONDS);
+		for (Future<Object> result : results) {
+			Assert.assertSame(value, result.get(10, TimeUnit.SECONDS));
+		}
+		Assert.assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testExceptionReachesEveryWaiter() throws Exception {
+		String key = "testExceptionReachesEveryWaiter";
+		AtomicInteger loads = new AtomicInteger();
+		long coalesced = SingleFlightLoader.getCoalescedLoads(CacheName.ONECOMPONENT);
+		IOException failure = new IOException("load failed");
+		List<Future<Object>> results = submit(() -> SingleFlightLoader.load(CacheName.ONECOMPONENT, key, () -> {
+			loads.incrementAndGet();
+			awaitWaiters(coalesced);
+			throw failure;
+		}));
+
+		for (Future<Object> result : results) {
+			try {
+				result.get(10, TimeUnit.SECONDS);
+				Assert.fail("the load should fail");
+			} catch (ExecutionException e) {
+				Assert.assertSame(failure, e.getCause());
+			}
+		}
+		Assert.assertEquals(1, loads.get());
+	}
+
+	@Test
+	public void testLoadAgainAfterLeaderFinished() throws Exception {
+		String key = "testLoadAgainAfterLeaderFinished";
+		AtomicInteger loads = new AtomicInteger();
+		SingleFlightLoader.load(CacheName.ONECOMPONENT, key, loads::incrementAndGet);
+		SingleFlightLoader.load(CacheName.ONECOMPONENT, key, loads::incrementAndGet);
+		Assert.assertEquals(2, loads.get());
+	}
+
+	private List<Future<Object>> submit(Callable<Object> load) {
+		List<Future<Object>> results = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			results.add(executor.submit(load));
+		}
+		return results;
+	}
+
+	/*
+	 * the leader waits until the other threads are waiting for it
+	 */
+	private static void awaitWaiters(long coalescedBefore) throws IOException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (SingleFlightLoader.getCoalescedLoads(CacheName.ONECOMPONENT) - coalescedBefore < THREADS - 1) {
+			if (System.currentTimeMillis() > deadline) {
+				throw new IOException("the other threads didn't wait for the leader");
+			}
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException(e);
+			}
+		}
+	}
+}
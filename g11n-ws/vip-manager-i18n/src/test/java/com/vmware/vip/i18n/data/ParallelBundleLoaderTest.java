@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vmware.vip.messages.data.dao.exception.DataException;
+import com.vmware.vip.messages.data.dao.util.ParallelBundleLoader;
+
+public class ParallelBundleLoaderTest {
+
+	private static final List<String> COMPONENTS = Arrays.asList("c0", "c1", "c2", "c3", "c4");
+	private static final List<String> LOCALES = Arrays.asList("en", "de", "ja");
+
+	private ParallelBundleLoader loader;
+
+	@After
+	public void tearDown() {
+		if (loader != null) {
+			loader.shutdown();
+		}
+	}
+
+	@Test
+	public void testResultOrder() throws Exception {
+		loader = new ParallelBundleLoader(4, "test-loader");
+		List<String> bundles = loader.load(COMPONENTS, LOCALES, (component, locale) -> {
+			sleep(ThreadLocalRandom.current().nextInt(10));
+			return component + "/" + locale;
+		}, null);
+		List<String> expected = new ArrayList<>();
+		for (String component : COMPONENTS) {
+			for (String locale : LOCALES) {
+				expected.add(component + "/" + locale);
+			}
+		}
+		Assert.assertEquals(expected, bundles);
+	}
+
+	@Test
+	public void testConcurrencyCap() throws Exception {
+		loader = new ParallelBundleLoader(3, "test-loader");
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		loader.load(COMPONENTS, LOCALES, (component, locale) -> {
+			int n = active.incrementAndGet();
+			maxActive.accumulateAndGet(n, Math::max);
+			sleep(20);
+			active.decrementAndGet();
+			return component;
+		}, null);
+		Assert.assertTrue("max concurrent reads: " + maxActive.get(), maxActive.get() <= 3);
+		Assert.assertTrue("max concurrent reads: " + maxActive.get(), maxActive.get() > 1);
+	}
+
+	@Test
+	public void testFullQueueRunsInCaller() throws Exception {
+		loader = new ParallelBundleLoader(2, 1, "test-loader");
+		Thread caller = Thread.currentThread();
+		AtomicInteger callerReads = new AtomicInteger();
+		List<String> bundles = loader.load(COMPONENTS, LOCALES, (component, locale) -> {
+			if (Thread.currentThread() == caller) {
+				callerReads.incrementAndGet();
+			}
+			sleep(20);
+			return component + "/" + locale;
+		}, null);
+		Assert.assertEquals(COMPONENTS.size() * LOCALES.size(), bundles.size());
+		Assert.assertEquals("c0/en", bundles.get(0));
+		Assert.assertTrue(callerReads.get() > 0);
+	}
+
+	@Test
+	public void testFailureHandler() throws Exception {
+		loader = new ParallelBundleLoader(4, "test-loader");
+		List<DataException> failures = new ArrayList<>();
+		List<String> bundles = loader.load(COMPONENTS, LOCALES, (component, locale) -> {
+			if ("c1".equals(component) && "de".equals(locale)) {
+				throw new DataException("missing " + component + "/" + locale);
+			}
+			return component + "/" + locale;
+		}, failures::add);
+		Assert.assertEquals(COMPONENTS.size() * LOCALES.size() - 1, bundles.size());
+		Assert.assertFalse(bundles.contains("c1/de"));
+		Assert.assertEquals(1, failures.size());
+	}
+
+	@Test(expected = DataException.class)
+	public void testFailureWithoutHandler() throws Exception {
+		loader = new ParallelBundleLoader(4, "test-loader");
+		loader.load(COMPONENTS, LOCALES, (component, locale) -> {
+			throw new DataException("missing " + component + "/" + locale);
+		}, null);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.l2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.i18n.l2.service.plural.CompiledPluralRules;
+import com.vmware.i18n.pattern.service.impl.PatternServiceImpl;
+
+/**
+ * Check the compiled plural rules of every CLDR locale against the
+ * {@literal @}integer and {@literal @}decimal samples of its rules.
+ */
+public class CompiledPluralRulesTest {
+
+	private static final String PATTERN_PATH = "cldr/pattern/common/%s/pattern.json";
+
+	private static final String RULE_PREFIX = "pluralRule-count-";
+
+	private static final String ELLIPSIS = "…";
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	public void testSamplesOfAllLocales() throws IOException {
+		int checkedLocales = 0;
+		for (String locale : new TreeSet<>(PatternServiceImpl.localePathMap.values())) {
+			Map<String, Object> rules = readPluralRules(locale);
+			if (rules == null) {
+				continue;
+			}
+			CompiledPluralRules compiled = CompiledPluralRules.compile(rules);
+			for (Map.Entry<String, Object> rule : rules.entrySet()) {
+				String category = rule.getKey().substring(RULE_PREFIX.length());
+				for (String sample : getSamples(rule.getValue().toString())) {
+					Assert.assertEquals(locale + " " + sample, category, compiled.select(sample));
+				}
+			}
+			checkedLocales++;
+		}
+		Assert.assertTrue("No plural rules are found", checkedLocales > 100);
+	}
+
+	@Test
+	public void testVisibleFractionDigits() {
+		Map<String, Object> rules = new HashMap<>();
+		rules.put("pluralRule-count-one", "i = 1 and v = 0 @integer 1");
+		rules.put("pluralRule-count-other", " @integer 0, 2~16 @decimal 0.0~1.5");
+		CompiledPluralRules compiled = CompiledPluralRules.compile(rules);
+		Assert.assertEquals("one", compiled.select("1"));
+		Assert.assertEquals("other", compiled.select("1.0"));
+		Assert.assertEquals("other", CompiledPluralRules.other().select("1"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> readPluralRules(String locale) throws IOException {
+		try (InputStream in = getClass().getClassLoader()
+				.getResourceAsStream(String.format(PATTERN_PATH, locale))) {
+			if (in == null) {
+				return null;
+			}
+			Map<String, Object> pattern = mapper.readValue(in, Map.class);
+			Object categories = pattern.get("categories");
+			Object plurals = categories instanceof Map ? ((Map<String, Object>) categories).get("plurals") : null;
+			Object rules = plurals instanceof Map ? ((Map<String, Object>) plurals).get("pluralRules") : null;
+			return rules instanceof Map ? (Map<String, Object>) rules : null;
+		}
+	}
+
+	/*
+	 * expand the samples of a rule, e.g. "@integer 2~4, 10 @decimal 0.0~0.2, …"
+	 * is 2, 3, 4, 10, 0.0, 0.1, 0.2
+	 */
+	private static List<String> getSamples(String rule) {
+		List<String> samples = new ArrayList<>();
+		int start = rule.indexOf('@');
+		if (start < 0) {
+			return samples;
+		}
+		for (String part : rule.substring(start).split("@integer|@decimal")) {
+			for (String sample : part.split(",")) {
+				sample = sample.trim();
+				if (sample.isEmpty() || ELLIPSIS.equals(sample)) {
+					continue;
+				}
+				int tilde = sample.indexOf('~');
+				if (tilde < 0) {
+					samples.add(sample);
+					continue;
+				}
+				BigDecimal low = new BigDecimal(sample.substring(0, tilde));
+				BigDecimal high = new BigDecimal(sample.substring(tilde + 1));
+				BigDecimal step = BigDecimal.ONE.movePointLeft(low.scale());
+				for (BigDecimal value = low; value.compareTo(high) <= 0; value = value.add(step)) {
+					samples.add(value.toPlainString());
+				}
+			}
+		}
+		return samples;
+	}
+}
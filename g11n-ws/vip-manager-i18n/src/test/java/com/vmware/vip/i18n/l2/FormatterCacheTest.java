@@ -0,0 +1,114 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.l2;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.ibm.icu.text.NumberFormat;
+import com.ibm.icu.text.SimpleDateFormat;
+import com.ibm.icu.util.TimeZone;
+import com.ibm.icu.util.ULocale;
+import com.vmware.i18n.l2.service.cache.FormatterCache;
+
+public class FormatterCacheTest {
+
+	private static final long DATE = 1472728030290L;
+
+	@Test
+	public void testCallsGetClones() {
+		AtomicInteger created = new AtomicInteger();
+		FormatterCache<NumberFormat> cache = new FormatterCache<>(10);
+		NumberFormat first = cache.get("de", () -> {
+			created.incrementAndGet();
+			return NumberFormat.getNumberInstance(new ULocale("de"));
+		});
+		NumberFormat second = cache.get("de", () -> {
+			created.incrementAndGet();
+			return NumberFormat.getNumberInstance(new ULocale("de"));
+		});
+
+		Assert.assertEquals(1, created.get());
+		Assert.assertNotSame(first, second);
+
+		// changing a formatter doesn't change the cached one
+		first.setMaximumFractionDigits(0);
+		Assert.assertEquals("1,5", second.format(1.5));
+		Assert.assertEquals("1,5", cache.get("de", () -> null).format(1.5));
+	}
+
+	@Test
+	public void testFormattersAreConfinedToThreads() throws Exception {
+		FormatterCache<SimpleDateFormat> cache = new FormatterCache<>(10);
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> futures = new ArrayList<>();
+		try {
+			for (int t = 0; t < threads; t++) {
+				String zone = t % 2 == 0 ? "UTC" : "Asia/Tokyo";
+				String expected = zone.equals("UTC") ? "2016-09-01 11:07:10" : "2016-09-01 20:07:10";
+				Callable<Boolean> task = () -> {
+					start.await();
+					for (int i = 0; i < 2000; i++) {
+						SimpleDateFormat format = cache.get("en#yyyy-MM-dd HH:mm:ss",
+								() -> new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", ULocale.ENGLISH));
+						// a shared formatter would see the zones of the other threads
+						format.setTimeZone(TimeZone.getTimeZone(zone));
+						Thread.yield();
+						if (!expected.equals(format.format(new Date(DATE)))) {
+							return false;
+						}
+					}
+					return true;
+				};
+				futures.add(executor.submit(task));
+			}
+			start.countDown();
+			for (Future<Boolean> future : futures) {
+				Assert.assertTrue(future.get(60, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		AtomicInteger created = new AtomicInteger();
+		FormatterCache<NumberFormat> cache = new FormatterCache<>(3);
+		for (int i = 0; i < 100; i++) {
+			cache.get("hot", () -> {
+				created.incrementAndGet();
+				return NumberFormat.getNumberInstance(ULocale.ENGLISH);
+			});
+			cache.get("key" + i, () -> NumberFormat.getNumberInstance(ULocale.ENGLISH));
+		}
+		Assert.assertEquals(3, cache.size());
+		Assert.assertEquals("the hot formatter should be kept", 1, created.get());
+
+		// a new key is still cached when the cache is full
+		cache.get("new", () -> {
+			created.incrementAndGet();
+			return NumberFormat.getNumberInstance(ULocale.ENGLISH);
+		});
+		cache.get("new", () -> {
+			created.incrementAndGet();
+			return NumberFormat.getNumberInstance(ULocale.ENGLISH);
+		});
+		Assert.assertEquals(2, created.get());
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.l2;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vmware.i18n.l2.service.pattern.ScopeFilterPlan;
+
+/**
+ * Check the scope filters on nested, overlapping and missing paths. The
+ * filters which the former filterScope handled are compared with its result.
+ */
+public class ScopeFilterPlanTest {
+
+	private static final String CATEGORIES = "{"
+			+ "\"dates\":{\"eras\":{\"abbreviated\":[\"BC\",\"AD\"],\"wide\":[\"Before Christ\",\"Anno Domini\"]},"
+			+ "\"dayPeriodsFormat\":{\"abbreviated\":[\"AM\",\"PM\"]},\"emptyNode\":{},\"text\":\"x\"},"
+			+ "\"numbers\":{\"decimalFormats-numberSystem-latn\":{\"standard\":\"#,##0.###\"},"
+			+ "\"numberSymbols\":{\"decimal\":\".\",\"group\":\",\"}},"
+			+ "\"plurals\":{\"pluralRule-count-one\":\"i = 1 and v = 0\"}}";
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	public void testNestedPaths() throws Exception {
+		Assert.assertEquals(map("{\"dates\":{\"eras\":{\"wide\":[\"Before Christ\",\"Anno Domini\"]}},"
+				+ "\"numbers\":{\"numberSymbols\":{\"decimal\":\".\",\"group\":\",\"}}}"),
+				filter("dates_eras_wide,numbers_numberSymbols"));
+		Assert.assertEquals(map("{\"dates\":{\"eras\":{\"abbreviated\":[\"BC\",\"AD\"]},"
+				+ "\"dayPeriodsFormat\":{\"abbreviated\":[\"AM\",\"PM\"]}}}"),
+				filter("dates_eras_abbreviated,dates_dayPeriodsFormat"));
+	}
+
+	@Test
+	public void testExcludedPaths() throws Exception {
+		Map<String, Object> expected = map(CATEGORIES);
+		((Map<?, ?>) ((Map<?, ?>) expected.get("dates")).get("eras")).remove("wide");
+		expected.remove("plurals");
+		Assert.assertEquals(expected, filter("^(dates_eras_wide,plurals)"));
+	}
+
+	@Test
+	public void testOverlappingPaths() throws Exception {
+		Map<String, Object> dates = map("{\"dates\":" + mapper.writeValueAsString(map(CATEGORIES).get("dates")) + "}");
+		Assert.assertEquals(dates, filter("dates,dates_eras"));
+		Assert.assertEquals(dates, filter("dates_eras,dates"));
+		Assert.assertEquals(dates, filter("dates_eras_wide,dates,dates_missing"));
+
+		Map<String, Object> categories = map(CATEGORIES);
+		categories.remove("dates");
+		Assert.assertEquals(categories, filter("^(dates_eras,dates)"));
+		Assert.assertEquals(categories, filter("^(dates,dates_eras)"));
+	}
+
+	@Test
+	public void testMissingPaths() throws Exception {
+		// a missing last node is kept as null
+		Map<String, Object> expected = new HashMap<>();
+		expected.put("missing", null);
+		Assert.assertEquals(expected, filter("missing"));
+
+		// a missing middle node is omitted
+		Assert.assertEquals(new HashMap<>(), filter("missing_eras"));
+
+		// an existing middle node is kept even if nothing under it is found
+		Assert.assertEquals(map("{\"dates\":{}}"), filter("dates_missing_wide"));
+		Assert.assertEquals(map("{\"dates\":{\"emptyNode\":{\"wide\":null}}}"), filter("dates_emptyNode_wide"));
+
+		// a node which isn't a map has no node under it
+		Assert.assertEquals(map("{\"dates\":{}}"), filter("dates_text_x"));
+
+		// excluding a missing path changes nothing
+		Assert.assertEquals(map(CATEGORIES), filter("^(missing,dates_missing_wide,dates_text_x)"));
+	}
+
+	@Test
+	public void testSameAsFormerFilter() throws Exception {
+		List<String> scopeFilters = Arrays.asList("dates", "dates_eras", "dates_eras_wide,numbers",
+				"dates_eras_abbreviated,dates_dayPeriodsFormat_abbreviated", "numbers_numberSymbols_decimal,plurals",
+				"missing", "missing_eras", "dates_missing_wide", "dates_emptyNode_wide,numbers_missing",
+				"^(dates)", "^(dates_eras_wide,plurals)", "^(missing_eras,numbers_numberSymbols)");
+		for (String scopeFilter : scopeFilters) {
+			Assert.assertEquals(scopeFilter, formerFilter(map(CATEGORIES), scopeFilter), filter(scopeFilter));
+		}
+	}
+
+	@Test
+	public void testViewDoesNotChangeSource() throws Exception {
+		Map<String, Object> categories = map(CATEGORIES);
+		Map<String, Object> result = ScopeFilterPlan.compile("^(dates_eras)").apply(categories);
+		Assert.assertFalse(((Map<?, ?>) result.get("dates")).containsKey("eras"));
+		Assert.assertEquals(map(CATEGORIES), categories);
+		try {
+			result.remove("dates");
+			Assert.fail("The filtered view should be read-only");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testPlansAreEvicted() {
+		String hot = "dates_eras,ScopeFilterPlanTest";
+		ScopeFilterPlan hotPlan = ScopeFilterPlan.compile(hot);
+		for (int i = 0; i < 5000; i++) {
+			ScopeFilterPlan.compile("numbers_" + i);
+			Assert.assertSame(hotPlan, ScopeFilterPlan.compile(hot));
+		}
+
+		// the plans are still cached after many filters
+		String late = "plurals,ScopeFilterPlanTest";
+		Assert.assertSame(ScopeFilterPlan.compile(late), ScopeFilterPlan.compile(late));
+	}
+
+	private Map<String, Object> filter(String scopeFilter) throws Exception {
+		// compare the serialized view, so the plain maps are compared
+		return map(mapper.writeValueAsString(ScopeFilterPlan.compile(scopeFilter).apply(map(CATEGORIES))));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> map(String json) throws Exception {
+		return mapper.readValue(json, LinkedHashMap.class);
+	}
+
+	/*
+	 * the former PatternServiceImpl.filterScope, for the filters it handled
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> formerFilter(Map<String, Object> patternMap, String scopeFilter) {
+		if (scopeFilter.startsWith("^")) {
+			scopeFilter = scopeFilter.substring(scopeFilter.indexOf("(") + 1, scopeFilter.indexOf(")"));
+			for (String scopeNode : scopeFilter.split(",")) {
+				removeData(patternMap, Arrays.asList(scopeNode.split("_")), 0);
+			}
+			return patternMap;
+		}
+		Map<String, Object> newPatternMap = new HashMap<>();
+		for (String scopeNode : scopeFilter.split(",")) {
+			List<String> scopeFilters = Arrays.asList(scopeNode.split("_"));
+			newPatternMap = mergePatternMap(newPatternMap, getData(patternMap, scopeFilters, 0), scopeFilters, 0);
+		}
+		return newPatternMap;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void removeData(Map<String, Object> patternMap, List<String> scopeFilters, int index) {
+		String scopeFilter = scopeFilters.get(index);
+		if (index == scopeFilters.size() - 1) {
+			patternMap.remove(scopeFilter);
+		} else if (!isEmpty(patternMap.get(scopeFilter))) {
+			removeData((Map<String, Object>) patternMap.get(scopeFilter), scopeFilters, index + 1);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> getData(Map<String, Object> originPatternMap, List<String> scopeFilters, int index) {
+		String scopeFilter = scopeFilters.get(index);
+		Map<String, Object> patternMap = new HashMap<>();
+		if (index == scopeFilters.size() - 1) {
+			patternMap.put(scopeFilter, originPatternMap.get(scopeFilter));
+		} else if (!isEmpty(originPatternMap.get(scopeFilter))) {
+			patternMap.put(scopeFilter,
+					getData((Map<String, Object>) originPatternMap.get(scopeFilter), scopeFilters, index + 1));
+		}
+		return patternMap;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> mergePatternMap(Map<String, Object> originPatternMap,
+			Map<String, Object> newPatternMap, List<String> scopeFilters, int index) {
+		Map<String, Object> patternMap = new HashMap<>(originPatternMap);
+		String scopeFilter = scopeFilters.get(index);
+		if (!isEmpty(originPatternMap.get(scopeFilter))) {
+			patternMap.put(scopeFilter,
+					mergePatternMap((Map<String, Object>) originPatternMap.get(scopeFilter),
+							(Map<String, Object>) newPatternMap.get(scopeFilter), scopeFilters, index + 1));
+		} else {
+			patternMap.putAll(newPatternMap);
+		}
+		return patternMap;
+	}
+
+	private static boolean isEmpty(Object value) {
+		return value == null || "".equals(value);
+	}
+}
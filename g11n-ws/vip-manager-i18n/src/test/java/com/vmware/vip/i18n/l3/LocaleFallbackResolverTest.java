@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.i18n.l3;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vmware.vip.core.messages.service.product.IProductService;
+import com.vmware.vip.core.messages.service.product.LocaleFallbackResolver;
+import com.vmware.vip.core.messages.utils.LocaleUtility;
+import com.vmware.vip.messages.data.dao.model.ProductChangeEvent;
+
+public class LocaleFallbackResolverTest {
+
+	private static final String PRODUCT = "LocaleFallbackResolverTest";
+
+	private static final List<String> LOCALES = Arrays.asList("en", "de", "ja", "es", "zh-Hans", "zh-Hant",
+			"pt-BR");
+
+	private final AtomicInteger localeListLoads = new AtomicInteger();
+
+	// called when the supported locales are got, before they're returned
+	private Runnable localeListHook = () -> {
+	};
+
+	private LocaleFallbackResolver resolver;
+
+	@Before
+	public void setup() {
+		IProductService productService = (IProductService) Proxy.newProxyInstance(
+				IProductService.class.getClassLoader(), new Class<?>[] { IProductService.class },
+				(proxy, method, args) -> {
+					if ("getSupportedLocaleList".equals(method.getName())) {
+						localeListLoads.incrementAndGet();
+						List<String> locales = new ArrayList<>(LOCALES);
+						localeListHook.run();
+						return locales;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+		resolver = new LocaleFallbackResolver(productService);
+	}
+
+	@Test
+	public void testFallbackChain() throws Exception {
+		Assert.assertEquals("de", resolver.resolve(PRODUCT, "1.0.0", "de"));
+		Assert.assertEquals("de", resolver.resolve(PRODUCT, "1.0.0", "de-DE"));
+		Assert.assertEquals("de", resolver.resolve(PRODUCT, "1.0.0", "de_AT"));
+		Assert.assertEquals("zh-Hans", resolver.resolve(PRODUCT, "1.0.0", "zh-CN"));
+		Assert.assertEquals("zh-Hans", resolver.resolve(PRODUCT, "1.0.0", "zh_CN"));
+		Assert.assertEquals("zh-Hans", resolver.resolve(PRODUCT, "1.0.0", "zh-Hans-CN"));
+		Assert.assertEquals("zh-Hant", resolver.resolve(PRODUCT, "1.0.0", "zh-TW"));
+		Assert.assertEquals("es", resolver.resolve(PRODUCT, "1.0.0", "es-419"));
+		Assert.assertEquals("pt-BR", resolver.resolve(PRODUCT, "1.0.0", "pt_BR"));
+		Assert.assertEquals("pt", resolver.resolve(PRODUCT, "1.0.0", "pt-PT"));
+		// no supported locale matches, the requested locale is returned
+		Assert.assertEquals("fr-FR", resolver.resolve(PRODUCT, "1.0.0", "fr_FR"));
+		Assert.assertEquals(1, localeListLoads.get());
+	}
+
+	@Test
+	public void testSameAsDirectResolution() throws Exception {
+		List<Locale> supportedLocales = new ArrayList<>();
+		for (String locale : LOCALES) {
+			supportedLocales.add(Locale.forLanguageTag(locale));
+		}
+		for (String locale : new String[] { "en-US", "en_GB", "ja-JP", "ko", "zh", "zh-HK", "es_MX", "pt" }) {
+			// resolved twice, the second one is from the table
+			for (int i = 0; i < 2; i++) {
+				Assert.assertEquals(locale,
+						LocaleUtility.pickupLocaleFromListNoDefault(supportedLocales,
+								Locale.forLanguageTag(locale.replace("_", "-"))).toLanguageTag(),
+						resolver.resolve(PRODUCT, "1.0.0", locale));
+			}
+		}
+	}
+
+	@Test
+	public void testManyRequestedLocales() throws Exception {
+		// more locales than a table keeps, the table evicts the old ones and keeps resolving
+		for (int i = 0; i < 3000; i++) {
+			Assert.assertEquals("de", resolver.resolve(PRODUCT, "1.0.0", "de-x-" + Integer.toString(i, 36)));
+		}
+		Assert.assertEquals("zh-Hans", resolver.resolve(PRODUCT, "1.0.0", "zh-CN"));
+		Assert.assertEquals("de", resolver.resolve(PRODUCT, "1.0.0", "de-x-0"));
+		Assert.assertEquals(1, localeListLoads.get());
+	}
+
+	@Test
+	public void testProductChangeDropsTables() throws Exception {
+		resolver.resolve(PRODUCT, "1.0.0", "de");
+		resolver.resolve(PRODUCT, "2.0.0", "de");
+		resolver.resolve("other", "1.0.0", "de");
+		Assert.assertEquals(3, localeListLoads.get());
+
+		resolver.onProductChange(new ProductChangeEvent(PRODUCT));
+		resolver.resolve(PRODUCT, "1.0.0", "de");
+		resolver.resolve(PRODUCT, "2.0.0", "de");
+		resolver.resolve("other", "1.0.0", "de");
+		// only the tables of the changed product are loaded again
+		Assert.assertEquals(5, localeListLoads.get());
+	}
+
+	@Test
+	public void testChangeDuringBuildDropsTable() throws Exception {
+		// the product is changed after its supported locales are got
+		localeListHook = () -> {
+			localeListHook = () -> {
+			};
+			resolver.onProductChange(new ProductChangeEvent(PRODUCT));
+		};
+		resolver.resolve(PRODUCT, "1.0.0", "de");
+		Assert.assertEquals(1, localeListLoads.get());
+
+		// the table built during the change isn't used
+		resolver.resolve(PRODUCT, "1.0.0", "de");
+		resolver.resolve(PRODUCT, "1.0.0", "de");
+		Assert.assertEquals(2, localeListLoads.get());
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.vip.messages.synch.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vmware.vip.common.cache.CacheName;
+import com.vmware.vip.common.cache.CachedKeyGetter;
+import com.vmware.vip.common.cache.TranslationCache3;
+import com.vmware.vip.common.exceptions.VIPCacheException;
+import com.vmware.vip.core.messages.service.singlecomponent.ComponentMessagesDTO;
+import com.vmware.vip.messages.synch.model.SyncChange;
+import com.vmware.vip.messages.synch.model.SyncChangesResp;
+
+/**
+ * Check how the change log cursor moves and which cached translations the
+ * polled changes remove.
+ */
+public class SynchInfoScheduleTest {
+
+	private static final String PRODUCT = "SynchInfoScheduleTest";
+
+	private static final String VERSION = "1.0.0";
+
+	private final SynchInfoSchedule schedule = new SynchInfoSchedule();
+
+	@Before
+	public void setUp() throws VIPCacheException {
+		cache("comp1", "de");
+		cache("comp1", "fr");
+		cache("comp2", "de");
+	}
+
+	@After
+	public void tearDown() throws VIPCacheException {
+		TranslationCache3.deleteCachedObjects(CacheName.ONECOMPONENT, PRODUCT, VERSION, ComponentMessagesDTO.class);
+	}
+
+	@Test
+	public void testFirstResponseOnlySetsCursor() throws VIPCacheException {
+		schedule.applyChanges(resp(10, false, change(10, "comp1", "de")));
+
+		Assert.assertEquals(10, schedule.getLastSequence());
+		Assert.assertTrue(isCached("comp1", "de"));
+	}
+
+	@Test
+	public void testChangedLocaleIsRemoved() throws VIPCacheException {
+		schedule.applyChanges(resp(10, false));
+
+		schedule.applyChanges(resp(12, false, change(11, "comp1", "de"), change(12, "comp2", "de")));
+
+		Assert.assertEquals(12, schedule.getLastSequence());
+		Assert.assertFalse(isCached("comp1", "de"));
+		Assert.assertFalse(isCached("comp2", "de"));
+		Assert.assertTrue(isCached("comp1", "fr"));
+	}
+
+	@Test
+	public void testProductChangeRemovesVersion() throws VIPCacheException {
+		schedule.applyChanges(resp(10, false));
+
+		schedule.applyChanges(resp(11, false, change(11, null, null)));
+
+		Assert.assertEquals(11, schedule.getLastSequence());
+		Assert.assertFalse(isCached("comp1", "de"));
+		Assert.assertFalse(isCached("comp1", "fr"));
+		Assert.assertFalse(isCached("comp2", "de"));
+	}
+
+	@Test
+	public void testNoChangeKeepsCache() throws VIPCacheException {
+		schedule.applyChanges(resp(10, false));
+
+		// a timed out poll answers the sequence it waited after
+		schedule.applyChanges(resp(10, false));
+
+		Assert.assertEquals(10, schedule.getLastSequence());
+		Assert.assertTrue(isCached("comp1", "de"));
+	}
+
+	@Test
+	public void testResetRemovesAll() throws VIPCacheException {
+		schedule.applyChanges(resp(10, false));
+
+		// e.g. the l10n server is restarted, its sequences start again
+		schedule.applyChanges(resp(5, true));
+
+		Assert.assertEquals(5, schedule.getLastSequence());
+		Assert.assertFalse(isCached("comp1", "de"));
+		Assert.assertFalse(isCached("comp2", "de"));
+	}
+
+	private static SyncChangesResp resp(long lastSequence, boolean reset, SyncChange... changes) {
+		SyncChangesResp resp = new SyncChangesResp();
+		resp.setLastSequence(lastSequence);
+		resp.setReset(reset);
+		List<SyncChange> list = new ArrayList<>();
+		for (SyncChange change : changes) {
+			list.add(change);
+		}
+		resp.setChanges(list);
+		return resp;
+	}
+
+	private static SyncChange change(long sequence, String component, String locale) {
+		SyncChange change = new SyncChange();
+		change.setSequence(sequence);
+		change.setProductName(PRODUCT);
+		change.setVersion(VERSION);
+		change.setComponent(component);
+		change.setLocale(locale);
+		return change;
+	}
+
+	private static void cache(String component, String locale) throws VIPCacheException {
+		ComponentMessagesDTO dto = dto(component, locale);
+		TranslationCache3.addCachedObject(CacheName.ONECOMPONENT, PRODUCT, VERSION,
+				CachedKeyGetter.getOneCompnentCachedKey(dto), ComponentMessagesDTO.class, dto);
+	}
+
+	private static boolean isCached(String component, String locale) throws VIPCacheException {
+		return TranslationCache3.getCachedObject(CacheName.ONECOMPONENT,
+				CachedKeyGetter.getOneCompnentCachedKey(dto(component, locale)), ComponentMessagesDTO.class) != null;
+	}
+
+	private static ComponentMessagesDTO dto(String component, String locale) {
+		ComponentMessagesDTO dto = new ComponentMessagesDTO();
+		dto.setProductName(PRODUCT);
+		dto.setVersion(VERSION);
+		dto.setComponent(component);
+		dto.setLocale(locale);
+		return dto;
+	}
+}
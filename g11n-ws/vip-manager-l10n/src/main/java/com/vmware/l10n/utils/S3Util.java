@@ -2,6 +2,7 @@
 //SPDX-License-Identifier: EPL-2.0
 package com.vmware.l10n.utils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.List;
 import java.util.Random;
@@ -15,12 +16,14 @@ import org.springframework.util.StringUtils;
 
 import com.amazonaws.SdkClientException;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.PutObjectResult;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.vmware.l10n.conf.S3Cfg;
 import com.vmware.l10n.conf.S3Client;
 import com.vmware.vip.common.constants.ConstantsChar;
 import com.vmware.vip.common.constants.ConstantsFile;
+import com.vmware.vip.common.i18n.dto.ProductManifestWriter;
 import com.vmware.vip.common.i18n.dto.SingleComponentDTO;
 import com.vmware.vip.common.i18n.resourcefile.ResourceFilePathGetter;
 import com.vmware.vip.common.utils.TimeUtils;
@@ -36,11 +39,18 @@ public class S3Util {
 	private static long waitS3Operation = 100; // milliseconds
 	private static long waitToLock = 10 * 1000L; // 10 seconds
 
-	@Autowired
-	private S3Cfg config;
+	private final S3Cfg config;
+
+	private final S3Client s3Client;
+
+	private final ProductManifestWriter manifestWriter;
 
 	@Autowired
-	private S3Client s3Client;
+	public S3Util(S3Cfg config, S3Client s3Client) {
+		this.config = config;
+		this.s3Client = s3Client;
+		this.manifestWriter = new ProductManifestWriter(s3Client::getS3Client, config.getBucketName());
+	}
 
 	public String readBundle(String basePath, SingleComponentDTO compDTO) {
 		String bundlePath = getBundleFilePath(basePath, compDTO);
@@ -49,10 +59,25 @@ public class S3Util {
 
 	public boolean writeBundle(String basePath, SingleComponentDTO compDTO) throws JsonProcessingException {
 		String bundlePath = getBundleFilePath(basePath, compDTO);
-		s3Client.putObject(bundlePath, compDTO.toPrettyString());
+		String content = compDTO.toPrettyString();
+		PutObjectResult putResult = s3Client.putObject(bundlePath, content);
+		updateManifest(basePath, compDTO, putResult, content.getBytes(StandardCharsets.UTF_8).length);
 		return true;
 	}
 
+	/**
+	 * Add or update a bundle in the manifest of its product version, see
+	 * {@link ProductManifestWriter} for how the writers of the bundles share the
+	 * manifest. If the manifest can't be updated, it's deleted, so it's rebuilt
+	 * from the listing by the next reader of the i18n service.
+	 */
+	private void updateManifest(String basePath, SingleComponentDTO compDTO, PutObjectResult putResult, long size) {
+		String versionPath = genProductVersionS3Path(basePath, compDTO.getProductName(), compDTO.getVersion());
+		String bundlePath = compDTO.getComponent() + ConstantsChar.BACKSLASH
+				+ ResourceFilePathGetter.getLocalizedJSONFileName(compDTO.getLocale());
+		manifestWriter.putBundle(s3Client.normalizePath(versionPath), bundlePath, size, putResult.getETag());
+	}
+
 	public boolean isBundleExist(String basePath, SingleComponentDTO singleComponentDTO) {
 		String bundlePath = getBundleFilePath(basePath, singleComponentDTO);
 		return s3Client.isObjectExist(bundlePath);
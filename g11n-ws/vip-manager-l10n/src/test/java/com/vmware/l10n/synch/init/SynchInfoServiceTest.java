@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.l10n.synch.init;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncListener;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.vmware.l10n.synch.controller.TranslationCommitGitController;
+import com.vmware.l10n.synch.model.SyncChange;
+import com.vmware.l10n.synch.model.SyncChangesResp;
+import com.vmware.vip.api.rest.APIParamName;
+import com.vmware.vip.api.rest.l10n.L10NAPIV1;
+
+public class SynchInfoServiceTest {
+
+	private static final String PRODUCT = "SynchInfoServiceTest";
+
+	@Test
+	public void testNewConsumerGetsLastSequence() {
+		long last = lastSequence();
+		SyncChangesResp resp = SynchInfoService.getChanges(0);
+		Assert.assertEquals(last, resp.getLastSequence());
+		Assert.assertFalse(resp.isReset());
+		Assert.assertTrue(resp.getChanges().isEmpty());
+	}
+
+	@Test
+	public void testChangedFilesAreParsed() {
+		long last = lastSequence();
+		SynchInfoService.updateCacheToken(PRODUCT, "1.0.0", Arrays.asList(
+				"/l10n/bundles/" + PRODUCT + "/1.0.0/comp1/messages_de.json",
+				"/l10n/bundles/" + PRODUCT + "/1.0.0/comp2/messages.json"));
+
+		List<SyncChange> changes = SynchInfoService.getChanges(last).getChanges();
+		Assert.assertEquals(2, changes.size());
+		assertChange(changes.get(0), last + 1, "comp1", "de");
+		assertChange(changes.get(1), last + 2, "comp2", "en");
+
+		// the changes of the whole version
+		SynchInfoService.updateCacheToken(PRODUCT, "1.0.0", null);
+		changes = SynchInfoService.getChanges(last + 2).getChanges();
+		Assert.assertEquals(1, changes.size());
+		assertChange(changes.get(0), last + 3, null, null);
+	}
+
+	@Test
+	public void testTruncatedLogResetsConsumer() {
+		long start = lastSequence();
+		int extra = 5;
+		for (int i = 0; i < SynchInfoService.MAX_CHANGES + extra; i++) {
+			SynchInfoService.updateCacheToken(PRODUCT, "1.0.0", null);
+		}
+		long last = start + SynchInfoService.MAX_CHANGES + extra;
+		Assert.assertEquals(last, lastSequence());
+
+		// the oldest kept change is start + extra + 1, so a consumer which has
+		// applied start + extra still gets every change it misses
+		SyncChangesResp resp = SynchInfoService.getChanges(start + extra);
+		Assert.assertFalse(resp.isReset());
+		Assert.assertEquals(SynchInfoService.MAX_CHANGES, resp.getChanges().size());
+		Assert.assertEquals(start + extra + 1, resp.getChanges().get(0).getSequence());
+		Assert.assertEquals(last, resp.getChanges().get(resp.getChanges().size() - 1).getSequence());
+
+		// the change after start + extra - 1 is dropped
+		resp = SynchInfoService.getChanges(start + extra - 1);
+		Assert.assertTrue(resp.isReset());
+		Assert.assertTrue(resp.getChanges().isEmpty());
+		Assert.assertEquals(last, resp.getLastSequence());
+
+		// a sequence ahead of the log, e.g. from before a restart
+		Assert.assertTrue(SynchInfoService.getChanges(last + 1).isReset());
+	}
+
+	@Test
+	public void testPollIsAnsweredOnChange() {
+		long last = lastSequence();
+		DeferredResult<SyncChangesResp> result = new DeferredResult<>();
+		SynchInfoService.pollChanges(last, result);
+		Assert.assertFalse(result.hasResult());
+
+		SynchInfoService.updateCacheToken(PRODUCT, "1.0.0", null);
+
+		Assert.assertTrue(result.hasResult());
+		SyncChangesResp resp = (SyncChangesResp) result.getResult();
+		Assert.assertEquals(last + 1, resp.getLastSequence());
+		Assert.assertEquals(1, resp.getChanges().size());
+	}
+
+	@Test
+	public void testPollIsAnsweredAtOnce() {
+		SynchInfoService.updateCacheToken(PRODUCT, "1.0.0", null);
+		long last = lastSequence();
+
+		DeferredResult<SyncChangesResp> behind = new DeferredResult<>();
+		SynchInfoService.pollChanges(last - 1, behind);
+		Assert.assertTrue(behind.hasResult());
+		Assert.assertEquals(1, ((SyncChangesResp) behind.getResult()).getChanges().size());
+
+		DeferredResult<SyncChangesResp> ahead = new DeferredResult<>();
+		SynchInfoService.pollChanges(last + 1, ahead);
+		Assert.assertTrue(((SyncChangesResp) ahead.getResult()).isReset());
+	}
+
+	@Test
+	public void testConcurrentPollsAreAllAnswered() throws Exception {
+		int polls = 50;
+		long last = lastSequence();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<DeferredResult<SyncChangesResp>> results = new ArrayList<>();
+		CountDownLatch registered = new CountDownLatch(polls);
+		try {
+			for (int i = 0; i < polls; i++) {
+				DeferredResult<SyncChangesResp> result = new DeferredResult<>();
+				results.add(result);
+				executor.execute(() -> {
+					SynchInfoService.pollChanges(last, result);
+					registered.countDown();
+				});
+				if (i == polls / 2) {
+					SynchInfoService.updateCacheToken(PRODUCT, "1.0.0", null);
+				}
+			}
+			Assert.assertTrue(registered.await(10, TimeUnit.SECONDS));
+		} finally {
+			executor.shutdown();
+		}
+
+		// a poll registered before the change is woken up, a later one sees it
+		for (DeferredResult<SyncChangesResp> result : results) {
+			Assert.assertTrue(result.hasResult());
+			Assert.assertEquals(1, ((SyncChangesResp) result.getResult()).getChanges().size());
+		}
+	}
+
+	@Test
+	public void testPollAPITimesOutWithoutChange() throws Exception {
+		long last = lastSequence();
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new TranslationCommitGitController()).build();
+		MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get(L10NAPIV1.SYNC_TRANSLATION_CHANGES_L10N)
+				.param(APIParamName.SINCE, String.valueOf(last)).param(APIParamName.TIMEOUT, "100"))
+				.andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+
+		// the mock container doesn't time out by itself
+		MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+		for (AsyncListener listener : asyncContext.getListeners()) {
+			listener.onTimeout(null);
+		}
+
+		mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.lastSequence").value(last))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.changes").isEmpty());
+
+		// the timed out poll isn't answered by the next change
+		SynchInfoService.updateCacheToken(PRODUCT, "1.0.0", null);
+		Assert.assertEquals(last, ((SyncChangesResp) mvcResult.getAsyncResult()).getLastSequence());
+	}
+
+	@Test
+	public void testPollAPIIsAnsweredOnChange() throws Exception {
+		long last = lastSequence();
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new TranslationCommitGitController()).build();
+		MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get(L10NAPIV1.SYNC_TRANSLATION_CHANGES_L10N)
+				.param(APIParamName.SINCE, String.valueOf(last)).param(APIParamName.TIMEOUT, "60000"))
+				.andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+
+		SynchInfoService.updateCacheToken(PRODUCT, "2.0.0", null);
+
+		mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(mvcResult))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$.lastSequence").value(last + 1))
+				.andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].version").value("2.0.0"));
+	}
+
+	private static long lastSequence() {
+		return SynchInfoService.getChanges(0).getLastSequence();
+	}
+
+	private static void assertChange(SyncChange change, long sequence, String component, String locale) {
+		Assert.assertEquals(sequence, change.getSequence());
+		Assert.assertEquals(PRODUCT, change.getProductName());
+		Assert.assertEquals(component, change.getComponent());
+		Assert.assertEquals(locale, change.getLocale());
+	}
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.l10n.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.amazonaws.util.IOUtils;
+import com.vmware.l10n.conf.S3Client;
+
+/**
+ * An in-memory S3 bucket behind an {@link AmazonS3} proxy, with the calls used
+ * by S3Util. A put with If-Match or If-None-Match is answered 412 if its
+ * condition fails.
+ */
+class FakeS3Client extends S3Client implements InvocationHandler {
+
+	// key -> content
+	private final NavigableMap<String, String> objects = new ConcurrentSkipListMap<String, String>();
+
+	// called with the key of each conditional put before its condition is checked
+	private volatile Consumer<String> putHook = key -> {
+	};
+
+	private final AmazonS3 s3 = (AmazonS3) Proxy.newProxyInstance(getClass().getClassLoader(),
+			new Class<?>[] { AmazonS3.class }, this);
+
+	String get(String key) {
+		return objects.get(key);
+	}
+
+	void setPutHook(Consumer<String> putHook) {
+		this.putHook = putHook;
+	}
+
+	@Override
+	public AmazonS3 getS3Client() {
+		return s3;
+	}
+
+	@Override
+	public String readObject(String key) {
+		return s3.getObjectAsString("bucket", normalizePath(key));
+	}
+
+	@Override
+	public PutObjectResult putObject(String key, String content) {
+		return s3.putObject("bucket", normalizePath(key), content);
+	}
+
+	@Override
+	public void deleteObject(String key) {
+		s3.deleteObject("bucket", normalizePath(key));
+	}
+
+	@Override
+	public boolean isObjectExist(String key) {
+		return s3.doesObjectExist("bucket", normalizePath(key));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		try {
+			return getClass().getDeclaredMethod(method.getName(), method.getParameterTypes()).invoke(this, args);
+		} catch (NoSuchMethodException e) {
+			throw new UnsupportedOperationException(method.toString());
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	// the AmazonS3 calls
+
+	@SuppressWarnings("unused")
+	private S3Object getObject(GetObjectRequest request) {
+		String content = getObjectAsString(request.getBucketName(), request.getKey());
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		ObjectMetadata metadata = new ObjectMetadata();
+		metadata.setHeader(Headers.ETAG, DigestUtils.md5Hex(content));
+		metadata.setContentLength(bytes.length);
+		S3Object object = new S3Object();
+		object.setKey(request.getKey());
+		object.setObjectMetadata(metadata);
+		object.setObjectContent(new ByteArrayInputStream(bytes));
+		return object;
+	}
+
+	private String getObjectAsString(String bucketName, String key) {
+		String content = objects.get(key);
+		if (content == null) {
+			AmazonS3Exception e = new AmazonS3Exception("The specified key does not exist: " + key);
+			e.setStatusCode(404);
+			throw e;
+		}
+		return content;
+	}
+
+	@SuppressWarnings("unused")
+	private boolean doesObjectExist(String bucketName, String key) {
+		return objects.containsKey(key);
+	}
+
+	private PutObjectResult putObject(String bucketName, String key, String content) {
+		synchronized (objects) {
+			objects.put(key, content);
+		}
+		PutObjectResult result = new PutObjectResult();
+		result.setETag(DigestUtils.md5Hex(content));
+		return result;
+	}
+
+	@SuppressWarnings("unused")
+	private PutObjectResult putObject(PutObjectRequest request) throws IOException {
+		String key = request.getKey();
+		String content = IOUtils.toString(request.getInputStream());
+		Map<String, String> headers = request.getCustomRequestHeaders();
+		String ifMatch = headers == null ? null : headers.get("If-Match");
+		String ifNoneMatch = headers == null ? null : headers.get("If-None-Match");
+		putHook.accept(key);
+		synchronized (objects) {
+			String current = objects.get(key);
+			if (ifMatch != null && (current == null || !ifMatch.equals('"' + DigestUtils.md5Hex(current) + '"'))
+					|| ifNoneMatch != null && current != null) {
+				AmazonS3Exception e = new AmazonS3Exception(
+						"At least one of the pre-conditions you specified did not hold");
+				e.setStatusCode(412);
+				throw e;
+			}
+			return putObject(request.getBucketName(), key, content);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private void deleteObject(String bucketName, String key) {
+		synchronized (objects) {
+			objects.remove(key);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private ListObjectsV2Result listObjectsV2(String bucketName, String prefix) {
+		return listObjectsV2(new ListObjectsV2Request().withBucketName(bucketName).withPrefix(prefix));
+	}
+
+	// the listing is answered in one page
+	private ListObjectsV2Result listObjectsV2(ListObjectsV2Request request) {
+		ListObjectsV2Result result = new ListObjectsV2Result();
+		for (Map.Entry<String, String> entry : objects.tailMap(request.getPrefix()).entrySet()) {
+			if (!entry.getKey().startsWith(request.getPrefix())) {
+				break;
+			}
+			S3ObjectSummary summary = new S3ObjectSummary();
+			summary.setKey(entry.getKey());
+			summary.setSize(entry.getValue().getBytes(StandardCharsets.UTF_8).length);
+			summary.setETag(DigestUtils.md5Hex(entry.getValue()));
+			result.getObjectSummaries().add(summary);
+		}
+		return result;
+	}
+}
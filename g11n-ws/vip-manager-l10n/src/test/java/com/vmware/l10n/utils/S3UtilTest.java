@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019-2021 VMware, Inc.
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package com.vmware.l10n.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vmware.l10n.conf.S3Cfg;
+import com.vmware.vip.common.i18n.dto.ProductManifestDTO;
+import com.vmware.vip.common.i18n.dto.SingleComponentDTO;
+
+public class S3UtilTest {
+
+	private static final String BASE_PATH = "l10n/bundles/";
+	private static final String MANIFEST_PATH = BASE_PATH + "p1/1.0.0/manifest.json";
+
+	private final FakeS3Client s3 = new FakeS3Client();
+
+	@Test
+	public void testConcurrentWritersKeepAllBundles() throws Exception {
+		// the writers of two services
+		List<S3Util> utils = Arrays.asList(newS3Util(), newS3Util());
+		List<String> components = new ArrayList<String>();
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		try {
+			for (int i = 0; i < 16; i++) {
+				String component = "c" + (char) ('a' + i);
+				components.add(component);
+				S3Util util = utils.get(i % 2);
+				futures.add(executor.submit(() -> {
+					start.await();
+					util.writeBundle(BASE_PATH, newBundle(component, "de"));
+					util.writeBundle(BASE_PATH, newBundle(component, "fr"));
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		ProductManifestDTO manifest = ProductManifestDTO.getProductManifestDTO(s3.get(MANIFEST_PATH));
+		Assert.assertEquals(components, manifest.getComponentList());
+		Assert.assertEquals(Arrays.asList("de", "fr"), manifest.getLocaleList());
+	}
+
+	@Test
+	public void testChangedManifestIsReadAgain() throws Exception {
+		S3Util first = newS3Util();
+		S3Util second = newS3Util();
+		first.writeBundle(BASE_PATH, newBundle("c1", "de"));
+
+		// the other service updates the manifest after it's read by the first
+		AtomicBoolean other = new AtomicBoolean(true);
+		s3.setPutHook(key -> {
+			if (other.getAndSet(false)) {
+				try {
+					second.writeBundle(BASE_PATH, newBundle("c2", "fr"));
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			}
+		});
+		first.writeBundle(BASE_PATH, newBundle("c3", "ja"));
+
+		ProductManifestDTO manifest = ProductManifestDTO.getProductManifestDTO(s3.get(MANIFEST_PATH));
+		Assert.assertEquals(Arrays.asList("c1", "c2", "c3"), manifest.getComponentList());
+		Assert.assertEquals(Arrays.asList("de", "fr", "ja"), manifest.getLocaleList());
+	}
+
+	@Test
+	public void testMissingManifestIsCreatedFromListing() throws Exception {
+		// a bundle written before the manifests
+		s3.putObject(BASE_PATH + "p1/1.0.0/c1/messages_de.json", "{}");
+		newS3Util().writeBundle(BASE_PATH, newBundle("c2", "fr"));
+
+		ProductManifestDTO manifest = ProductManifestDTO.getProductManifestDTO(s3.get(MANIFEST_PATH));
+		Assert.assertEquals(Arrays.asList("c1", "c2"), manifest.getComponentList());
+		Assert.assertEquals(Arrays.asList("de", "fr"), manifest.getLocaleList());
+	}
+
+	@Test
+	public void testUnreadableManifestIsDeleted() throws Exception {
+		s3.putObject(MANIFEST_PATH, "{");
+		newS3Util().writeBundle(BASE_PATH, newBundle("c1", "de"));
+
+		// the i18n service rebuilds it from the listing
+		Assert.assertNull(s3.get(MANIFEST_PATH));
+		Assert.assertNotNull(s3.get(BASE_PATH + "p1/1.0.0/c1/messages_de.json"));
+	}
+
+	private S3Util newS3Util() {
+		S3Cfg config = new S3Cfg();
+		config.setBucketName("bucket");
+		return new S3Util(config, s3);
+	}
+
+	private static SingleComponentDTO newBundle(String component, String locale) {
+		SingleComponentDTO bundle = new SingleComponentDTO();
+		bundle.setProductName("p1");
+		bundle.setVersion("1.0.0");
+		bundle.setComponent(component);
+		bundle.setLocale(locale);
+		bundle.setMessages(Collections.singletonMap("key", "value"));
+		return bundle;
+	}
+}